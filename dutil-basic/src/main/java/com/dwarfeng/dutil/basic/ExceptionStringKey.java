@@ -203,6 +203,8 @@ public enum ExceptionStringKey implements Name {
 	DEFAULTEXCONFIGMODEL_1("DefaultExconfigModel.1"), //
 	DEFAULTEXCONFIGMODEL_2("DefaultExconfigModel.2"), //
 	DEFAULTEXCONFIGMODEL_3("DefaultExconfigModel.3"), //
+	DEFAULTEXCONFIGMODEL_4("DefaultExconfigModel.4"), //
+	DEFAULTEXCONFIGMODEL_5("DefaultExconfigModel.5"), //
 	DELEGATELISTMODEL_0("DelegateListModel.0"), //
 	DELEGATELISTMODEL_1("DelegateListModel.1"), //
 	DELEGATESETMODEL_0("DelegateSetModel.0"), //
@@ -265,6 +267,7 @@ public enum ExceptionStringKey implements Name {
 	INTERVAL_5("Interval.5"), //
 	INTERVAL_6("Interval.6"), //
 	THREADUTIL_0("ThreadUtil.0"), //
+	THREADUTIL_1("ThreadUtil.1"), //
 	ABSTRACTREFERENCEMODEL_0("AbstractReferenceModel.0"), //
 	IMAGEUTIL_0("ImageUtil.0"), //
 	IMAGEUTIL_1("ImageUtil.1"), //
@@ -336,11 +339,16 @@ public enum ExceptionStringKey implements Name {
 	ABSTRACTPLAIN_0("AbstractPlain.0"), //
 	ABSTRACTPLAIN_1("AbstractPlain.1"), //
 	ABSTRACTPLAIN_2("AbstractPlain.2"), //
+	ABSTRACTPLAIN_3("AbstractPlain.3"), //
 	FIXEDTIMEPLAIN_0("FixedTimePlain.0"), //
+	FIXEDTIMEPLAIN_1("FixedTimePlain.1"), //
 	FIXEDRATEPLAIN_0("FixedRatePlain.0"), //
+	FIXEDRATEPLAIN_1("FixedRatePlain.1"), //
 	LISTTIMER_0("ListTimer.0"), //
 	LISTTIMER_1("ListTimer.1"), //
 	LISTTIMER_2("ListTimer.2"), //
+	LISTTIMER_3("ListTimer.3"), //
+	LISTTIMER_4("ListTimer.4"), //
 	TIMERUTIL_0("TimerUtil.0"), //
 	TIMERUTIL_1("TimerUtil.1"), //
 	TIMERUTIL_2("TimerUtil.2"), //
@@ -371,6 +379,70 @@ public enum ExceptionStringKey implements Name {
 	MAPREUSEPOOL_0("MapReusePool.0"), //
 	MAPREUSEPOOL_1("MapReusePool.1"), //
 	MAPREUSEPOOL_2("MapReusePool.2"),//
+	HEAPTIMER_0("HeapTimer.0"), //
+	HEAPTIMER_1("HeapTimer.1"), //
+	HEAPTIMER_2("HeapTimer.2"), //
+	EXECUTORSERVICETIMER_0("ExecutorServiceTimer.0"), //
+	EXECUTORSERVICETIMER_1("ExecutorServiceTimer.1"), //
+	EXECUTORSERVICETIMER_2("ExecutorServiceTimer.2"), //
+	LATENCYHISTOGRAM_0("LatencyHistogram.0"), //
+	TIMERMETRICS_0("TimerMetrics.0"), //
+	CONCURRENTBACKGROUND_0("ConcurrentBackground.0"), //
+	CONCURRENTBACKGROUND_1("ConcurrentBackground.1"), //
+	CONCURRENTBACKGROUND_2("ConcurrentBackground.2"), //
+	TASKGRAPH_0("TaskGraph.0"), //
+	TASKGRAPH_1("TaskGraph.1"), //
+	TASKGRAPH_2("TaskGraph.2"), //
+	TASKGRAPH_3("TaskGraph.3"), //
+	TASKGRAPH_4("TaskGraph.4"), //
+	PRIORITYBACKGROUND_0("PriorityBackground.0"), //
+	PRIORITYBACKGROUND_1("PriorityBackground.1"), //
+	PRIORITYBACKGROUND_2("PriorityBackground.2"), //
+	PRIORITYBACKGROUND_3("PriorityBackground.3"), //
+	PRIORITYBACKGROUND_4("PriorityBackground.4"), //
+	CONCURRENTREUSEPOOL_0("ConcurrentReusePool.0"), //
+	CONCURRENTREUSEPOOL_1("ConcurrentReusePool.1"), //
+	EXPIRINGREUSEPOOL_0("ExpiringReusePool.0"), //
+	EXPIRINGREUSEPOOL_1("ExpiringReusePool.1"), //
+	BOUNDEDREUSEPOOL_0("BoundedReusePool.0"), //
+	BOUNDEDREUSEPOOL_1("BoundedReusePool.1"), //
+	BOUNDEDREUSEPOOL_2("BoundedReusePool.2"), //
+	BOUNDEDREUSEPOOL_3("BoundedReusePool.3"), //
+	BOUNDEDREUSEPOOL_4("BoundedReusePool.4"), //
+	BOUNDEDREUSEPOOL_5("BoundedReusePool.5"), //
+	BOUNDEDREUSEPOOL_6("BoundedReusePool.6"), //
+	CONCURRENTOBJECTPOOL_0("ConcurrentObjectPool.0"), //
+	CONCURRENTOBJECTPOOL_1("ConcurrentObjectPool.1"), //
+	CONCURRENTOBJECTPOOL_2("ConcurrentObjectPool.2"), //
+	CONCURRENTOBJECTPOOL_3("ConcurrentObjectPool.3"), //
+	CONCURRENTOBJECTPOOL_4("ConcurrentObjectPool.4"), //
+	CONCURRENTOBJECTPOOL_5("ConcurrentObjectPool.5"), //
+	PARSECACHE_0("ParseCache.0"), //
+	PARSECACHE_1("ParseCache.1"), //
+	PARSEDSETTINGHANDLER_0("ParsedSettingHandler.0"), //
+	PARSEDSETTINGHANDLER_1("ParsedSettingHandler.1"), //
+	PARSEDSETTINGHANDLER_2("ParsedSettingHandler.2"), //
+	PARSEDSETTINGHANDLER_3("ParsedSettingHandler.3"), //
+	COPYONWRITESETTINGHANDLER_0("CopyOnWriteSettingHandler.0"), //
+	COPYONWRITESETTINGHANDLER_1("CopyOnWriteSettingHandler.1"), //
+	ABSTRACTSETTINGHANDLE_0("AbstractSettingHandle.0"), //
+	ABSTRACTSETTINGHANDLE_1("AbstractSettingHandle.1"), //
+	PROPSETTINGVALUEJOURNAL_0("PropSettingValueJournal.0"), //
+	PROPSETTINGVALUEJOURNAL_1("PropSettingValueJournal.1"), //
+	PROPSETTINGVALUEJOURNAL_2("PropSettingValueJournal.2"), //
+	PROPSETTINGVALUEJOURNAL_3("PropSettingValueJournal.3"), //
+	SNAPSHOTEXCONFIGMODEL_0("SnapshotExconfigModel.0"), //
+	SNAPSHOTEXCONFIGMODEL_1("SnapshotExconfigModel.1"), //
+	SNAPSHOTEXCONFIGMODEL_2("SnapshotExconfigModel.2"), //
+	PROPRELOADWATCHER_0("PropReloadWatcher.0"), //
+	PROPRELOADWATCHER_1("PropReloadWatcher.1"), //
+	PROPRELOADWATCHER_2("PropReloadWatcher.2"), //
+	PROPRELOADWATCHER_3("PropReloadWatcher.3"), //
+	PROPRELOADWATCHER_4("PropReloadWatcher.4"), //
+	PROPRELOADWATCHER_5("PropReloadWatcher.5"), //
+	PATTERNMATCHER_0("PatternMatcher.0"), //
+	PATTERNMATCHER_1("PatternMatcher.1"), //
+	SINGLETHREADTIMER_0("SingleThreadTimer.0"), //
 
 	;
 
@@ -16,6 +16,11 @@ import com.dwarfeng.dutil.basic.prog.Filter;
  * 该区间类和数学上的区间是一样的， 具有一个最大值和最小值， 并且可以判断一个数是否在该区间中。
  * <p>
  * 区间的左右边间具有开和闭两种类型，和数学上的定义一样： 开表示区间不包含边界值；闭表示区间包含边界值。
+ * <p>
+ * 区间在生成时预先计算出整数与浮点数形式的边界，判断基本类型的值是否在区间中时只进行几次比较，不会生成 {@link BigDecimal}。
+ * 无法被精确表示的边界值被换算为等价的边界，比如对于双精度浮点数而言，<code>[ 0.1 , +∞ )</code> 与
+ * <code>( 0.1 , +∞ )</code> 都等价于左边界为大于 0.1 的最小的双精度浮点数的闭区间，因此判断的结果与使用
+ * {@link BigDecimal} 精确比较的结果完全一致。
  * 
  * @author DwArFeng
  * @since 0.1.3-beta
@@ -35,6 +40,9 @@ public class Interval implements Filter<NumberValue> {
 		CLOSED,
 	}
 
+	private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+	private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
 	/** 一个表示所有实数的区间，等于 <code>(-∞,+∞)</code> */
 	public static final Interval INTERVAL_REALNUMBER = new Interval(BoundaryType.OPENED, BoundaryType.OPENED, null,
 			null);
@@ -143,6 +151,17 @@ public class Interval implements Filter<NumberValue> {
 	private final BigDecimal leftValue;
 	private final BigDecimal rightValue;
 
+	// 整数值 x 在区间中，当且仅当 longLeft <= x <= longRight。
+	private final long longLeft;
+	private final long longRight;
+	// 区间内没有任何 long 范围内的整数。
+	private final boolean longEmpty;
+	// 有限的浮点值 x 在区间中，当且仅当 x 大于（或等于）doubleLeft，并且小于（或等于）doubleRight。
+	private final double doubleLeft;
+	private final double doubleRight;
+	private final boolean doubleLeftInclusive;
+	private final boolean doubleRightInclusive;
+
 	/**
 	 * 生成一个区间。
 	 * 
@@ -172,6 +191,72 @@ public class Interval implements Filter<NumberValue> {
 		this.rightBoundaryType = rightBoundaryType;
 		this.leftValue = leftValue;
 		this.rightValue = rightValue;
+
+		BigDecimal longLower = lowerIntegerBound(leftBoundaryType, leftValue);
+		BigDecimal longUpper = upperIntegerBound(rightBoundaryType, rightValue);
+		this.longEmpty = (Objects.nonNull(longLower) && longLower.compareTo(LONG_MAX) > 0)
+				|| (Objects.nonNull(longUpper) && longUpper.compareTo(LONG_MIN) < 0);
+		this.longLeft = Objects.isNull(longLower) || longLower.compareTo(LONG_MIN) < 0 ? Long.MIN_VALUE
+				: longLower.min(LONG_MAX).longValue();
+		this.longRight = Objects.isNull(longUpper) || longUpper.compareTo(LONG_MAX) > 0 ? Long.MAX_VALUE
+				: longUpper.max(LONG_MIN).longValue();
+
+		if (Objects.isNull(leftValue)) {
+			this.doubleLeft = Double.NEGATIVE_INFINITY;
+			this.doubleLeftInclusive = true;
+		} else {
+			this.doubleLeft = lowerDoubleBound(leftValue);
+			this.doubleLeftInclusive = !isExact(doubleLeft, leftValue) || leftBoundaryType == BoundaryType.CLOSED;
+		}
+		if (Objects.isNull(rightValue)) {
+			this.doubleRight = Double.POSITIVE_INFINITY;
+			this.doubleRightInclusive = true;
+		} else {
+			this.doubleRight = upperDoubleBound(rightValue);
+			this.doubleRightInclusive = !isExact(doubleRight, rightValue) || rightBoundaryType == BoundaryType.CLOSED;
+		}
+	}
+
+	// 区间内最小的整数，null 代表负无穷大。超出 long 范围的值只需要保证比较结果正确。
+	private static BigDecimal lowerIntegerBound(BoundaryType boundaryType, BigDecimal value) {
+		if (Objects.isNull(value))
+			return null;
+		if (value.compareTo(LONG_MIN) < 0 || value.compareTo(LONG_MAX) > 0)
+			return value;
+		if (boundaryType == BoundaryType.CLOSED)
+			return value.setScale(0, RoundingMode.CEILING);
+		return value.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE);
+	}
+
+	// 区间内最大的整数，null 代表正无穷大。超出 long 范围的值只需要保证比较结果正确。
+	private static BigDecimal upperIntegerBound(BoundaryType boundaryType, BigDecimal value) {
+		if (Objects.isNull(value))
+			return null;
+		if (value.compareTo(LONG_MIN) < 0 || value.compareTo(LONG_MAX) > 0)
+			return value;
+		if (boundaryType == BoundaryType.CLOSED)
+			return value.setScale(0, RoundingMode.FLOOR);
+		return value.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE);
+	}
+
+	// 不小于指定值的最小的双精度浮点数。
+	private static double lowerDoubleBound(BigDecimal value) {
+		double d = value.doubleValue();
+		if (Double.isInfinite(d) || new BigDecimal(d).compareTo(value) >= 0)
+			return d;
+		return Math.nextUp(d);
+	}
+
+	// 不大于指定值的最大的双精度浮点数。
+	private static double upperDoubleBound(BigDecimal value) {
+		double d = value.doubleValue();
+		if (Double.isInfinite(d) || new BigDecimal(d).compareTo(value) <= 0)
+			return d;
+		return Math.nextDown(d);
+	}
+
+	private static boolean isExact(double d, BigDecimal value) {
+		return !Double.isInfinite(d) && new BigDecimal(d).compareTo(value) == 0;
 	}
 
 	/**
@@ -213,7 +298,11 @@ public class Interval implements Filter<NumberValue> {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public boolean contains(double value) {
-		return contains(new BigDecimal(value));
+		// 非有限的值交给 BigDecimal 处理，保持原有的行为。
+		if (Double.isNaN(value) || Double.isInfinite(value))
+			return contains(new BigDecimal(value));
+		return (doubleLeftInclusive ? value >= doubleLeft : value > doubleLeft)
+				&& (doubleRightInclusive ? value <= doubleRight : value < doubleRight);
 	}
 
 	/**
@@ -226,7 +315,7 @@ public class Interval implements Filter<NumberValue> {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public boolean contains(float value) {
-		return contains(new BigDecimal(value));
+		return contains((double) value);
 	}
 
 	/**
@@ -239,7 +328,7 @@ public class Interval implements Filter<NumberValue> {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public boolean contains(byte value) {
-		return contains(new BigDecimal((int) value));
+		return contains((long) value);
 	}
 
 	/**
@@ -252,7 +341,7 @@ public class Interval implements Filter<NumberValue> {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public boolean contains(short value) {
-		return contains(new BigDecimal((int) value));
+		return contains((long) value);
 	}
 
 	/**
@@ -265,7 +354,7 @@ public class Interval implements Filter<NumberValue> {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public boolean contains(int value) {
-		return contains(new BigDecimal(value));
+		return contains((long) value);
 	}
 
 	/**
@@ -278,7 +367,7 @@ public class Interval implements Filter<NumberValue> {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public boolean contains(long value) {
-		return contains(new BigDecimal(value));
+		return !longEmpty && longLeft <= value && value <= longRight;
 	}
 
 	/**
@@ -0,0 +1,95 @@
+package com.dwarfeng.dutil.basic.str;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+/**
+ * 模式匹配器。
+ * <p>
+ * 正则表达式只在生成时编译一次，每个线程持有一个可复用的 {@link Matcher}，
+ * 匹配时通过 {@link Matcher#reset(CharSequence)} 重置，因此重复的匹配不会编译模式，也不会生成新的匹配器。
+ * 匹配结束后匹配器被重置为空字符串，不会持有被匹配的文本。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public final class PatternMatcher {
+
+	private final Pattern pattern;
+	private final ThreadLocal<Matcher> matchers;
+
+	/**
+	 * 生成一个具有指定正则表达式的模式匹配器。
+	 *
+	 * @param regex
+	 *            指定的正则表达式。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws java.util.regex.PatternSyntaxException
+	 *             正则表达式的语法错误。
+	 */
+	public PatternMatcher(String regex) throws NullPointerException {
+		this(Pattern.compile(Objects.requireNonNull(regex,
+				DwarfUtil.getExceptionString(ExceptionStringKey.PATTERNMATCHER_0))));
+	}
+
+	/**
+	 * 生成一个具有指定模式的模式匹配器。
+	 *
+	 * @param pattern
+	 *            指定的模式。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public PatternMatcher(Pattern pattern) throws NullPointerException {
+		Objects.requireNonNull(pattern, DwarfUtil.getExceptionString(ExceptionStringKey.PATTERNMATCHER_1));
+		this.pattern = pattern;
+		this.matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+	}
+
+	/**
+	 * 判断指定的文本是否完整地匹配模式。
+	 * <p>
+	 * 如果入口参数 <code>input</code> 为 <code>null</code>，则返回 <code>false</code>。
+	 *
+	 * @param input
+	 *            指定的文本。
+	 * @return 指定的文本是否完整地匹配模式。
+	 */
+	public boolean matches(CharSequence input) {
+		if (Objects.isNull(input)) {
+			return false;
+		}
+
+		Matcher matcher = matchers.get();
+		try {
+			return matcher.reset(input).matches();
+		} finally {
+			matcher.reset("");
+		}
+	}
+
+	/**
+	 * 获取该模式匹配器的模式。
+	 *
+	 * @return 该模式匹配器的模式。
+	 */
+	public Pattern getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "PatternMatcher [pattern=" + pattern + "]";
+	}
+
+}
@@ -1,8 +1,6 @@
 package com.dwarfeng.dutil.basic.str;
 
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 文本工具类。
@@ -23,6 +21,11 @@ public final class StringUtil {
 	/** 数字（包括浮点数）的正则表达式 */
 	private static final String REGEX_NUMERIC = "^[-\\+]?((\\d+\\.?\\d*)|(\\d*\\.?\\d+))$";
 
+	// 预先编译的模式匹配器，避免每次判断时重新编译正则表达式。
+	private static final PatternMatcher MATCHER_EMAIL = new PatternMatcher(REGEX_EMAIL);
+	private static final PatternMatcher MATCHER_INTEGER = new PatternMatcher(REGEX_INTEGER);
+	private static final PatternMatcher MATCHER_NUMERIC = new PatternMatcher(REGEX_NUMERIC);
+
 	// 不能进行实例化
 	private StringUtil() {
 	}
@@ -53,7 +56,7 @@ public final class StringUtil {
 	 * @return 指定的文本是否是电子邮件地址。
 	 */
 	public static boolean isEmailAddress(String string) {
-		return isRegexMatches(string, REGEX_EMAIL);
+		return isRegexMatches(string, MATCHER_EMAIL);
 	}
 
 	/**
@@ -69,7 +72,7 @@ public final class StringUtil {
 	 * @return 指定的文本是否是整数。
 	 */
 	public static boolean isInteger(String string) {
-		return isRegexMatches(string, REGEX_INTEGER);
+		return isRegexMatches(string, MATCHER_INTEGER);
 	}
 
 	/**
@@ -85,20 +88,16 @@ public final class StringUtil {
 	 * @return 指定的文本是否是数字（包括浮点数）
 	 */
 	public static boolean isNumeric(String string) {
-		return isRegexMatches(string, REGEX_NUMERIC);
+		return isRegexMatches(string, MATCHER_NUMERIC);
 	}
 
-	private static boolean isRegexMatches(String string, String regex) {
+	private static boolean isRegexMatches(String string, PatternMatcher matcher) {
 		if (Objects.isNull(string)) {
 			return false;
 		}
 
-		// 正则表达式的模式
-		Pattern p = Pattern.compile(regex);
-		// 正则表达式的匹配器
-		Matcher m = p.matcher(string);
 		// 进行正则匹配
-		return m.matches();
+		return matcher.matches(string);
 	}
 
 }
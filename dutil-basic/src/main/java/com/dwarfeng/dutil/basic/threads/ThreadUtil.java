@@ -1,6 +1,10 @@
 package com.dwarfeng.dutil.basic.threads;
 
+import java.lang.reflect.Method;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -235,6 +239,117 @@ public final class ThreadUtil {
 
 	}
 
+	/**
+	 * 判断当前运行的 JDK 是否支持虚拟线程。
+	 * <p>
+	 * 虚拟线程在 JDK 21 中正式提供；在 JDK 19 与 JDK 20 中，只有开启预览特性时才会被判断为支持。
+	 * 该方法通过反射检测，因此可以在 Java 8 中安全地调用。
+	 * 
+	 * @return 当前运行的 JDK 是否支持虚拟线程。
+	 * @since 0.2.1-beta
+	 */
+	public static boolean isVirtualThreadSupported() {
+		return VirtualThreads.SUPPORTED;
+	}
+
+	/**
+	 * 生成一个虚拟线程工厂。
+	 * <p>
+	 * 如果当前运行的 JDK 支持虚拟线程，则返回的线程工厂生成名称由前缀和流水编号组成的虚拟线程，虚拟线程总是守护线程；
+	 * 否则返回一个具有指定前缀的 {@link NumberedThreadFactory}，生成非守护的平台线程。
+	 * 
+	 * @param prefix
+	 *            线程名称的前缀。
+	 * @return 虚拟线程工厂，或者作为后备的编号线程工厂。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @since 0.2.1-beta
+	 */
+	public static ThreadFactory newVirtualThreadFactory(String prefix) {
+		Objects.requireNonNull(prefix, DwarfUtil.getExceptionString(ExceptionStringKey.THREADUTIL_1));
+
+		if (VirtualThreads.SUPPORTED) {
+			try {
+				Object builder = VirtualThreads.OF_VIRTUAL.invoke(null);
+				builder = VirtualThreads.NAME.invoke(builder, prefix + "-", 1L);
+				return (ThreadFactory) VirtualThreads.FACTORY.invoke(builder);
+			} catch (ReflectiveOperationException e) {
+				// 检测时已经调用过相同的方法，不应该出现异常，此处退回平台线程。
+			}
+		}
+		return new NumberedThreadFactory(prefix);
+	}
+
+	/**
+	 * 生成一个为每一个任务创建一个虚拟线程的执行器。
+	 * <p>
+	 * 如果当前运行的 JDK 支持虚拟线程，则返回的执行器为每一个任务创建一个新的虚拟线程，执行阻塞操作的任务不会占用操作系统线程；
+	 * 否则返回一个使用 {@link NumberedThreadFactory} 按需创建线程的执行器。
+	 * 
+	 * @param prefix
+	 *            线程名称的前缀。
+	 * @return 虚拟线程执行器，或者作为后备的按需创建线程的执行器。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @since 0.2.1-beta
+	 */
+	public static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+		Objects.requireNonNull(prefix, DwarfUtil.getExceptionString(ExceptionStringKey.THREADUTIL_1));
+
+		if (VirtualThreads.SUPPORTED) {
+			try {
+				return (ExecutorService) VirtualThreads.NEW_THREAD_PER_TASK_EXECUTOR.invoke(null,
+						newVirtualThreadFactory(prefix));
+			} catch (ReflectiveOperationException e) {
+				// 检测时已经确认方法存在，不应该出现异常，此处退回平台线程。
+			}
+		}
+		return Executors.newCachedThreadPool(new NumberedThreadFactory(prefix));
+	}
+
+	/**
+	 * 虚拟线程的反射入口。
+	 * <p>
+	 * 放在内部类中，只有在第一次使用时才进行检测。
+	 */
+	private static final class VirtualThreads {
+
+		static final Method OF_VIRTUAL;
+		static final Method NAME;
+		static final Method FACTORY;
+		static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+		static final boolean SUPPORTED;
+
+		static {
+			Method ofVirtual = null;
+			Method name = null;
+			Method factory = null;
+			Method newThreadPerTaskExecutor = null;
+			boolean supported = false;
+			try {
+				Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+				ofVirtual = Thread.class.getMethod("ofVirtual");
+				name = builderClass.getMethod("name", String.class, long.class);
+				factory = builderClass.getMethod("factory");
+				newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+				// 预览版本的 JDK 在未开启预览特性时会在调用时抛出异常，因此需要实际调用一次。
+				factory.invoke(ofVirtual.invoke(null));
+				supported = true;
+			} catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+				supported = false;
+			}
+			OF_VIRTUAL = ofVirtual;
+			NAME = name;
+			FACTORY = factory;
+			NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+			SUPPORTED = supported;
+		}
+
+		private VirtualThreads() {
+		}
+
+	}
+
 	// 禁止外部实例化。
 	private ThreadUtil() {
 	}
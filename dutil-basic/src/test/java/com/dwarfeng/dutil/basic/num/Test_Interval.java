@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Random;
 
 import org.junit.Ignore;
 import org.junit.Test;
@@ -104,6 +105,86 @@ public class Test_Interval {
 		assertFalse(interval.contains((long) 12451));
 	}
 
+	@Test
+	public void testContainsInexactBound() {
+		Interval closed = Interval.parseInterval("[ 0.1 , 0.3 ]");
+		Interval opened = Interval.parseInterval("( 0.1 , 0.3 )");
+		// 0.1 的双精度浮点数略大于 0.1，0.3 的双精度浮点数略小于 0.3。
+		assertTrue(closed.contains(0.1));
+		assertTrue(opened.contains(0.1));
+		assertTrue(closed.contains(0.3));
+		assertTrue(opened.contains(0.3));
+		assertFalse(closed.contains(Math.nextDown(0.1)));
+		assertFalse(closed.contains(Math.nextUp(0.3)));
+		assertTrue(closed.contains(0.1f));
+		assertFalse(closed.contains(0.3f));
+
+		Interval exact = Interval.parseInterval("( 0.5 , 1.5 )");
+		assertFalse(exact.contains(0.5));
+		assertTrue(exact.contains(Math.nextUp(0.5)));
+		assertTrue(exact.contains(1));
+		assertFalse(exact.contains(2));
+		assertTrue(Interval.parseInterval("( 0.5 , 1.5 ]").contains(1.5));
+		assertFalse(Interval.parseInterval("( 1 , 2 )").contains(1));
+		assertFalse(Interval.parseInterval("( 1 , 2 )").contains(2L));
+		assertFalse(Interval.parseInterval("( 1.2 , 1.8 )").contains((short) 1));
+	}
+
+	@Test
+	public void testContainsLongBoundary() {
+		Interval interval = new Interval(BoundaryType.CLOSED, BoundaryType.OPENED, BigDecimal.valueOf(Long.MIN_VALUE),
+				BigDecimal.valueOf(Long.MAX_VALUE));
+		assertTrue(interval.contains(Long.MIN_VALUE));
+		assertFalse(interval.contains(Long.MAX_VALUE));
+		assertTrue(interval.contains(Long.MAX_VALUE - 1));
+
+		Interval huge = Interval.parseInterval("( 1E+30 , infinity )");
+		assertFalse(huge.contains(Long.MAX_VALUE));
+		assertTrue(huge.contains(1e31));
+		// 1e30 的双精度浮点数略大于 1E+30。
+		assertTrue(huge.contains(1e30));
+		assertFalse(huge.contains(Math.nextDown(1e30)));
+
+		Interval tiny = Interval.parseInterval("( -infinity , -1E+30 ]");
+		assertFalse(tiny.contains(Long.MIN_VALUE));
+		assertTrue(tiny.contains(-Double.MAX_VALUE));
+
+		assertFalse(new Interval(BoundaryType.OPENED, BoundaryType.OPENED, BigDecimal.valueOf(Long.MAX_VALUE), null)
+				.contains(Long.MAX_VALUE));
+		assertTrue(Interval.INTERVAL_REALNUMBER.contains(Long.MAX_VALUE));
+		assertTrue(Interval.INTERVAL_REALNUMBER.contains(Double.MAX_VALUE));
+		assertFalse(Interval.INTERVAL_POSITIVE.contains(-0.0));
+		assertTrue(Interval.INTERVAL_NOT_NEGATIVE.contains(-0.0));
+	}
+
+	@Test
+	public void testContainsPrimitiveConsistency() {
+		// 基本类型的判断结果应与 BigDecimal 的判断结果完全一致。
+		Random random = new Random(12450);
+		for (int i = 0; i < 1000; i++) {
+			BigDecimal left = new BigDecimal(random.nextInt(2000) - 1000).movePointLeft(random.nextInt(3));
+			BigDecimal right = left.add(new BigDecimal(random.nextInt(2000)).movePointLeft(random.nextInt(3)));
+			Interval interval = new Interval(random.nextBoolean() ? BoundaryType.CLOSED : BoundaryType.OPENED,
+					random.nextBoolean() ? BoundaryType.CLOSED : BoundaryType.OPENED, left, right);
+			for (int j = 0; j < 20; j++) {
+				long l = random.nextInt(2400) - 1200;
+				assertEquals(interval + " " + l, interval.contains(new BigDecimal(l)), interval.contains(l));
+				double d = (random.nextInt(240000) - 120000) / 100.0;
+				assertEquals(interval + " " + d, interval.contains(new BigDecimal(d)), interval.contains(d));
+				float f = (float) d;
+				assertEquals(interval + " " + f, interval.contains(new BigDecimal(f)), interval.contains(f));
+			}
+			assertEquals(interval.contains(new BigDecimal(left.doubleValue())), interval.contains(left.doubleValue()));
+			assertEquals(interval.contains(new BigDecimal(right.doubleValue())),
+					interval.contains(right.doubleValue()));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void testContainsNaN() {
+		Interval.INTERVAL_REALNUMBER.contains(Double.NaN);
+	}
+
 	@Test
 	public void testEqualsObject() {
 		Interval interval0 = new Interval(BoundaryType.CLOSED, BoundaryType.OPENED, new BigDecimal(12450),
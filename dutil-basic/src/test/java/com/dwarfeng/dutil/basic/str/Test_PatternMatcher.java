@@ -0,0 +1,66 @@
+package com.dwarfeng.dutil.basic.str;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+public class Test_PatternMatcher {
+
+	@Test
+	public void testMatches() {
+		PatternMatcher matcher = new PatternMatcher("[a-z]+_[0-9]+");
+		assertTrue(matcher.matches("abc_123"));
+		assertFalse(matcher.matches("abc_123x"));
+		assertFalse(matcher.matches("abc"));
+		assertFalse(matcher.matches(null));
+		// 重复使用同一个匹配器。
+		assertTrue(matcher.matches("x_1"));
+		assertFalse(matcher.matches(""));
+		assertEquals("[a-z]+_[0-9]+", matcher.getPattern().pattern());
+	}
+
+	@Test
+	public void testPattern() {
+		Pattern pattern = Pattern.compile("a+", Pattern.CASE_INSENSITIVE);
+		PatternMatcher matcher = new PatternMatcher(pattern);
+		assertTrue(matcher.matches("aAa"));
+		assertEquals(pattern, matcher.getPattern());
+	}
+
+	@Test
+	public void testConcurrentMatches() throws Exception {
+		PatternMatcher matcher = new PatternMatcher("[0-9]+");
+		AtomicInteger mismatchCount = new AtomicInteger(0);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			final int index = i;
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 10000; j++) {
+					boolean expected = (j + index) % 2 == 0;
+					if (matcher.matches(expected ? Integer.toString(j) : "x" + j) != expected) {
+						mismatchCount.incrementAndGet();
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, mismatchCount.get());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNullRegex() {
+		new PatternMatcher((String) null);
+	}
+
+}
@@ -1,7 +1,18 @@
 package com.dwarfeng.dutil.basic.threads;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.junit.Assume;
 import org.junit.Test;
 
 import com.dwarfeng.dutil.basic.threads.ThreadUtil;
@@ -19,5 +30,72 @@ public class ThreadUtilTest {
 		ThreadUtil.unmodifiableLock(null);
 	}
 
+	@Test
+	public void testNewVirtualThreadFactory() throws InterruptedException {
+		ThreadFactory factory = ThreadUtil.newVirtualThreadFactory("Test");
+		AtomicBoolean ran = new AtomicBoolean(false);
+		Thread thread = factory.newThread(() -> ran.set(true));
+		assertTrue(thread.getName().startsWith("Test-"));
+		if (ThreadUtil.isVirtualThreadSupported())
+			assertTrue(thread.isDaemon());
+		thread.start();
+		thread.join();
+		assertTrue(ran.get());
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testNewVirtualThreadFactory_1() {
+		ThreadUtil.newVirtualThreadFactory(null);
+	}
+
+	@Test
+	public void testNewVirtualThreadPerTaskExecutor() throws Exception {
+		ExecutorService executorService = ThreadUtil.newVirtualThreadPerTaskExecutor("Test");
+		try {
+			assertEquals("result", executorService.submit(() -> "result").get(1, TimeUnit.SECONDS));
+		} finally {
+			executorService.shutdown();
+		}
+		assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testVirtualThreadFactoryOnVirtualThreads() throws Exception {
+		Assume.assumeTrue(ThreadUtil.isVirtualThreadSupported());
+
+		ThreadFactory factory = ThreadUtil.newVirtualThreadFactory("Test");
+		AtomicReference<Thread> current = new AtomicReference<>();
+		Thread thread = factory.newThread(() -> current.set(Thread.currentThread()));
+		assertEquals("Test-1", thread.getName());
+		assertTrue(thread.isDaemon());
+		assertTrue(isVirtual(thread));
+		thread.start();
+		thread.join();
+		assertSame(thread, current.get());
+	}
+
+	@Test
+	public void testVirtualThreadPerTaskExecutorOnVirtualThreads() throws Exception {
+		Assume.assumeTrue(ThreadUtil.isVirtualThreadSupported());
+
+		ExecutorService executorService = ThreadUtil.newVirtualThreadPerTaskExecutor("Test");
+		try {
+			Thread thread_1 = executorService.submit(Thread::currentThread).get(1, TimeUnit.SECONDS);
+			Thread thread_2 = executorService.submit(Thread::currentThread).get(1, TimeUnit.SECONDS);
+			assertTrue(isVirtual(thread_1));
+			assertTrue(isVirtual(thread_2));
+			// 每一个任务都在新的虚拟线程中执行。
+			assertNotSame(thread_1, thread_2);
+			assertTrue(thread_1.getName().startsWith("Test-"));
+		} finally {
+			executorService.shutdown();
+		}
+		assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+	}
+
+	// 源代码级别为 1.8，只能通过反射调用 Thread.isVirtual()。
+	private static boolean isVirtual(Thread thread) throws Exception {
+		return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+	}
 
 }
@@ -22,6 +22,9 @@ import com.dwarfeng.dutil.develop.backgr.obv.TaskObverser;
  * <p>
  * 该类良好地定义了 <code>run</code>方法，并且在<code>run</code> 方法中执行<code>todo</code>
  * 方法，<code>todo</code>方法中填写需要实现的具体任务。
+ * <p>
+ * 任务的状态字段均为 <code>volatile</code> 字段，状态的查询方法不需要获取读写锁；
+ * 读写锁只在状态发生改变以及操作观察器集合时使用。
  * 
  * @author DwArFeng
  * @since 0.1.0-beta
@@ -36,9 +39,9 @@ public abstract class AbstractTask implements Task {
 	private final Lock runningLock = new ReentrantLock();
 	private final Condition runningCondition = runningLock.newCondition();
 
-	private boolean finishedFlag = false;
-	private boolean startedFlag = false;
-	private Throwable throwable = null;
+	private volatile boolean finishedFlag = false;
+	private volatile boolean startedFlag = false;
+	private volatile Throwable throwable = null;
 
 	/**
 	 * 生成一个默认的抽象任务。
@@ -125,12 +128,7 @@ public abstract class AbstractTask implements Task {
 	 */
 	@Override
 	public boolean isStarted() {
-		lock.readLock().lock();
-		try {
-			return startedFlag;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return startedFlag;
 	}
 
 	/**
@@ -138,12 +136,7 @@ public abstract class AbstractTask implements Task {
 	 */
 	@Override
 	public boolean isFinished() {
-		lock.readLock().lock();
-		try {
-			return finishedFlag;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return finishedFlag;
 	}
 
 	/**
@@ -152,15 +145,11 @@ public abstract class AbstractTask implements Task {
 	@Override
 	@Deprecated
 	public Exception getException() {
-		lock.readLock().lock();
-		try {
-			if (throwable instanceof Exception) {
-				return (Exception) throwable;
-			} else {
-				return new Exception(throwable);
-			}
-		} finally {
-			lock.readLock().unlock();
+		Throwable throwable = this.throwable;
+		if (throwable instanceof Exception) {
+			return (Exception) throwable;
+		} else {
+			return new Exception(throwable);
 		}
 	}
 
@@ -169,12 +158,7 @@ public abstract class AbstractTask implements Task {
 	 */
 	@Override
 	public Throwable getThrowable() {
-		lock.readLock().lock();
-		try {
-			return throwable;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return throwable;
 	}
 
 	/**
@@ -1,13 +1,18 @@
 package com.dwarfeng.dutil.develop.backgr;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.WeakHashMap;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Function;
 
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
@@ -16,6 +21,7 @@ import com.dwarfeng.dutil.basic.cna.CollectionUtil;
 import com.dwarfeng.dutil.basic.prog.ReadOnlyGenerator;
 import com.dwarfeng.dutil.basic.threads.ThreadUtil;
 import com.dwarfeng.dutil.develop.backgr.obv.BackgroundObverser;
+import com.dwarfeng.dutil.develop.backgr.obv.TaskAdapter;
 import com.dwarfeng.dutil.develop.backgr.obv.TaskObverser;
 
 /**
@@ -700,6 +706,162 @@ public final class BackgroundUtil {
 
 	}
 
+	/**
+	 * 由指定的任务生成一个在任务结束时完成的 {@link CompletableFuture}。
+	 * <p>
+	 * 返回的 <code>CompletableFuture</code> 由任务自身的 {@link TaskObverser#fireFinished()}
+	 * 通知完成，不会占用任何等待线程，因此可以使用 <code>thenApply</code>、<code>thenCompose</code>
+	 * 等方法将多个后台任务组合成非阻塞的流水线。
+	 * <p>
+	 * 如果任务在执行时抛出了异常，则返回的 <code>CompletableFuture</code> 以该异常异常地完成；否则以
+	 * <code>null</code> 正常地完成。如果调用该方法时任务已经结束，则返回的 <code>CompletableFuture</code> 已经完成。
+	 * <p>
+	 * 取消返回的 <code>CompletableFuture</code> 不会影响任务本身的执行。
+	 * <p>
+	 * 任务的观察器集合通常只持有观察器的弱引用，因此在任务结束之前，该工具包会持有完成所需的观察器，
+	 * 调用者不需要持有返回的 <code>CompletableFuture</code>，只持有由其派生的阶段即可。
+	 * 观察器只在任务本身可达时被持有，一个永远不会执行且不再被引用的任务被回收后，其观察器会在之后调用该方法时被释放。
+	 * 
+	 * @param task
+	 *            指定的任务。
+	 * @return 在指定的任务结束时完成的 <code>CompletableFuture</code>。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws UnsupportedOperationException
+	 *             指定的任务不支持添加观察器。
+	 * @since 0.2.1-beta
+	 */
+	public static CompletableFuture<Void> asFuture(Task task)
+			throws NullPointerException, UnsupportedOperationException {
+		Objects.requireNonNull(task, DwarfUtil.getExceptionString(ExceptionStringKey.BACKGROUNDUTIL_1));
+
+		return bridge(task, t -> null);
+	}
+
+	/**
+	 * 由指定的可返回结果的任务生成一个在任务结束时以任务结果完成的 {@link CompletableFuture}。
+	 * <p>
+	 * 返回的 <code>CompletableFuture</code> 由任务自身的 {@link TaskObverser#fireFinished()}
+	 * 通知完成，不会占用任何等待线程，因此可以使用 <code>thenApply</code>、<code>thenCompose</code>
+	 * 等方法将多个后台任务组合成非阻塞的流水线。
+	 * <p>
+	 * 如果任务在执行时抛出了异常，则返回的 <code>CompletableFuture</code> 以该异常异常地完成；否则以
+	 * {@link ResultTask#getResult()} 正常地完成。如果调用该方法时任务已经结束，则返回的
+	 * <code>CompletableFuture</code> 已经完成。
+	 * <p>
+	 * 取消返回的 <code>CompletableFuture</code> 不会影响任务本身的执行。
+	 * <p>
+	 * 与 {@link #asFuture(Task)} 相同，在任务结束之前，该工具包会持有完成所需的观察器。
+	 * 
+	 * @param <V>
+	 *            任务结果的类型。
+	 * @param task
+	 *            指定的可返回结果的任务。
+	 * @return 在指定的任务结束时以任务结果完成的 <code>CompletableFuture</code>。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws UnsupportedOperationException
+	 *             指定的任务不支持添加观察器。
+	 * @since 0.2.1-beta
+	 */
+	public static <V> CompletableFuture<V> asFuture(ResultTask<V> task)
+			throws NullPointerException, UnsupportedOperationException {
+		Objects.requireNonNull(task, DwarfUtil.getExceptionString(ExceptionStringKey.BACKGROUNDUTIL_1));
+
+		return bridge(task, ResultTask::getResult);
+	}
+
+	/**
+	 * 生成一个使用虚拟线程执行任务的后台。
+	 * <p>
+	 * 如果当前运行的 JDK 支持虚拟线程，则返回的后台为每一个任务创建一个虚拟线程，
+	 * 在 I/O 或者 {@link Task#awaitFinish()} 上阻塞的任务不会占用操作系统线程，因此可以同时运行大量阻塞的任务。
+	 * 否则退回到按需创建平台线程的执行器，行为与现有的后台一致。
+	 * <p>
+	 * 返回的后台是一个 {@link ConcurrentBackground}，任务的提交与结束不需要获取后台的锁。
+	 * 需要注意的是，虚拟线程总是守护线程，后台中正在运行的任务不会阻止虚拟机退出。
+	 * 
+	 * @return 使用虚拟线程执行任务的后台。
+	 * @see ThreadUtil#isVirtualThreadSupported()
+	 * @since 0.2.1-beta
+	 */
+	public static ConcurrentBackground newVirtualThreadBackground() {
+		return new ConcurrentBackground(ThreadUtil.newVirtualThreadPerTaskExecutor("VtBackgr"),
+				Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	// 任务的观察器集合只持有弱引用，在任务结束之前由此处持有观察器；以任务作为弱键，不再被引用的任务不会使其观察器一直被持有。
+	private static final Map<Task, Set<FutureBridge<?, ?>>> PENDING_BRIDGES = Collections
+			.synchronizedMap(new WeakHashMap<>());
+
+	private static <T extends Task, V> CompletableFuture<V> bridge(T task, Function<T, V> resultFunction) {
+		CompletableFuture<V> future = new CompletableFuture<>();
+		FutureBridge<T, V> bridge = new FutureBridge<>(task, future, resultFunction);
+		synchronized (PENDING_BRIDGES) {
+			PENDING_BRIDGES.computeIfAbsent(task, k -> new HashSet<>()).add(bridge);
+		}
+		try {
+			task.addObverser(bridge);
+		} catch (RuntimeException e) {
+			bridge.release(task);
+			throw e;
+		}
+		// 任务可能在添加观察器之前就已经结束，此时直接完成。
+		if (task.isFinished())
+			bridge.fireFinished();
+		return future;
+	}
+
+	private static final class FutureBridge<T extends Task, V> extends TaskAdapter {
+
+		// 观察器由 PENDING_BRIDGES 强引用，此处只能持有任务的弱引用，否则任务作为弱键永远不会被回收；
+		// 出于同样的原因，结果由任务作为参数计算，而不是由捕获了任务的 Supplier 提供。
+		private final WeakReference<T> taskRef;
+		private final CompletableFuture<V> future;
+		private final Function<T, V> resultFunction;
+
+		public FutureBridge(T task, CompletableFuture<V> future, Function<T, V> resultFunction) {
+			this.taskRef = new WeakReference<>(task);
+			this.future = future;
+			this.resultFunction = resultFunction;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireFinished() {
+			// 通知来自任务本身，因此此时任务一定可达。
+			T task = taskRef.get();
+			if (Objects.isNull(task))
+				return;
+			release(task);
+
+			Throwable throwable = task.getThrowable();
+			if (Objects.nonNull(throwable)) {
+				future.completeExceptionally(throwable);
+			} else {
+				try {
+					future.complete(resultFunction.apply(task));
+				} catch (Exception e) {
+					future.completeExceptionally(e);
+				}
+			}
+		}
+
+		private void release(Task task) {
+			synchronized (PENDING_BRIDGES) {
+				Set<FutureBridge<?, ?>> bridges = PENDING_BRIDGES.get(task);
+				if (Objects.isNull(bridges))
+					return;
+				bridges.remove(this);
+				if (bridges.isEmpty())
+					PENDING_BRIDGES.remove(task);
+			}
+		}
+
+	}
+
 	private BackgroundUtil() {
 	}
 }
@@ -0,0 +1,353 @@
+package com.dwarfeng.dutil.develop.backgr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.cna.CollectionUtil;
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
+import com.dwarfeng.dutil.develop.backgr.obv.BackgroundObverser;
+import com.dwarfeng.dutil.develop.backgr.obv.TaskObverser;
+
+/**
+ * 并发后台。
+ * <p>
+ * 该后台与 {@link ExecutorServiceBackground} 一样使用执行器执行被提交的任务，但是针对大量短任务的场景进行了优化：
+ * <ul>
+ * <li>后台中的任务保存在并发集合中，提交任务以及任务结束时均不需要获取后台的锁。</li>
+ * <li>{@link #submitAll(Collection)} 是真正的批量操作，整批任务只检查一次后台状态，只通知一次观察器。</li>
+ * <li>观察器的通知被放入事件队列中，由一个线程合并地分发，分发一批事件时只获取一次读锁。</li>
+ * </ul>
+ * <p>
+ * 观察器收到的通知是串行的，并且同一个任务的通知顺序与事件发生的顺序一致；但是通知可能由提交任务的线程或者执行任务的线程发出，
+ * 并且可能稍晚于事件本身发生。
+ * <p>
+ * 该后台的读写锁只用于保护观察器集合，外部持有该锁并不能阻止任务的提交与结束。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class ConcurrentBackground extends AbstractBackground {
+
+	/** 并发后台默认的线程工厂。 */
+	public static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory("CcBackgr", false,
+			Thread.NORM_PRIORITY);
+
+	/** 托管后台的执行器。 */
+	protected final ExecutorService executorService;
+
+	private final ConcurrentMap<Task, TaskInspector> tasks = new ConcurrentHashMap<>();
+	private final AtomicInteger pendingCount = new AtomicInteger(0);
+	private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean dispatching = new AtomicBoolean(false);
+	private final AtomicBoolean terminating = new AtomicBoolean(false);
+	private final Lock runningLock = new ReentrantLock();
+	private final Condition runningCondition = runningLock.newCondition();
+
+	private final AtomicBoolean shutdownFlag = new AtomicBoolean(false);
+
+	private volatile boolean terminateFlag = false;
+
+	/**
+	 * 生成一个默认的并发后台。
+	 * <p>
+	 * 默认的执行器是一个线程数与处理器数量相同的固定线程池。
+	 */
+	public ConcurrentBackground() {
+		this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), THREAD_FACTORY),
+				Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定执行器，指定的观察器集合的并发后台。
+	 *
+	 * @param executorService
+	 *            指定的执行器。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ConcurrentBackground(ExecutorService executorService, Set<BackgroundObverser> obversers) {
+		super(obversers);
+		Objects.requireNonNull(executorService,
+				DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTBACKGROUND_0));
+		this.executorService = executorService;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean submit(Task task) {
+		reserve(1);
+		boolean executed = false;
+		try {
+			executed = Objects.nonNull(task) && register(task) && execute(task);
+			return executed;
+		} finally {
+			if (!executed)
+				release(1);
+			dispatchEvents();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean submitAll(Collection<? extends Task> c) {
+		Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTBACKGROUND_2));
+
+		List<Task> batch = new ArrayList<>(c);
+		// 整批任务只占用一次计数，只检查一次后台状态。
+		reserve(batch.size());
+		int executedCount = 0;
+		try {
+			for (Task task : batch) {
+				if (Objects.nonNull(task) && register(task) && execute(task))
+					executedCount++;
+			}
+			return executedCount > 0;
+		} finally {
+			if (executedCount < batch.size())
+				release(batch.size() - executedCount);
+			dispatchEvents();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void shutdown() {
+		if (!shutdownFlag.compareAndSet(false, true))
+			return;
+
+		executorService.shutdown();
+		events.offer(this::fireShutDown);
+		tryTerminate();
+		dispatchEvents();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isShutdown() {
+		return shutdownFlag.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isTerminated() {
+		return terminateFlag;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void awaitTermination() throws InterruptedException {
+		runningLock.lock();
+		try {
+			while (!terminateFlag) {
+				runningCondition.await();
+			}
+		} finally {
+			runningLock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		runningLock.lock();
+		try {
+			long nanosTimeout = unit.toNanos(timeout);
+			while (!terminateFlag) {
+				if (nanosTimeout > 0)
+					nanosTimeout = runningCondition.awaitNanos(nanosTimeout);
+				else
+					return false;
+			}
+			return true;
+		} finally {
+			runningLock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Task> tasks() {
+		return CollectionUtil.readOnlySet(tasks.keySet(), task -> {
+			return BackgroundUtil.unmodifiableTask(task);
+		});
+	}
+
+	/**
+	 * 获取后台中还没有结束的任务的数量。
+	 * <p>
+	 * 该方法不需要获取任何锁。
+	 *
+	 * @return 后台中还没有结束的任务的数量。
+	 */
+	public int getPendingCount() {
+		return pendingCount.get();
+	}
+
+	private void reserve(int count) {
+		// 先占用计数再检查关闭标志，保证关闭的后台在计数归零之前不会被终结。
+		pendingCount.addAndGet(count);
+		if (shutdownFlag.get()) {
+			release(count);
+			dispatchEvents();
+			throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTBACKGROUND_1));
+		}
+	}
+
+	private void release(int count) {
+		if (pendingCount.addAndGet(-count) == 0)
+			tryTerminate();
+	}
+
+	private boolean register(Task task) {
+		TaskInspector inspector = new TaskInspector(task);
+		if (Objects.nonNull(tasks.putIfAbsent(task, inspector)))
+			return false;
+		if (!task.addObverser(inspector)) {
+			tasks.remove(task);
+			return false;
+		}
+		// 提交的通知必须在任务执行之前入队，以保证通知的顺序。
+		events.offer(() -> fireTaskSubmitted(task));
+		return true;
+	}
+
+	/**
+	 * 将指定的任务交给执行器执行。
+	 * <p>
+	 * 该方法在任务被登记之后，在提交任务的线程中同步地调用，子类可以重写该方法以改变任务的执行方式。如果该方法抛出异常，
+	 * 则视为后台拒绝了该任务，任务会被移除。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @throws Exception
+	 *             任务被拒绝。
+	 * @since 0.2.1-beta
+	 */
+	protected void dispatch(Task task) throws Exception {
+		executorService.execute(task);
+	}
+
+	private boolean execute(Task task) {
+		try {
+			dispatch(task);
+			return true;
+		} catch (Exception e) {
+			// 执行器拒绝了任务，此时任务已经通知为提交，需要通知其被移除。
+			// 同时移除登记时添加的观察器，以免被拒绝的任务继续持有该后台。
+			TaskInspector inspector = tasks.remove(task);
+			if (Objects.nonNull(inspector))
+				task.removeObverser(inspector);
+			events.offer(() -> fireTaskRemoved(task));
+			return false;
+		}
+	}
+
+	private void tryTerminate() {
+		if (!shutdownFlag.get() || pendingCount.get() != 0 || !terminating.compareAndSet(false, true))
+			return;
+
+		events.offer(() -> {
+			fireTerminated();
+			// 终结标志在终结的通知分发之后置位，此时之前的所有通知均已分发。
+			runningLock.lock();
+			try {
+				terminateFlag = true;
+				runningCondition.signalAll();
+			} finally {
+				runningLock.unlock();
+			}
+		});
+	}
+
+	private void dispatchEvents() {
+		// 同一时刻只有一个线程分发通知，其它线程只负责将通知入队。
+		// 分发线程退出之前需要再次检查队列，以免遗漏在释放标志之前入队的通知。
+		while (!events.isEmpty() && dispatching.compareAndSet(false, true)) {
+			try {
+				lock.readLock().lock();
+				try {
+					Runnable event;
+					while (Objects.nonNull(event = events.poll())) {
+						event.run();
+					}
+				} finally {
+					lock.readLock().unlock();
+				}
+			} finally {
+				dispatching.set(false);
+			}
+		}
+	}
+
+	private class TaskInspector implements TaskObverser {
+
+		private final Task task;
+
+		public TaskInspector(Task task) {
+			this.task = task;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireStarted() {
+			events.offer(() -> fireTaskStarted(task));
+			dispatchEvents();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireFinished() {
+			tasks.remove(task);
+			events.offer(() -> {
+				fireTaskFinished(task);
+				fireTaskRemoved(task);
+			});
+			release(1);
+			dispatchEvents();
+		}
+
+	}
+
+}
@@ -0,0 +1,379 @@
+package com.dwarfeng.dutil.develop.backgr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.develop.backgr.obv.BackgroundObverser;
+
+/**
+ * 优先级后台。
+ * <p>
+ * 该后台使用 {@link ForkJoinPool} 执行任务，并在 {@link ConcurrentBackground} 的基础上支持任务的优先级：
+ * <ul>
+ * <li>任务在提交时可以指定 {@link Priority}，每一个优先级拥有独立的先进先出队列，工作线程总是优先执行有效优先级最高的任务。</li>
+ * <li>任务的有效优先级随着等待时间的增加而提高，每等待一个老化周期，有效优先级提高一级，因此低优先级的任务不会被无限期地推迟。</li>
+ * <li>任务可以通过 {@link #fork(Callable)} 派生子任务，子任务进入当前工作线程的队列，空闲的工作线程会从其它工作线程的队列中窃取子任务；
+ * 等待子任务的结果时，工作线程会转而执行其它的任务，而不是阻塞。</li>
+ * </ul>
+ * <p>
+ * 需要注意的是，各个优先级的队列是所有工作线程共享的全局队列，每一个工作线程都从这些队列中取出任务，
+ * 提交任务与取出任务都会在这些队列上产生竞争。{@link ForkJoinPool} 中每一个工作线程自己的队列只用于调度与派生的子任务，
+ * 不会减少提交的任务在优先级队列上的竞争。
+ * <p>
+ * 派生的子任务属于其父任务的一部分，不会出现在 {@link #tasks()} 中，也不会触发后台的通知。
+ * 父任务应当在结束之前等待其派生的所有子任务。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class PriorityBackground extends ConcurrentBackground {
+
+	/** 优先级后台默认的工作线程工厂。 */
+	public static final ForkJoinWorkerThreadFactory THREAD_FACTORY = new PriorityWorkerThreadFactory();
+
+	/** 优先级后台默认的老化周期，以纳秒为单位。 */
+	public static final long DEFAULT_AGING_PERIOD = TimeUnit.MILLISECONDS.toNanos(100);
+
+	/**
+	 * 任务的优先级。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public enum Priority {
+
+		/** 高优先级。 */
+		HIGH,
+		/** 普通优先级。 */
+		NORMAL,
+		/** 低优先级。 */
+		LOW,
+
+	}
+
+	private static final Priority[] PRIORITIES = Priority.values();
+
+	/** 托管后台的 ForkJoin 池。 */
+	protected final ForkJoinPool pool;
+	/** 老化周期，以纳秒为单位。 */
+	protected final long agingPeriod;
+
+	private final List<Queue<Entry>> queues;
+	// 任务在提交它的线程中同步地分派，因此优先级可以通过线程局部变量随提交一起传递，不会被其它线程的提交覆盖。
+	private final ThreadLocal<Priority> submittingPriority = new ThreadLocal<>();
+
+	/**
+	 * 生成一个默认的优先级后台。
+	 * <p>
+	 * 默认的 ForkJoin 池的并行度与处理器数量相同，默认的老化周期为 100 毫秒。
+	 */
+	public PriorityBackground() {
+		this(new ForkJoinPool(Runtime.getRuntime().availableProcessors(), THREAD_FACTORY, null, false),
+				Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定 ForkJoin 池，指定的观察器集合的优先级后台。
+	 * <p>
+	 * 老化周期为 {@link #DEFAULT_AGING_PERIOD}。
+	 *
+	 * @param pool
+	 *            指定的 ForkJoin 池。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public PriorityBackground(ForkJoinPool pool, Set<BackgroundObverser> obversers) {
+		this(pool, obversers, DEFAULT_AGING_PERIOD, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 生成一个具有指定 ForkJoin 池，指定的观察器集合，指定的老化周期的优先级后台。
+	 *
+	 * @param pool
+	 *            指定的 ForkJoin 池。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @param agingPeriod
+	 *            指定的老化周期。
+	 * @param unit
+	 *            老化周期的时间单位。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             老化周期不为正数。
+	 */
+	public PriorityBackground(ForkJoinPool pool, Set<BackgroundObverser> obversers, long agingPeriod,
+			TimeUnit unit) {
+		super(Objects.requireNonNull(pool, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_0)),
+				obversers);
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_1));
+		if (agingPeriod <= 0) {
+			throw new IllegalArgumentException(String
+					.format(DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_2), agingPeriod));
+		}
+
+		this.pool = pool;
+		this.agingPeriod = Math.max(1, unit.toNanos(agingPeriod));
+
+		List<Queue<Entry>> queues = new ArrayList<>(PRIORITIES.length);
+		for (int i = 0; i < PRIORITIES.length; i++) {
+			queues.add(new ConcurrentLinkedQueue<>());
+		}
+		this.queues = Collections.unmodifiableList(queues);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 任务以 {@link Priority#NORMAL} 优先级提交。
+	 */
+	@Override
+	public boolean submit(Task task) {
+		return submit(task, Priority.NORMAL);
+	}
+
+	/**
+	 * 以指定的优先级向后台提交一个任务。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @param priority
+	 *            指定的优先级。
+	 * @return 该操作是否改变了后台本身。
+	 * @throws NullPointerException
+	 *             优先级为 <code>null</code>。
+	 * @throws IllegalStateException
+	 *             后台已经关闭。
+	 */
+	public boolean submit(Task task, Priority priority) {
+		Objects.requireNonNull(priority, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_3));
+
+		Priority previous = submittingPriority.get();
+		submittingPriority.set(priority);
+		try {
+			return super.submit(task);
+		} finally {
+			restorePriority(previous);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 任务以 {@link Priority#NORMAL} 优先级提交。
+	 */
+	@Override
+	public boolean submitAll(Collection<? extends Task> c) {
+		return submitAll(c, Priority.NORMAL);
+	}
+
+	/**
+	 * 以指定的优先级向后台批量提交任务。
+	 *
+	 * @param c
+	 *            指定的任务组成的集合。
+	 * @param priority
+	 *            指定的优先级。
+	 * @return 该操作是否改变了后台本身。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalStateException
+	 *             后台已经关闭。
+	 */
+	public boolean submitAll(Collection<? extends Task> c, Priority priority) {
+		Objects.requireNonNull(priority, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_3));
+
+		Priority previous = submittingPriority.get();
+		submittingPriority.set(priority);
+		try {
+			return super.submitAll(c);
+		} finally {
+			restorePriority(previous);
+		}
+	}
+
+	/**
+	 * 派生一个子任务。
+	 * <p>
+	 * 如果该方法在该后台的工作线程中调用，子任务会进入当前工作线程的队列，可以被其它空闲的工作线程窃取；
+	 * 对返回值调用 {@link ForkJoinTask#join()} 时，如果子任务还没有完成，当前工作线程会转而执行其它的任务，而不是阻塞。
+	 * <p>
+	 * 如果该方法在其它线程中调用，子任务会被提交到该后台的 ForkJoin 池中执行。
+	 *
+	 * @param callable
+	 *            子任务。
+	 * @param <V>
+	 *            子任务的结果的类型。
+	 * @return 子任务对应的 {@link ForkJoinTask}。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalStateException
+	 *             后台已经关闭。
+	 */
+	public <V> ForkJoinTask<V> fork(Callable<? extends V> callable) {
+		Objects.requireNonNull(callable, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_4));
+
+		ForkJoinTask<V> child = ForkJoinTask.adapt(callable);
+		if (ForkJoinTask.getPool() == pool)
+			return child.fork();
+		if (isShutdown())
+			throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTBACKGROUND_1));
+		pool.execute(child);
+		return child;
+	}
+
+	/**
+	 * 获取后台的老化周期。
+	 *
+	 * @param unit
+	 *            返回值的时间单位。
+	 * @return 后台的老化周期。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public long getAgingPeriod(TimeUnit unit) {
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_1));
+		return unit.convert(agingPeriod, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * 获取指定优先级中等待执行的任务的数量。
+	 *
+	 * @param priority
+	 *            指定的优先级。
+	 * @return 指定优先级中等待执行的任务的数量。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public int getQueuedCount(Priority priority) {
+		Objects.requireNonNull(priority, DwarfUtil.getExceptionString(ExceptionStringKey.PRIORITYBACKGROUND_3));
+		return queues.get(priority.ordinal()).size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 任务被放入其优先级对应的队列中，同时向 ForkJoin 池提交一次调度；每一次调度按照有效优先级从高到低执行队列中的任务，
+	 * 直到队列为空，因此执行的不一定是触发该次调度的任务。
+	 */
+	@Override
+	protected void dispatch(Task task) throws Exception {
+		Priority priority = submittingPriority.get();
+		if (Objects.isNull(priority))
+			priority = Priority.NORMAL;
+
+		Entry entry = new Entry(task, System.nanoTime());
+		Queue<Entry> queue = queues.get(priority.ordinal());
+		queue.offer(entry);
+		try {
+			pool.execute(new Pump());
+		} catch (Exception e) {
+			// 任务可能已经被其它的调度取走并执行，此时不能当作任务被拒绝。
+			if (queue.remove(entry))
+				throw e;
+		}
+	}
+
+	private void restorePriority(Priority previous) {
+		// 通知中可能嵌套地提交任务，因此恢复而不是清除外层提交的优先级。
+		if (Objects.isNull(previous)) {
+			submittingPriority.remove();
+		} else {
+			submittingPriority.set(previous);
+		}
+	}
+
+	private Entry poll() {
+		for (;;) {
+			long now = System.nanoTime();
+			int bestIndex = -1;
+			long bestRank = Long.MAX_VALUE;
+			// 每个队列的队首都是该优先级中等待最久的任务，因此只需要比较各个队首。
+			for (int i = 0; i < PRIORITIES.length; i++) {
+				Entry head = queues.get(i).peek();
+				if (Objects.isNull(head))
+					continue;
+				long rank = i - (now - head.enqueueNanos) / agingPeriod;
+				if (rank < bestRank) {
+					bestRank = rank;
+					bestIndex = i;
+				}
+			}
+			if (bestIndex < 0)
+				return null;
+			Entry entry = queues.get(bestIndex).poll();
+			if (Objects.nonNull(entry))
+				return entry;
+			// 队首已被其它工作线程取走，重新选择。
+		}
+	}
+
+	private final class Pump extends RecursiveAction {
+
+		private static final long serialVersionUID = 3462716071849658021L;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void compute() {
+			// 调度一直执行到队列为空为止。一次调度可能执行了其它任务所对应的调度未能提交的任务，
+			// 因此不能只执行一个任务，否则队列中可能留下没有调度的任务。
+			Entry entry;
+			while (Objects.nonNull(entry = poll())) {
+				entry.task.run();
+			}
+		}
+
+	}
+
+	private static final class Entry {
+
+		final Task task;
+		final long enqueueNanos;
+
+		Entry(Task task, long enqueueNanos) {
+			this.task = task;
+			this.enqueueNanos = enqueueNanos;
+		}
+
+	}
+
+	private static final class PriorityWorkerThreadFactory implements ForkJoinWorkerThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger(0);
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+			ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+			thread.setName("PrBackgr-" + threadNumber.incrementAndGet());
+			thread.setDaemon(false);
+			thread.setPriority(Thread.NORM_PRIORITY);
+			return thread;
+		}
+
+	}
+
+}
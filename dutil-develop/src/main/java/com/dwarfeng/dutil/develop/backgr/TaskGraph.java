@@ -0,0 +1,587 @@
+package com.dwarfeng.dutil.develop.backgr;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.threads.ExternalReadWriteThreadSafe;
+import com.dwarfeng.dutil.develop.backgr.obv.TaskAdapter;
+
+/**
+ * 任务图。
+ * <p>
+ * 任务图是由任务以及任务之间的先后关系组成的有向无环图。通过 {@link #addTask(Task, Task...)}
+ * 方法向任务图中添加任务并声明其前驱任务，调用 {@link #submit(Background)} 方法后，
+ * 任务图会在一个任务的所有前驱任务都结束之后，才将该任务提交到后台中。
+ * <p>
+ * 与 {@link BackgroundUtil#blockedTask(Task, Task[])} 不同，任务图中的任务在等待前驱任务时并不占用后台的线程，
+ * 因此即使后台的线程数有限，很深的依赖链也不会导致死锁；没有先后关系的任务会被同时提交，由后台并行执行。
+ * <p>
+ * 如果一个任务在执行时抛出了异常，那么所有直接或间接依赖于该任务的任务都会被取消，不会被提交到后台中，
+ * 而任务图中的其它分支不受影响。
+ * <p>
+ * 任务图会记录每一个任务的开始时间与结束时间，所有任务结束后，可以通过 {@link #getCriticalPath()}
+ * 获取决定了整个任务图耗时的关键路径。
+ * <p>
+ * 任务图只能被提交一次，提交之后不能再添加任务。
+ * <p>
+ * 任务的观察器集合通常只持有观察器的弱引用，因此任务图在提交之后、所有任务处于终止状态之前会被静态地持有，
+ * 调用者在提交之后不需要持有任务图，后继任务也会被正常地提交。
+ * 需要注意的是，如果后台接受了任务却永远不执行，任务图会一直被持有。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public final class TaskGraph implements ExternalReadWriteThreadSafe {
+
+	/**
+	 * 任务图中任务的状态。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public enum State {
+
+		/** 等待前驱任务结束。 */
+		WAITING,
+		/** 已经提交到后台中。 */
+		SUBMITTED,
+		/** 执行结束，并且没有抛出异常。 */
+		FINISHED,
+		/** 执行结束，并且抛出了异常。 */
+		FAILED,
+		/** 由于前驱任务失败或者后台拒绝了任务，该任务不会被执行。 */
+		CANCELLED,
+
+		;
+
+		/**
+		 * 返回该状态是否是终止状态。
+		 *
+		 * @return 该状态是否是终止状态。
+		 */
+		public boolean isTerminal() {
+			return this == FINISHED || this == FAILED || this == CANCELLED;
+		}
+
+	}
+
+	// 任务的观察器集合只持有弱引用，在所有任务处于终止状态之前由此处持有已经提交的任务图。
+	private static final Set<TaskGraph> RUNNING_GRAPHS = ConcurrentHashMap.newKeySet();
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Condition finishedCondition = lock.writeLock().newCondition();
+	private final Map<Task, Node> nodes = new LinkedHashMap<>();
+
+	private Background background = null;
+	private int unfinishedCount = 0;
+	private long submitNanos = -1;
+
+	/**
+	 * 生成一个空的任务图。
+	 */
+	public TaskGraph() {
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ReadWriteLock getLock() {
+		return lock;
+	}
+
+	/**
+	 * 向任务图中添加指定的任务，并声明其前驱任务。
+	 * <p>
+	 * 如果任务已经在任务图中，则为其追加前驱任务；不在任务图中的前驱任务会被一并添加。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @param predecessors
+	 *            指定任务的前驱任务。
+	 * @return 该操作是否改变了任务图。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             添加该任务会在任务图中形成环。
+	 * @throws IllegalStateException
+	 *             任务图已经被提交。
+	 */
+	public boolean addTask(Task task, Task... predecessors)
+			throws NullPointerException, IllegalArgumentException, IllegalStateException {
+		Objects.requireNonNull(predecessors, DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_1));
+		return addTask(task, Arrays.asList(predecessors));
+	}
+
+	/**
+	 * 向任务图中添加指定的任务，并声明其前驱任务。
+	 * <p>
+	 * 如果任务已经在任务图中，则为其追加前驱任务；不在任务图中的前驱任务会被一并添加。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @param predecessors
+	 *            指定任务的前驱任务组成的集合。
+	 * @return 该操作是否改变了任务图。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             添加该任务会在任务图中形成环。
+	 * @throws IllegalStateException
+	 *             任务图已经被提交。
+	 */
+	public boolean addTask(Task task, Collection<? extends Task> predecessors)
+			throws NullPointerException, IllegalArgumentException, IllegalStateException {
+		Objects.requireNonNull(task, DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_0));
+		Objects.requireNonNull(predecessors, DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_1));
+		for (Task predecessor : predecessors) {
+			Objects.requireNonNull(predecessor, DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_1));
+		}
+
+		lock.writeLock().lock();
+		try {
+			if (Objects.nonNull(background))
+				throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_3));
+
+			// 先检查环，保证异常抛出时任务图没有发生改变。
+			Node node = nodes.get(task);
+			for (Task predecessor : predecessors) {
+				if (predecessor == task || (Objects.nonNull(node) && reaches(node, predecessor)))
+					throw new IllegalArgumentException(
+							DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_4));
+			}
+
+			boolean aFlag = false;
+			if (Objects.isNull(node)) {
+				node = newNode(task);
+				aFlag = true;
+			}
+			for (Task predecessor : predecessors) {
+				Node predecessorNode = nodes.get(predecessor);
+				if (Objects.isNull(predecessorNode))
+					predecessorNode = newNode(predecessor);
+				if (node.predecessors.add(predecessorNode)) {
+					predecessorNode.successors.add(node);
+					aFlag = true;
+				}
+			}
+			return aFlag;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 获取任务图中所有任务组成的只读集合。
+	 *
+	 * @return 任务图中所有任务组成的只读集合。
+	 */
+	public Set<Task> tasks() {
+		lock.readLock().lock();
+		try {
+			return Collections.unmodifiableSet(new LinkedHashSet<>(nodes.keySet()));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 获取指定任务的前驱任务组成的只读集合。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @return 指定任务的前驱任务组成的只读集合，如果任务图中不含该任务，则返回空集合。
+	 */
+	public Set<Task> predecessors(Task task) {
+		lock.readLock().lock();
+		try {
+			Node node = nodes.get(task);
+			return Objects.isNull(node) ? Collections.emptySet() : tasksOf(node.predecessors);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 获取指定任务的后继任务组成的只读集合。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @return 指定任务的后继任务组成的只读集合，如果任务图中不含该任务，则返回空集合。
+	 */
+	public Set<Task> successors(Task task) {
+		lock.readLock().lock();
+		try {
+			Node node = nodes.get(task);
+			return Objects.isNull(node) ? Collections.emptySet() : tasksOf(node.successors);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 将任务图提交到指定的后台中。
+	 * <p>
+	 * 没有前驱任务的任务会被立即提交，其余任务在其所有前驱任务结束之后提交。
+	 *
+	 * @param background
+	 *            指定的后台。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalStateException
+	 *             任务图已经被提交。
+	 */
+	public void submit(Background background) throws NullPointerException, IllegalStateException {
+		Objects.requireNonNull(background, DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_2));
+
+		List<Node> readyNodes = new ArrayList<>();
+		lock.writeLock().lock();
+		try {
+			if (Objects.nonNull(this.background))
+				throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.TASKGRAPH_3));
+
+			this.background = background;
+			this.submitNanos = System.nanoTime();
+			this.unfinishedCount = nodes.size();
+			for (Node node : nodes.values()) {
+				node.task.addObverser(node);
+				node.waitingCount = node.predecessors.size();
+				if (node.waitingCount == 0) {
+					node.state = State.SUBMITTED;
+					readyNodes.add(node);
+				}
+			}
+			if (unfinishedCount == 0) {
+				finishedCondition.signalAll();
+			} else {
+				RUNNING_GRAPHS.add(this);
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+
+		submitNodes(readyNodes);
+	}
+
+	/**
+	 * 获取指定任务的状态。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @return 指定任务的状态，如果任务图中不含该任务，则返回 <code>null</code>。
+	 */
+	public State getState(Task task) {
+		lock.readLock().lock();
+		try {
+			Node node = nodes.get(task);
+			return Objects.isNull(node) ? null : node.state;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 返回任务图是否已经被提交。
+	 *
+	 * @return 任务图是否已经被提交。
+	 */
+	public boolean isSubmitted() {
+		lock.readLock().lock();
+		try {
+			return Objects.nonNull(background);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 返回任务图中的所有任务是否都已经处于终止状态。
+	 *
+	 * @return 任务图中的所有任务是否都已经处于终止状态。
+	 */
+	public boolean isFinished() {
+		lock.readLock().lock();
+		try {
+			return Objects.nonNull(background) && unfinishedCount == 0;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 阻塞调用线程，直到任务图被提交，并且其中的所有任务都处于终止状态。
+	 *
+	 * @throws InterruptedException
+	 *             线程在阻塞时被别的线程中断。
+	 */
+	public void awaitFinish() throws InterruptedException {
+		lock.writeLock().lock();
+		try {
+			while (Objects.isNull(background) || unfinishedCount > 0) {
+				finishedCondition.await();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 阻塞调用线程，直到任务图被提交并且其中的所有任务都处于终止状态，或者阻塞超过指定的时间。
+	 *
+	 * @param timeout
+	 *            指定的时间大小。
+	 * @param unit
+	 *            指定的时间单位。
+	 * @return 如果该方法是由于超时而返回的，则返回 <code>false</code>，否则返回 <code>true</code>。
+	 * @throws InterruptedException
+	 *             线程在阻塞时被别的线程中断。
+	 */
+	public boolean awaitFinish(long timeout, TimeUnit unit) throws InterruptedException {
+		lock.writeLock().lock();
+		try {
+			long nanosTimeout = unit.toNanos(timeout);
+			while (Objects.isNull(background) || unfinishedCount > 0) {
+				if (nanosTimeout > 0)
+					nanosTimeout = finishedCondition.awaitNanos(nanosTimeout);
+				else
+					return false;
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 获取指定任务的运行时长，以纳秒为单位。
+	 *
+	 * @param task
+	 *            指定的任务。
+	 * @return 指定任务的运行时长，如果任务图中不含该任务或者该任务没有运行结束，则返回 <code>-1</code>。
+	 */
+	public long getDurationNanos(Task task) {
+		lock.readLock().lock();
+		try {
+			Node node = nodes.get(task);
+			return Objects.isNull(node) || node.finishNanos < 0 ? -1 : node.finishNanos - node.startNanos;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 获取任务图的关键路径。
+	 * <p>
+	 * 关键路径从最后一个结束的任务开始，每一步都选取结束得最晚的前驱任务，即限制了该任务开始时间的前驱任务，
+	 * 直到没有前驱任务为止。关键路径上的任务决定了整个任务图的耗时，缩短其它分支上的任务不会缩短任务图的耗时。
+	 *
+	 * @return 由关键路径上的任务组成的只读列表，按照执行的先后顺序排列；如果没有任何任务运行结束，则返回空列表。
+	 */
+	public List<Task> getCriticalPath() {
+		lock.readLock().lock();
+		try {
+			LinkedList<Task> path = new LinkedList<>();
+			Node node = latestFinished(nodes.values());
+			while (Objects.nonNull(node)) {
+				path.addFirst(node.task);
+				node = latestFinished(node.predecessors);
+			}
+			return Collections.unmodifiableList(path);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 获取关键路径的耗时，即从任务图被提交到最后一个任务结束经过的时间，以纳秒为单位。
+	 *
+	 * @return 关键路径的耗时，如果没有任何任务运行结束，则返回 <code>-1</code>。
+	 */
+	public long getCriticalPathNanos() {
+		lock.readLock().lock();
+		try {
+			Node node = latestFinished(nodes.values());
+			return Objects.isNull(node) ? -1 : node.finishNanos - submitNanos;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		lock.readLock().lock();
+		try {
+			return "TaskGraph [taskCount=" + nodes.size() + ", submitted=" + Objects.nonNull(background)
+					+ ", unfinishedCount=" + unfinishedCount + "]";
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private Node newNode(Task task) {
+		Node node = new Node(task);
+		nodes.put(task, node);
+		return node;
+	}
+
+	private boolean reaches(Node from, Task target) {
+		Deque<Node> stack = new ArrayDeque<>();
+		Set<Node> visited = new HashSet<>();
+		stack.push(from);
+		while (!stack.isEmpty()) {
+			Node node = stack.pop();
+			if (node.task == target)
+				return true;
+			if (visited.add(node))
+				node.successors.forEach(stack::push);
+		}
+		return false;
+	}
+
+	private static Set<Task> tasksOf(Collection<Node> nodes) {
+		Set<Task> tasks = new LinkedHashSet<>();
+		for (Node node : nodes) {
+			tasks.add(node.task);
+		}
+		return Collections.unmodifiableSet(tasks);
+	}
+
+	private static Node latestFinished(Collection<Node> nodes) {
+		Node latest = null;
+		for (Node node : nodes) {
+			if (node.finishNanos >= 0 && (Objects.isNull(latest) || node.finishNanos > latest.finishNanos))
+				latest = node;
+		}
+		return latest;
+	}
+
+	private void submitNodes(List<Node> readyNodes) {
+		// 向后台提交任务时不能持有任务图的锁，因为后台在提交任务时会获取自身的锁。
+		for (Node node : readyNodes) {
+			boolean submitted;
+			try {
+				submitted = background.submit(node.task);
+			} catch (Exception e) {
+				submitted = false;
+			}
+			if (!submitted) {
+				lock.writeLock().lock();
+				try {
+					terminate(node, State.CANCELLED);
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * 使指定的节点进入终止状态，并处理其后继节点。
+	 * <p>
+	 * 该方法需要在持有写锁的情况下调用。
+	 */
+	private List<Node> terminate(Node node, State state) {
+		List<Node> readyNodes = new ArrayList<>();
+		node.state = state;
+		unfinishedCount--;
+
+		if (state == State.FINISHED) {
+			for (Node successor : node.successors) {
+				if (--successor.waitingCount == 0 && successor.state == State.WAITING) {
+					successor.state = State.SUBMITTED;
+					readyNodes.add(successor);
+				}
+			}
+		} else {
+			// 取消所有直接或间接依赖于该节点的节点，依赖链可能很深，因此不使用递归。
+			Deque<Node> stack = new ArrayDeque<>(node.successors);
+			while (!stack.isEmpty()) {
+				Node successor = stack.pop();
+				if (successor.state != State.WAITING)
+					continue;
+				successor.state = State.CANCELLED;
+				unfinishedCount--;
+				successor.successors.forEach(stack::push);
+			}
+		}
+
+		if (unfinishedCount == 0) {
+			finishedCondition.signalAll();
+			RUNNING_GRAPHS.remove(this);
+		}
+		return readyNodes;
+	}
+
+	private final class Node extends TaskAdapter {
+
+		final Task task;
+		final Set<Node> predecessors = new LinkedHashSet<>();
+		final Set<Node> successors = new LinkedHashSet<>();
+
+		State state = State.WAITING;
+		int waitingCount = 0;
+		long startNanos = -1;
+		long finishNanos = -1;
+
+		Node(Task task) {
+			this.task = task;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireStarted() {
+			lock.writeLock().lock();
+			try {
+				startNanos = System.nanoTime();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireFinished() {
+			List<Node> readyNodes;
+			lock.writeLock().lock();
+			try {
+				if (state != State.SUBMITTED)
+					return;
+				finishNanos = System.nanoTime();
+				readyNodes = terminate(this, Objects.isNull(task.getThrowable()) ? State.FINISHED : State.FAILED);
+			} finally {
+				lock.writeLock().unlock();
+			}
+			submitNodes(readyNodes);
+		}
+
+	}
+
+}
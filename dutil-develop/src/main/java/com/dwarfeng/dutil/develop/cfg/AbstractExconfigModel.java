@@ -1,6 +1,7 @@
 package com.dwarfeng.dutil.develop.cfg;
 
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.WeakHashMap;
@@ -204,4 +205,31 @@ public abstract class AbstractExconfigModel implements ExconfigModel {
 		}
 	}
 
+	/**
+	 * 通知观察器多个配置键的当前值在一次批量操作中发生了改变。
+	 * 
+	 * @param oldValues
+	 *            改变的配置键与其旧值组成的映射。
+	 * @param newValues
+	 *            改变的配置键与其新值组成的映射。
+	 * @param validValues
+	 *            改变的配置键与其当前的有效值组成的映射。
+	 * @since 0.2.1-beta
+	 */
+	protected void fireCurrentValuesChanged(Map<ConfigKey, String> oldValues, Map<ConfigKey, String> newValues,
+			Map<ConfigKey, String> validValues) {
+		Map<ConfigKey, String> unmodifiableOldValues = Collections.unmodifiableMap(oldValues);
+		Map<ConfigKey, String> unmodifiableNewValues = Collections.unmodifiableMap(newValues);
+		Map<ConfigKey, String> unmodifiableValidValues = Collections.unmodifiableMap(validValues);
+		for (ExconfigObverser obverser : obversers) {
+			if (Objects.nonNull(obverser))
+				try {
+					obverser.fireCurrentValuesChanged(unmodifiableOldValues, unmodifiableNewValues,
+							unmodifiableValidValues);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+		}
+	}
+
 }
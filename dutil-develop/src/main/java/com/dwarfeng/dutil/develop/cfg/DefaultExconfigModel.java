@@ -28,6 +28,9 @@ import com.dwarfeng.dutil.develop.cfg.struct.ValueParser;
  * <p>
  * 只有一个映射意味着设置代理和初值是非常方便的，不像 {@link DefaultConfigModel} 那样需要设置两个映射的代理，
  * 该实现只需要设置一个映射的代理，从而避免了 {@link DefaultConfigModel}的代理表现不一致的问题。
+ * <p>
+ * {@link ExconfigBean} 缓存了合法值与解析值，读取解析值只需要一次映射查找；
+ * {@link #getInt(ConfigKey)} 等方法直接以基本类型返回解析值。
  * 
  * @author DwArFeng
  * @since 0.1.0-beta
@@ -48,6 +51,9 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 		private String currentValue;
 		private ValueParser valueParser;
 
+		/** 合法值与解析值的缓存，在固定属性、当前值、值解析器改变时失效。 */
+		private volatile ParsedCache parsedCache = null;
+
 		/**
 		 * 生成一个默认的 Ex配置Bean。
 		 */
@@ -88,6 +94,7 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 		 */
 		public void setConfigFirmProps(ConfigFirmProps configFirmProps) {
 			this.configFirmProps = configFirmProps;
+			this.parsedCache = null;
 		}
 
 		/**
@@ -107,6 +114,7 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 		 */
 		public void setCurrentValue(String currentValue) {
 			this.currentValue = currentValue;
+			this.parsedCache = null;
 		}
 
 		/**
@@ -126,6 +134,67 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 		 */
 		public void setValueParser(ValueParser valueParser) {
 			this.valueParser = valueParser;
+			this.parsedCache = null;
+		}
+
+		/**
+		 * 获取该Bean中的合法值。
+		 * <p>
+		 * 如果当前值能通过固定属性中的配置检查器的检查，则返回当前值，否则返回默认值。结果被缓存，直到该Bean被修改。
+		 * 
+		 * @return 该Bean中的合法值，如果该Bean中没有固定属性，则返回 <code>null</code>。
+		 * @since 0.2.1-beta
+		 */
+		public String getValidValue() {
+			return parsedCache().validValue;
+		}
+
+		/**
+		 * 获取该Bean中的合法值经过值解析器解析后的解析值。
+		 * <p>
+		 * 结果被缓存，直到该Bean被修改。
+		 * 
+		 * @return 该Bean中的解析值，如果该Bean中没有固定属性或者值解析器，则返回 <code>null</code>。
+		 * @since 0.2.1-beta
+		 */
+		public Object getParsedValue() {
+			return parsedCache().parsedValue;
+		}
+
+		private ParsedCache parsedCache() {
+			ParsedCache cache = parsedCache;
+			if (Objects.isNull(cache)) {
+				cache = new ParsedCache(configFirmProps, currentValue, valueParser);
+				parsedCache = cache;
+			}
+			return cache;
+		}
+
+	}
+
+	/**
+	 * 合法值与解析值的缓存。
+	 * <p>
+	 * 缓存是不可变的，并发读取时至多导致重复计算。
+	 * 
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private static final class ParsedCache {
+
+		final String validValue;
+		final Object parsedValue;
+
+		ParsedCache(ConfigFirmProps configFirmProps, String currentValue, ValueParser valueParser) {
+			if (Objects.isNull(configFirmProps)) {
+				validValue = null;
+			} else if (Objects.nonNull(currentValue) && configFirmProps.getConfigChecker().isValid(currentValue)) {
+				validValue = currentValue;
+			} else {
+				validValue = configFirmProps.getDefaultValue();
+			}
+			parsedValue = Objects.isNull(validValue) || Objects.isNull(valueParser) ? null
+					: valueParser.parseValue(validValue);
 		}
 
 	}
@@ -209,9 +278,10 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 	 */
 	@Override
 	public String getCurrentValue(ConfigKey configKey) {
-		if (!containsKey(configKey))
+		ExconfigBean bean = delegate.get(configKey);
+		if (Objects.isNull(bean))
 			return null;
-		return delegate.get(configKey).getCurrentValue();
+		return bean.getCurrentValue();
 	}
 
 	/**
@@ -354,13 +424,11 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 		if (Objects.isNull(configKey))
 			return null;
 
-		if (!containsKey(configKey))
+		ExconfigBean bean = delegate.get(configKey);
+		if (Objects.isNull(bean))
 			return null;
 
-		String defaultValue = getConfigFirmProps(configKey).getDefaultValue();
-		String currentValue = getCurrentValue(configKey);
-
-		return isValueValid(configKey, currentValue) ? currentValue : defaultValue;
+		return bean.getValidValue();
 	}
 
 	/**
@@ -495,13 +563,12 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 	public Object getParsedValue(ConfigKey configKey) {
 		if (Objects.isNull(configKey))
 			return null;
-		if (!containsKey(configKey))
-			return null;
 
-		String validValue = getValidValue(configKey);
-		ValueParser valueParser = getValueParser(configKey);
+		ExconfigBean bean = delegate.get(configKey);
+		if (Objects.isNull(bean))
+			return null;
 
-		return valueParser.parseValue(validValue);
+		return bean.getParsedValue();
 	}
 
 	/**
@@ -512,15 +579,14 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 	public <T> T getParsedValue(ConfigKey configKey, Class<T> clas) {
 		if (Objects.isNull(configKey))
 			return null;
-		if (!containsKey(configKey))
-			return null;
 
-		String validValue = getValidValue(configKey);
-		ValueParser valueParser = getValueParser(configKey);
+		ExconfigBean bean = delegate.get(configKey);
+		if (Objects.isNull(bean))
+			return null;
 
 		// 该处转换不是安全的，但是允许抛出 ClassCastException()。
 		@SuppressWarnings("unchecked")
-		T t = (T) valueParser.parseValue(validValue);
+		T t = (T) bean.getParsedValue();
 
 		return t;
 	}
@@ -542,6 +608,108 @@ public class DefaultExconfigModel extends AbstractExconfigModel {
 		return setCurrentValue(configKey, bean.getValueParser().parseObject(obj));
 	}
 
+	/**
+	 * 以 <code>int</code> 的形式获取指定配置键对应的解析值。
+	 * 
+	 * @param configKey
+	 *            指定的配置键。
+	 * @return 指定配置键对应的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的配置键不存在，或者没有解析值。
+	 * @throws ClassCastException
+	 *             解析值不是 {@link Number}。
+	 * @since 0.2.1-beta
+	 */
+	public int getInt(ConfigKey configKey) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValue(configKey, Number.class).intValue();
+	}
+
+	/**
+	 * 以 <code>long</code> 的形式获取指定配置键对应的解析值。
+	 * 
+	 * @param configKey
+	 *            指定的配置键。
+	 * @return 指定配置键对应的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的配置键不存在，或者没有解析值。
+	 * @throws ClassCastException
+	 *             解析值不是 {@link Number}。
+	 * @since 0.2.1-beta
+	 */
+	public long getLong(ConfigKey configKey) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValue(configKey, Number.class).longValue();
+	}
+
+	/**
+	 * 以 <code>float</code> 的形式获取指定配置键对应的解析值。
+	 * 
+	 * @param configKey
+	 *            指定的配置键。
+	 * @return 指定配置键对应的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的配置键不存在，或者没有解析值。
+	 * @throws ClassCastException
+	 *             解析值不是 {@link Number}。
+	 * @since 0.2.1-beta
+	 */
+	public float getFloat(ConfigKey configKey) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValue(configKey, Number.class).floatValue();
+	}
+
+	/**
+	 * 以 <code>double</code> 的形式获取指定配置键对应的解析值。
+	 * 
+	 * @param configKey
+	 *            指定的配置键。
+	 * @return 指定配置键对应的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的配置键不存在，或者没有解析值。
+	 * @throws ClassCastException
+	 *             解析值不是 {@link Number}。
+	 * @since 0.2.1-beta
+	 */
+	public double getDouble(ConfigKey configKey) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValue(configKey, Number.class).doubleValue();
+	}
+
+	/**
+	 * 以 <code>boolean</code> 的形式获取指定配置键对应的解析值。
+	 * 
+	 * @param configKey
+	 *            指定的配置键。
+	 * @return 指定配置键对应的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的配置键不存在，或者没有解析值。
+	 * @throws ClassCastException
+	 *             解析值不是 {@link Boolean}。
+	 * @since 0.2.1-beta
+	 */
+	public boolean getBoolean(ConfigKey configKey) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValue(configKey, Boolean.class).booleanValue();
+	}
+
+	private <T> T requireParsedValue(ConfigKey configKey, Class<T> clas) {
+		Objects.requireNonNull(configKey, DwarfUtil.getExceptionString(ExceptionStringKey.DEFAULTEXCONFIGMODEL_4));
+
+		ExconfigBean bean = delegate.get(configKey);
+		Object parsedValue = Objects.isNull(bean) ? null : bean.getParsedValue();
+		if (Objects.isNull(parsedValue)) {
+			throw new IllegalArgumentException(
+					String.format(DwarfUtil.getExceptionString(ExceptionStringKey.DEFAULTEXCONFIGMODEL_5), configKey));
+		}
+		return clas.cast(parsedValue);
+	}
+
 	private class CurrentValueMap implements Map<ConfigKey, String> {
 
 		/**
@@ -0,0 +1,644 @@
+package com.dwarfeng.dutil.develop.cfg;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.develop.cfg.obv.ExconfigObverser;
+import com.dwarfeng.dutil.develop.cfg.struct.ExconfigEntry;
+import com.dwarfeng.dutil.develop.cfg.struct.ValueParser;
+
+/**
+ * 快照Ex配置模型。
+ * <p>
+ * 该模型将所有的配置保存在一个不可变的快照中，快照中的每一个配置键在写入时就已经完成了检查与解析。
+ * 读取方法直接访问当前的快照，不获取任何锁，读取有效值与解析值也不需要重复检查与解析。
+ * <p>
+ * 写入方法持有写锁，在当前快照的副本上执行修改，然后一次性地发布新的快照，最后通知观察器。
+ * {@link #setAllCurrentValue(Map)} 在写锁之外检查并解析所有的新值，只在发布快照时短暂地持有写锁，
+ * 并且只通知观察器一次 {@link ExconfigObverser#fireCurrentValuesChanged(Map, Map, Map)}；
+ * 因此通过 {@link com.dwarfeng.dutil.develop.cfg.io.PropConfigLoader} 重新读取配置时，其它线程要么看到全部的新值，要么看不到任何新值。
+ * <p>
+ * 该模型适用于读取频繁而写入很少的场景，每一次写入都会复制整个快照。
+ * <p>
+ * {@link #getLock()} 返回的锁只被写入方法使用。外部代码持有读锁时，写入会被阻塞，
+ * 因此可以通过读锁使多次读取看到同一个状态。
+ * <p>
+ * 该模型是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class SnapshotExconfigModel extends AbstractExconfigModel implements SyncExconfigModel {
+
+	/**
+	 * 配置节点。
+	 * <p>
+	 * 保存一个配置键的固定属性、值解析器、当前值，以及在生成时计算的有效值与解析值。节点是不可变的。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private static final class Node {
+
+		final ConfigFirmProps configFirmProps;
+		final ValueParser valueParser;
+		final String currentValue;
+		final String validValue;
+		final Object parsedValue;
+
+		Node(ConfigFirmProps configFirmProps, ValueParser valueParser, String currentValue) {
+			this.configFirmProps = configFirmProps;
+			this.valueParser = valueParser;
+			this.currentValue = currentValue;
+			this.validValue = isValid(configFirmProps, currentValue) ? currentValue
+					: configFirmProps.getDefaultValue();
+			this.parsedValue = valueParser.parseValue(validValue);
+		}
+
+		static boolean isValid(ConfigFirmProps configFirmProps, String value) {
+			return Objects.nonNull(value) && configFirmProps.getConfigChecker().isValid(value);
+		}
+
+	}
+
+	/**
+	 * 快照。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private static final class Snapshot {
+
+		final Map<ConfigKey, Node> nodes;
+		final Map<ConfigKey, String> currentValues;
+
+		Snapshot(Map<ConfigKey, Node> nodes) {
+			Map<ConfigKey, String> currentValues = new LinkedHashMap<>();
+			for (Map.Entry<ConfigKey, Node> entry : nodes.entrySet()) {
+				currentValues.put(entry.getKey(), entry.getValue().currentValue);
+			}
+			this.nodes = Collections.unmodifiableMap(nodes);
+			this.currentValues = Collections.unmodifiableMap(currentValues);
+		}
+
+	}
+
+	/** 同步锁，只被写入方法使用。 */
+	protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** 当前的快照。 */
+	private volatile Snapshot snapshot = new Snapshot(new LinkedHashMap<>());
+
+	/**
+	 * 生成一个默认的快照Ex配置模型。
+	 */
+	public SnapshotExconfigModel() {
+		this(new HashSet<>(), Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定初始值入口的快照Ex配置模型。
+	 *
+	 * @param entries
+	 *            指定的初始值入口的集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public SnapshotExconfigModel(Collection<ExconfigEntry> entries) {
+		this(entries, Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定初始值入口、指定的观察器集合的快照Ex配置模型。
+	 * <p>
+	 * 只有初始值入口集合中的有效入口才会被添加到模型中。
+	 *
+	 * @param entries
+	 *            指定的初始值入口的集合。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public SnapshotExconfigModel(Collection<ExconfigEntry> entries, Set<ExconfigObverser> obversers) {
+		super(obversers);
+
+		Objects.requireNonNull(entries, DwarfUtil.getExceptionString(ExceptionStringKey.SNAPSHOTEXCONFIGMODEL_2));
+
+		Map<ConfigKey, Node> nodes = new LinkedHashMap<>();
+		for (ExconfigEntry exconfigEntry : entries) {
+			if (Objects.isNull(exconfigEntry))
+				continue;
+			if (ConfigUtil.nonValid(exconfigEntry))
+				continue;
+			if (nodes.containsKey(exconfigEntry.getConfigKey()))
+				continue;
+			nodes.put(exconfigEntry.getConfigKey(), newNode(exconfigEntry));
+		}
+		snapshot = new Snapshot(nodes);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ReadWriteLock getLock() {
+		return lock;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<ExconfigObverser> getObversers() {
+		lock.readLock().lock();
+		try {
+			return Collections.unmodifiableSet(new HashSet<>(obversers));
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean addObverser(ExconfigObverser obverser) {
+		lock.writeLock().lock();
+		try {
+			return super.addObverser(obverser);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeObverser(ExconfigObverser obverser) {
+		lock.writeLock().lock();
+		try {
+			return super.removeObverser(obverser);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearObverser() {
+		lock.writeLock().lock();
+		try {
+			super.clearObverser();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCurrentValue(ConfigKey configKey) {
+		Node node = node(configKey);
+		return Objects.isNull(node) ? null : node.currentValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 返回的映射是当前快照的只读视图，不会随着之后的写入而变化。
+	 */
+	@Override
+	public Map<ConfigKey, String> getAllCurrentValue() {
+		return snapshot.currentValues;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setCurrentValue(ConfigKey configKey, String currentValue) {
+		if (Objects.isNull(configKey))
+			return false;
+		if (Objects.isNull(currentValue))
+			return false;
+
+		lock.writeLock().lock();
+		try {
+			Node oldNode = snapshot.nodes.get(configKey);
+			if (Objects.isNull(oldNode))
+				return false;
+			if (Objects.equals(oldNode.currentValue, currentValue))
+				return false;
+
+			Node newNode = new Node(oldNode.configFirmProps, oldNode.valueParser, currentValue);
+			publish(configKey, newNode);
+			fireCurrentValueChanged(configKey, oldNode.currentValue, currentValue, newNode.validValue);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 该方法在写锁之外基于当前的快照检查并解析所有的新值，然后在写锁中发布新的快照；
+	 * 如果在此期间有其它的写入发布了快照，则基于最新的快照重新进行。
+	 * 发布之后只通知观察器一次 {@link ExconfigObverser#fireCurrentValuesChanged(Map, Map, Map)}。
+	 * <p>
+	 * 不存在的配置键、值为 <code>null</code> 的入口、以及与当前值相同的值都会被忽略。
+	 */
+	@Override
+	public boolean setAllCurrentValue(Map<ConfigKey, String> map) {
+		Objects.requireNonNull(map, DwarfUtil.getExceptionString(ExceptionStringKey.SNAPSHOTEXCONFIGMODEL_1));
+
+		for (;;) {
+			Snapshot base = snapshot;
+
+			Map<ConfigKey, Node> nodes = null;
+			Map<ConfigKey, String> oldValues = new LinkedHashMap<>();
+			Map<ConfigKey, String> newValues = new LinkedHashMap<>();
+			Map<ConfigKey, String> validValues = new LinkedHashMap<>();
+			for (Map.Entry<ConfigKey, String> entry : map.entrySet()) {
+				ConfigKey configKey = entry.getKey();
+				String currentValue = entry.getValue();
+				if (Objects.isNull(configKey) || Objects.isNull(currentValue))
+					continue;
+
+				Node oldNode = base.nodes.get(configKey);
+				if (Objects.isNull(oldNode))
+					continue;
+				if (Objects.equals(oldNode.currentValue, currentValue))
+					continue;
+
+				if (Objects.isNull(nodes))
+					nodes = new LinkedHashMap<>(base.nodes);
+				Node newNode = new Node(oldNode.configFirmProps, oldNode.valueParser, currentValue);
+				nodes.put(configKey, newNode);
+				oldValues.put(configKey, oldNode.currentValue);
+				newValues.put(configKey, currentValue);
+				validValues.put(configKey, newNode.validValue);
+			}
+			if (Objects.isNull(nodes))
+				return false;
+			Snapshot next = new Snapshot(nodes);
+
+			lock.writeLock().lock();
+			try {
+				if (snapshot != base)
+					continue;
+
+				snapshot = next;
+				fireCurrentValuesChanged(oldValues, newValues, validValues);
+				return true;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			snapshot = new Snapshot(new LinkedHashMap<>());
+			fireConfigKeyCleared();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(ConfigKey configKey) {
+		return snapshot.nodes.containsKey(configKey);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return snapshot.nodes.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 返回的集合是当前快照的只读视图，不会随着之后的写入而变化。
+	 */
+	@Override
+	public Set<ConfigKey> keySet() {
+		return snapshot.nodes.keySet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean add(ExconfigEntry exconfigEntry) {
+		if (Objects.isNull(exconfigEntry))
+			return false;
+		if (ConfigUtil.nonValid(exconfigEntry))
+			return false;
+
+		lock.writeLock().lock();
+		try {
+			if (snapshot.nodes.containsKey(exconfigEntry.getConfigKey()))
+				return false;
+
+			publish(exconfigEntry.getConfigKey(), newNode(exconfigEntry));
+			fireConfigKeyAdded(exconfigEntry.getConfigKey(), exconfigEntry.getConfigFirmProps(),
+					exconfigEntry.getValueParser(), exconfigEntry.getCurrentValue());
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean addAll(Collection<ExconfigEntry> exconfigEntries) {
+		lock.writeLock().lock();
+		try {
+			boolean aFlag = false;
+			for (ExconfigEntry exconfigEntry : exconfigEntries) {
+				if (add(exconfigEntry))
+					aFlag = true;
+			}
+			return aFlag;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(ConfigKey configKey) {
+		lock.writeLock().lock();
+		try {
+			Node node = snapshot.nodes.get(configKey);
+			if (Objects.isNull(node))
+				return false;
+
+			Map<ConfigKey, Node> nodes = new LinkedHashMap<>(snapshot.nodes);
+			nodes.remove(configKey);
+			snapshot = new Snapshot(nodes);
+			fireConfigKeyRemoved(configKey, node.configFirmProps, node.valueParser, node.currentValue);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeAll(Collection<ConfigKey> configKeys) {
+		Objects.requireNonNull(configKeys, DwarfUtil.getExceptionString(ExceptionStringKey.SNAPSHOTEXCONFIGMODEL_0));
+		return batchRemove(configKeys, true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean retainAll(Collection<ConfigKey> configKeys) {
+		Objects.requireNonNull(configKeys, DwarfUtil.getExceptionString(ExceptionStringKey.SNAPSHOTEXCONFIGMODEL_0));
+		return batchRemove(configKeys, false);
+	}
+
+	private boolean batchRemove(Collection<ConfigKey> configKeys, boolean aFlag) {
+		lock.writeLock().lock();
+		try {
+			Map<ConfigKey, Node> nodes = new LinkedHashMap<>();
+			Map<ConfigKey, Node> removed = new LinkedHashMap<>();
+			for (Map.Entry<ConfigKey, Node> entry : snapshot.nodes.entrySet()) {
+				if (configKeys.contains(entry.getKey()) == aFlag) {
+					removed.put(entry.getKey(), entry.getValue());
+				} else {
+					nodes.put(entry.getKey(), entry.getValue());
+				}
+			}
+			if (removed.isEmpty())
+				return false;
+
+			snapshot = new Snapshot(nodes);
+			for (Map.Entry<ConfigKey, Node> entry : removed.entrySet()) {
+				Node node = entry.getValue();
+				fireConfigKeyRemoved(entry.getKey(), node.configFirmProps, node.valueParser, node.currentValue);
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return snapshot.nodes.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isValueValid(ConfigKey configKey, String value) {
+		Node node = node(configKey);
+		if (Objects.isNull(node))
+			return false;
+		return Node.isValid(node.configFirmProps, value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getValidValue(ConfigKey configKey) {
+		Node node = node(configKey);
+		return Objects.isNull(node) ? null : node.validValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ConfigFirmProps getConfigFirmProps(ConfigKey configKey) {
+		Node node = node(configKey);
+		return Objects.isNull(node) ? null : node.configFirmProps;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setConfigFirmProps(ConfigKey configKey, ConfigFirmProps configFirmProps) {
+		if (ConfigUtil.nonValid(configFirmProps))
+			return false;
+
+		lock.writeLock().lock();
+		try {
+			Node oldNode = node(configKey);
+			if (Objects.isNull(oldNode))
+				return false;
+
+			publish(configKey, new Node(configFirmProps, oldNode.valueParser, oldNode.currentValue));
+			fireConfigFirmPropsChanged(configKey, oldNode.configFirmProps, configFirmProps);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean resetCurrentValue(ConfigKey configKey) {
+		lock.writeLock().lock();
+		try {
+			Node node = node(configKey);
+			if (Objects.isNull(node))
+				return false;
+			return setCurrentValue(configKey, node.configFirmProps.getDefaultValue());
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean resetAllCurrentValue() {
+		lock.writeLock().lock();
+		try {
+			Map<ConfigKey, String> defaultValues = new LinkedHashMap<>();
+			for (Map.Entry<ConfigKey, Node> entry : snapshot.nodes.entrySet()) {
+				defaultValues.put(entry.getKey(), entry.getValue().configFirmProps.getDefaultValue());
+			}
+			return setAllCurrentValue(defaultValues);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ValueParser getValueParser(ConfigKey configKey) {
+		Node node = node(configKey);
+		return Objects.isNull(node) ? null : node.valueParser;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setValueParser(ConfigKey configKey, ValueParser valueParser) {
+		if (Objects.isNull(configKey))
+			return false;
+		if (Objects.isNull(valueParser))
+			return false;
+
+		lock.writeLock().lock();
+		try {
+			Node oldNode = node(configKey);
+			if (Objects.isNull(oldNode))
+				return false;
+
+			publish(configKey, new Node(oldNode.configFirmProps, valueParser, oldNode.currentValue));
+			fireValueParserChanged(configKey, oldNode.valueParser, valueParser);
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValue(ConfigKey configKey) {
+		Node node = node(configKey);
+		return Objects.isNull(node) ? null : node.parsedValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T> T getParsedValue(ConfigKey configKey, Class<T> clas) {
+		// 该处转换不是安全的，但是允许抛出 ClassCastException()。
+		@SuppressWarnings("unchecked")
+		T t = (T) getParsedValue(configKey);
+
+		return t;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setParsedValue(ConfigKey configKey, Object obj) {
+		if (Objects.isNull(obj))
+			return false;
+
+		lock.writeLock().lock();
+		try {
+			Node node = node(configKey);
+			if (Objects.isNull(node))
+				return false;
+			return setCurrentValue(configKey, node.valueParser.parseObject(obj));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private Node node(ConfigKey configKey) {
+		if (Objects.isNull(configKey))
+			return null;
+		return snapshot.nodes.get(configKey);
+	}
+
+	private void publish(ConfigKey configKey, Node node) {
+		Map<ConfigKey, Node> nodes = new LinkedHashMap<>(snapshot.nodes);
+		nodes.put(configKey, node);
+		snapshot = new Snapshot(nodes);
+	}
+
+	private static Node newNode(ExconfigEntry exconfigEntry) {
+		return new Node(exconfigEntry.getConfigFirmProps(), exconfigEntry.getValueParser(),
+				exconfigEntry.getCurrentValue());
+	}
+
+}
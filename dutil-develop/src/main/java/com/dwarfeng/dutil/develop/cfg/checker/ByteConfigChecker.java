@@ -22,14 +22,7 @@ public class ByteConfigChecker implements ConfigChecker {
 	public boolean isValid(String value) {
 		if (Objects.isNull(value))
 			return false;
-		if (!value.matches("-*[0-9]+"))
-			return false;
-		try {
-			Long l = Long.parseLong(value);
-			return Byte.MIN_VALUE <= l && l <= Byte.MAX_VALUE;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+		return CheckerUtil.isIntegerInRange(value, Byte.MIN_VALUE, Byte.MAX_VALUE);
 	}
 
 	/**
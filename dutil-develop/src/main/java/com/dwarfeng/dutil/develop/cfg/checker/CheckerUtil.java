@@ -0,0 +1,165 @@
+package com.dwarfeng.dutil.develop.cfg.checker;
+
+/**
+ * 值检查器工具类。
+ * <p>
+ * 提供数值检查器使用的解析方法。这些方法直接扫描字符，不使用正则表达式，
+ * 在常见的输入上也不会生成任何对象（包括解析失败时的异常），因此可以在批量检查时频繁调用。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+final class CheckerUtil {
+
+	private static final double[] DOUBLE_POW10 = { 1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+	private static final float[] FLOAT_POW10 = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	// 在这些范围内，有效数字与 10 的幂都可以被精确地表示，一次除法的结果就是正确舍入的结果。
+	private static final int DOUBLE_MAX_DIGITS = 15;
+	private static final int FLOAT_MAX_DIGITS = 7;
+
+	private static final long INVALID = -1;
+	private static final long SLOW = -2;
+
+	/**
+	 * 判断指定的值是否是整数，且处于指定的范围之内。
+	 * <p>
+	 * 整数的格式为可选的负号后接至少一位数字，与 <code>-*[0-9]+</code> 加上 {@link Long#parseLong(String)}
+	 * 的判断结果一致。
+	 *
+	 * @param value
+	 *            指定的值，不能为 <code>null</code>。
+	 * @param minValue
+	 *            最小值。
+	 * @param maxValue
+	 *            最大值。
+	 * @return 指定的值是否是整数，且处于指定的范围之内。
+	 */
+	public static boolean isIntegerInRange(String value, long minValue, long maxValue) {
+		int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		if (length > 0 && value.charAt(0) == '-') {
+			negative = true;
+			i = 1;
+		}
+		if (i >= length)
+			return false;
+
+		// 与 Long.parseLong 相同，以负数累加，以便能够表示 Long.MIN_VALUE。
+		long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+		long multmin = limit / 10;
+		long result = 0;
+		for (; i < length; i++) {
+			int digit = value.charAt(i) - '0';
+			if (digit < 0 || digit > 9)
+				return false;
+			if (result < multmin)
+				return false;
+			result *= 10;
+			if (result < limit + digit)
+				return false;
+			result -= digit;
+		}
+
+		long l = negative ? result : -result;
+		return minValue <= l && l <= maxValue;
+	}
+
+	/**
+	 * 将指定的值解析为双精度浮点数。
+	 * <p>
+	 * 值的格式与 <code>[-+]?[0-9]*\.?[0-9]+</code> 一致，解析结果与 {@link Double#parseDouble(String)}
+	 * 一致。
+	 *
+	 * @param value
+	 *            指定的值，不能为 <code>null</code>。
+	 * @return 解析结果，如果指定的值的格式不正确，则返回 {@link Double#NaN}。
+	 */
+	public static double parseDouble(String value) {
+		long packed = scanDecimal(value, DOUBLE_MAX_DIGITS, DOUBLE_POW10.length - 1);
+		if (packed == INVALID)
+			return Double.NaN;
+		if (packed == SLOW)
+			return Double.parseDouble(value);
+
+		double d = (packed >>> 6) / DOUBLE_POW10[(int) (packed >>> 1) & 0x1F];
+		return (packed & 1) == 0 ? d : -d;
+	}
+
+	/**
+	 * 将指定的值解析为单精度浮点数。
+	 * <p>
+	 * 值的格式与 <code>[-+]?[0-9]*\.?[0-9]+</code> 一致，解析结果与 {@link Float#parseFloat(String)}
+	 * 一致。
+	 *
+	 * @param value
+	 *            指定的值，不能为 <code>null</code>。
+	 * @return 解析结果，如果指定的值的格式不正确，则返回 {@link Float#NaN}。
+	 */
+	public static float parseFloat(String value) {
+		long packed = scanDecimal(value, FLOAT_MAX_DIGITS, FLOAT_POW10.length - 1);
+		if (packed == INVALID)
+			return Float.NaN;
+		if (packed == SLOW)
+			return Float.parseFloat(value);
+
+		float f = (packed >>> 6) / FLOAT_POW10[(int) (packed >>> 1) & 0x1F];
+		return (packed & 1) == 0 ? f : -f;
+	}
+
+	// 扫描十进制小数，返回 INVALID、SLOW，或者打包后的结果：第 0 位为符号，第 1 至 5 位为小数位数，其余为有效数字。
+	private static long scanDecimal(String value, int maxDigits, int maxScale) {
+		int length = value.length();
+		int i = 0;
+		boolean negative = false;
+		if (length > 0) {
+			char c = value.charAt(0);
+			if (c == '-' || c == '+') {
+				negative = c == '-';
+				i = 1;
+			}
+		}
+
+		long mantissa = 0;
+		int significantDigits = 0;
+		int integerDigits = 0;
+		int scale = 0;
+		boolean dot = false;
+		for (; i < length; i++) {
+			char c = value.charAt(i);
+			if (c == '.') {
+				if (dot)
+					return INVALID;
+				dot = true;
+				continue;
+			}
+			if (c < '0' || c > '9')
+				return INVALID;
+
+			if (dot) {
+				scale++;
+			} else {
+				integerDigits++;
+			}
+			if (mantissa != 0 || c != '0') {
+				significantDigits++;
+				if (significantDigits <= maxDigits) {
+					mantissa = mantissa * 10 + (c - '0');
+				}
+			}
+		}
+
+		if (dot ? scale == 0 : integerDigits == 0)
+			return INVALID;
+		if (significantDigits > maxDigits || scale > maxScale)
+			return SLOW;
+		return (mantissa << 6) | (scale << 1) | (negative ? 1 : 0);
+	}
+
+	// 不能进行实例化
+	private CheckerUtil() {
+	}
+
+}
@@ -2,6 +2,7 @@ package com.dwarfeng.dutil.develop.cfg.checker;
 
 import java.util.Objects;
 
+import com.dwarfeng.dutil.basic.str.PatternMatcher;
 import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 
 /**
@@ -19,6 +20,7 @@ import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 public class ClassConfigChecker implements ConfigChecker {
 
 	private static final String REGEX_TO_MATCH = "^[a-z,A-Z][a-z,A-Z,0-9]*(\\.[a-z,A-Z][a-z,A-Z,0-9]*)*$";
+	private static final PatternMatcher MATCHER = new PatternMatcher(REGEX_TO_MATCH);
 
 	/**
 	 * {@inheritDoc}
@@ -28,7 +30,7 @@ public class ClassConfigChecker implements ConfigChecker {
 		if (Objects.isNull(value)) {
 			return false;
 		}
-		return value.matches(REGEX_TO_MATCH);
+		return MATCHER.matches(value);
 	}
 
 	/**
@@ -16,8 +16,6 @@ import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 @SuppressWarnings("deprecation")
 public class DoubleConfigChecker implements ConfigChecker {
 
-	private static final String REGEX_TO_MATCH = "[-+]?[0-9]*\\.?[0-9]+";
-
 	private final double minValue;
 	private final double maxValue;
 
@@ -53,14 +51,9 @@ public class DoubleConfigChecker implements ConfigChecker {
 	public boolean isValid(String value) {
 		if (Objects.isNull(value))
 			return false;
-		if (!value.matches(REGEX_TO_MATCH))
-			return false;
-		try {
-			double d = Double.parseDouble(value);
-			return minValue <= d && d <= maxValue;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+		// 格式不正确时解析结果为 NaN，不能通过范围检查。
+		double d = CheckerUtil.parseDouble(value);
+		return minValue <= d && d <= maxValue;
 	}
 
 	/**
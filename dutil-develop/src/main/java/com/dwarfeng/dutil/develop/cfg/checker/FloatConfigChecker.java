@@ -15,8 +15,6 @@ import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 @SuppressWarnings("deprecation")
 public class FloatConfigChecker implements ConfigChecker {
 
-	private static final String REGEX_TO_MATCH = "[-+]?[0-9]*\\.?[0-9]+";
-
 	private final float minValue;
 	private final float maxValue;
 
@@ -52,14 +50,9 @@ public class FloatConfigChecker implements ConfigChecker {
 	public boolean isValid(String value) {
 		if (Objects.isNull(value))
 			return false;
-		if (!value.matches(REGEX_TO_MATCH))
-			return false;
-		try {
-			float f = Float.parseFloat(value);
-			return minValue <= f && f <= maxValue;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+		// 格式不正确时解析结果为 NaN，不能通过范围检查。
+		float f = CheckerUtil.parseFloat(value);
+		return minValue <= f && f <= maxValue;
 	}
 
 	/**
@@ -15,8 +15,6 @@ import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 @SuppressWarnings("deprecation")
 public class LongConfigChecker implements ConfigChecker {
 
-	private static final String REGEX_TO_MATCH = "-*[0-9]+";
-
 	private final long minValue;
 	private final long maxValue;
 
@@ -51,14 +49,7 @@ public class LongConfigChecker implements ConfigChecker {
 	public boolean isValid(String value) {
 		if (Objects.isNull(value))
 			return false;
-		if (!value.matches(REGEX_TO_MATCH))
-			return false;
-		try {
-			long l = Long.parseLong(value);
-			return minValue <= l && l <= maxValue;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+		return CheckerUtil.isIntegerInRange(value, minValue, maxValue);
 	}
 
 	/**
@@ -2,12 +2,15 @@ package com.dwarfeng.dutil.develop.cfg.checker;
 
 import java.util.Objects;
 
+import com.dwarfeng.dutil.basic.str.PatternMatcher;
 import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 
 /**
  * 匹配值检查器。
  * <p>
  * 用于检测目标值是否匹配指定的正则表达式。
+ * <p>
+ * 正则表达式在检查器生成时编译，检查时复用线程本地的匹配器。
  * 
  * @author DwArFeng
  * @since 0.0.2-beta
@@ -16,6 +19,7 @@ import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 public class MatchConfigChecker implements ConfigChecker {
 
 	private final String regex;
+	private final PatternMatcher matcher;
 
 	/**
 	 * 创建一个匹配任意字符的匹配值检测器。
@@ -34,6 +38,7 @@ public class MatchConfigChecker implements ConfigChecker {
 	 */
 	public MatchConfigChecker(String regex) {
 		this.regex = regex;
+		this.matcher = Objects.isNull(regex) ? null : new PatternMatcher(regex);
 	}
 
 	/**
@@ -43,7 +48,7 @@ public class MatchConfigChecker implements ConfigChecker {
 	public boolean isValid(String value) {
 		if (Objects.isNull(value))
 			return false;
-		return value.matches(regex);
+		return matcher.matches(value);
 	}
 
 	/**
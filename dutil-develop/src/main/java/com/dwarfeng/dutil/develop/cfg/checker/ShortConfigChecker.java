@@ -15,8 +15,6 @@ import com.dwarfeng.dutil.develop.cfg.ConfigChecker;
 @SuppressWarnings("deprecation")
 public class ShortConfigChecker implements ConfigChecker {
 
-	private static final String REGEX_TO_MATCH = "-*[0-9]+";
-
 	private final short minValue;
 	private final short maxValue;
 
@@ -51,14 +49,7 @@ public class ShortConfigChecker implements ConfigChecker {
 	public boolean isValid(String value) {
 		if (Objects.isNull(value))
 			return false;
-		if (!value.matches(REGEX_TO_MATCH))
-			return false;
-		try {
-			short s = Short.parseShort(value);
-			return minValue <= s && s <= maxValue;
-		} catch (NumberFormatException e) {
-			return false;
-		}
+		return CheckerUtil.isIntegerInRange(value, minValue, maxValue);
 	}
 
 	/**
@@ -0,0 +1,498 @@
+package com.dwarfeng.dutil.develop.cfg.io;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.io.LoadFailedException;
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
+import com.dwarfeng.dutil.develop.cfg.ConfigKey;
+import com.dwarfeng.dutil.develop.cfg.ConfigModel;
+import com.dwarfeng.dutil.develop.cfg.CurrentValueContainer;
+import com.dwarfeng.dutil.develop.cfg.ExconfigModel;
+import com.dwarfeng.dutil.develop.setting.SettingHandler;
+import com.dwarfeng.dutil.develop.timer.LatencyHistogram;
+
+/**
+ * Properties 文件重载监视器。
+ * <p>
+ * 通过 {@link WatchService} 监视若干 properties 文件，在文件发生变化时重新读取该文件，
+ * 并将与上一次读取结果不同的值设置到与该文件绑定的目标中。目标可以是 {@link CurrentValueContainer}（如
+ * {@link ConfigModel}、{@link ExconfigModel}），也可以是 {@link SettingHandler}。
+ * 每一个文件单独读取，一个文件的变化不会引起其它文件的读取。
+ * <p>
+ * 文件在短时间内产生的一连串事件会被合并：监视器在最后一个事件之后等待一段防抖延迟，然后只读取一次文件。
+ * 先写入临时文件再重命名的保存方式会产生删除与创建事件，如果读取时文件不存在，监视器跳过本次读取，等待后续的创建事件。
+ * <p>
+ * 只有与上一次读取结果不同的值才会通过目标的 <code>setAllCurrentValue</code> 方法一次性地设置到目标中，
+ * 因此在程序中修改过、而文件中没有变化的值不会被覆盖；从文件中删除的键不会影响目标。
+ * 每一次重载从第一个事件到值设置完成所经过的时间以纳秒为单位记录在 {@link LatencyHistogram} 中，
+ * 可以通过 {@link #getMetrics()} 获取。
+ * <p>
+ * 监视器在生成时启动一个监视线程与一个重载线程，所有的重载都在重载线程中依次进行。不再使用的监视器应该调用 {@link #close()} 关闭。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class PropReloadWatcher implements Closeable {
+
+	/** 默认的防抖延迟，单位为毫秒。 */
+	public static final long DEFAULT_DEBOUNCE_DELAY = 100;
+
+	/** 监视线程默认的线程工厂。 */
+	public static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory("PropWatcher", true,
+			Thread.NORM_PRIORITY);
+	/** 重载线程默认的线程工厂。 */
+	public static final ThreadFactory RELOAD_THREAD_FACTORY = new NumberedThreadFactory("PropWatcherReload", true,
+			Thread.NORM_PRIORITY);
+
+	private final long debounceDelay;
+	private final WatchService watchService;
+	private final ScheduledExecutorService reloadExecutor;
+
+	private final Map<Path, Watch> watches = new ConcurrentHashMap<>();
+	private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final AtomicLong reloadCount = new AtomicLong(0);
+	private final AtomicLong unchangedCount = new AtomicLong(0);
+	private final AtomicLong failedCount = new AtomicLong(0);
+
+	private boolean closed = false;
+
+	/**
+	 * 生成一个具有默认防抖延迟的 Properties 文件重载监视器。
+	 *
+	 * @throws IOException
+	 *             无法生成监视服务。
+	 */
+	public PropReloadWatcher() throws IOException {
+		this(DEFAULT_DEBOUNCE_DELAY, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 生成一个具有指定防抖延迟的 Properties 文件重载监视器。
+	 *
+	 * @param debounceDelay
+	 *            指定的防抖延迟。
+	 * @param unit
+	 *            防抖延迟的时间单位。
+	 * @throws IOException
+	 *             无法生成监视服务。
+	 * @throws NullPointerException
+	 *             指定的时间单位为 <code> null </code>。
+	 * @throws IllegalArgumentException
+	 *             指定的防抖延迟为负数。
+	 */
+	public PropReloadWatcher(long debounceDelay, TimeUnit unit)
+			throws IOException, NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_3));
+		if (debounceDelay < 0) {
+			throw new IllegalArgumentException(String
+					.format(DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_4), debounceDelay));
+		}
+
+		this.debounceDelay = unit.toNanos(debounceDelay);
+		this.watchService = FileSystems.getDefault().newWatchService();
+		this.reloadExecutor = Executors.newSingleThreadScheduledExecutor(RELOAD_THREAD_FACTORY);
+
+		THREAD_FACTORY.newThread(this::watchLoop).start();
+	}
+
+	/**
+	 * 监视指定的文件，并将文件中的值设置到指定的当前值容器中。
+	 * <p>
+	 * 该方法会立即读取一次文件，并将文件中的所有值设置到容器中；不存在的文件被视为空文件。
+	 *
+	 * @param file
+	 *            指定的文件。
+	 * @param container
+	 *            指定的当前值容器。
+	 * @return 该方法是否改变了监视器，如果指定的文件已经被监视，则返回 <code>false</code>。
+	 * @throws NullPointerException
+	 *             指定的入口参数为 <code> null </code>。
+	 * @throws IllegalStateException
+	 *             监视器已经关闭。
+	 * @throws LoadFailedException
+	 *             读取失败。
+	 */
+	public boolean watch(File file, CurrentValueContainer container)
+			throws NullPointerException, IllegalStateException, LoadFailedException {
+		Objects.requireNonNull(file, DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_0));
+		Objects.requireNonNull(container, DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_1));
+
+		return watch0(file, values -> {
+			Map<ConfigKey, String> configMap = new LinkedHashMap<>();
+			for (Map.Entry<String, String> entry : values.entrySet()) {
+				configMap.put(new ConfigKey(entry.getKey()), entry.getValue());
+			}
+			container.setAllCurrentValue(configMap);
+		});
+	}
+
+	/**
+	 * 监视指定的文件，并将文件中的值设置到指定的配置处理器中。
+	 * <p>
+	 * 该方法会立即读取一次文件，并将文件中的所有值设置到配置处理器中；不存在的文件被视为空文件。
+	 *
+	 * @param file
+	 *            指定的文件。
+	 * @param handler
+	 *            指定的配置处理器。
+	 * @return 该方法是否改变了监视器，如果指定的文件已经被监视，则返回 <code>false</code>。
+	 * @throws NullPointerException
+	 *             指定的入口参数为 <code> null </code>。
+	 * @throws IllegalStateException
+	 *             监视器已经关闭。
+	 * @throws LoadFailedException
+	 *             读取失败。
+	 */
+	public boolean watch(File file, SettingHandler handler)
+			throws NullPointerException, IllegalStateException, LoadFailedException {
+		Objects.requireNonNull(file, DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_0));
+		Objects.requireNonNull(handler, DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_2));
+
+		return watch0(file, handler::setAllCurrentValue);
+	}
+
+	private synchronized boolean watch0(File file, Target target) throws IllegalStateException, LoadFailedException {
+		if (closed)
+			throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.PROPRELOADWATCHER_5));
+
+		Path path = toPath(file);
+		if (watches.containsKey(path))
+			return false;
+
+		// 先注册目录并登记监视，再读取文件：读取期间发生的修改会触发一次后续的重载，而不会因为找不到监视而被遗漏。
+		Path dir = path.getParent();
+		try {
+			if (!watchKeys.containsKey(dir)) {
+				watchKeys.put(dir, dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE));
+			}
+		} catch (IOException e) {
+			throw new LoadFailedException(e.getMessage(), e);
+		}
+
+		Watch watch = new Watch(path, target);
+		watches.put(path, watch);
+		try {
+			watch.reload();
+		} catch (Exception e) {
+			watches.remove(path, watch);
+			watch.cancel();
+			cancelIfUnused(dir);
+			throw new LoadFailedException(e.getMessage(), e);
+		}
+		return true;
+	}
+
+	/**
+	 * 停止监视指定的文件。
+	 *
+	 * @param file
+	 *            指定的文件。
+	 * @return 该方法是否改变了监视器。
+	 */
+	public synchronized boolean unwatch(File file) {
+		if (Objects.isNull(file))
+			return false;
+
+		Path path = toPath(file);
+		Watch watch = watches.remove(path);
+		if (Objects.isNull(watch))
+			return false;
+
+		watch.cancel();
+		cancelIfUnused(path.getParent());
+		return true;
+	}
+
+	/**
+	 * 获取正在被监视的所有文件。
+	 *
+	 * @return 正在被监视的所有文件组成的集合，该集合是只读的。
+	 */
+	public Set<File> getWatchedFiles() {
+		Set<File> files = new LinkedHashSet<>();
+		for (Path path : watches.keySet()) {
+			files.add(path.toFile());
+		}
+		return Collections.unmodifiableSet(files);
+	}
+
+	/**
+	 * 获取监视器的重载指标。
+	 *
+	 * @return 监视器的重载指标。
+	 */
+	public Metrics getMetrics() {
+		return new Metrics(latency.snapshot(), reloadCount.get(), unchangedCount.get(), failedCount.get());
+	}
+
+	/**
+	 * 关闭监视器。
+	 * <p>
+	 * 关闭之后，所有的文件都不再被监视，尚未进行的重载被丢弃，正在进行的重载不受影响。
+	 *
+	 * @throws IOException
+	 *             关闭监视服务时发生异常。
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (closed)
+			return;
+
+		closed = true;
+		reloadExecutor.shutdownNow();
+		watches.clear();
+		watchKeys.clear();
+		watchService.close();
+	}
+
+	private void cancelIfUnused(Path dir) {
+		for (Path path : watches.keySet()) {
+			if (path.getParent().equals(dir))
+				return;
+		}
+		WatchKey watchKey = watchKeys.remove(dir);
+		if (Objects.nonNull(watchKey)) {
+			watchKey.cancel();
+		}
+	}
+
+	private void watchLoop() {
+		try {
+			while (true) {
+				WatchKey watchKey = watchService.take();
+				Path dir = (Path) watchKey.watchable();
+				for (WatchEvent<?> event : watchKey.pollEvents()) {
+					if (event.kind() == OVERFLOW) {
+						// 事件丢失时，无法确定哪些文件发生了变化，因此重载该目录下的所有文件。
+						for (Watch watch : watches.values()) {
+							if (watch.path.getParent().equals(dir)) {
+								watch.schedule();
+							}
+						}
+						continue;
+					}
+					Watch watch = watches.get(dir.resolve((Path) event.context()));
+					if (Objects.nonNull(watch)) {
+						watch.schedule();
+					}
+				}
+				watchKey.reset();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// 监视器已经关闭，结束监视线程。
+		}
+	}
+
+	private static Path toPath(File file) {
+		return file.toPath().toAbsolutePath().normalize();
+	}
+
+	@FunctionalInterface
+	private interface Target {
+
+		void apply(Map<String, String> values);
+
+	}
+
+	private final class Watch {
+
+		private final Path path;
+		private final Target target;
+
+		// 初次读取与重载线程中的重载可能同时进行，由 reloadLock 保护。
+		private final Object reloadLock = new Object();
+		private Map<String, String> lastValues = Collections.emptyMap();
+
+		private ScheduledFuture<?> future = null;
+		private long firstEventTime = 0;
+
+		public Watch(Path path, Target target) {
+			this.path = path;
+			this.target = target;
+		}
+
+		public synchronized void schedule() {
+			if (Objects.isNull(future)) {
+				firstEventTime = System.nanoTime();
+			} else {
+				future.cancel(false);
+			}
+			try {
+				future = reloadExecutor.schedule(this::reloadScheduled, debounceDelay, TimeUnit.NANOSECONDS);
+			} catch (RejectedExecutionException e) {
+				// 监视器已经关闭。
+				future = null;
+			}
+		}
+
+		public synchronized void cancel() {
+			if (Objects.nonNull(future)) {
+				future.cancel(false);
+				future = null;
+			}
+		}
+
+		private void reloadScheduled() {
+			long eventTime;
+			synchronized (this) {
+				eventTime = firstEventTime;
+				future = null;
+			}
+			// 重命名尚未完成，等待后续的创建事件。
+			if (!Files.exists(path))
+				return;
+
+			try {
+				if (reload()) {
+					reloadCount.incrementAndGet();
+					latency.record(System.nanoTime() - eventTime);
+				} else {
+					unchangedCount.incrementAndGet();
+				}
+			} catch (Exception e) {
+				failedCount.incrementAndGet();
+			}
+		}
+
+		public boolean reload() throws IOException {
+			synchronized (reloadLock) {
+				return reload0();
+			}
+		}
+
+		private boolean reload0() throws IOException {
+			Map<String, String> values = new HashMap<>();
+			if (Files.exists(path)) {
+				Properties properties = new Properties();
+				try (InputStream in = Files.newInputStream(path)) {
+					properties.load(in);
+				}
+				for (String key : properties.stringPropertyNames()) {
+					values.put(key, properties.getProperty(key));
+				}
+			}
+
+			Map<String, String> changedValues = new LinkedHashMap<>();
+			for (Map.Entry<String, String> entry : values.entrySet()) {
+				if (!Objects.equals(entry.getValue(), lastValues.get(entry.getKey()))) {
+					changedValues.put(entry.getKey(), entry.getValue());
+				}
+			}
+			if (!changedValues.isEmpty()) {
+				target.apply(changedValues);
+			}
+			lastValues = values;
+			return !changedValues.isEmpty();
+		}
+
+	}
+
+	/**
+	 * 重载指标。
+	 * <p>
+	 * 重载指标是监视器在某一时刻的指标的不可变快照。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public static final class Metrics {
+
+		private final LatencyHistogram.Snapshot latency;
+		private final long reloadCount;
+		private final long unchangedCount;
+		private final long failedCount;
+
+		private Metrics(LatencyHistogram.Snapshot latency, long reloadCount, long unchangedCount, long failedCount) {
+			this.latency = latency;
+			this.reloadCount = reloadCount;
+			this.unchangedCount = unchangedCount;
+			this.failedCount = failedCount;
+		}
+
+		/**
+		 * 获取重载延迟的直方图快照，以纳秒为单位。
+		 * <p>
+		 * 重载延迟是从文件的第一个事件到值设置完成所经过的时间，包含防抖延迟。
+		 *
+		 * @return 重载延迟的直方图快照。
+		 */
+		public LatencyHistogram.Snapshot getLatency() {
+			return latency;
+		}
+
+		/**
+		 * 获取向目标设置了值的重载的次数。
+		 *
+		 * @return 向目标设置了值的重载的次数。
+		 */
+		public long getReloadCount() {
+			return reloadCount;
+		}
+
+		/**
+		 * 获取文件中的值没有变化的重载的次数。
+		 *
+		 * @return 文件中的值没有变化的重载的次数。
+		 */
+		public long getUnchangedCount() {
+			return unchangedCount;
+		}
+
+		/**
+		 * 获取失败的重载的次数。
+		 *
+		 * @return 失败的重载的次数。
+		 */
+		public long getFailedCount() {
+			return failedCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "Metrics [latency=" + latency + ", reloadCount=" + reloadCount + ", unchangedCount="
+					+ unchangedCount + ", failedCount=" + failedCount + "]";
+		}
+
+	}
+
+}
@@ -1,5 +1,7 @@
 package com.dwarfeng.dutil.develop.cfg.obv;
 
+import java.util.Map;
+
 import com.dwarfeng.dutil.basic.prog.Obverser;
 import com.dwarfeng.dutil.develop.cfg.ConfigFirmProps;
 import com.dwarfeng.dutil.develop.cfg.ConfigKey;
@@ -27,6 +29,30 @@ public interface ExconfigObverser extends Obverser {
 	 */
 	public void fireCurrentValueChanged(ConfigKey configKey, String oldValue, String newValue, String validValue);
 
+	/**
+	 * 通知配置模型中多个配置键的当前值在一次批量操作中发生了改变。
+	 * <p>
+	 * 三个映射的键相同，并且按照改变的顺序迭代。
+	 * <p>
+	 * 默认的实现对每一个配置键调用一次 {@link #fireCurrentValueChanged(ConfigKey, String, String, String)}，
+	 * 因此没有覆盖该方法的观察器仍然会逐个收到通知；希望只收到一次通知的观察器应该覆盖该方法。
+	 * 
+	 * @param oldValues
+	 *            改变的配置键与其旧值组成的映射。
+	 * @param newValues
+	 *            改变的配置键与其新值组成的映射。
+	 * @param validValues
+	 *            改变的配置键与其当前的有效值组成的映射。
+	 * @since 0.2.1-beta
+	 */
+	public default void fireCurrentValuesChanged(Map<ConfigKey, String> oldValues, Map<ConfigKey, String> newValues,
+			Map<ConfigKey, String> validValues) {
+		for (Map.Entry<ConfigKey, String> entry : newValues.entrySet()) {
+			ConfigKey configKey = entry.getKey();
+			fireCurrentValueChanged(configKey, oldValues.get(configKey), entry.getValue(), validValues.get(configKey));
+		}
+	}
+
 	/**
 	 * 通知配置模型中的配置键进行了清除。
 	 */
@@ -0,0 +1,962 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.Filter;
+
+/**
+ * 有界复用池。
+ * <p>
+ * 该复用池的容量是有限的，每一个元素在添加时由 {@link Weigher} 计算其权重，当复用池中所有元素的权重之和超过最大权重时，
+ * 复用池按照指定的 {@link EvictionPolicy} 驱逐元素，被驱逐的元素会通知给 {@link EvictionCallback}。
+ * 使用默认的权重计算器时，每一个元素的权重均为 <code>1</code>，最大权重即为最大元素数量。
+ * <p>
+ * 复用池中的元素仍然具有 {@link Condition}，不满足复用条件的元素可以通过批量操作器移除，此类移除不计入驱逐。
+ * <p>
+ * {@link #contains(Object)} 与 {@link #getCondition(Object)} 被视为对元素的访问，会影响驱逐的顺序，
+ * 并被计入命中与未命中的统计，统计数据可以通过 {@link #stats()} 获取。
+ * <p>
+ * 由于访问元素也会修改复用池的内部状态，该复用池不能通过读写锁在外部同步，其内部使用一把锁保护所有的操作，
+ * 因此该类是线程安全的。驱逐回调在锁之外调用。复用池的迭代器遍历的是创建迭代器时的快照，批量操作器不会快速失败。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class BoundedReusePool<E> extends AbstractReusePool<E> implements ReusePool<E> {
+
+	/**
+	 * 驱逐策略。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public enum EvictionPolicy {
+
+		/** 最近最少使用，驱逐最长时间没有被访问的元素。 */
+		LRU,
+		/** 最不经常使用，驱逐访问次数最少的元素，访问次数相同时驱逐最长时间没有被访问的元素。 */
+		LFU,
+		/**
+		 * 窗口 TinyLFU。
+		 * <p>
+		 * 新的元素首先进入一个很小的 LRU 窗口，离开窗口的元素需要与主区域中最长时间没有被访问的元素比较近期的访问频率，
+		 * 频率较低的一方被驱逐。访问频率由一个定期衰减的计数草图估计，因此偶发的大量新元素不会冲掉经常被访问的元素。
+		 */
+		TINY_LFU,
+
+	}
+
+	/** 窗口 TinyLFU 策略中窗口占最大权重的比例。 */
+	public static final double WINDOW_RATIO = 0.01;
+
+	private final long maximumWeight;
+	private final Weigher<? super E> weigher;
+	private final EvictionPolicy policy;
+	private final EvictionCallback<? super E> callback;
+
+	private final Lock lock = new ReentrantLock();
+	private final Map<E, Node<E>> nodes = new HashMap<>();
+	private final AccessOrder<E> window = new AccessOrder<>();
+	private final AccessOrder<E> main = new AccessOrder<>();
+	private final TreeSet<Node<E>> frequencyOrder;
+	private final FrequencySketch sketch;
+	private final long windowMaximumWeight;
+
+	private long weight = 0;
+	private long windowWeight = 0;
+	private long sequence = 0;
+
+	private long hitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+	private long evictionWeight = 0;
+
+	/**
+	 * 生成一个具有指定最大元素数量的 LRU 有界复用池。
+	 *
+	 * @param maximumSize
+	 *            指定的最大元素数量。
+	 * @throws IllegalArgumentException
+	 *             最大元素数量不为正数。
+	 */
+	public BoundedReusePool(long maximumSize) throws IllegalArgumentException {
+		this(maximumSize, EvictionPolicy.LRU);
+	}
+
+	/**
+	 * 生成一个具有指定最大元素数量，指定驱逐策略的有界复用池。
+	 *
+	 * @param maximumSize
+	 *            指定的最大元素数量。
+	 * @param policy
+	 *            指定的驱逐策略。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             最大元素数量不为正数。
+	 */
+	public BoundedReusePool(long maximumSize, EvictionPolicy policy)
+			throws NullPointerException, IllegalArgumentException {
+		this(maximumSize, (element, condition) -> 1, policy, (element, condition) -> {
+		});
+	}
+
+	/**
+	 * 生成一个具有指定最大权重，指定权重计算器，指定驱逐策略，指定驱逐回调的有界复用池。
+	 *
+	 * @param maximumWeight
+	 *            指定的最大权重。
+	 * @param weigher
+	 *            指定的权重计算器。
+	 * @param policy
+	 *            指定的驱逐策略。
+	 * @param callback
+	 *            指定的驱逐回调。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             最大权重不为正数。
+	 */
+	public BoundedReusePool(long maximumWeight, Weigher<? super E> weigher, EvictionPolicy policy,
+			EvictionCallback<? super E> callback) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(weigher, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_0));
+		Objects.requireNonNull(policy, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_1));
+		Objects.requireNonNull(callback, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_2));
+		if (maximumWeight <= 0) {
+			throw new IllegalArgumentException(String
+					.format(DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_3), maximumWeight));
+		}
+
+		this.maximumWeight = maximumWeight;
+		this.weigher = weigher;
+		this.policy = policy;
+		this.callback = callback;
+
+		this.frequencyOrder = policy == EvictionPolicy.LFU ? new TreeSet<>(Node.FREQUENCY_COMPARATOR) : null;
+		this.sketch = policy == EvictionPolicy.TINY_LFU ? new FrequencySketch(maximumWeight) : null;
+		this.windowMaximumWeight = Math.max(1, (long) (maximumWeight * WINDOW_RATIO));
+	}
+
+	/**
+	 * 获取复用池的最大权重。
+	 *
+	 * @return 复用池的最大权重。
+	 */
+	public long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * 获取复用池的驱逐策略。
+	 *
+	 * @return 复用池的驱逐策略。
+	 */
+	public EvictionPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * 获取复用池中所有元素的权重之和。
+	 *
+	 * @return 复用池中所有元素的权重之和。
+	 */
+	public long getWeight() {
+		lock.lock();
+		try {
+			return weight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * 获取复用池的统计数据。
+	 *
+	 * @return 复用池的统计数据。
+	 */
+	public Stats stats() {
+		lock.lock();
+		try {
+			return new Stats(hitCount, missCount, evictionCount, evictionWeight);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 返回的迭代器遍历的是创建迭代器时复用池中的元素，不会反映之后的修改，也不会计入访问。
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		List<E> snapshot;
+		lock.lock();
+		try {
+			snapshot = new ArrayList<>(nodes.keySet());
+		} finally {
+			lock.unlock();
+		}
+		return new SnapshotIterator(snapshot.iterator());
+	}
+
+	private final class SnapshotIterator implements Iterator<E> {
+
+		private final Iterator<E> iterator;
+		private E last;
+		private boolean removable = false;
+
+		public SnapshotIterator(Iterator<E> iterator) {
+			this.iterator = iterator;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public E next() {
+			last = iterator.next();
+			removable = true;
+			return last;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (!removable) {
+				throw new IllegalStateException();
+			}
+			removable = false;
+			BoundedReusePool.this.remove(last);
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		lock.lock();
+		try {
+			return nodes.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 该方法被视为对指定对象的访问。
+	 */
+	@Override
+	public boolean contains(Object object) {
+		lock.lock();
+		try {
+			return Objects.nonNull(access(object));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 该方法被视为对指定的每一个对象的访问。
+	 */
+	@Override
+	public boolean containsAll(Collection<?> collection) throws NullPointerException {
+		Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_5));
+		lock.lock();
+		try {
+			for (Object object : collection) {
+				if (Objects.isNull(access(object))) {
+					return false;
+				}
+			}
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 该方法被视为对指定对象的访问。
+	 */
+	@Override
+	public Condition getCondition(Object object) {
+		lock.lock();
+		try {
+			Node<E> node = access(object);
+			return Objects.isNull(node) ? null : node.condition;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 若指定的元素的权重大于复用池的最大权重，则添加失败。添加成功之后，如果复用池的权重超过最大权重，则按照驱逐策略驱逐元素。
+	 * 对于 {@link EvictionPolicy#LRU} 与 {@link EvictionPolicy#LFU}，刚刚添加的元素不会被驱逐；
+	 * 对于 {@link EvictionPolicy#TINY_LFU}，刚刚添加的元素在离开窗口时可能由于访问频率过低而被驱逐。
+	 *
+	 * @throws IllegalArgumentException
+	 *             权重计算器返回了负数。
+	 */
+	@Override
+	public boolean put(E element, Condition condition) throws IllegalArgumentException {
+		if (Objects.isNull(element)) {
+			return false;
+		}
+		if (Objects.isNull(condition)) {
+			return false;
+		}
+
+		int elementWeight = weigher.weigh(element, condition);
+		if (elementWeight < 0) {
+			throw new IllegalArgumentException(String
+					.format(DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_4), elementWeight));
+		}
+
+		List<Node<E>> evictedNodes;
+		lock.lock();
+		try {
+			if (nodes.containsKey(element)) {
+				return false;
+			}
+			if (elementWeight > maximumWeight) {
+				return false;
+			}
+
+			Node<E> node = new Node<>(element, condition, elementWeight);
+			nodes.put(element, node);
+			weight += elementWeight;
+			switch (policy) {
+			case LFU:
+				node.sequence = sequence++;
+				frequencyOrder.add(node);
+				break;
+			case TINY_LFU:
+				sketch.increment(element);
+				node.inWindow = true;
+				window.addLast(node);
+				windowWeight += elementWeight;
+				break;
+			case LRU:
+			default:
+				main.addLast(node);
+				break;
+			}
+			evictedNodes = evict(node);
+		} finally {
+			lock.unlock();
+		}
+
+		for (Node<E> evictedNode : evictedNodes) {
+			callback.fireEvicted(evictedNode.element, evictedNode.condition);
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object object) {
+		lock.lock();
+		try {
+			Node<E> node = nodes.get(object);
+			if (Objects.isNull(node)) {
+				return false;
+			}
+			removeNode(node);
+			return true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeAll(Collection<?> collection) throws NullPointerException {
+		Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_5));
+		lock.lock();
+		try {
+			boolean aFlag = false;
+			for (Object object : collection) {
+				Node<E> node = nodes.get(object);
+				if (Objects.nonNull(node)) {
+					removeNode(node);
+					aFlag = true;
+				}
+			}
+			return aFlag;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean retainAll(Collection<?> collection) throws NullPointerException {
+		Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_5));
+		lock.lock();
+		try {
+			List<Node<E>> nodes2Remove = new ArrayList<>();
+			for (Node<E> node : nodes.values()) {
+				if (!collection.contains(node.element)) {
+					nodes2Remove.add(node);
+				}
+			}
+			nodes2Remove.forEach(this::removeNode);
+			return !nodes2Remove.isEmpty();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		lock.lock();
+		try {
+			nodes.clear();
+			window.clear();
+			main.clear();
+			if (Objects.nonNull(frequencyOrder)) {
+				frequencyOrder.clear();
+			}
+			weight = 0;
+			windowWeight = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 返回的批量操作器的每一个操作都在复用池的锁中进行，不会快速失败，也不会计入访问。
+	 */
+	@Override
+	public BatchOperator<E> batchOperator() {
+		return new BoundedReusePoolBatchOperator();
+	}
+
+	private final class BoundedReusePoolBatchOperator implements BatchOperator<E> {
+
+		private final Set<E> updatedElements = new HashSet<>();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> update(E element, Object updateObject) {
+			lock.lock();
+			try {
+				Node<E> node = nodes.get(element);
+				if (Objects.isNull(node) || updatedElements.contains(element)) {
+					return this;
+				}
+				node.condition.update(updateObject);
+				updatedElements.add(element);
+				return this;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> updateAll(Collection<E> collection, Object updateObject) throws NullPointerException {
+			Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_5));
+			for (E element : collection) {
+				update(element, updateObject);
+			}
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> updateAll(Filter<E> filter, Object updateObject) throws NullPointerException {
+			Objects.requireNonNull(filter, DwarfUtil.getExceptionString(ExceptionStringKey.BOUNDEDREUSEPOOL_6));
+			for (E element : BoundedReusePool.this) {
+				if (filter.accept(element)) {
+					update(element, updateObject);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> updateRemain(Object updateObject) {
+			for (E element : BoundedReusePool.this) {
+				if (!updatedElements.contains(element)) {
+					update(element, updateObject);
+				}
+			}
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Collection<E> getUnsatisfyElements() {
+			lock.lock();
+			try {
+				Set<E> elements = new HashSet<>();
+				for (Node<E> node : nodes.values()) {
+					if (node.condition.isReuseUnsatisfy()) {
+						elements.add(node.element);
+					}
+				}
+				return elements;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Collection<E> removeUnsatisfyElements() {
+			lock.lock();
+			try {
+				Set<E> elements = new HashSet<>();
+				List<Node<E>> nodes2Remove = new ArrayList<>();
+				for (Node<E> node : nodes.values()) {
+					if (node.condition.isReuseUnsatisfy()) {
+						elements.add(node.element);
+						nodes2Remove.add(node);
+					}
+				}
+				nodes2Remove.forEach(BoundedReusePool.this::removeNode);
+				return elements;
+			} finally {
+				lock.unlock();
+			}
+		}
+
+	}
+
+	private Node<E> access(Object object) {
+		Node<E> node = Objects.isNull(object) ? null : nodes.get(object);
+		if (Objects.isNull(node)) {
+			missCount++;
+			if (Objects.nonNull(sketch) && Objects.nonNull(object)) {
+				sketch.increment(object);
+			}
+			return null;
+		}
+
+		hitCount++;
+		switch (policy) {
+		case LFU:
+			frequencyOrder.remove(node);
+			node.frequency++;
+			node.sequence = sequence++;
+			frequencyOrder.add(node);
+			break;
+		case TINY_LFU:
+			sketch.increment(node.element);
+			(node.inWindow ? window : main).moveToLast(node);
+			break;
+		case LRU:
+		default:
+			main.moveToLast(node);
+			break;
+		}
+		return node;
+	}
+
+	private void removeNode(Node<E> node) {
+		nodes.remove(node.element);
+		weight -= node.weight;
+		switch (policy) {
+		case LFU:
+			frequencyOrder.remove(node);
+			break;
+		case TINY_LFU:
+			if (node.inWindow) {
+				window.remove(node);
+				windowWeight -= node.weight;
+			} else {
+				main.remove(node);
+			}
+			break;
+		case LRU:
+		default:
+			main.remove(node);
+			break;
+		}
+	}
+
+	private List<Node<E>> evict(Node<E> newNode) {
+		if (weight <= maximumWeight && (policy != EvictionPolicy.TINY_LFU || windowWeight <= windowMaximumWeight)) {
+			return Collections.emptyList();
+		}
+
+		List<Node<E>> evictedNodes = new ArrayList<>();
+		switch (policy) {
+		case LFU:
+			while (weight > maximumWeight) {
+				// 单个元素的权重不超过最大权重，因此刚刚添加的元素总是可以保留。
+				Node<E> victim = frequencyOrder.first();
+				if (victim == newNode) {
+					victim = frequencyOrder.higher(victim);
+				}
+				evictNode(victim, evictedNodes);
+			}
+			break;
+		case TINY_LFU:
+			evictTinyLfu(evictedNodes);
+			break;
+		case LRU:
+		default:
+			while (weight > maximumWeight) {
+				evictNode(main.first(), evictedNodes);
+			}
+			break;
+		}
+		return evictedNodes;
+	}
+
+	private void evictTinyLfu(List<Node<E>> evictedNodes) {
+		// 超出窗口的元素移入主区域，成为准入的候选者。
+		Deque<Node<E>> candidates = new ArrayDeque<>();
+		while (windowWeight > windowMaximumWeight && window.size() > 1) {
+			Node<E> node = window.first();
+			window.remove(node);
+			windowWeight -= node.weight;
+			node.inWindow = false;
+			main.addLast(node);
+			candidates.addLast(node);
+		}
+
+		while (weight > maximumWeight) {
+			Node<E> victim = main.isEmpty() ? null : main.first();
+			Node<E> candidate = candidates.pollFirst();
+			if (Objects.isNull(victim)) {
+				// 主区域为空，只能驱逐窗口中的元素。
+				evictNode(window.first(), evictedNodes);
+			} else if (Objects.isNull(candidate) || candidate == victim) {
+				evictNode(victim, evictedNodes);
+			} else if (sketch.frequency(candidate.element) > sketch.frequency(victim.element)) {
+				evictNode(victim, evictedNodes);
+				// 候选者胜出，如果复用池仍然超出容量，则继续参与比较。
+				candidates.addFirst(candidate);
+			} else {
+				evictNode(candidate, evictedNodes);
+			}
+		}
+	}
+
+	private void evictNode(Node<E> node, List<Node<E>> evictedNodes) {
+		removeNode(node);
+		evictionCount++;
+		evictionWeight += node.weight;
+		evictedNodes.add(node);
+	}
+
+	private static final class Node<E> {
+
+		static final Comparator<Node<?>> FREQUENCY_COMPARATOR = Comparator
+				.<Node<?>>comparingLong(node -> node.frequency).thenComparingLong(node -> node.sequence);
+
+		final E element;
+		final Condition condition;
+		final int weight;
+
+		long frequency = 1;
+		long sequence = 0;
+		boolean inWindow = false;
+
+		Node<E> prev;
+		Node<E> next;
+
+		Node(E element, Condition condition, int weight) {
+			this.element = element;
+			this.condition = condition;
+			this.weight = weight;
+		}
+
+	}
+
+	/**
+	 * 按照访问顺序排列节点的双向链表，头部是最长时间没有被访问的节点。
+	 */
+	private static final class AccessOrder<E> {
+
+		private Node<E> head;
+		private Node<E> tail;
+		private int size = 0;
+
+		int size() {
+			return size;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		Node<E> first() {
+			if (Objects.isNull(head)) {
+				throw new NoSuchElementException();
+			}
+			return head;
+		}
+
+		void addLast(Node<E> node) {
+			node.prev = tail;
+			node.next = null;
+			if (Objects.isNull(tail)) {
+				head = node;
+			} else {
+				tail.next = node;
+			}
+			tail = node;
+			size++;
+		}
+
+		void remove(Node<E> node) {
+			if (Objects.isNull(node.prev)) {
+				head = node.next;
+			} else {
+				node.prev.next = node.next;
+			}
+			if (Objects.isNull(node.next)) {
+				tail = node.prev;
+			} else {
+				node.next.prev = node.prev;
+			}
+			node.prev = null;
+			node.next = null;
+			size--;
+		}
+
+		void moveToLast(Node<E> node) {
+			if (node != tail) {
+				remove(node);
+				addLast(node);
+			}
+		}
+
+		void clear() {
+			head = null;
+			tail = null;
+			size = 0;
+		}
+
+	}
+
+	/**
+	 * 估计元素近期访问频率的计数草图。
+	 * <p>
+	 * 每个元素映射到每一行中的一个计数器，估计值为各行计数器的最小值；计数器的上限为 15，
+	 * 记录的次数达到样本数量时，所有计数器减半，使得估计值偏向近期的访问。
+	 */
+	private static final class FrequencySketch {
+
+		private static final int[] SEEDS = { 0x97cb3127, 0xb9c0dad7, 0x7f4a7c15, 0x2c1b3c6d };
+		private static final int MAXIMUM_COUNT = 15;
+
+		private final int[][] table;
+		private final int mask;
+		private final int sampleSize;
+		private int size = 0;
+
+		FrequencySketch(long capacity) {
+			int width = Integer.highestOneBit((int) Math.min(Math.max(capacity, 16), 1 << 20) - 1) << 1;
+			this.table = new int[SEEDS.length][width];
+			this.mask = width - 1;
+			this.sampleSize = width * 10;
+		}
+
+		void increment(Object object) {
+			int hash = spread(object.hashCode());
+			for (int i = 0; i < SEEDS.length; i++) {
+				int index = indexOf(hash, i);
+				if (table[i][index] < MAXIMUM_COUNT) {
+					table[i][index]++;
+				}
+			}
+			if (++size >= sampleSize) {
+				reset();
+			}
+		}
+
+		int frequency(Object object) {
+			int hash = spread(object.hashCode());
+			int frequency = MAXIMUM_COUNT;
+			for (int i = 0; i < SEEDS.length; i++) {
+				frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+			}
+			return frequency;
+		}
+
+		private int indexOf(int hash, int row) {
+			int h = hash * SEEDS[row];
+			h ^= h >>> 16;
+			return h & mask;
+		}
+
+		private void reset() {
+			for (int[] row : table) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] >>>= 1;
+				}
+			}
+			size /= 2;
+		}
+
+		private static int spread(int hash) {
+			hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+			return (hash >>> 16) ^ hash;
+		}
+
+	}
+
+	/**
+	 * 有界复用池的统计数据。
+	 * <p>
+	 * 统计数据是不可变的。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public static final class Stats {
+
+		private final long hitCount;
+		private final long missCount;
+		private final long evictionCount;
+		private final long evictionWeight;
+
+		private Stats(long hitCount, long missCount, long evictionCount, long evictionWeight) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+			this.evictionWeight = evictionWeight;
+		}
+
+		/**
+		 * 获取命中的次数。
+		 *
+		 * @return 命中的次数。
+		 */
+		public long getHitCount() {
+			return hitCount;
+		}
+
+		/**
+		 * 获取未命中的次数。
+		 *
+		 * @return 未命中的次数。
+		 */
+		public long getMissCount() {
+			return missCount;
+		}
+
+		/**
+		 * 获取访问的总次数。
+		 *
+		 * @return 访问的总次数。
+		 */
+		public long getRequestCount() {
+			return hitCount + missCount;
+		}
+
+		/**
+		 * 获取命中率。
+		 *
+		 * @return 命中率，如果没有任何访问，则返回 <code>1.0</code>。
+		 */
+		public double getHitRate() {
+			long requestCount = getRequestCount();
+			return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+		}
+
+		/**
+		 * 获取驱逐的元素的数量。
+		 *
+		 * @return 驱逐的元素的数量。
+		 */
+		public long getEvictionCount() {
+			return evictionCount;
+		}
+
+		/**
+		 * 获取驱逐的元素的权重之和。
+		 *
+		 * @return 驱逐的元素的权重之和。
+		 */
+		public long getEvictionWeight() {
+			return evictionWeight;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "Stats [hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount
+					+ ", evictionWeight=" + evictionWeight + "]";
+		}
+
+	}
+
+}
@@ -0,0 +1,333 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.ProcessException;
+
+/**
+ * 并发对象池。
+ * <p>
+ * 对象池中的对象由 {@link PooledObjectFactory} 按需创建，对象的数量不会超过指定的最大数量。
+ * 空闲的对象保存在一个无锁的双端队列中，并且按照后进先出的顺序借出，最近归还的对象最先被再次借出。
+ * 借出与归还只使用原子操作，在没有竞争的情况下不会获取任何锁，只有在对象的数量达到上限并且没有空闲的对象时，借出的线程才会等待。
+ * <p>
+ * 空闲的对象在借出之前会由 {@link PooledObjectFactory#validate(Object)} 校验，校验失败的对象会被销毁。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class ConcurrentObjectPool<E> implements ObjectPool<E> {
+
+	private final PooledObjectFactory<E> factory;
+	private final int maximumSize;
+
+	private final Semaphore permits;
+	private final Deque<Entry<E>> idleEntries = new ConcurrentLinkedDeque<>();
+	private final ConcurrentMap<IdentityKey, Entry<E>> entries = new ConcurrentHashMap<>();
+	private final AtomicInteger size = new AtomicInteger(0);
+	private final AtomicInteger idleCount = new AtomicInteger(0);
+	private final AtomicInteger borrowedCount = new AtomicInteger(0);
+
+	/**
+	 * 生成一个具有指定工厂，对象数量没有上限的并发对象池。
+	 *
+	 * @param factory
+	 *            指定的工厂。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ConcurrentObjectPool(PooledObjectFactory<E> factory) throws NullPointerException {
+		this(factory, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * 生成一个具有指定工厂，指定的最大对象数量的并发对象池。
+	 *
+	 * @param factory
+	 *            指定的工厂。
+	 * @param maximumSize
+	 *            指定的最大对象数量。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             最大对象数量不为正数。
+	 */
+	public ConcurrentObjectPool(PooledObjectFactory<E> factory, int maximumSize)
+			throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(factory, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTOBJECTPOOL_0));
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException(String
+					.format(DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTOBJECTPOOL_1), maximumSize));
+		}
+
+		this.factory = factory;
+		this.maximumSize = maximumSize;
+		this.permits = new Semaphore(maximumSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public E borrow() throws InterruptedException, ProcessException {
+		permits.acquire();
+		return obtain();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public E borrow(long timeout, TimeUnit unit) throws NullPointerException, InterruptedException, ProcessException {
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTOBJECTPOOL_2));
+		if (!permits.tryAcquire(timeout, unit)) {
+			return null;
+		}
+		return obtain();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public E tryBorrow() throws ProcessException {
+		if (!permits.tryAcquire()) {
+			return null;
+		}
+		return obtain();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean release(E object) {
+		Entry<E> entry = takeBack(object);
+		if (Objects.isNull(entry)) {
+			return false;
+		}
+
+		idleEntries.offerFirst(entry);
+		idleCount.incrementAndGet();
+		// 对象在释放许可之前入队，保证持有许可的线程总能找到空闲的对象或者创建新的对象。
+		permits.release();
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean invalidate(E object) {
+		Entry<E> entry = takeBack(object);
+		if (Objects.isNull(entry)) {
+			return false;
+		}
+
+		try {
+			discard(entry);
+		} finally {
+			permits.release();
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		Entry<E> entry;
+		while (Objects.nonNull(entry = idleEntries.pollFirst())) {
+			idleCount.decrementAndGet();
+			discard(entry);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getBorrowedCount() {
+		return borrowedCount.get();
+	}
+
+	/**
+	 * 获取对象池中对象的总数，包括空闲的对象与已经借出的对象。
+	 *
+	 * @return 对象池中对象的总数。
+	 */
+	public int getSize() {
+		return size.get();
+	}
+
+	/**
+	 * 获取对象池的最大对象数量。
+	 *
+	 * @return 对象池的最大对象数量。
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "ConcurrentObjectPool [maximumSize=" + maximumSize + ", size=" + size + ", idleCount=" + idleCount
+				+ ", borrowedCount=" + borrowedCount + "]";
+	}
+
+	private E obtain() throws ProcessException {
+		boolean obtained = false;
+		try {
+			for (;;) {
+				Entry<E> entry = idleEntries.pollFirst();
+				if (Objects.nonNull(entry)) {
+					idleCount.decrementAndGet();
+					if (validate(entry)) {
+						lend(entry);
+						obtained = true;
+						return entry.object;
+					}
+					discard(entry);
+					continue;
+				}
+
+				int currentSize = size.get();
+				if (currentSize < maximumSize) {
+					if (size.compareAndSet(currentSize, currentSize + 1)) {
+						E object = create();
+						obtained = true;
+						return object;
+					}
+					continue;
+				}
+
+				// 持有许可时，对象池中必然存在空闲的对象或者正在入队的对象，短暂地让出处理器即可。
+				Thread.yield();
+			}
+		} finally {
+			if (!obtained) {
+				permits.release();
+			}
+		}
+	}
+
+	private boolean validate(Entry<E> entry) throws ProcessException {
+		try {
+			return factory.validate(entry.object);
+		} catch (Exception e) {
+			// 校验抛出异常的对象同样被销毁，否则该对象会一直占据对象池的容量。
+			discard(entry);
+			throw new ProcessException(DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTOBJECTPOOL_5), e);
+		}
+	}
+
+	private E create() throws ProcessException {
+		E object;
+		try {
+			object = factory.create();
+		} catch (Exception e) {
+			size.decrementAndGet();
+			throw new ProcessException(DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTOBJECTPOOL_3), e);
+		}
+		if (Objects.isNull(object)) {
+			size.decrementAndGet();
+			throw new ProcessException(DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTOBJECTPOOL_4));
+		}
+
+		Entry<E> entry = new Entry<>(object);
+		entries.put(entry.key, entry);
+		lend(entry);
+		return object;
+	}
+
+	private void lend(Entry<E> entry) {
+		entry.borrowed.set(true);
+		borrowedCount.incrementAndGet();
+	}
+
+	private Entry<E> takeBack(E object) {
+		if (Objects.isNull(object)) {
+			return null;
+		}
+		Entry<E> entry = entries.get(new IdentityKey(object));
+		// 通过原子操作防止同一个对象被重复归还。
+		if (Objects.isNull(entry) || !entry.borrowed.compareAndSet(true, false)) {
+			return null;
+		}
+		borrowedCount.decrementAndGet();
+		return entry;
+	}
+
+	private void discard(Entry<E> entry) {
+		entries.remove(entry.key, entry);
+		size.decrementAndGet();
+		factory.destroy(entry.object);
+	}
+
+	private static final class Entry<E> {
+
+		final E object;
+		final IdentityKey key;
+		final AtomicBoolean borrowed = new AtomicBoolean(false);
+
+		Entry(E object) {
+			this.object = object;
+			this.key = new IdentityKey(object);
+		}
+
+	}
+
+	/**
+	 * 以引用相等的方式比较对象的键。
+	 */
+	private static final class IdentityKey {
+
+		private final Object object;
+
+		IdentityKey(Object object) {
+			this.object = object;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(object);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof IdentityKey && ((IdentityKey) obj).object == object;
+		}
+
+	}
+
+}
@@ -0,0 +1,387 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.prog.Filter;
+
+/**
+ * 并发复用池。
+ * <p>
+ * 通过 {@link ConcurrentHashMap} 实现的复用池，可以被多个线程同时访问而不需要外部同步：
+ * <ul>
+ * <li>{@link #put(Object, Condition)}、{@link #contains(Object)}、{@link #remove(Object)}
+ * 等操作只锁定元素所在的分段，不同元素上的操作可以并发进行，查询操作不获取任何锁。</li>
+ * <li>复用池的迭代器是弱一致的，迭代时其它线程对复用池的修改不会导致 {@link java.util.ConcurrentModificationException}。</li>
+ * <li>批量操作器逐个元素地更新与移除，每次只锁定一个元素所在的分段，因此
+ * {@link BatchOperator#removeUnsatisfyElements()} 不会阻塞其它线程对复用池的读写。</li>
+ * </ul>
+ * <p>
+ * 元素对应的条件的更新以及移除前的条件判断在该元素所在的分段中原子地进行，
+ * 因此一个刚刚被其它线程更新为满足复用条件的元素不会被错误地移除。
+ * <p>
+ * 由于复用池允许并发修改，该复用池的批量操作器不会快速失败，其结果反映的是操作进行期间复用池的某一状态。
+ * 与 {@link ResuseUtil#syncReusePool(ReusePool)} 不同，该复用池没有可供外部使用的锁。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class ConcurrentReusePool<E> extends AbstractReusePool<E> implements ReusePool<E> {
+
+	protected final ConcurrentHashMap<E, Condition> delegate;
+
+	/**
+	 * 新实例。
+	 */
+	public ConcurrentReusePool() {
+		this.delegate = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * 生成一个具有指定初始容量的并发复用池。
+	 *
+	 * @param initialCapacity
+	 *            指定的初始容量。
+	 * @throws IllegalArgumentException
+	 *             初始容量为负数。
+	 */
+	public ConcurrentReusePool(int initialCapacity) throws IllegalArgumentException {
+		this.delegate = new ConcurrentHashMap<>(initialCapacity);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 返回的迭代器是弱一致的，支持移除操作。
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return new ConcurrentReusePoolIterator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return delegate.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return delegate.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object object) {
+		if (Objects.isNull(object)) {
+			return false;
+		}
+		return delegate.containsKey(object);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsAll(Collection<?> collection) throws NullPointerException {
+		Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTREUSEPOOL_0));
+		for (Object object : collection) {
+			if (!contains(object)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Condition getCondition(Object object) {
+		if (Objects.isNull(object)) {
+			return null;
+		}
+		return delegate.get(object);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean put(E element, Condition condition) {
+		if (Objects.isNull(element)) {
+			return false;
+		}
+		if (Objects.isNull(condition)) {
+			return false;
+		}
+		return Objects.isNull(delegate.putIfAbsent(element, condition));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@SuppressWarnings("unchecked")
+	@Override
+	public boolean remove(Object object) {
+		if (Objects.isNull(object)) {
+			return false;
+		}
+		Condition condition = delegate.remove(object);
+		if (Objects.isNull(condition)) {
+			return false;
+		}
+		// 能够从复用池中移除，说明对象的类型是 E。
+		elementRemoved((E) object, condition);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeAll(Collection<?> collection) throws NullPointerException {
+		Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTREUSEPOOL_0));
+
+		boolean aFlag = false;
+		for (Object object : collection) {
+			aFlag |= remove(object);
+		}
+		return aFlag;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean retainAll(Collection<?> collection) throws NullPointerException {
+		Objects.requireNonNull(collection, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTREUSEPOOL_0));
+
+		boolean aFlag = false;
+		for (E element : delegate.keySet()) {
+			if (!collection.contains(element)) {
+				aFlag |= remove(element);
+			}
+		}
+		return aFlag;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		// 元素被逐个地移除，以便通知 elementRemoved 方法。
+		for (E element : delegate.keySet()) {
+			remove(element);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 返回的批量操作器不会快速失败，但是不应该被多个线程同时使用。
+	 */
+	@Override
+	public BatchOperator<E> batchOperator() {
+		return new ConcurrentReusePoolBatchOperator();
+	}
+
+	/**
+	 * 复用池中的元素的条件通过批量操作器更新之后调用的方法。
+	 * <p>
+	 * 该方法在元素所在的分段之外调用，默认不做任何操作，子类可以重写该方法以跟踪条件的变化。
+	 *
+	 * @param element
+	 *            条件被更新的元素。
+	 * @param condition
+	 *            被更新的条件。
+	 */
+	protected void conditionUpdated(E element, Condition condition) {
+	}
+
+	/**
+	 * 元素从复用池中移除之后调用的方法。
+	 * <p>
+	 * 无论元素是通过 {@link #remove(Object)}、{@link #retainAll(Collection)}、{@link #clear()}、迭代器
+	 * 还是批量操作器移除的，该方法都会被调用。
+	 * <p>
+	 * 该方法在元素所在的分段之外调用，默认不做任何操作，子类可以重写该方法以跟踪元素的移除。
+	 *
+	 * @param element
+	 *            被移除的元素。
+	 * @param condition
+	 *            被移除的元素对应的条件。
+	 */
+	protected void elementRemoved(E element, Condition condition) {
+	}
+
+	private final class ConcurrentReusePoolIterator implements Iterator<E> {
+
+		private final Iterator<E> itr = delegate.keySet().iterator();
+		private E lastElement = null;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return itr.hasNext();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public E next() {
+			lastElement = itr.next();
+			return lastElement;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (Objects.isNull(lastElement)) {
+				throw new IllegalStateException();
+			}
+			ConcurrentReusePool.this.remove(lastElement);
+			lastElement = null;
+		}
+
+	}
+
+	private final class ConcurrentReusePoolBatchOperator implements BatchOperator<E> {
+
+		private final Set<E> updatedElements = new HashSet<>();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> update(E element, Object updateObject) {
+			if (Objects.isNull(element)) {
+				return this;
+			}
+			if (updatedElements.contains(element)) {
+				return this;
+			}
+
+			// 条件的更新在元素所在的分段中进行，与同一元素上的其它操作互斥。
+			Condition[] updated = new Condition[1];
+			delegate.computeIfPresent(element, (k, condition) -> {
+				condition.update(updateObject);
+				updated[0] = condition;
+				return condition;
+			});
+			if (Objects.nonNull(updated[0])) {
+				updatedElements.add(element);
+				conditionUpdated(element, updated[0]);
+			}
+
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> updateAll(Collection<E> collection, Object updateObject) throws NullPointerException {
+			Objects.requireNonNull(collection,
+					DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTREUSEPOOL_0));
+
+			for (E element : collection) {
+				update(element, updateObject);
+			}
+
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> updateAll(Filter<E> filter, Object updateObject) throws NullPointerException {
+			Objects.requireNonNull(filter, DwarfUtil.getExceptionString(ExceptionStringKey.CONCURRENTREUSEPOOL_1));
+
+			for (E element : delegate.keySet()) {
+				if (filter.accept(element)) {
+					update(element, updateObject);
+				}
+			}
+
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public BatchOperator<E> updateRemain(Object updateObject) {
+			for (E element : delegate.keySet()) {
+				if (!updatedElements.contains(element)) {
+					update(element, updateObject);
+				}
+			}
+
+			return this;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Collection<E> getUnsatisfyElements() {
+			Set<E> elements = new HashSet<>();
+			for (Map.Entry<E, Condition> entry : delegate.entrySet()) {
+				if (entry.getValue().isReuseUnsatisfy()) {
+					elements.add(entry.getKey());
+				}
+			}
+			return elements;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 * <p>
+		 * 元素被逐个地判断与移除，每次只锁定一个元素所在的分段，移除期间其它线程可以正常地读写复用池。
+		 */
+		@Override
+		public Collection<E> removeUnsatisfyElements() {
+			Set<E> removedElements = new HashSet<>();
+			for (E element : delegate.keySet()) {
+				// 在分段中重新判断条件，以免移除在迭代期间被其它线程更新的元素。
+				Condition[] removed = new Condition[1];
+				delegate.computeIfPresent(element, (k, condition) -> {
+					if (condition.isReuseUnsatisfy()) {
+						removed[0] = condition;
+						return null;
+					}
+					return condition;
+				});
+				if (Objects.nonNull(removed[0])) {
+					removedElements.add(element);
+					elementRemoved(element, removed[0]);
+				}
+			}
+			return removedElements;
+		}
+
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+/**
+ * 驱逐回调。
+ * <p>
+ * 当复用池中的元素由于不再满足复用条件而被复用池自动驱逐时调用，可以用于释放元素持有的资源。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+@FunctionalInterface
+public interface EvictionCallback<E> {
+
+	/**
+	 * 通知指定的元素已经被驱逐。
+	 * <p>
+	 * 调用该方法时，元素已经从复用池中移除。
+	 *
+	 * @param element
+	 *            被驱逐的元素。
+	 * @param condition
+	 *            被驱逐的元素对应的条件。
+	 */
+	public void fireEvicted(E element, Condition condition);
+
+}
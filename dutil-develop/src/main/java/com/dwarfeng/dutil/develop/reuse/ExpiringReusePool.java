@@ -0,0 +1,276 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.develop.reuse.condition.TimeCondition;
+import com.dwarfeng.dutil.develop.timer.Plain;
+import com.dwarfeng.dutil.develop.timer.plain.FixedRatePlain;
+
+/**
+ * 自维护的复用池。
+ * <p>
+ * 该复用池在 {@link ConcurrentReusePool} 的基础上提供自动驱逐不满足复用条件的元素的功能，驱逐由 {@link #sweep()}
+ * 方法完成，通过 {@link #newSweepPlain(long, TimeUnit)} 生成的计划可以将其交给计时器定期执行。
+ * <p>
+ * 与遍历所有元素的 {@link BatchOperator#removeUnsatisfyElements()} 不同，一次清扫的代价只与需要检查的元素的数量有关：
+ * <ul>
+ * <li>条件为 {@link TimeCondition} 的元素按照过期时间建立索引，清扫时只检查已经到达过期时间的元素。</li>
+ * <li>其它条件（如 {@link com.dwarfeng.dutil.develop.reuse.condition.CountCondition}）只会在更新时发生变化，
+ * 因此只有在添加之后或者通过批量操作器更新之后，才会在下一次清扫时被检查一次。</li>
+ * </ul>
+ * <p>
+ * 被驱逐的元素会通知给构造时指定的 {@link EvictionCallback}，回调在清扫的线程中调用，调用时元素已经从复用池中移除。
+ * 通过 {@link #remove(Object)}、{@link #retainAll(java.util.Collection)}、{@link #clear()}、迭代器以及批量操作器移除的元素
+ * 不会通知回调，但是其索引会被同时清除。
+ * <p>
+ * 条件在复用池之外被直接更新时，复用池无法得知条件的变化：时间条件会在到达原先的过期时间时按照新的过期时间重新索引；
+ * 其它条件则不会被检查，直到其通过批量操作器更新。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class ExpiringReusePool<E> extends ConcurrentReusePool<E> {
+
+	private static final Comparator<Deadline<?>> DEADLINE_COMPARATOR = Comparator
+			.<Deadline<?>>comparingLong(deadline -> deadline.time).thenComparingLong(deadline -> deadline.sequence);
+
+	private final EvictionCallback<? super E> callback;
+
+	private final ConcurrentSkipListSet<Deadline<E>> deadlines = new ConcurrentSkipListSet<>(DEADLINE_COMPARATOR);
+	private final ConcurrentMap<E, Deadline<E>> index = new ConcurrentHashMap<>();
+	private final Queue<E> dirtyElements = new ConcurrentLinkedQueue<>();
+	private final AtomicLong sequence = new AtomicLong(0);
+
+	private final LongAdder sweepCount = new LongAdder();
+	private final LongAdder evictedCount = new LongAdder();
+
+	/**
+	 * 新实例。
+	 * <p>
+	 * 被驱逐的元素不会通知任何回调。
+	 */
+	public ExpiringReusePool() {
+		this((element, condition) -> {
+		});
+	}
+
+	/**
+	 * 生成一个具有指定驱逐回调的自维护复用池。
+	 *
+	 * @param callback
+	 *            指定的驱逐回调。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ExpiringReusePool(EvictionCallback<? super E> callback) throws NullPointerException {
+		Objects.requireNonNull(callback, DwarfUtil.getExceptionString(ExceptionStringKey.EXPIRINGREUSEPOOL_0));
+		this.callback = callback;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean put(E element, Condition condition) {
+		if (!super.put(element, condition)) {
+			return false;
+		}
+		track(element, condition);
+		return true;
+	}
+
+	/**
+	 * 清扫复用池，驱逐不满足复用条件的元素。
+	 * <p>
+	 * 该方法可以与复用池的其它操作并发地进行，但是同一时刻应该只有一个线程执行清扫。
+	 *
+	 * @return 本次清扫驱逐的元素的数量。
+	 */
+	public int sweep() {
+		long now = System.currentTimeMillis();
+		int count = 0;
+
+		Deadline<E> deadline;
+		while (Objects.nonNull(deadline = deadlines.pollFirst())) {
+			if (deadline.time > now) {
+				deadlines.add(deadline);
+				break;
+			}
+			// 索引已经被替换或者移除，该过期时间已经失效。
+			if (!index.remove(deadline.element, deadline)) {
+				continue;
+			}
+			if (evict(deadline.element, deadline.condition)) {
+				count++;
+			} else if (delegate.get(deadline.element) == deadline.condition) {
+				// 条件在复用池之外被更新，按照新的过期时间重新索引。
+				index(deadline.element, (TimeCondition) deadline.condition);
+			}
+		}
+
+		// 只处理本次清扫开始时已经存在的元素，以免与并发的更新无限地竞争。
+		for (int i = dirtyElements.size(); i > 0; i--) {
+			E element = dirtyElements.poll();
+			if (Objects.isNull(element)) {
+				break;
+			}
+			Condition condition = delegate.get(element);
+			if (Objects.nonNull(condition) && evict(element, condition)) {
+				count++;
+			}
+		}
+
+		sweepCount.increment();
+		evictedCount.add(count);
+		return count;
+	}
+
+	/**
+	 * 生成一个定期清扫该复用池的计划。
+	 * <p>
+	 * 返回的计划在被计时器安排之后，经过一个清扫周期首次运行，之后每隔一个清扫周期运行一次。
+	 *
+	 * @param period
+	 *            清扫周期。
+	 * @param unit
+	 *            清扫周期的时间单位。
+	 * @return 定期清扫该复用池的计划。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public Plain newSweepPlain(long period, TimeUnit unit) throws NullPointerException {
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.EXPIRINGREUSEPOOL_1));
+		return new SweepPlain(period, unit);
+	}
+
+	/**
+	 * 获取该复用池执行清扫的次数。
+	 *
+	 * @return 该复用池执行清扫的次数。
+	 */
+	public long getSweepCount() {
+		return sweepCount.sum();
+	}
+
+	/**
+	 * 获取该复用池通过清扫驱逐的元素的总数。
+	 *
+	 * @return 该复用池通过清扫驱逐的元素的总数。
+	 */
+	public long getEvictedCount() {
+		return evictedCount.sum();
+	}
+
+	/**
+	 * 获取等待过期的时间条件的数量。
+	 *
+	 * @return 等待过期的时间条件的数量。
+	 */
+	public int getIndexedCount() {
+		return index.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void conditionUpdated(E element, Condition condition) {
+		track(element, condition);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void elementRemoved(E element, Condition condition) {
+		untrack(element, condition);
+	}
+
+	private void track(E element, Condition condition) {
+		if (condition instanceof TimeCondition) {
+			index(element, (TimeCondition) condition);
+		} else {
+			dirtyElements.offer(element);
+		}
+	}
+
+	private void untrack(E element, Condition condition) {
+		// 只清除被移除的条件的索引，以免清除并发地重新放入的元素的索引。
+		Deadline<E> deadline = index.get(element);
+		if (Objects.nonNull(deadline) && deadline.condition == condition && index.remove(element, deadline)) {
+			deadlines.remove(deadline);
+		}
+	}
+
+	private void index(E element, TimeCondition condition) {
+		Deadline<E> deadline = new Deadline<>(element, condition, condition.getExpireTime(),
+				sequence.getAndIncrement());
+		Deadline<E> oldDeadline = index.put(element, deadline);
+		if (Objects.nonNull(oldDeadline)) {
+			deadlines.remove(oldDeadline);
+		}
+		deadlines.add(deadline);
+	}
+
+	private boolean evict(E element, Condition condition) {
+		boolean[] evicted = new boolean[1];
+		// 在元素所在的分段中重新判断条件，以免驱逐刚刚被其它线程更新的元素。
+		delegate.computeIfPresent(element, (k, c) -> {
+			if (c == condition && c.isReuseUnsatisfy()) {
+				evicted[0] = true;
+				return null;
+			}
+			return c;
+		});
+		if (evicted[0]) {
+			callback.fireEvicted(element, condition);
+		}
+		return evicted[0];
+	}
+
+	private static final class Deadline<E> {
+
+		final E element;
+		final Condition condition;
+		final long time;
+		final long sequence;
+
+		Deadline(E element, Condition condition, long time, long sequence) {
+			this.element = element;
+			this.condition = condition;
+			this.time = time;
+			this.sequence = sequence;
+		}
+
+	}
+
+	private final class SweepPlain extends FixedRatePlain {
+
+		SweepPlain(long period, TimeUnit unit) {
+			super(period, period, unit);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected void todo() throws Exception {
+			sweep();
+		}
+
+	}
+
+}
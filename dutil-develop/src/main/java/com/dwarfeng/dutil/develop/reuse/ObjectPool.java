@@ -0,0 +1,101 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import java.util.concurrent.TimeUnit;
+
+import com.dwarfeng.dutil.basic.prog.ProcessException;
+
+/**
+ * 对象池。
+ * <p>
+ * 对象池持有一组可以重复使用的对象，使用者通过 {@link #borrow()} 借出对象，使用完毕后通过 {@link #release(Object)}
+ * 归还对象。与 {@link ReusePool} 不同，对象池记录每一个对象是否已经被借出，同一个对象同一时刻只会被一个使用者持有。
+ * <p>
+ * 对象池中的对象以引用相等的方式区分，因此对象的 {@link Object#equals(Object)} 与 {@link Object#hashCode()}
+ * 方法不会影响对象池的行为。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public interface ObjectPool<E> {
+
+	/**
+	 * 借出一个对象。
+	 * <p>
+	 * 如果对象池中没有空闲的对象并且对象的数量已经达到上限，则阻塞直到有对象被归还。
+	 *
+	 * @return 借出的对象。
+	 * @throws InterruptedException
+	 *             等待时线程被中断。
+	 * @throws ProcessException
+	 *             创建对象失败。
+	 */
+	public E borrow() throws InterruptedException, ProcessException;
+
+	/**
+	 * 借出一个对象，最多等待指定的时间。
+	 *
+	 * @param timeout
+	 *            最长的等待时间。
+	 * @param unit
+	 *            等待时间的单位。
+	 * @return 借出的对象，如果在指定的时间内没有可以借出的对象，则返回 <code>null</code>。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws InterruptedException
+	 *             等待时线程被中断。
+	 * @throws ProcessException
+	 *             创建对象失败。
+	 */
+	public E borrow(long timeout, TimeUnit unit) throws NullPointerException, InterruptedException, ProcessException;
+
+	/**
+	 * 尝试借出一个对象，不进行任何等待。
+	 *
+	 * @return 借出的对象，如果当前没有可以借出的对象，则返回 <code>null</code>。
+	 * @throws ProcessException
+	 *             创建对象失败。
+	 */
+	public E tryBorrow() throws ProcessException;
+
+	/**
+	 * 归还一个借出的对象。
+	 *
+	 * @param object
+	 *            需要归还的对象。
+	 * @return 是否归还成功，如果指定的对象不是从该对象池借出的，或者已经被归还，则返回 <code>false</code>。
+	 */
+	public boolean release(E object);
+
+	/**
+	 * 作废一个借出的对象。
+	 * <p>
+	 * 作废的对象不会回到对象池中，而是被销毁，对象池之后会按需创建新的对象。
+	 *
+	 * @param object
+	 *            需要作废的对象。
+	 * @return 是否作废成功，如果指定的对象不是从该对象池借出的，或者已经被归还，则返回 <code>false</code>。
+	 */
+	public boolean invalidate(E object);
+
+	/**
+	 * 销毁对象池中所有空闲的对象。
+	 * <p>
+	 * 已经借出的对象不受影响。
+	 */
+	public void clear();
+
+	/**
+	 * 获取对象池中空闲的对象的数量。
+	 *
+	 * @return 对象池中空闲的对象的数量。
+	 */
+	public int getIdleCount();
+
+	/**
+	 * 获取已经借出并且还没有归还的对象的数量。
+	 *
+	 * @return 已经借出并且还没有归还的对象的数量。
+	 */
+	public int getBorrowedCount();
+
+}
@@ -0,0 +1,46 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+/**
+ * 池化对象工厂。
+ * <p>
+ * 为对象池按需创建对象，并在对象被借出之前校验对象、在对象被丢弃时销毁对象。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public interface PooledObjectFactory<E> {
+
+	/**
+	 * 创建一个新的对象。
+	 *
+	 * @return 新的对象，不能为 <code>null</code>。
+	 * @throws Exception
+	 *             创建对象时发生的异常。
+	 */
+	public E create() throws Exception;
+
+	/**
+	 * 校验一个空闲的对象是否仍然可以被借出。
+	 * <p>
+	 * 校验失败的对象会被销毁，对象池会尝试借出其它的对象。默认的实现总是返回 <code>true</code>。
+	 *
+	 * @param object
+	 *            需要校验的对象。
+	 * @return 对象是否仍然可以被借出。
+	 */
+	public default boolean validate(E object) {
+		return true;
+	}
+
+	/**
+	 * 销毁一个不再使用的对象。
+	 * <p>
+	 * 默认的实现不做任何操作。
+	 *
+	 * @param object
+	 *            需要销毁的对象。
+	 */
+	public default void destroy(E object) {
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+/**
+ * 权重计算器。
+ * <p>
+ * 用于计算复用池中的元素占用的容量，权重在元素添加到复用池时计算一次，之后不再变化。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+@FunctionalInterface
+public interface Weigher<E> {
+
+	/**
+	 * 计算指定元素的权重。
+	 *
+	 * @param element
+	 *            指定的元素。
+	 * @param condition
+	 *            指定的元素对应的条件。
+	 * @return 指定元素的权重，不能为负数。
+	 */
+	public int weigh(E element, Condition condition);
+
+}
@@ -37,12 +37,24 @@ public class TimeCondition implements Condition {
 	/** 时间情形的目标时间。 */
 	protected final long aimTime;
 
-	private long lastUpdateTime = System.currentTimeMillis();
+	private volatile long lastUpdateTime = System.currentTimeMillis();
 
 	public TimeCondition(long aimTime) {
 		this.aimTime = aimTime;
 	}
 
+	/**
+	 * 获取该情形的过期时间。
+	 * <p>
+	 * 过期时间等于最后更新时间加目标时间，以毫秒为单位。当系统时间大于等于过期时间时，该情形认为其指定的对象不适合继续持久化。
+	 * 
+	 * @return 该情形的过期时间。
+	 * @since 0.2.1-beta
+	 */
+	public long getExpireTime() {
+		return lastUpdateTime + aimTime;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,193 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import java.util.Objects;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+/**
+ * 抽象配置句柄。
+ * <p>
+ * 基于槽位实现的配置句柄，子类只需要提供按照下标读取槽位的方式。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+abstract class AbstractSettingHandle implements SettingHandle {
+
+	/** 句柄对应的键。 */
+	protected final String key;
+	/** 句柄对应的下标。 */
+	protected final int index;
+
+	/**
+	 * 生成一个具有指定的键与下标的抽象配置句柄。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @param index
+	 *            指定的下标。
+	 */
+	protected AbstractSettingHandle(String key, int index) {
+		this.key = key;
+		this.index = index;
+	}
+
+	/**
+	 * 获取句柄对应的槽位。
+	 *
+	 * @return 句柄对应的槽位，如果键不存在，则返回 <code>null</code>。
+	 */
+	protected abstract SettingSlot slot();
+
+	/**
+	 * 获取句柄所属的配置处理器。
+	 *
+	 * @return 句柄所属的配置处理器。
+	 */
+	protected abstract SettingHandler handler();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isPresent() {
+		return Objects.nonNull(slot());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingInfo getSettingInfo() {
+		SettingSlot slot = slot();
+		return Objects.isNull(slot) ? null : slot.settingInfo;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCurrentValue() {
+		SettingSlot slot = slot();
+		return Objects.isNull(slot) ? null : slot.currentValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getValidValue() {
+		SettingSlot slot = slot();
+		return Objects.isNull(slot) ? null : slot.validValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValue() {
+		SettingSlot slot = slot();
+		return Objects.isNull(slot) ? null : slot.parsedValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValidValue() {
+		SettingSlot slot = slot();
+		return Objects.isNull(slot) ? null : slot.parsedValidValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <T> T getParsedValidValue(Class<T> clas) {
+		Objects.requireNonNull(clas, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTSETTINGHANDLE_1));
+		return clas.cast(getParsedValidValue());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getInt() {
+		return requireParsedValidValue(Number.class).intValue();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public long getLong() {
+		return requireParsedValidValue(Number.class).longValue();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public float getFloat() {
+		return requireParsedValidValue(Number.class).floatValue();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double getDouble() {
+		return requireParsedValidValue(Number.class).doubleValue();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean getBoolean() {
+		return requireParsedValidValue(Boolean.class).booleanValue();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setCurrentValue(String newValue) {
+		return handler().setCurrentValue(key, newValue);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setParsedValue(Object obj) {
+		return handler().setParsedValue(key, obj);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return getClass().getSimpleName() + " [key=" + key + ", index=" + index + "]";
+	}
+
+	private <T> T requireParsedValidValue(Class<T> clas) {
+		SettingSlot slot = slot();
+		if (Objects.isNull(slot) || Objects.isNull(slot.parsedValidValue)) {
+			throw new IllegalStateException(
+					String.format(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTSETTINGHANDLE_0), key));
+		}
+		return clas.cast(slot.parsedValidValue);
+	}
+
+}
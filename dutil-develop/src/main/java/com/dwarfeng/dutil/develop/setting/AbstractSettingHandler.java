@@ -745,4 +745,26 @@ public abstract class AbstractSettingHandler implements SettingHandler {
 		}
 	}
 
+	/**
+	 * 通知观察器多个键值的当前值在一次批量操作中被改变。
+	 * 
+	 * @param oldValues
+	 *            改变的键与其旧的当前值组成的映射。
+	 * @param newValues
+	 *            改变的键与其新的当前值组成的映射。
+	 * @since 0.2.1-beta
+	 */
+	protected void fireCurrentValuesChanged(Map<String, String> oldValues, Map<String, String> newValues) {
+		Map<String, String> unmodifiableOldValues = Collections.unmodifiableMap(oldValues);
+		Map<String, String> unmodifiableNewValues = Collections.unmodifiableMap(newValues);
+		for (SettingObverser obverser : obversers) {
+			if (Objects.nonNull(obverser))
+				try {
+					obverser.fireCurrentValuesChanged(unmodifiableOldValues, unmodifiableNewValues);
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+		}
+	}
+
 }
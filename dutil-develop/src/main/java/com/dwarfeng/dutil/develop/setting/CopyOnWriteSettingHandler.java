@@ -0,0 +1,858 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.str.Name;
+import com.dwarfeng.dutil.develop.setting.obv.SettingObverser;
+
+/**
+ * 写时复制配置处理器。
+ *
+ * <p>
+ * 该配置处理器将所有的配置保存在一个不可变的快照中。读取方法直接访问当前的快照，不获取任何锁，因此读取是无等待的；
+ * 快照中的值在写入时已经被检查并解析，读取解析值不需要重复解析。
+ * <p>
+ * 写入方法持有写锁，在当前快照的副本上执行修改，然后一次性发布新的快照，最后按照修改的顺序通知观察器。
+ * 通过 {@link #update(Consumer)} 可以在一次写入中修改多个键，其它线程要么看到全部的修改，要么看不到任何修改。
+ * <p>
+ * 通过 {@link #getHandle(String)} 获取的句柄直接按照下标读取当前快照中的槽位。
+ * <p>
+ * 该配置处理器适用于读取频繁而写入很少的场景，每一次写入都会复制整个快照。
+ * <p>
+ * {@link #getLock()} 返回的锁只被写入方法使用。外部代码持有读锁时，写入会被阻塞，
+ * 因此可以通过读锁使多次读取看到同一个状态。
+ * <p>
+ * 该配置处理器是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class CopyOnWriteSettingHandler extends AbstractSettingHandler
+		implements SyncSettingHandler, IndexedSettingHandler {
+
+	/**
+	 * 写时复制配置处理器的迭代器。
+	 * <p>
+	 * 迭代器遍历创建时的快照，不会抛出 {@link java.util.ConcurrentModificationException}。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private abstract class CowIterator<E> implements Iterator<E> {
+
+		/** 迭代器所引用的键值迭代器。 */
+		protected final Iterator<String> keyIterator = snapshot.map.keySet().iterator();
+
+		/** 迭代器的当前键引用。 */
+		protected String currRef = null;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return keyIterator.hasNext();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (Objects.isNull(currRef)) {
+				throw new IllegalStateException();
+			}
+
+			try {
+				removeKey(currRef);
+			} finally {
+				currRef = null;
+			}
+		}
+
+		/**
+		 * 移动到下一个键。
+		 *
+		 * @return 下一个键。
+		 */
+		protected String nextKey() {
+			try {
+				currRef = keyIterator.next();
+			} catch (Exception e) {
+				currRef = null;
+				throw e;
+			}
+			return currRef;
+		}
+
+	}
+
+	/**
+	 * 写时复制配置处理器的键值集合。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class CowKeySet extends AbstractSet<String> implements Set<String> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return snapshot.map.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isEmpty() {
+			return snapshot.map.isEmpty();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object o) {
+			return snapshot.map.containsKey(o);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<String> iterator() {
+			return new CowIterator<String>() {
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public String next() {
+					return nextKey();
+				}
+
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean add(String e) {
+			throw new UnsupportedOperationException("add");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean remove(Object o) {
+			return removeKey(o);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean addAll(Collection<? extends String> c) {
+			throw new UnsupportedOperationException("addAll");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			return retainAllKey(c);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			return removeAllKey(c);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clear() {
+			CopyOnWriteSettingHandler.this.clear();
+		}
+
+	}
+
+	/**
+	 * 写时复制配置处理器的入口集合。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class CowEntrySet extends AbstractSet<Entry> implements Set<Entry> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return snapshot.map.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isEmpty() {
+			return snapshot.map.isEmpty();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			SettingSlot slot = snapshot.map.get(((Entry) o).getKey());
+			if (Objects.isNull(slot))
+				return false;
+
+			return Objects.equals(slot.settingInfo, ((Entry) o).getSettingInfo())
+					&& Objects.equals(slot.currentValue, ((Entry) o).getCurrentValue());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Entry> iterator() {
+			return new CowIterator<Entry>() {
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public Entry next() {
+					return new CowEntry(nextKey());
+				}
+
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean add(Entry e) {
+			throw new UnsupportedOperationException("add");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean remove(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			Entry entry = (Entry) o;
+			return mutate(staging -> staging.entrySet().remove(entry));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean addAll(Collection<? extends Entry> c) {
+			throw new UnsupportedOperationException("addAll");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			return mutate(staging -> staging.entrySet().retainAll(c));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			return mutate(staging -> staging.entrySet().removeAll(c));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clear() {
+			CopyOnWriteSettingHandler.this.clear();
+		}
+
+	}
+
+	/**
+	 * 写时复制配置处理器的入口。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class CowEntry extends AbstractSettingHandler.AbstractEntry implements SettingHandler.Entry {
+
+		private final String key;
+
+		public CowEntry(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public SettingInfo getSettingInfo() {
+			return CopyOnWriteSettingHandler.this.getSettingInfo(key);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean setSettingInfo(SettingInfo settingInfo) {
+			return CopyOnWriteSettingHandler.this.setSettingInfo(key, settingInfo);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String getCurrentValue() {
+			return CopyOnWriteSettingHandler.this.getCurrentValue(key);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean setCurrentValue(String currentValue) {
+			return CopyOnWriteSettingHandler.this.setCurrentValue(key, currentValue);
+		}
+
+	}
+
+	/**
+	 * 事件记录器。
+	 * <p>
+	 * 记录副本上发生的修改，在新的快照发布之后按照顺序通知写时复制配置处理器的观察器。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class EventRecorder implements SettingObverser {
+
+		private final List<Runnable> events = new ArrayList<>();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireKeyPut(String key, SettingInfo settingInfo, String currentValue) {
+			events.add(() -> CopyOnWriteSettingHandler.this.fireKeyPut(key, settingInfo, currentValue));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireKeyRemoved(String key) {
+			events.add(() -> CopyOnWriteSettingHandler.this.fireKeyRemoved(key));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireKeyCleared() {
+			events.add(() -> CopyOnWriteSettingHandler.this.fireKeyCleared());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireSettingInfoChanged(String key, SettingInfo oldValue, SettingInfo newValue) {
+			events.add(() -> CopyOnWriteSettingHandler.this.fireSettingInfoChanged(key, oldValue, newValue));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireCurrentValueChanged(String key, String oldValue, String newValue) {
+			events.add(() -> CopyOnWriteSettingHandler.this.fireCurrentValueChanged(key, oldValue, newValue));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireCurrentValuesChanged(Map<String, String> oldValues, Map<String, String> newValues) {
+			events.add(() -> CopyOnWriteSettingHandler.this.fireCurrentValuesChanged(oldValues, newValues));
+		}
+
+	}
+
+	/**
+	 * 写时复制配置处理器的句柄。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class CowHandle extends AbstractSettingHandle {
+
+		public CowHandle(String key, int index) {
+			super(key, index);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected SettingSlot slot() {
+			SettingSlot[] array = snapshot.array;
+			return index < array.length ? array[index] : null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected SettingHandler handler() {
+			return CopyOnWriteSettingHandler.this;
+		}
+
+	}
+
+	/**
+	 * 快照。
+	 * <p>
+	 * 同时以映射与按照键下标排列的数组的形式保存所有的槽位，快照是不可变的。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private static final class Snapshot {
+
+		final Map<String, SettingSlot> map;
+		final SettingSlot[] array;
+
+		Snapshot(Map<String, SettingSlot> map, SettingSlot[] array) {
+			this.map = map;
+			this.array = array;
+		}
+
+	}
+
+	/** 同步锁，只被写入方法使用。 */
+	protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** 当前的快照。 */
+	private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), new SettingSlot[0]);
+
+	/** 键下标表，快照中的每一个键都拥有下标。 */
+	private final KeyIndex keyIndex = new KeyIndex();
+	/** 已经获取的句柄。 */
+	private final ConcurrentMap<String, CowHandle> handles = new ConcurrentHashMap<>();
+
+	/**
+	 * 生成一个默认的写时复制配置处理器。
+	 */
+	public CopyOnWriteSettingHandler() {
+		this(Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定的观察器集合的写时复制配置处理器。
+	 *
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public CopyOnWriteSettingHandler(Set<SettingObverser> obversers) {
+		super(obversers);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public ReadWriteLock getLock() {
+		return lock;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean addObverser(SettingObverser obverser) {
+		lock.writeLock().lock();
+		try {
+			return super.addObverser(obverser);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeObverser(SettingObverser obverser) {
+		lock.writeLock().lock();
+		try {
+			return super.removeObverser(obverser);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clearObverser() {
+		lock.writeLock().lock();
+		try {
+			super.clearObverser();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 在一次写入中执行多个修改。
+	 * <p>
+	 * 指定的更新器会在当前快照的一个副本上执行，更新器执行完毕后，所有的修改作为一个新的快照一次性发布，
+	 * 然后按照修改的顺序通知观察器。如果更新器抛出异常，则不发布任何修改，也不通知观察器。
+	 * <p>
+	 * 传递给更新器的配置处理器只在更新器执行期间有效，不应该在更新器之外保留它的引用。
+	 *
+	 * @param updater
+	 *            指定的更新器。
+	 * @return 该配置处理器是否发生了改变。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public boolean update(Consumer<? super SettingHandler> updater) throws NullPointerException {
+		Objects.requireNonNull(updater, DwarfUtil.getExceptionString(ExceptionStringKey.COPYONWRITESETTINGHANDLER_1));
+
+		lock.writeLock().lock();
+		try {
+			Snapshot oldSnapshot = snapshot;
+			mutate(staging -> {
+				updater.accept(staging);
+				return null;
+			});
+			return oldSnapshot != snapshot;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingHandle getHandle(String key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.COPYONWRITESETTINGHANDLER_0));
+		return handles.computeIfAbsent(key, k -> new CowHandle(k, keyIndex.indexOf(k)));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingHandle getHandle(Name key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.COPYONWRITESETTINGHANDLER_0));
+		return getHandle(key.getName());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return snapshot.map.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return snapshot.map.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean put(String key, SettingInfo settingInfo, String currentValue) {
+		return mutate(staging -> staging.put(key, settingInfo, currentValue));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean putAll(SettingHandler handler) {
+		return mutate(staging -> staging.putAll(handler));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Entry> entrySet() {
+		return new CowEntrySet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		mutate(staging -> {
+			staging.clear();
+			return null;
+		});
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<String> keySet() {
+		return new CowKeySet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return snapshot.map.containsKey(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeKey(Object key) {
+		return mutate(staging -> staging.removeKey(key));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeAllKey(Collection<?> c) {
+		return mutate(staging -> staging.removeAllKey(c));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean retainAllKey(Collection<?> c) {
+		return mutate(staging -> staging.retainAllKey(c));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingInfo getSettingInfo(String key) {
+		SettingSlot slot = snapshot.map.get(key);
+		return Objects.isNull(slot) ? null : slot.settingInfo;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setSettingInfo(String key, SettingInfo settingInfo) {
+		return mutate(staging -> staging.setSettingInfo(key, settingInfo));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isValueValid(String key, String value) {
+		SettingSlot slot = snapshot.map.get(key);
+		return Objects.nonNull(slot) && slot.isValueValid(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getValidValue(String key) {
+		SettingSlot slot = snapshot.map.get(key);
+		return Objects.isNull(slot) ? null : slot.validValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCurrentValue(String key) {
+		SettingSlot slot = snapshot.map.get(key);
+		return Objects.isNull(slot) ? null : slot.currentValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setCurrentValue(String key, String newValue) {
+		return mutate(staging -> staging.setCurrentValue(key, newValue));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 所有的修改作为一个新的快照一次性发布。
+	 */
+	@Override
+	public boolean setAllCurrentValue(Map<String, String> m) {
+		return mutate(staging -> staging.setAllCurrentValue(m));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean resetCurrentValue(String key) {
+		return mutate(staging -> staging.resetCurrentValue(key));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 所有的修改作为一个新的快照一次性发布。
+	 */
+	@Override
+	public boolean resetAllCurrentValue(Collection<String> c) {
+		return mutate(staging -> staging.resetAllCurrentValue(c));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 所有的修改作为一个新的快照一次性发布。
+	 */
+	@Override
+	public boolean resetAllCurrentValue() {
+		return mutate(staging -> staging.resetAllCurrentValue());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValue(String key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.COPYONWRITESETTINGHANDLER_0));
+
+		SettingSlot slot = snapshot.map.get(key);
+		return Objects.isNull(slot) ? null : slot.parsedValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValidValue(String key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.COPYONWRITESETTINGHANDLER_0));
+
+		SettingSlot slot = snapshot.map.get(key);
+		return Objects.isNull(slot) ? null : slot.parsedValidValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setParsedValue(String key, Object obj) {
+		return mutate(staging -> staging.setParsedValue(key, obj));
+	}
+
+	private <R> R mutate(Function<ParsedSettingHandler, R> action) {
+		lock.writeLock().lock();
+		try {
+			EventRecorder recorder = new EventRecorder();
+			Set<SettingObverser> stagingObversers = new HashSet<>();
+			stagingObversers.add(recorder);
+			ParsedSettingHandler staging = new ParsedSettingHandler(new LinkedHashMap<>(snapshot.map),
+					stagingObversers);
+
+			R result = action.apply(staging);
+			if (recorder.events.isEmpty())
+				return result;
+
+			// 复制一次，防止副本的引用泄露到更新器之外后快照被修改。
+			Map<String, SettingSlot> map = new LinkedHashMap<>(staging.slotMap());
+			for (String key : map.keySet()) {
+				keyIndex.indexOf(key);
+			}
+			SettingSlot[] array = new SettingSlot[keyIndex.size()];
+			for (Map.Entry<String, SettingSlot> entry : map.entrySet()) {
+				array[keyIndex.indexOf(entry.getKey())] = entry.getValue();
+			}
+			snapshot = new Snapshot(Collections.unmodifiableMap(map), array);
+			for (Runnable event : recorder.events) {
+				event.run();
+			}
+			return result;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+}
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -744,6 +745,38 @@ public class DefaultSettingHandler extends AbstractSettingHandler {
 		return true;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 该方法先找出所有需要改变的键，再一次性地写入，最后只通知观察器一次
+	 * {@link SettingObverser#fireCurrentValuesChanged(Map, Map)}。
+	 */
+	@Override
+	public boolean setAllCurrentValue(Map<String, String> m) {
+		Objects.requireNonNull(m, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTSETTINGHANDLER_2));
+
+		Map<String, String> oldValues = new LinkedHashMap<>();
+		Map<String, String> newValues = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : m.entrySet()) {
+			String key = entry.getKey();
+			if (!containsKey(key))
+				continue;
+
+			String oldValue = currentValueMap.get(key);
+			if (Objects.equals(oldValue, entry.getValue()))
+				continue;
+
+			oldValues.put(key, oldValue);
+			newValues.put(key, entry.getValue());
+		}
+		if (newValues.isEmpty())
+			return false;
+
+		currentValueMap.putAll(newValues);
+		fireCurrentValuesChanged(oldValues, newValues);
+		return true;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -0,0 +1,43 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import com.dwarfeng.dutil.basic.str.Name;
+
+/**
+ * 可索引的配置处理器。
+ * <p>
+ * 该配置处理器可以将键预先解析为 {@link SettingHandle}，之后通过句柄读取配置只需要一次数组访问。
+ * 适用于键在启动时就已经确定（比如通过 {@link SettingUtil#putEnumItems(Class, SettingHandler)}
+ * 添加的枚举配置），并且需要频繁读取的场景。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public interface IndexedSettingHandler extends SettingHandler {
+
+	/**
+	 * 获取指定的键对应的句柄。
+	 * <p>
+	 * 键不需要已经存在于配置处理器中，对同一个键总是返回同一个句柄。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定的键对应的句柄。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public SettingHandle getHandle(String key) throws NullPointerException;
+
+	/**
+	 * 获取指定的键对应的句柄。
+	 * <p>
+	 * 键不需要已经存在于配置处理器中，对同一个键总是返回同一个句柄。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定的键对应的句柄。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public SettingHandle getHandle(Name key) throws NullPointerException;
+
+}
@@ -0,0 +1,44 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 键下标表。
+ * <p>
+ * 为每一个键分配一个固定的下标，下标从 0 开始连续分配，一旦分配便不再改变，即使键已经从配置处理器中移除。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+final class KeyIndex {
+
+	private final ConcurrentMap<String, Integer> indexes = new ConcurrentHashMap<>();
+	private final AtomicInteger counter = new AtomicInteger(0);
+
+	/**
+	 * 获取指定的键的下标，如果键还没有下标，则为其分配一个新的下标。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定的键的下标。
+	 */
+	int indexOf(String key) {
+		return indexes.computeIfAbsent(key, k -> counter.getAndIncrement());
+	}
+
+	/**
+	 * 获取已经分配的下标的数量。
+	 * <p>
+	 * 所有已经分配的下标都小于该值。
+	 *
+	 * @return 已经分配的下标的数量。
+	 */
+	int size() {
+		return counter.get();
+	}
+
+}
@@ -0,0 +1,183 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+/**
+ * 解析缓存。
+ * <p>
+ * 用于配置信息缓存字符串值的解析结果。缓存是一张直接映射的表，字符串值按照其哈希值落在固定的槽位上，
+ * 每个槽位保存一个不可变的备忘录，记录字符串值与其解析结果（解析失败时为 <code>null</code>）。
+ * 读取与写入槽位只使用原子引用，不使用任何锁，多个线程可以同时解析不同的值；交替出现的不同的值通常落在不同的槽位上，不会互相驱逐。
+ * <p>
+ * 同一个值在并发时可能被解析多次，因此解析器应该是无副作用的。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public final class ParseCache<T> {
+
+	/** 默认的槽位数量。 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	private final Parser<T> parser;
+	private final AtomicReferenceArray<Memo<T>> memos;
+	private final int mask;
+
+	/**
+	 * 生成一个具有指定解析器，默认槽位数量的解析缓存。
+	 *
+	 * @param parser
+	 *            指定的解析器。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ParseCache(Parser<T> parser) throws NullPointerException {
+		this(parser, DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * 生成一个具有指定解析器，指定槽位数量的解析缓存。
+	 * <p>
+	 * 实际的槽位数量是不小于指定数量的最小的 2 的幂。
+	 *
+	 * @param parser
+	 *            指定的解析器。
+	 * @param capacity
+	 *            指定的槽位数量。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             槽位数量不为正数，或者过大。
+	 */
+	public ParseCache(Parser<T> parser, int capacity) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(parser, DwarfUtil.getExceptionString(ExceptionStringKey.PARSECACHE_0));
+		if (capacity <= 0 || capacity > (1 << 30)) {
+			throw new IllegalArgumentException(
+					String.format(DwarfUtil.getExceptionString(ExceptionStringKey.PARSECACHE_1), capacity));
+		}
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.parser = parser;
+		this.memos = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	/**
+	 * 获取指定的值的解析结果。
+	 * <p>
+	 * 如果缓存中存在该值的解析结果，则直接返回；否则调用解析器解析该值，并将结果放入缓存。
+	 *
+	 * @param value
+	 *            指定的值。
+	 * @return 指定的值的解析结果，如果解析失败，或者入口参数为 <code>null</code>，则返回 <code>null</code>。
+	 */
+	public T get(String value) {
+		if (Objects.isNull(value)) {
+			return null;
+		}
+
+		int index = indexFor(value);
+		Memo<T> memo = memos.get(index);
+		if (Objects.nonNull(memo) && memo.value.equals(value)) {
+			return memo.parsed;
+		}
+
+		T parsed;
+		try {
+			parsed = parser.parse(value);
+		} catch (Exception e) {
+			parsed = null;
+		}
+		memos.lazySet(index, new Memo<>(value, parsed));
+		return parsed;
+	}
+
+	/**
+	 * 在缓存中查找解析结果与指定对象相等的值。
+	 *
+	 * @param parsed
+	 *            指定的对象。
+	 * @return 解析结果与指定对象相等的值，如果缓存中没有这样的值，或者入口参数为 <code>null</code>，则返回
+	 *         <code>null</code>。
+	 */
+	public String findValue(Object parsed) {
+		if (Objects.isNull(parsed)) {
+			return null;
+		}
+
+		for (int i = 0; i < memos.length(); i++) {
+			Memo<T> memo = memos.get(i);
+			if (Objects.nonNull(memo) && parsed.equals(memo.parsed)) {
+				return memo.value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 清空缓存。
+	 */
+	public void clear() {
+		for (int i = 0; i < memos.length(); i++) {
+			memos.set(i, null);
+		}
+	}
+
+	/**
+	 * 获取缓存的槽位数量。
+	 *
+	 * @return 缓存的槽位数量。
+	 */
+	public int getCapacity() {
+		return memos.length();
+	}
+
+	private int indexFor(String value) {
+		int h = value.hashCode();
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * 解析器。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	@FunctionalInterface
+	public interface Parser<T> {
+
+		/**
+		 * 解析指定的值。
+		 *
+		 * @param value
+		 *            指定的非空值。
+		 * @return 解析结果，如果指定的值不合法，则返回 <code>null</code>。
+		 * @throws Exception
+		 *             解析时发生的异常，视为指定的值不合法。
+		 */
+		public T parse(String value) throws Exception;
+
+	}
+
+	private static final class Memo<T> {
+
+		final String value;
+		final T parsed;
+
+		Memo(String value, T parsed) {
+			this.value = value;
+			this.parsed = parsed;
+		}
+
+	}
+
+}
@@ -0,0 +1,1020 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.str.Name;
+import com.dwarfeng.dutil.develop.setting.obv.SettingObverser;
+
+/**
+ * 预解析配置处理器。
+ *
+ * <p>
+ * 该配置处理器在配置信息或者当前值发生改变时（包括添加、设置当前值、重置当前值、设置配置信息）立即检查并解析当前值，
+ * 将解析结果与字符串值一起保存在同一个不可变的槽位中。 因此 {@link #getParsedValue(String)}、
+ * {@link #getParsedValidValue(String)} 与 {@link #getValidValue(String)} 只需要一次映射查找，不再重复检查与解析字符串。
+ * <p>
+ * 该配置处理器还提供了 {@link #getInt(String)}、{@link #getLong(String)}、{@link #getDouble(String)}
+ * 等方法，直接以基本类型返回合法的解析值。
+ * <p>
+ * 通过 {@link #getHandle(String)} 获取的句柄按照下标直接读取槽位。槽位数组在第一次获取句柄时建立，之后随着槽位映射一起更新。
+ * <p>
+ * 注意：解析值在写入时生成，并在之后的每一次读取中返回同一个对象，因此不应该修改解析出的可变对象（如
+ * {@link java.util.Date}）。
+ * <p>
+ * 该配置处理器不是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class ParsedSettingHandler extends AbstractSettingHandler implements IndexedSettingHandler {
+
+	/**
+	 * 预解析配置处理器中默认的迭代器。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private abstract class ParsedIterator<E> implements Iterator<E> {
+
+		/** 迭代器所引用的键值迭代器。 */
+		protected final Iterator<String> keyIterator = slotMap.keySet().iterator();
+
+		/** 迭代器的期望更改计数。 */
+		protected int exceptedModCount = modCount;
+		/** 迭代器的当前键引用。 */
+		protected String currRef = null;
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return keyIterator.hasNext();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (Objects.isNull(currRef)) {
+				throw new IllegalStateException();
+			}
+
+			checkForComodification();
+
+			try {
+				keyIterator.remove();
+				eraseIndexedSlot(currRef);
+				modCount++;
+				exceptedModCount++;
+				fireKeyRemoved(currRef);
+			} finally {
+				currRef = null;
+			}
+		}
+
+		/**
+		 * 移动到下一个键。
+		 *
+		 * @return 下一个键。
+		 */
+		protected String nextKey() {
+			checkForComodification();
+
+			try {
+				currRef = keyIterator.next();
+			} catch (Exception e) {
+				currRef = null;
+				throw e;
+			}
+			return currRef;
+		}
+
+		/**
+		 * 检查迭代器在迭代期间是否发生了改变。
+		 */
+		protected void checkForComodification() {
+			if (exceptedModCount != modCount) {
+				throw new ConcurrentModificationException(
+						DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_2));
+			}
+		}
+
+	}
+
+	/**
+	 * 预解析配置处理器的键值集合。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class ParsedKeySet extends AbstractSet<String> implements Set<String> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return slotMap.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isEmpty() {
+			return slotMap.isEmpty();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object o) {
+			return slotMap.containsKey(o);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<String> iterator() {
+			return new ParsedIterator<String>() {
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public String next() {
+					return nextKey();
+				}
+
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean add(String e) {
+			throw new UnsupportedOperationException("add");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean remove(Object o) {
+			return removeKey(o);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean addAll(Collection<? extends String> c) {
+			throw new UnsupportedOperationException("addAll");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			return retainAllKey(c);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			return removeAllKey(c);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clear() {
+			ParsedSettingHandler.this.clear();
+		}
+
+	}
+
+	/**
+	 * 预解析配置处理器的入口集合。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class ParsedEntrySet extends AbstractSet<Entry> implements Set<Entry> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return slotMap.size();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isEmpty() {
+			return slotMap.isEmpty();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object o) {
+			if (!(o instanceof Entry))
+				return false;
+
+			SettingSlot slot = slotMap.get(((Entry) o).getKey());
+			if (Objects.isNull(slot))
+				return false;
+
+			return Objects.equals(slot.settingInfo, ((Entry) o).getSettingInfo())
+					&& Objects.equals(slot.currentValue, ((Entry) o).getCurrentValue());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Entry> iterator() {
+			return new ParsedIterator<Entry>() {
+
+				/**
+				 * {@inheritDoc}
+				 */
+				@Override
+				public Entry next() {
+					return new ParsedEntry(nextKey());
+				}
+
+			};
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean add(Entry e) {
+			throw new UnsupportedOperationException("add");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean remove(Object o) {
+			if (!contains(o))
+				return false;
+
+			return removeKey(((Entry) o).getKey());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean addAll(Collection<? extends Entry> c) {
+			throw new UnsupportedOperationException("addAll");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean retainAll(Collection<?> c) {
+			Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_1));
+			return batchRemove(c, false);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean removeAll(Collection<?> c) {
+			Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_1));
+			return batchRemove(c, true);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clear() {
+			ParsedSettingHandler.this.clear();
+		}
+
+		private boolean batchRemove(Collection<?> c, boolean aFlag) {
+			boolean result = false;
+
+			for (Iterator<Entry> i = iterator(); i.hasNext();) {
+				Entry entry = i.next();
+
+				if (c.contains(entry) == aFlag) {
+					i.remove(); // 该方法调用了Iterator的方法，在此方法中对 modCount 进行操作。
+					result = true;
+				}
+			}
+
+			return result;
+		}
+
+	}
+
+	/**
+	 * 预解析配置处理器的入口。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class ParsedEntry extends AbstractSettingHandler.AbstractEntry implements SettingHandler.Entry {
+
+		private final String key;
+
+		public ParsedEntry(String key) {
+			this.key = key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String getKey() {
+			return key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public SettingInfo getSettingInfo() {
+			SettingSlot slot = slotMap.get(key);
+			return Objects.isNull(slot) ? null : slot.settingInfo;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean setSettingInfo(SettingInfo settingInfo) {
+			return ParsedSettingHandler.this.setSettingInfo(key, settingInfo);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String getCurrentValue() {
+			SettingSlot slot = slotMap.get(key);
+			return Objects.isNull(slot) ? null : slot.currentValue;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean setCurrentValue(String currentValue) {
+			return ParsedSettingHandler.this.setCurrentValue(key, currentValue);
+		}
+
+	}
+
+	/**
+	 * 预解析配置处理器的句柄。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private final class ParsedHandle extends AbstractSettingHandle {
+
+		public ParsedHandle(String key, int index) {
+			super(key, index);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected SettingSlot slot() {
+			SettingSlot[] array = slotArray;
+			return index < array.length ? array[index] : null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected SettingHandler handler() {
+			return ParsedSettingHandler.this;
+		}
+
+	}
+
+	/** 配置处理器的槽位映射。 */
+	private final Map<String, SettingSlot> slotMap;
+
+	/** 键下标表，在第一次获取句柄时创建。 */
+	private KeyIndex keyIndex = null;
+	/** 按照键下标排列的槽位，与槽位映射保持一致。 */
+	private SettingSlot[] slotArray = new SettingSlot[0];
+	/** 已经获取的句柄。 */
+	private final Map<String, ParsedHandle> handles = new HashMap<>();
+
+	/** 该配置处理器的结构更改计数。 */
+	private transient int modCount = 0;
+
+	/**
+	 * 生成一个默认的预解析配置处理器。
+	 */
+	public ParsedSettingHandler() {
+		this(Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定的观察器集合的预解析配置处理器。
+	 *
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ParsedSettingHandler(Set<SettingObverser> obversers) {
+		this(new HashMap<>(), obversers);
+	}
+
+	/**
+	 * 生成一个由指定的槽位映射与观察器集合组成的预解析配置处理器。
+	 *
+	 * @param slotMap
+	 *            指定的槽位映射。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 */
+	ParsedSettingHandler(Map<String, SettingSlot> slotMap, Set<SettingObverser> obversers) {
+		super(obversers);
+		this.slotMap = slotMap;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return slotMap.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isEmpty() {
+		return slotMap.isEmpty();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean put(String key, SettingInfo settingInfo, String currentValue) {
+		if (Objects.isNull(key) || Objects.isNull(settingInfo))
+			return false;
+
+		SettingSlot oldSlot = slotMap.get(key);
+
+		if (Objects.isNull(oldSlot)) {
+			storeSlot(key, new SettingSlot(settingInfo, currentValue));
+			modCount++;
+			fireKeyPut(key, settingInfo, currentValue);
+			return true;
+		}
+
+		boolean flag_settingInfoChange = !Objects.equals(oldSlot.settingInfo, settingInfo);
+		boolean flag_currentValueChange = !Objects.equals(oldSlot.currentValue, currentValue);
+		if (!flag_settingInfoChange && !flag_currentValueChange)
+			return false;
+
+		storeSlot(key, new SettingSlot(flag_settingInfoChange ? settingInfo : oldSlot.settingInfo,
+				flag_currentValueChange ? currentValue : oldSlot.currentValue));
+
+		if (flag_settingInfoChange) {
+			fireSettingInfoChanged(key, oldSlot.settingInfo, settingInfo);
+		}
+		if (flag_currentValueChange) {
+			fireCurrentValueChanged(key, oldSlot.currentValue, currentValue);
+		}
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Entry> entrySet() {
+		return new ParsedEntrySet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		slotMap.clear();
+		Arrays.fill(slotArray, null);
+		modCount++;
+		fireKeyCleared();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<String> keySet() {
+		return new ParsedKeySet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return slotMap.containsKey(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeKey(Object key) {
+		if (Objects.isNull(key))
+			return false;
+		if (!slotMap.containsKey(key))
+			return false;
+
+		slotMap.remove(key);
+		eraseIndexedSlot((String) key);
+		modCount++;
+		fireKeyRemoved((String) key);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean removeAllKey(Collection<?> c) {
+		Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_1));
+		return batchRemove(c, true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean retainAllKey(Collection<?> c) {
+		Objects.requireNonNull(c, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_1));
+		return batchRemove(c, false);
+	}
+
+	private boolean batchRemove(Collection<?> c, boolean aFlag) {
+		boolean result = false;
+
+		for (Iterator<String> i = keySet().iterator(); i.hasNext();) {
+			String key = i.next();
+
+			if (c.contains(key) == aFlag) {
+				i.remove(); // 该方法调用了Iterator的方法，在此方法中对 modCount 进行操作。
+				result = true;
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingInfo getSettingInfo(String key) {
+		SettingSlot slot = slotMap.get(key);
+		return Objects.isNull(slot) ? null : slot.settingInfo;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setSettingInfo(String key, SettingInfo settingInfo) {
+		if (Objects.isNull(settingInfo))
+			return false;
+
+		SettingSlot oldSlot = slotMap.get(key);
+		if (Objects.isNull(oldSlot))
+			return false;
+		if (Objects.equals(oldSlot.settingInfo, settingInfo))
+			return false;
+
+		storeSlot(key, new SettingSlot(settingInfo, oldSlot.currentValue));
+		fireSettingInfoChanged(key, oldSlot.settingInfo, settingInfo);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isValueValid(String key, String value) {
+		SettingSlot slot = slotMap.get(key);
+		return Objects.nonNull(slot) && slot.isValueValid(value);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getValidValue(String key) {
+		SettingSlot slot = slotMap.get(key);
+		return Objects.isNull(slot) ? null : slot.validValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String getCurrentValue(String key) {
+		SettingSlot slot = slotMap.get(key);
+		return Objects.isNull(slot) ? null : slot.currentValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setCurrentValue(String key, String newValue) {
+		SettingSlot oldSlot = slotMap.get(key);
+		if (Objects.isNull(oldSlot))
+			return false;
+		if (Objects.equals(oldSlot.currentValue, newValue))
+			return false;
+
+		storeSlot(key, new SettingSlot(oldSlot.settingInfo, newValue));
+		fireCurrentValueChanged(key, oldSlot.currentValue, newValue);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * 该方法先为所有需要改变的键检查并解析新的值，再一次性地写入，最后只通知观察器一次
+	 * {@link SettingObverser#fireCurrentValuesChanged(Map, Map)}。
+	 */
+	@Override
+	public boolean setAllCurrentValue(Map<String, String> m) {
+		Objects.requireNonNull(m, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTSETTINGHANDLER_2));
+
+		Map<String, SettingSlot> newSlots = new LinkedHashMap<>();
+		Map<String, String> oldValues = new LinkedHashMap<>();
+		Map<String, String> newValues = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : m.entrySet()) {
+			String key = entry.getKey();
+			SettingSlot oldSlot = slotMap.get(key);
+			if (Objects.isNull(oldSlot))
+				continue;
+			if (Objects.equals(oldSlot.currentValue, entry.getValue()))
+				continue;
+
+			newSlots.put(key, new SettingSlot(oldSlot.settingInfo, entry.getValue()));
+			oldValues.put(key, oldSlot.currentValue);
+			newValues.put(key, entry.getValue());
+		}
+		if (newSlots.isEmpty())
+			return false;
+
+		for (Map.Entry<String, SettingSlot> entry : newSlots.entrySet()) {
+			storeSlot(entry.getKey(), entry.getValue());
+		}
+		fireCurrentValuesChanged(oldValues, newValues);
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean resetCurrentValue(String key) {
+		SettingSlot oldSlot = slotMap.get(key);
+		if (Objects.isNull(oldSlot))
+			return false;
+
+		return setCurrentValue(key, oldSlot.settingInfo.getDefaultValue());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValue(String key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+
+		SettingSlot slot = slotMap.get(key);
+		return Objects.isNull(slot) ? null : slot.parsedValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object getParsedValidValue(String key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+
+		SettingSlot slot = slotMap.get(key);
+		return Objects.isNull(slot) ? null : slot.parsedValidValue;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean setParsedValue(String key, Object obj) {
+		SettingSlot oldSlot = slotMap.get(key);
+		if (Objects.isNull(oldSlot))
+			return false;
+
+		return setCurrentValue(key, oldSlot.settingInfo.parseObject(obj));
+	}
+
+	/**
+	 * 以 <code>int</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public int getInt(String key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValidValue(key, Number.class).intValue();
+	}
+
+	/**
+	 * 以 <code>int</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public int getInt(Name key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+		return getInt(key.getName());
+	}
+
+	/**
+	 * 以 <code>long</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public long getLong(String key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValidValue(key, Number.class).longValue();
+	}
+
+	/**
+	 * 以 <code>long</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public long getLong(Name key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+		return getLong(key.getName());
+	}
+
+	/**
+	 * 以 <code>float</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public float getFloat(String key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValidValue(key, Number.class).floatValue();
+	}
+
+	/**
+	 * 以 <code>float</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public float getFloat(Name key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+		return getFloat(key.getName());
+	}
+
+	/**
+	 * 以 <code>double</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public double getDouble(String key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValidValue(key, Number.class).doubleValue();
+	}
+
+	/**
+	 * 以 <code>double</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public double getDouble(Name key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+		return getDouble(key.getName());
+	}
+
+	/**
+	 * 以 <code>boolean</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Boolean}。
+	 */
+	public boolean getBoolean(String key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		return requireParsedValidValue(key, Boolean.class).booleanValue();
+	}
+
+	/**
+	 * 以 <code>boolean</code> 的形式获取指定键对应的合法的解析值。
+	 *
+	 * @param key
+	 *            指定的键。
+	 * @return 指定键对应的合法的解析值。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws IllegalArgumentException
+	 *             指定的键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Boolean}。
+	 */
+	public boolean getBoolean(Name key) throws NullPointerException, IllegalArgumentException, ClassCastException {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+		return getBoolean(key.getName());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingHandle getHandle(String key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+
+		ParsedHandle handle = handles.get(key);
+		if (Objects.nonNull(handle))
+			return handle;
+
+		if (Objects.isNull(keyIndex)) {
+			// 第一次获取句柄时才开始维护槽位数组，没有使用句柄的配置处理器不需要额外的开销。
+			keyIndex = new KeyIndex();
+			for (Map.Entry<String, SettingSlot> entry : slotMap.entrySet()) {
+				storeIndexedSlot(keyIndex.indexOf(entry.getKey()), entry.getValue());
+			}
+		}
+
+		handle = new ParsedHandle(key, keyIndex.indexOf(key));
+		handles.put(key, handle);
+		return handle;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SettingHandle getHandle(Name key) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+		return getHandle(key.getName());
+	}
+
+	/**
+	 * 获取该配置处理器的槽位映射。
+	 *
+	 * @return 该配置处理器的槽位映射。
+	 */
+	Map<String, SettingSlot> slotMap() {
+		return slotMap;
+	}
+
+	private void storeSlot(String key, SettingSlot slot) {
+		slotMap.put(key, slot);
+		if (Objects.nonNull(keyIndex)) {
+			storeIndexedSlot(keyIndex.indexOf(key), slot);
+		}
+	}
+
+	private void storeIndexedSlot(int index, SettingSlot slot) {
+		if (index >= slotArray.length) {
+			slotArray = Arrays.copyOf(slotArray, Math.max(index + 1, slotArray.length * 2));
+		}
+		slotArray[index] = slot;
+	}
+
+	private void eraseIndexedSlot(String key) {
+		if (Objects.isNull(keyIndex))
+			return;
+
+		int index = keyIndex.indexOf(key);
+		if (index < slotArray.length) {
+			slotArray[index] = null;
+		}
+	}
+
+	private <T> T requireParsedValidValue(String key, Class<T> clas) {
+		Objects.requireNonNull(key, DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_0));
+
+		SettingSlot slot = slotMap.get(key);
+		if (Objects.isNull(slot) || Objects.isNull(slot.parsedValidValue)) {
+			throw new IllegalArgumentException(
+					String.format(DwarfUtil.getExceptionString(ExceptionStringKey.PARSEDSETTINGHANDLER_3), key));
+		}
+		return clas.cast(slot.parsedValidValue);
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.dwarfeng.dutil.develop.setting;
+
+/**
+ * 配置句柄。
+ * <p>
+ * 配置句柄是配置处理器中某一个键的解析结果，由 {@link IndexedSettingHandler#getHandle(String)} 获得。
+ * 句柄在获得时将键解析为配置处理器内部的一个固定的下标，之后通过句柄读取配置只需要一次数组访问，
+ * 不再需要计算字符串的哈希值与查找映射。
+ * <p>
+ * 句柄始终引用它的键，而不是引用某一时刻的值：键被移除后句柄读取到 <code>null</code>，
+ * 键被重新添加后句柄读取到新的值。同一个配置处理器对同一个键总是返回同一个句柄。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public interface SettingHandle {
+
+	/**
+	 * 获取句柄对应的键。
+	 *
+	 * @return 句柄对应的键。
+	 */
+	public String getKey();
+
+	/**
+	 * 返回句柄对应的键当前是否存在于配置处理器中。
+	 *
+	 * @return 句柄对应的键当前是否存在于配置处理器中。
+	 */
+	public boolean isPresent();
+
+	/**
+	 * 获取句柄对应的配置信息。
+	 *
+	 * @return 句柄对应的配置信息，如果键不存在，则返回 <code>null</code>。
+	 */
+	public SettingInfo getSettingInfo();
+
+	/**
+	 * 获取句柄对应的当前值。
+	 *
+	 * @return 句柄对应的当前值，如果键不存在，则返回 <code>null</code>。
+	 */
+	public String getCurrentValue();
+
+	/**
+	 * 获取句柄对应的合法值。
+	 *
+	 * @return 句柄对应的合法值，如果键不存在，则返回 <code>null</code>。
+	 * @see SettingHandler#getValidValue(String)
+	 */
+	public String getValidValue();
+
+	/**
+	 * 获取句柄对应的当前值的解析值。
+	 *
+	 * @return 句柄对应的当前值的解析值，如果键不存在或者当前值不合法，则返回 <code>null</code>。
+	 * @see SettingHandler#getParsedValue(String)
+	 */
+	public Object getParsedValue();
+
+	/**
+	 * 获取句柄对应的合法值的解析值。
+	 *
+	 * @return 句柄对应的合法值的解析值，如果键不存在，则返回 <code>null</code>。
+	 * @see SettingHandler#getParsedValidValue(String)
+	 */
+	public Object getParsedValidValue();
+
+	/**
+	 * 以指定的类型获取句柄对应的合法值的解析值。
+	 *
+	 * @param clas
+	 *            指定的类型。
+	 * @param <T>
+	 *            解析值的类型。
+	 * @return 句柄对应的合法值的解析值，如果键不存在，则返回 <code>null</code>。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @throws ClassCastException
+	 *             合法值的解析值不是指定的类型。
+	 */
+	public <T> T getParsedValidValue(Class<T> clas) throws NullPointerException, ClassCastException;
+
+	/**
+	 * 以 <code>int</code> 的形式获取句柄对应的合法的解析值。
+	 *
+	 * @return 句柄对应的合法的解析值。
+	 * @throws IllegalStateException
+	 *             键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public int getInt() throws IllegalStateException, ClassCastException;
+
+	/**
+	 * 以 <code>long</code> 的形式获取句柄对应的合法的解析值。
+	 *
+	 * @return 句柄对应的合法的解析值。
+	 * @throws IllegalStateException
+	 *             键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public long getLong() throws IllegalStateException, ClassCastException;
+
+	/**
+	 * 以 <code>float</code> 的形式获取句柄对应的合法的解析值。
+	 *
+	 * @return 句柄对应的合法的解析值。
+	 * @throws IllegalStateException
+	 *             键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public float getFloat() throws IllegalStateException, ClassCastException;
+
+	/**
+	 * 以 <code>double</code> 的形式获取句柄对应的合法的解析值。
+	 *
+	 * @return 句柄对应的合法的解析值。
+	 * @throws IllegalStateException
+	 *             键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Number}。
+	 */
+	public double getDouble() throws IllegalStateException, ClassCastException;
+
+	/**
+	 * 以 <code>boolean</code> 的形式获取句柄对应的合法的解析值。
+	 *
+	 * @return 句柄对应的合法的解析值。
+	 * @throws IllegalStateException
+	 *             键不存在，或者没有合法的解析值。
+	 * @throws ClassCastException
+	 *             合法的解析值不是 {@link Boolean}。
+	 */
+	public boolean getBoolean() throws IllegalStateException, ClassCastException;
+
+	/**
+	 * 设置句柄对应的当前值。
+	 *
+	 * @param newValue
+	 *            新的当前值。
+	 * @return 该操作是否改变了配置处理器。
+	 * @see SettingHandler#setCurrentValue(String, String)
+	 */
+	public boolean setCurrentValue(String newValue);
+
+	/**
+	 * 通过对象设置句柄对应的当前值。
+	 *
+	 * @param obj
+	 *            指定的对象。
+	 * @return 该操作是否改变了配置处理器。
+	 * @see SettingHandler#setParsedValue(String, Object)
+	 */
+	public boolean setParsedValue(Object obj);
+
+}
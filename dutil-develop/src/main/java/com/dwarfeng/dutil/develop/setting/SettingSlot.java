@@ -0,0 +1,56 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import java.util.Objects;
+
+/**
+ * 配置槽位。
+ * <p>
+ * 保存一个键对应的配置信息、当前值，以及在构造时一次性计算出的合法值与解析值。槽位是不可变的，
+ * 因此可以在多个配置处理器或者多个快照之间共享。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+final class SettingSlot {
+
+	final SettingInfo settingInfo;
+	final String currentValue;
+	final boolean valid;
+	final String validValue;
+	final Object parsedValue;
+	final Object parsedValidValue;
+
+	SettingSlot(SettingInfo settingInfo, String currentValue) {
+		this.settingInfo = settingInfo;
+		this.currentValue = currentValue;
+		this.valid = settingInfo.isValid(currentValue);
+
+		if (valid) {
+			validValue = currentValue;
+			parsedValue = settingInfo.parseValue(currentValue);
+			parsedValidValue = parsedValue;
+		} else {
+			validValue = settingInfo.getDefaultValue();
+			parsedValue = null;
+			parsedValidValue = settingInfo.parseValue(validValue);
+		}
+	}
+
+	/**
+	 * 判断指定的值对该槽位的配置信息是否合法。
+	 * <p>
+	 * 与当前值相同时直接使用构造时的检查结果。
+	 *
+	 * @param value
+	 *            指定的值。
+	 * @return 指定的值是否合法。
+	 */
+	boolean isValueValid(String value) {
+		if (Objects.isNull(value))
+			return false;
+		if (value.equals(currentValue))
+			return valid;
+		return settingInfo.isValid(value);
+	}
+
+}
@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.develop.setting.info;
 
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * 类配置信息。
@@ -14,10 +13,7 @@ import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
  */
 public class ClassSettingInfo extends AbstractSettingInfo {
 
-	private String lastCheckedValue = null;
-	private Class<?> lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Class<?>> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个新的类配置信息。
@@ -71,22 +67,7 @@ public class ClassSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Class.forName(value);
-			} catch (ClassNotFoundException e) {
-				lastParsedValue = null;
-				return false;
-			}
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -94,23 +75,10 @@ public class ClassSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Class.forName(value);
-				return lastCheckedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-		} finally {
-			lock.unlock();
-		}
+		Class<?> parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -118,18 +86,18 @@ public class ClassSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected String parseNonNullObject(Object object) {
-		lock.lock();
-		try {
-			if (Objects.equals(object, lastParsedValue))
-				return lastCheckedValue;
-
-			if (!(object instanceof Class))
-				return null;
-
-			return ((Class<?>) object).getName();
-		} finally {
-			lock.unlock();
-		}
+		if (!(object instanceof Class))
+			return null;
+
+		String value = parseCache.findValue(object);
+		if (Objects.nonNull(value))
+			return value;
+
+		return ((Class<?>) object).getName();
+	}
+
+	private Class<?> parse(String value) throws ClassNotFoundException {
+		return Class.forName(value);
 	}
 
 }
@@ -2,10 +2,9 @@ package com.dwarfeng.dutil.develop.setting.info;
 
 import java.util.Date;
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * 日期配置信息。
@@ -19,10 +18,7 @@ public class DateSettingInfo extends AbstractSettingInfo {
 
 	private static final int RADIX = 10;
 
-	private String lastCheckedValue = null;
-	private Date lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Date> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个默认的日期配置信息。
@@ -73,22 +69,7 @@ public class DateSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = new Date(Long.parseLong(value, RADIX));
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -96,23 +77,10 @@ public class DateSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = new Date(Long.parseLong(value, RADIX));
-				return lastCheckedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-		} finally {
-			lock.unlock();
-		}
+		Date parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -120,18 +88,18 @@ public class DateSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected String parseNonNullObject(Object object) {
-		lock.lock();
-		try {
-			if (Objects.equals(object, lastParsedValue))
-				return lastCheckedValue;
-
-			if (!(object instanceof Date))
-				return null;
-
-			return Long.toString(((Date) object).getTime(), RADIX);
-		} finally {
-			lock.unlock();
-		}
+		if (!(object instanceof Date))
+			return null;
+
+		String value = parseCache.findValue(object);
+		if (Objects.nonNull(value))
+			return value;
+
+		return Long.toString(((Date) object).getTime(), RADIX);
+	}
+
+	private Date parse(String value) {
+		return new Date(Long.parseLong(value, RADIX));
 	}
 
 }
@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.develop.setting.info;
 
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.basic.num.Interval;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * Double配置信息。
@@ -14,10 +13,7 @@ import com.dwarfeng.dutil.basic.num.Interval;
  */
 public class DoubleSettingInfo extends NumberSettingInfo {
 
-	private String lastCheckedValue = null;
-	private Double lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Double> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个新的Double配置信息。
@@ -88,28 +84,7 @@ public class DoubleSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Double.parseDouble(value);
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			if (!interval.contains(lastParsedValue)) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -117,29 +92,10 @@ public class DoubleSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Double.parseDouble(value);
-				if (!interval.contains(lastParsedValue)) {
-					lastCheckedValue = null;
-					lastParsedValue = null;
-					return null;
-				}
-				return lastParsedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-
-		} finally {
-			lock.unlock();
-		}
+		Double parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -156,4 +112,9 @@ public class DoubleSettingInfo extends NumberSettingInfo {
 		return Double.toString((double) object);
 	}
 
+	private Double parse(String value) {
+		Double parsed = Double.parseDouble(value);
+		return interval.contains(parsed) ? parsed : null;
+	}
+
 }
@@ -2,10 +2,9 @@ package com.dwarfeng.dutil.develop.setting.info;
 
 import java.io.File;
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * 文件配置信息。
@@ -17,10 +16,7 @@ import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
  */
 public class FileSettingInfo extends AbstractSettingInfo {
 
-	private String lastCheckedValue = null;
-	private File lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<File> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个默认的文件配置信息。
@@ -74,22 +70,7 @@ public class FileSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = new File(value);
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -97,23 +78,10 @@ public class FileSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = new File(value);
-				return lastCheckedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-		} finally {
-			lock.unlock();
-		}
+		File parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -121,18 +89,18 @@ public class FileSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected String parseNonNullObject(Object object) {
-		lock.lock();
-		try {
-			if (Objects.equals(object, lastParsedValue))
-				return lastCheckedValue;
-
-			if (!(object instanceof File))
-				return null;
-
-			return ((File) object).getAbsolutePath();
-		} finally {
-			lock.unlock();
-		}
+		if (!(object instanceof File))
+			return null;
+
+		String value = parseCache.findValue(object);
+		if (Objects.nonNull(value))
+			return value;
+
+		return ((File) object).getAbsolutePath();
+	}
+
+	private File parse(String value) {
+		return new File(value);
 	}
 
 }
@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.develop.setting.info;
 
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.basic.num.Interval;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * Float配置信息。
@@ -14,10 +13,7 @@ import com.dwarfeng.dutil.basic.num.Interval;
  */
 public class FloatSettingInfo extends NumberSettingInfo {
 
-	private String lastCheckedValue = null;
-	private Float lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Float> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个新的Float配置信息。
@@ -88,28 +84,7 @@ public class FloatSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Float.parseFloat(value);
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			if (!interval.contains(lastParsedValue)) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -117,29 +92,10 @@ public class FloatSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Float.parseFloat(value);
-				if (!interval.contains(lastParsedValue)) {
-					lastCheckedValue = null;
-					lastParsedValue = null;
-					return null;
-				}
-				return lastParsedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-
-		} finally {
-			lock.unlock();
-		}
+		Float parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -156,4 +112,9 @@ public class FloatSettingInfo extends NumberSettingInfo {
 		return Float.toString((float) object);
 	}
 
+	private Float parse(String value) {
+		Float parsed = Float.parseFloat(value);
+		return interval.contains(parsed) ? parsed : null;
+	}
+
 }
@@ -3,10 +3,9 @@ package com.dwarfeng.dutil.develop.setting.info;
 import java.awt.Font;
 import java.util.Objects;
 import java.util.StringTokenizer;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * 字体配置信息。
@@ -18,10 +17,7 @@ import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
  */
 public class FontSettingInfo extends AbstractSettingInfo {
 
-	private String lastCheckedValue = null;
-	private Font lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Font> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个新的Double配置信息。
@@ -75,26 +71,7 @@ public class FontSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				StringTokenizer st = new StringTokenizer(value, "-");
-				String name = st.nextToken();
-				int style = Integer.parseInt(st.nextToken());
-				int size = Integer.parseInt(st.nextToken());
-				lastParsedValue = new Font(name, style, size);
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -102,27 +79,10 @@ public class FontSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				StringTokenizer st = new StringTokenizer(value, "-");
-				String name = st.nextToken();
-				int style = Integer.parseInt(st.nextToken());
-				int size = Integer.parseInt(st.nextToken());
-				lastParsedValue = new Font(name, style, size);
-				return lastParsedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-		} finally {
-			lock.unlock();
-		}
+		Font parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -137,4 +97,12 @@ public class FontSettingInfo extends AbstractSettingInfo {
 		return String.format("%s-%d-%d", font.getName(), font.getStyle(), font.getSize());
 	}
 
+	private Font parse(String value) {
+		StringTokenizer st = new StringTokenizer(value, "-");
+		String name = st.nextToken();
+		int style = Integer.parseInt(st.nextToken());
+		int size = Integer.parseInt(st.nextToken());
+		return new Font(name, style, size);
+	}
+
 }
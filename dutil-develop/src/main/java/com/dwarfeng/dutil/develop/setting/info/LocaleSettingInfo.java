@@ -4,6 +4,7 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.StringTokenizer;
 
+import com.dwarfeng.dutil.basic.str.PatternMatcher;
 import com.dwarfeng.dutil.develop.setting.AbstractSettingInfo;
 
 /**
@@ -18,6 +19,7 @@ public class LocaleSettingInfo extends AbstractSettingInfo {
 
 	private static final String DELIM = "_";
 	private static final String MATCH_REGEX = "[a-z]+((_[A-Z]+(_[a-zA-Z]+)?)|(_[A-Z]?(_[a-zA-Z]+)+))?";
+	private static final PatternMatcher MATCHER = new PatternMatcher(MATCH_REGEX);
 
 	/**
 	 * 生成一个新的国家/地区配置信息。
@@ -71,7 +73,7 @@ public class LocaleSettingInfo extends AbstractSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		return value.matches(MATCH_REGEX);
+		return MATCHER.matches(value);
 	}
 
 	/**
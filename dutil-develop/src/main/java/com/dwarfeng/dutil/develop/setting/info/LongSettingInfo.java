@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.develop.setting.info;
 
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.basic.num.Interval;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * Long配置信息。
@@ -16,10 +15,7 @@ public class LongSettingInfo extends NumberSettingInfo {
 
 	private static final int RADIX = 10;
 
-	private String lastCheckedValue = null;
-	private Long lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Long> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个新的Long配置信息。
@@ -90,28 +86,7 @@ public class LongSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Long.parseLong(value, RADIX);
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			if (!interval.contains(lastParsedValue)) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -119,29 +94,10 @@ public class LongSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Long.parseLong(value, RADIX);
-				if (!interval.contains(lastParsedValue)) {
-					lastCheckedValue = null;
-					lastParsedValue = null;
-					return null;
-				}
-				return lastParsedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-
-		} finally {
-			lock.unlock();
-		}
+		Long parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -158,4 +114,9 @@ public class LongSettingInfo extends NumberSettingInfo {
 		return Long.toString((long) object);
 	}
 
+	private Long parse(String value) {
+		Long parsed = Long.parseLong(value, RADIX);
+		return interval.contains(parsed) ? parsed : null;
+	}
+
 }
@@ -1,10 +1,9 @@
 package com.dwarfeng.dutil.develop.setting.info;
 
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 import com.dwarfeng.dutil.basic.num.Interval;
+import com.dwarfeng.dutil.develop.setting.ParseCache;
 
 /**
  * Short配置信息。
@@ -16,10 +15,7 @@ public class ShortSettingInfo extends NumberSettingInfo {
 
 	private static final int RADIX = 10;
 
-	private String lastCheckedValue = null;
-	private Short lastParsedValue = null;
-
-	private final Lock lock = new ReentrantLock();
+	private final ParseCache<Short> parseCache = new ParseCache<>(this::parse);
 
 	/**
 	 * 生成一个新的Short配置信息。
@@ -90,28 +86,7 @@ public class ShortSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected boolean isNonNullValid(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return Objects.nonNull(lastParsedValue);
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Short.parseShort(value, RADIX);
-			} catch (Exception e) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			if (!interval.contains(lastParsedValue)) {
-				lastParsedValue = null;
-				return false;
-			}
-
-			return true;
-		} finally {
-			lock.unlock();
-		}
+		return Objects.nonNull(parseCache.get(value));
 	}
 
 	/**
@@ -119,29 +94,10 @@ public class ShortSettingInfo extends NumberSettingInfo {
 	 */
 	@Override
 	protected Object parseValidValue(String value) {
-		lock.lock();
-		try {
-			if (Objects.equals(value, lastCheckedValue))
-				return lastParsedValue;
-
-			try {
-				lastCheckedValue = value;
-				lastParsedValue = Short.parseShort(value, RADIX);
-				if (!interval.contains(lastParsedValue)) {
-					lastCheckedValue = null;
-					lastParsedValue = null;
-					return null;
-				}
-				return lastParsedValue;
-			} catch (Exception e) {
-				lastCheckedValue = null;
-				lastParsedValue = null;
-				throw new IllegalStateException();
-			}
-
-		} finally {
-			lock.unlock();
-		}
+		Short parsed = parseCache.get(value);
+		if (Objects.isNull(parsed))
+			throw new IllegalStateException();
+		return parsed;
 	}
 
 	/**
@@ -158,4 +114,9 @@ public class ShortSettingInfo extends NumberSettingInfo {
 		return Short.toString((short) object);
 	}
 
+	private Short parse(String value) {
+		Short parsed = Short.parseShort(value, RADIX);
+		return interval.contains(parsed) ? parsed : null;
+	}
+
 }
@@ -0,0 +1,324 @@
+package com.dwarfeng.dutil.develop.setting.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.io.LoadFailedException;
+import com.dwarfeng.dutil.basic.io.SaveFailedException;
+import com.dwarfeng.dutil.basic.struct.OrderedProperties;
+import com.dwarfeng.dutil.develop.setting.SettingHandler;
+import com.dwarfeng.dutil.develop.setting.SettingInfo;
+import com.dwarfeng.dutil.develop.setting.obv.SettingAdapter;
+import com.dwarfeng.dutil.develop.setting.obv.SettingObverser;
+
+/**
+ * Properties 配置值日志。
+ * <p>
+ * 以增量的方式将配置处理器中的当前值持久化到 properties 文件。
+ * <p>
+ * 日志在生成时向配置处理器注册一个观察器，记录当前值发生变化的配置键。{@link #flush()} 只将这些配置键的当前值追加到日志文件中，
+ * 而不是重写整个 properties 文件；当日志文件中的记录数量达到压缩阈值时，日志会将配置处理器中的全部当前值写入 properties 文件，
+ * 然后清空日志文件。properties 文件通过临时文件与重命名的方式替换，不会出现写入一半的 properties 文件。
+ * <p>
+ * 压缩按照以下顺序进行：写入临时文件，将日志文件重命名为压缩中的日志文件，用临时文件替换 properties 文件，
+ * 最后删除压缩中的日志文件。如果压缩在中途中断，{@link #load()} 会根据遗留的文件完成或者放弃该次压缩：
+ * 压缩中的日志文件与临时文件同时存在时，说明 properties 文件还没有被替换，此时用临时文件完成替换；
+ * 只有压缩中的日志文件存在时，说明 properties 文件已经被替换，其中已经包含了日志中的所有值，压缩中的日志文件直接被删除。
+ * 因此旧的日志记录永远不会覆盖压缩之后的 properties 文件。
+ * <p>
+ * 日志文件由若干段 properties 格式的记录组成，读取时后出现的记录覆盖先出现的记录。
+ * {@link #load()} 先读取 properties 文件，再读取日志文件，然后通过 {@link SettingHandler#setAllCurrentValue(Map)}
+ * 一次性地将所有的值设置到配置处理器中。
+ * <p>
+ * 观察器中只使用线程安全的集合，不获取任何锁，因此配置处理器可以在持有自身锁的时候通知观察器；
+ * 日志自身的读写方法是同步的。不再使用的日志应该调用 {@link #dispose()} 从配置处理器中移除观察器。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class PropSettingValueJournal {
+
+	/** 默认的压缩阈值。 */
+	public static final int DEFAULT_COMPACT_THRESHOLD = 256;
+
+	private final SettingHandler handler;
+	private final File propFile;
+	private final File journalFile;
+	private final File tempFile;
+	private final File compactingJournalFile;
+	private final int compactThreshold;
+	private final boolean ordered;
+
+	private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+	private final SettingObverser dirtyObverser = new SettingAdapter() {
+
+		@Override
+		public void fireKeyPut(String key, SettingInfo settingInfo, String currentValue) {
+			dirtyKeys.add(key);
+		}
+
+		@Override
+		public void fireCurrentValueChanged(String key, String oldValue, String newValue) {
+			dirtyKeys.add(key);
+		}
+
+		@Override
+		public void fireCurrentValuesChanged(Map<String, String> oldValues, Map<String, String> newValues) {
+			dirtyKeys.addAll(newValues.keySet());
+		}
+
+	};
+
+	private int journalSize = 0;
+
+	/**
+	 * 生成一个具有指定的配置处理器，指定的 properties 文件与日志文件，默认的压缩阈值的 Properties 配置值日志。
+	 *
+	 * @param handler
+	 *            指定的配置处理器。
+	 * @param propFile
+	 *            指定的 properties 文件。
+	 * @param journalFile
+	 *            指定的日志文件。
+	 * @throws NullPointerException
+	 *             指定的入口参数为 <code> null </code>。
+	 */
+	public PropSettingValueJournal(SettingHandler handler, File propFile, File journalFile)
+			throws NullPointerException {
+		this(handler, propFile, journalFile, DEFAULT_COMPACT_THRESHOLD, false);
+	}
+
+	/**
+	 * 生成一个具有指定的配置处理器，指定的 properties 文件与日志文件，指定的压缩阈值的 Properties 配置值日志。
+	 *
+	 * @param handler
+	 *            指定的配置处理器。
+	 * @param propFile
+	 *            指定的 properties 文件。
+	 * @param journalFile
+	 *            指定的日志文件。
+	 * @param compactThreshold
+	 *            指定的压缩阈值，即日志文件中最多保存的记录数量。
+	 * @param ordered
+	 *            是否在压缩时保持顺序。
+	 * @throws NullPointerException
+	 *             指定的入口参数为 <code> null </code>。
+	 * @throws IllegalArgumentException
+	 *             压缩阈值不为正数。
+	 */
+	public PropSettingValueJournal(SettingHandler handler, File propFile, File journalFile, int compactThreshold,
+			boolean ordered) throws NullPointerException, IllegalArgumentException {
+		Objects.requireNonNull(handler, DwarfUtil.getExceptionString(ExceptionStringKey.PROPSETTINGVALUEJOURNAL_0));
+		Objects.requireNonNull(propFile, DwarfUtil.getExceptionString(ExceptionStringKey.PROPSETTINGVALUEJOURNAL_1));
+		Objects.requireNonNull(journalFile,
+				DwarfUtil.getExceptionString(ExceptionStringKey.PROPSETTINGVALUEJOURNAL_2));
+		if (compactThreshold <= 0) {
+			throw new IllegalArgumentException(String.format(
+					DwarfUtil.getExceptionString(ExceptionStringKey.PROPSETTINGVALUEJOURNAL_3), compactThreshold));
+		}
+
+		this.handler = handler;
+		this.propFile = propFile;
+		this.journalFile = journalFile;
+		this.tempFile = new File(propFile.getAbsoluteFile().getParentFile(), propFile.getName() + ".tmp");
+		this.compactingJournalFile = new File(journalFile.getAbsoluteFile().getParentFile(),
+				journalFile.getName() + ".compacting");
+		this.compactThreshold = compactThreshold;
+		this.ordered = ordered;
+
+		handler.addObverser(dirtyObverser);
+	}
+
+	/**
+	 * 从 properties 文件与日志文件中读取当前值，并一次性地设置到配置处理器中。
+	 * <p>
+	 * 不存在的文件被视为空文件。读取之后，所有的配置键都被视为已经持久化。
+	 * <p>
+	 * 如果上一次压缩在中途中断，则在读取之前完成或者放弃该次压缩。
+	 *
+	 * @throws LoadFailedException
+	 *             读取失败。
+	 */
+	public synchronized void load() throws LoadFailedException {
+		Properties properties = new Properties();
+		int journalRecords;
+		try {
+			recoverCompaction();
+			readIfExists(propFile, properties);
+			Properties journal = new Properties();
+			readIfExists(journalFile, journal);
+			journalRecords = journal.size();
+			properties.putAll(journal);
+		} catch (IOException e) {
+			throw new LoadFailedException(e.getMessage(), e);
+		}
+
+		Map<String, String> values = new LinkedHashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			values.put(key, properties.getProperty(key));
+		}
+		handler.setAllCurrentValue(values);
+
+		dirtyKeys.clear();
+		journalSize = journalRecords;
+	}
+
+	/**
+	 * 将当前值发生变化的配置键追加到日志文件中。
+	 * <p>
+	 * 如果日志文件中的记录数量达到压缩阈值，则进行压缩。
+	 *
+	 * @throws SaveFailedException
+	 *             保存失败，未能保存的配置键会在下一次调用时重新保存。
+	 */
+	public synchronized void flush() throws SaveFailedException {
+		if (dirtyKeys.isEmpty())
+			return;
+
+		Properties properties = new Properties();
+		for (Iterator<String> i = dirtyKeys.iterator(); i.hasNext();) {
+			String key = i.next();
+			i.remove();
+			String currentValue = handler.getCurrentValue(key);
+			// 已经被移除的配置键不需要记录，读取时会被配置处理器忽略。
+			if (Objects.nonNull(currentValue)) {
+				properties.setProperty(key, currentValue);
+			}
+		}
+		if (properties.isEmpty())
+			return;
+
+		try {
+			// 先写入内存再一次性地追加，尽量避免日志文件中出现写入一半的记录。
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			properties.store(buffer, null);
+			try (OutputStream out = new FileOutputStream(journalFile, true)) {
+				buffer.writeTo(out);
+			}
+		} catch (IOException e) {
+			dirtyKeys.addAll(properties.stringPropertyNames());
+			throw new SaveFailedException(e.getMessage(), e);
+		}
+
+		journalSize += properties.size();
+		if (journalSize >= compactThreshold) {
+			compact();
+		}
+	}
+
+	/**
+	 * 将配置处理器中的全部当前值写入 properties 文件，并清空日志文件。
+	 *
+	 * @throws SaveFailedException
+	 *             保存失败。
+	 */
+	public synchronized void compact() throws SaveFailedException {
+		Properties properties = ordered ? new OrderedProperties() : new Properties();
+		for (SettingHandler.Entry entry : handler.entrySet()) {
+			properties.setProperty(entry.getKey(), entry.getCurrentValue());
+		}
+
+		try {
+			try (OutputStream out = new FileOutputStream(tempFile)) {
+				properties.store(out, null);
+			}
+			// 日志文件先被移开，再替换 properties 文件，中断时 load 方法可以据此判断 properties 文件是否已经被替换。
+			if (journalFile.exists()) {
+				move(journalFile, compactingJournalFile);
+			}
+			move(tempFile, propFile);
+			Files.deleteIfExists(compactingJournalFile.toPath());
+		} catch (IOException e) {
+			throw new SaveFailedException(e.getMessage(), e);
+		}
+
+		journalSize = 0;
+	}
+
+	/**
+	 * 从配置处理器中移除该日志的观察器。
+	 * <p>
+	 * 该方法不会保存尚未保存的配置键，如有需要，应该先调用 {@link #flush()}。
+	 */
+	public void dispose() {
+		handler.removeObverser(dirtyObverser);
+	}
+
+	/**
+	 * 获取尚未保存的配置键的数量。
+	 *
+	 * @return 尚未保存的配置键的数量。
+	 */
+	public int getDirtyCount() {
+		return dirtyKeys.size();
+	}
+
+	/**
+	 * 获取日志文件中的记录数量。
+	 *
+	 * @return 日志文件中的记录数量。
+	 */
+	public synchronized int getJournalSize() {
+		return journalSize;
+	}
+
+	/**
+	 * 获取压缩阈值。
+	 *
+	 * @return 压缩阈值。
+	 */
+	public int getCompactThreshold() {
+		return compactThreshold;
+	}
+
+	private void recoverCompaction() throws IOException {
+		if (compactingJournalFile.exists()) {
+			// 临时文件在日志文件被移开之前就已经完整地写入，其中包含了压缩中的日志文件的所有值。
+			if (tempFile.exists()) {
+				move(tempFile, propFile);
+			}
+			Files.deleteIfExists(compactingJournalFile.toPath());
+		} else {
+			// 临时文件在写入时中断，properties 文件与日志文件都没有被修改。
+			Files.deleteIfExists(tempFile.toPath());
+		}
+	}
+
+	private static void move(File source, File target) throws IOException {
+		try {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static void readIfExists(File file, Properties properties) throws IOException {
+		if (!file.exists())
+			return;
+
+		try (InputStream in = new FileInputStream(file)) {
+			properties.load(in);
+		}
+	}
+
+}
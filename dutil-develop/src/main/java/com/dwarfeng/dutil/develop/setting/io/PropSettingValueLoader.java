@@ -1,7 +1,9 @@
 package com.dwarfeng.dutil.develop.setting.io;
 
 import java.io.InputStream;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
@@ -17,6 +19,8 @@ import com.dwarfeng.dutil.develop.setting.SettingHandler;
  * Properties 配置值读取器。
  * 
  * 通过 properties 文件读取配置键对应的当前值到指定的配置处理器。
+ * <p>
+ * 读取到的所有值通过 {@link SettingHandler#setAllCurrentValue(Map)} 一次性地设置到配置处理器中。
  * 
  * @author DwArFeng
  * @since 0.2.0-beta
@@ -69,9 +73,7 @@ public class PropSettingValueLoader extends StreamLoader<SettingHandler> {
 			readFlag = true;
 
 			properties.load(in);
-			for (String key : properties.stringPropertyNames()) {
-				handler.setCurrentValue(key, properties.getProperty(key));
-			}
+			handler.setAllCurrentValue(toValueMap(properties));
 
 		} catch (Exception e) {
 			throw new LoadFailedException(e.getMessage(), e.getCause());
@@ -95,9 +97,7 @@ public class PropSettingValueLoader extends StreamLoader<SettingHandler> {
 			readFlag = true;
 
 			properties.load(in);
-			for (String key : properties.stringPropertyNames()) {
-				handler.setCurrentValue(key, properties.getProperty(key));
-			}
+			handler.setAllCurrentValue(toValueMap(properties));
 
 		} catch (Exception e) {
 			exceptions.add(new LoadFailedException(e.getMessage(), e.getCause()));
@@ -106,6 +106,14 @@ public class PropSettingValueLoader extends StreamLoader<SettingHandler> {
 		return exceptions;
 	}
 
+	private Map<String, String> toValueMap(Properties properties) {
+		Map<String, String> values = new LinkedHashMap<>();
+		for (String key : properties.stringPropertyNames()) {
+			values.put(key, properties.getProperty(key));
+		}
+		return values;
+	}
+
 	private Properties genProperties(boolean ordered) {
 		if (ordered) {
 			return new OrderedProperties();
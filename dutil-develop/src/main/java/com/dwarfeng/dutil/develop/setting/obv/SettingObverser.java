@@ -1,5 +1,7 @@
 package com.dwarfeng.dutil.develop.setting.obv;
 
+import java.util.Map;
+
 import com.dwarfeng.dutil.basic.prog.Obverser;
 import com.dwarfeng.dutil.develop.setting.SettingInfo;
 
@@ -59,4 +61,24 @@ public interface SettingObverser extends Obverser {
 	 *            指定的键对应的新的当前值。
 	 */
 	public void fireCurrentValueChanged(String key, String oldValue, String newValue);
+
+	/**
+	 * 通知多个键值的当前值在一次批量操作中被改变。
+	 * <p>
+	 * 两个映射的键相同，并且按照改变的顺序迭代。
+	 * <p>
+	 * 默认的实现对每一个键调用一次 {@link #fireCurrentValueChanged(String, String, String)}，
+	 * 因此没有覆盖该方法的观察器仍然会逐个收到通知；希望只收到一次通知的观察器应该覆盖该方法。
+	 * 
+	 * @param oldValues
+	 *            改变的键与其旧的当前值组成的映射。
+	 * @param newValues
+	 *            改变的键与其新的当前值组成的映射。
+	 * @since 0.2.1-beta
+	 */
+	public default void fireCurrentValuesChanged(Map<String, String> oldValues, Map<String, String> newValues) {
+		for (Map.Entry<String, String> entry : newValues.entrySet()) {
+			fireCurrentValueChanged(entry.getKey(), oldValues.get(entry.getKey()), entry.getValue());
+		}
+	}
 }
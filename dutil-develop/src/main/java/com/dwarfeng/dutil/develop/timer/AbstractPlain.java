@@ -23,6 +23,10 @@ import com.dwarfeng.dutil.develop.timer.obv.PlainObverser;
  * <p>
  * 该类良好地定义了 <code>run</code>方法，并且在<code>run</code> 方法中执行<code>todo</code>
  * 方法，<code>todo</code>方法中填写需要实现的具体计划。
+ * <p>
+ * 计划的运行状态保存在一个不可变的状态快照中，并通过 <code>volatile</code> 字段发布。
+ * 状态的查询方法直接读取当前的快照，不需要获取读写锁，因此计时器在频繁比较计划时不会产生锁竞争；
+ * 读写锁只在状态发生改变以及操作观察器集合时使用。
  * 
  * @author DwArFeng
  * @since 0.2.0-beta
@@ -33,18 +37,13 @@ public abstract class AbstractPlain implements Plain {
 	protected final Set<PlainObverser> obversers;
 	/** 同步读写锁。 */
 	protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+	/** 计划时钟。 */
+	protected final PlainClock clock;
 
 	private final Lock runningLock = new ReentrantLock();
 	private final Condition runningCondition = runningLock.newCondition();
 
-	private boolean runningFlag = false;
-	private Throwable lastThrowable = null;
-	private int finishedCount = 0;
-	private int lastThrowableCount = -1;
-
-	private long expectedRunTime = -1;
-	private long actualRunTime = -1;
-	private long nextRunTime = -1;
+	private volatile State state;
 
 	/**
 	 * 生成一个具有指定运行偏置的抽象计划。
@@ -75,14 +74,64 @@ public abstract class AbstractPlain implements Plain {
 	 *             入口参数为 <code>null</code>。
 	 */
 	public AbstractPlain(long nextRunOffset, Set<PlainObverser> obversers) {
+		this(PlainClock.SYSTEM_MILLIS, nextRunOffset, obversers);
+	}
+
+	/**
+	 * 生成一个具有指定计划时钟，指定运行偏置的抽象计划。
+	 * <p>
+	 * 所谓的运行偏置是指该计划的首次运行时间与计划时钟当前时间的差值，以计划时钟的时间单位为单位，且不得小于0。
+	 * 
+	 * @param clock
+	 *            指定的计划时钟。
+	 * @param nextRunOffset
+	 *            指定的运行偏置。
+	 * @throws IllegalArgumentException
+	 *             参数<code>nextRunOffset</code>小于0。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @since 0.2.1-beta
+	 */
+	public AbstractPlain(PlainClock clock, long nextRunOffset) {
+		this(clock, nextRunOffset, Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定计划时钟，指定运行偏置，指定观察器集合的抽象计划。
+	 * <p>
+	 * 所谓的运行偏置是指该计划的首次运行时间与计划时钟当前时间的差值，以计划时钟的时间单位为单位，且不得小于0。
+	 * 
+	 * @param clock
+	 *            指定的计划时钟。
+	 * @param nextRunOffset
+	 *            指定的运行偏置。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws IllegalArgumentException
+	 *             参数<code>nextRunOffset</code>小于0。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @since 0.2.1-beta
+	 */
+	public AbstractPlain(PlainClock clock, long nextRunOffset, Set<PlainObverser> obversers) {
+		Objects.requireNonNull(clock, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTPLAIN_3));
 		Objects.requireNonNull(obversers, DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTPLAIN_0));
 		if (nextRunOffset < 0) {
 			throw new IllegalArgumentException(
 					String.format(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTPLAIN_1), nextRunOffset));
 		}
 
+		this.clock = clock;
 		this.obversers = obversers;
-		this.nextRunTime = System.currentTimeMillis() + nextRunOffset;
+		this.state = new State(false, null, 0, -1, -1, -1, clock.now() + nextRunOffset);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public PlainClock getClock() {
+		return clock;
 	}
 
 	/**
@@ -150,12 +199,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public boolean isRunning() {
-		lock.readLock().lock();
-		try {
-			return runningFlag;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.runningFlag;
 	}
 
 	/**
@@ -163,12 +207,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public long getExpectedRunTime() {
-		lock.readLock().lock();
-		try {
-			return expectedRunTime;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.expectedRunTime;
 	}
 
 	/**
@@ -176,12 +215,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public long getActualRunTime() {
-		lock.readLock().lock();
-		try {
-			return actualRunTime;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.actualRunTime;
 	}
 
 	/**
@@ -189,12 +223,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public long getNextRunTime() {
-		lock.readLock().lock();
-		try {
-			return nextRunTime;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.nextRunTime;
 	}
 
 	/**
@@ -202,12 +231,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public int getFinishedCount() {
-		lock.readLock().lock();
-		try {
-			return finishedCount;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.finishedCount;
 	}
 
 	/**
@@ -215,12 +239,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public Throwable getLastThrowable() {
-		lock.readLock().lock();
-		try {
-			return lastThrowable;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.lastThrowable;
 	}
 
 	/**
@@ -228,12 +247,7 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public int getLastThrowableCount() {
-		lock.readLock().lock();
-		try {
-			return lastThrowableCount;
-		} finally {
-			lock.readLock().unlock();
-		}
+		return state.lastThrowableCount;
 	}
 
 	/**
@@ -278,24 +292,27 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public void run() {
-		// 定义标记
-		boolean throwableFlag = false;
 		// 定义本次运行次数
 		int thisRunningCount = -1;
 
 		// 置位开始标志，并且通知观察器。
-		// 如果在nextRunTime小于等于0的情况下调用了该方法，那么说明计时器的逻辑有错误。
-		if (nextRunTime < 0)
-			throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTPLAIN_2));
-
 		lock.writeLock().lock();
 		try {
+			State current = state;
+			// 如果在nextRunTime小于等于0的情况下调用了该方法，那么说明计时器的逻辑有错误。
+			if (current.nextRunTime < 0)
+				throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.ABSTRACTPLAIN_2));
+
 			// 设置启动相关参数。
-			expectedRunTime = nextRunTime;
-			actualRunTime = System.currentTimeMillis();
-			nextRunTime = updateNextRunTime();
-			runningFlag = true;
-			thisRunningCount = finishedCount + 1;
+			// 更新下一次运行时间时需要读取本次的理论运行时间与实际运行时间，因此先发布一次中间状态。
+			long expectedRunTime = current.nextRunTime;
+			long actualRunTime = clock.now();
+			state = new State(true, current.lastThrowable, current.finishedCount, current.lastThrowableCount,
+					expectedRunTime, actualRunTime, current.nextRunTime);
+			long nextRunTime = updateNextRunTime();
+			thisRunningCount = current.finishedCount + 1;
+			state = new State(true, current.lastThrowable, current.finishedCount, current.lastThrowableCount,
+					expectedRunTime, actualRunTime, nextRunTime);
 
 			// 通知计划开始。
 			fireRun(thisRunningCount, expectedRunTime, actualRunTime);
@@ -304,22 +321,23 @@ public abstract class AbstractPlain implements Plain {
 		}
 
 		// 运行 todo 方法。
+		Throwable throwable = null;
 		try {
 			todo();
 		} catch (Throwable e) {
-			lastThrowable = e;
-			lastThrowableCount = thisRunningCount;
-			throwableFlag = true;
+			throwable = e;
 		}
 
 		lock.writeLock().lock();
 		try {
 			// 设置结束相关参数。
-			runningFlag = false;
-			finishedCount = thisRunningCount;
+			State current = state;
+			state = new State(false, Objects.isNull(throwable) ? current.lastThrowable : throwable, thisRunningCount,
+					Objects.isNull(throwable) ? current.lastThrowableCount : thisRunningCount,
+					current.expectedRunTime, current.actualRunTime, current.nextRunTime);
 
 			// 通知计划结束。
-			fireFinished(thisRunningCount, throwableFlag ? lastThrowable : null);
+			fireFinished(thisRunningCount, throwable);
 		} finally {
 			lock.writeLock().unlock();
 		}
@@ -338,9 +356,11 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	@Override
 	public String toString() {
-		return "AbstractPlain [runningFlag=" + runningFlag + ", lastThrowable=" + lastThrowable + ", finishedCount="
-				+ finishedCount + ", lastThrowableCount=" + lastThrowableCount + ", expectedRunTime=" + expectedRunTime
-				+ ", actualRunTime=" + actualRunTime + ", nextRunTime=" + nextRunTime + "]";
+		State current = state;
+		return "AbstractPlain [clock=" + clock + ", runningFlag=" + current.runningFlag + ", lastThrowable="
+				+ current.lastThrowable + ", finishedCount=" + current.finishedCount + ", lastThrowableCount="
+				+ current.lastThrowableCount + ", expectedRunTime=" + current.expectedRunTime + ", actualRunTime="
+				+ current.actualRunTime + ", nextRunTime=" + current.nextRunTime + "]";
 	}
 
 	/**
@@ -406,4 +426,35 @@ public abstract class AbstractPlain implements Plain {
 	 */
 	protected abstract void todo() throws Exception;
 
+	/**
+	 * 计划的状态快照。
+	 * <p>
+	 * 快照是不可变的，状态每次改变时都会生成新的快照。
+	 * 
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	private static final class State {
+
+		final boolean runningFlag;
+		final Throwable lastThrowable;
+		final int finishedCount;
+		final int lastThrowableCount;
+		final long expectedRunTime;
+		final long actualRunTime;
+		final long nextRunTime;
+
+		State(boolean runningFlag, Throwable lastThrowable, int finishedCount, int lastThrowableCount,
+				long expectedRunTime, long actualRunTime, long nextRunTime) {
+			this.runningFlag = runningFlag;
+			this.lastThrowable = lastThrowable;
+			this.finishedCount = finishedCount;
+			this.lastThrowableCount = lastThrowableCount;
+			this.expectedRunTime = expectedRunTime;
+			this.actualRunTime = actualRunTime;
+			this.nextRunTime = nextRunTime;
+		}
+
+	}
+
 }
@@ -16,6 +16,9 @@ import com.dwarfeng.dutil.develop.timer.obv.TimerObverser;
  * 
  * <p>
  * 计时器的抽象实现，提供了锁和观察器的实现。
+ * <p>
+ * 抽象计时器在通知观察器的同时记录计时器的运行指标，运行指标可以通过 {@link #getMetrics()} 方法获取。
+ * 子类需要在维护的计划数量发生变化时调用 {@link #updatePendingCount(int)} 方法。
  * 
  * @author DwArFeng
  * @since 0.2.0-beta
@@ -26,6 +29,8 @@ public abstract class AbstractTimer implements Timer {
 	protected final Set<TimerObverser> obversers;
 	/** 同步锁 */
 	protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+	/** 运行指标 */
+	protected final TimerMetrics metrics = new TimerMetrics();
 
 	/**
 	 * 生成一个默认的观察器。
@@ -107,6 +112,29 @@ public abstract class AbstractTimer implements Timer {
 		}
 	}
 
+	/**
+	 * 获取计时器的运行指标。
+	 * <p>
+	 * 读取运行指标不需要获取计时器的锁。
+	 * 
+	 * @return 计时器的运行指标。
+	 * @since 0.2.1-beta
+	 */
+	public TimerMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * 更新运行指标中等待调度的计划的数量。
+	 * 
+	 * @param pendingCount
+	 *            等待调度的计划的数量。
+	 * @since 0.2.1-beta
+	 */
+	protected void updatePendingCount(int pendingCount) {
+		metrics.updatePendingCount(pendingCount);
+	}
+
 	/**
 	 * 通知观察器指定的计划被安排。
 	 * 
@@ -114,6 +142,7 @@ public abstract class AbstractTimer implements Timer {
 	 *            指定的计划。
 	 */
 	protected void firePlainScheduled(Plain plain) {
+		metrics.plainScheduled(plain);
 		for (TimerObverser obverser : obversers) {
 			if (Objects.nonNull(obverser))
 				try {
@@ -137,6 +166,7 @@ public abstract class AbstractTimer implements Timer {
 	 *            计划运行的实际时间。
 	 */
 	protected void firePlainRun(Plain plain, int count, long expectedRumTime, long actualRunTime) {
+		metrics.plainRun(plain, expectedRumTime, actualRunTime);
 		for (TimerObverser obverser : obversers) {
 			if (Objects.nonNull(obverser))
 				try {
@@ -158,6 +188,7 @@ public abstract class AbstractTimer implements Timer {
 	 *            本次运行抛出的异常，如没有，则为 <code>null</code>。
 	 */
 	protected void firePlainFinished(Plain plain, int finishedCount, Throwable throwable) {
+		metrics.plainFinished(plain, throwable);
 		for (TimerObverser obverser : obversers) {
 			if (Objects.nonNull(obverser))
 				try {
@@ -175,6 +206,7 @@ public abstract class AbstractTimer implements Timer {
 	 *            指定的计划。
 	 */
 	protected void firePlainRemoved(Plain plain) {
+		metrics.plainRemoved(plain);
 		for (TimerObverser obverser : obversers) {
 			if (Objects.nonNull(obverser))
 				try {
@@ -189,6 +221,7 @@ public abstract class AbstractTimer implements Timer {
 	 * 通知观察器所有计划被清除。
 	 */
 	protected void firePlainCleared() {
+		metrics.plainCleared();
 		for (TimerObverser obverser : obversers) {
 			if (Objects.nonNull(obverser))
 				try {
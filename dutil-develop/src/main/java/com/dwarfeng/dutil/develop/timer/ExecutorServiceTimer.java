@@ -0,0 +1,553 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
+import com.dwarfeng.dutil.develop.timer.obv.PlainAdapter;
+import com.dwarfeng.dutil.develop.timer.obv.TimerObverser;
+
+/**
+ * 执行器计时器。
+ *
+ * <p>
+ * 该计时器的调度线程只负责挑选到期的计划，到期的计划被交给执行器执行，因此一个耗时较长的计划不会推迟其它计划的执行。
+ * 执行器的行为决定了计划的并发程度，比如使用 {@link Executors#newWorkStealingPool()} 生成的执行器可以充分利用多核处理器。
+ * <p>
+ * 同一个计划不会被并发执行：计划被交给执行器之后便暂时离开调度队列，直到本次执行结束后，才会按照其下一次运行时间重新进入调度队列。
+ * 计划的 {@link com.dwarfeng.dutil.develop.timer.obv.PlainObverser#fireRun(int, long, long)}
+ * 方法所通知的实际运行时间是计划在执行器中开始运行的时间，因此实际运行时间与理论运行时间的差值包含了派发延迟。
+ * <p>
+ * 执行器拒绝执行的计划会被移除，并通知观察器该计划被移除。
+ * <p>
+ * 关闭计时器时，执行器也会被关闭。正在执行的计划不受影响，所有正在执行的计划结束之后，计时器终结。
+ * <p>
+ * 请不要用任何手段（比如反射）中止该类实例中的线程，因为这样做会引发不可预料的结果。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class ExecutorServiceTimer extends AbstractTimer {
+
+	/** 计时器调度线程默认的线程工厂。 */
+	public static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory("EsTimer", false,
+			Thread.NORM_PRIORITY);
+	/** 计时器执行器默认的线程工厂。 */
+	public static final ThreadFactory WORKER_THREAD_FACTORY = new NumberedThreadFactory("EsTimerWorker", false,
+			Thread.NORM_PRIORITY);
+
+	/** 执行计划的执行器。 */
+	protected final ExecutorService executorService;
+
+	private final Set<Plain> plains2Schedule = new HashSet<>();
+	private final Set<Plain> plains2Remove = new HashSet<>();
+	private final Set<Plain> runningPlains = new HashSet<>();
+	private final Thread thread;
+	private final Condition condition = lock.writeLock().newCondition();
+	private final Map<Plain, PlainInspector> inspecRefs = new HashMap<>();
+	private final PlainHeap heap = new PlainHeap();
+
+	private boolean shutdownFlag = false;
+	private boolean terminateFlag = false;
+
+	/**
+	 * 生成一个具有默认执行器，默认的线程工厂，默认观察器集合的执行器计时器。
+	 * <p>
+	 * 默认执行器是一个按需创建线程的执行器，由于同一个计划不会被并发执行，执行器中的线程数不会超过计划的数量。
+	 */
+	public ExecutorServiceTimer() {
+		this(Executors.newCachedThreadPool(WORKER_THREAD_FACTORY));
+	}
+
+	/**
+	 * 生成一个具有指定执行器，默认的线程工厂，默认观察器集合的执行器计时器。
+	 *
+	 * @param executorService
+	 *            指定的执行器。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ExecutorServiceTimer(ExecutorService executorService) {
+		this(executorService, THREAD_FACTORY, Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定执行器，指定的线程工厂，指定观察器集合的执行器计时器。
+	 *
+	 * @param executorService
+	 *            指定的执行器。
+	 * @param threadFactory
+	 *            调度线程的线程工厂。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public ExecutorServiceTimer(ExecutorService executorService, ThreadFactory threadFactory,
+			Set<TimerObverser> obversers) throws NullPointerException {
+		super(obversers);
+
+		Objects.requireNonNull(executorService,
+				DwarfUtil.getExceptionString(ExceptionStringKey.EXECUTORSERVICETIMER_0));
+		Objects.requireNonNull(threadFactory, DwarfUtil.getExceptionString(ExceptionStringKey.EXECUTORSERVICETIMER_1));
+
+		this.executorService = executorService;
+
+		thread = threadFactory.newThread(new ThreadRunner());
+		thread.start();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean schedule(Plain plain)
+			throws IllegalStateException, NullPointerException, UnsupportedOperationException {
+		lock.writeLock().lock();
+		try {
+			// 判断计时器是否已经结束。
+			if (isShutdown())
+				throw new IllegalStateException(
+						DwarfUtil.getExceptionString(ExceptionStringKey.EXECUTORSERVICETIMER_2));
+
+			if (Objects.isNull(plain) || inspecRefs.containsKey(plain) || plain.getNextRunTime() < 0)
+				return false;
+
+			// 将计划添加到待添加计划集合中，并添加计划观察器。
+			PlainInspector inspector = new PlainInspector(plain);
+			if (!plain.addObverser(inspector))
+				return false;
+			plains2Schedule.add(plain);
+			inspecRefs.put(plain, inspector);
+
+			firePlainScheduled(plain);
+			updatePendingCount(heap.size() + plains2Schedule.size());
+			signalCondition();
+			return true;
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Plain plain) throws UnsupportedOperationException {
+		lock.writeLock().lock();
+		try {
+			if (Objects.isNull(plain) || !inspecRefs.containsKey(plain) || plains2Remove.contains(plain))
+				return false;
+
+			plains2Remove.add(plain);
+			firePlainRemoved(plain);
+			signalCondition();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() throws UnsupportedOperationException {
+		lock.writeLock().lock();
+		try {
+			plains2Remove.addAll(inspecRefs.keySet());
+			firePlainCleared();
+			// 唤醒计时器线程，检查当前队列。
+			signalCondition();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void shutdown() {
+		lock.writeLock().lock();
+		try {
+			shutdownFlag = true;
+			// 唤醒计时器线程，检查当前队列。
+			signalCondition();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isShutdown() {
+		lock.readLock().lock();
+		try {
+			return shutdownFlag;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isTerminated() {
+		lock.readLock().lock();
+		try {
+			return terminateFlag;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void awaitTermination() throws InterruptedException {
+		lock.writeLock().lock();
+		try {
+			while (!terminateFlag) {
+				condition.await();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		lock.writeLock().lock();
+		try {
+			long nanosTimeout = unit.toNanos(timeout);
+			while (!terminateFlag) {
+				if (nanosTimeout > 0)
+					nanosTimeout = condition.awaitNanos(nanosTimeout);
+				else
+					return false;
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<Plain> plains() {
+		lock.readLock().lock();
+		try {
+			Set<Plain> plains = new HashSet<>(inspecRefs.keySet());
+			plains.removeAll(plains2Remove);
+			return Collections.unmodifiableCollection(plains);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 唤醒计时器线程。
+	 */
+	private void signalCondition() {
+		lock.writeLock().lock();
+		try {
+			condition.signalAll();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 移除指定的计划。
+	 * <p>
+	 * 该方法需要在持有写锁的情况下调用。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @param fireFlag
+	 *            是否通知观察器。
+	 */
+	private void removePlain(Plain plain, boolean fireFlag) {
+		heap.remove(plain);
+		plains2Schedule.remove(plain);
+
+		if (!plain.removeObverser(inspecRefs.remove(plain))) {
+			// 该异常不应该抛出，不对外开放，故不设置国际化接口。
+			new IllegalStateException("The listener was not properly removed.").printStackTrace();
+		}
+
+		if (fireFlag)
+			firePlainRemoved(plain);
+
+		updatePendingCount(heap.size() + plains2Schedule.size());
+	}
+
+	/**
+	 * 在计时器关闭且所有正在执行的计划结束时终结计时器。
+	 * <p>
+	 * 该方法需要在持有写锁的情况下调用。
+	 */
+	private void tryTerminate() {
+		if (!shutdownFlag || terminateFlag || !runningPlains.isEmpty() || !inspecRefs.isEmpty())
+			return;
+
+		// 将终结标识置为true，通知观察器，并唤醒计时器线程，通知 awaitTerminal方法。
+		terminateFlag = true;
+		fireTerminated();
+		signalCondition();
+	}
+
+	/**
+	 * 处理执行完毕的计划。
+	 *
+	 * @param plain
+	 *            执行完毕的计划。
+	 */
+	private void plainCompleted(Plain plain) {
+		// 注意：不能在持有计时器锁的情况下访问计划的方法，因为计划在通知观察器时会持有自身的锁并请求计时器的锁。
+		long nextRunTime = plain.getNextRunTime();
+
+		lock.writeLock().lock();
+		try {
+			runningPlains.remove(plain);
+
+			if (shutdownFlag) {
+				// 计时器已经关闭，移除计划，并查看该计划移除后是否是最后一个计划。
+				removePlain(plain, !plains2Remove.remove(plain));
+				tryTerminate();
+			} else if (plains2Remove.contains(plain)) {
+				// 计划在执行期间被移除，由调度线程负责清理。
+				signalCondition();
+			} else if (nextRunTime < 0) {
+				removePlain(plain, true);
+			} else {
+				// 按照计划的下一次执行时间重新进入调度队列。
+				heap.offer(plain, nextRunTime);
+				updatePendingCount(heap.size() + plains2Schedule.size());
+				signalCondition();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * 处理被执行器拒绝的计划。
+	 * <p>
+	 * 被拒绝的计划已经到期，如果按照其下一次运行时间重新进入调度队列，调度线程会立即再次派发该计划，
+	 * 在执行器饱和或者关闭时陷入忙等，因此被拒绝的计划直接被移除。
+	 *
+	 * @param plain
+	 *            被拒绝的计划。
+	 */
+	private void plainRejected(Plain plain) {
+		lock.writeLock().lock();
+		try {
+			runningPlains.remove(plain);
+			removePlain(plain, !plains2Remove.remove(plain));
+			tryTerminate();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private class PlainInspector extends PlainAdapter {
+
+		private final Plain plain;
+
+		public PlainInspector(Plain plain) {
+			this.plain = plain;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireRun(int count, long expectedRumTime, long actualRunTime) {
+			lock.readLock().lock();
+			try {
+				firePlainRun(plain, count, expectedRumTime, actualRunTime);
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireFinished(int finishedCount, Throwable throwable) {
+			lock.readLock().lock();
+			try {
+				firePlainFinished(plain, finishedCount, throwable);
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+	}
+
+	private final class PlainDispatcher implements Runnable {
+
+		private final Plain plain;
+
+		public PlainDispatcher(Plain plain) {
+			this.plain = plain;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			try {
+				// 计划可能在进入调度队列之后推迟或取消了执行，此时不执行计划，而是重新进入调度队列。
+				long nextRunTime = plain.getNextRunTime();
+				if (nextRunTime >= 0 && nextRunTime <= plain.getClock().now()) {
+					plain.run();
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+			} finally {
+				plainCompleted(plain);
+			}
+		}
+
+	}
+
+	private final class ThreadRunner implements Runnable {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			try {
+				// 计时器没有关闭的情况下，一直运行主循环。
+				while (!isShutdown()) {
+					mainLoop();
+				}
+
+				// 代码运行到此处，意味着计时器已经被关闭了。
+				shutdownMethod();
+
+			} catch (InterruptedException ignore) {
+				// 抛异常也要按照基本法。
+			}
+		}
+
+		/**
+		 * 主循环。
+		 */
+		private void mainLoop() throws InterruptedException {
+			// 定义变量
+			List<Plain> duePlains = new ArrayList<>();
+
+			lock.writeLock().lock();
+			try {
+				// 遍历所有待移除的计划，将待移除的计划全部移除，正在执行的计划在执行完毕后移除。
+				for (Iterator<Plain> i = plains2Remove.iterator(); i.hasNext();) {
+					Plain plain = i.next();
+					if (runningPlains.contains(plain))
+						continue;
+					removePlain(plain, false);
+					i.remove();
+				}
+
+				// 遍历所有待添加的计划，将计划放入调度队列中。
+				for (Plain plain : plains2Schedule) {
+					heap.offer(plain, plain.getNextRunTime());
+				}
+				plains2Schedule.clear();
+
+				// 检查调度队列是否为空，如果为空，则线程等待。
+				if (heap.isEmpty()) {
+					condition.await();
+					return;
+				}
+
+				// 取出所有到期的计划，这些计划在执行完毕之前不会再次进入调度队列。
+				PlainHeap.Entry entry;
+				while (Objects.nonNull(entry = heap.peek())
+						&& entry.getRunTime() <= entry.getPlain().getClock().now()) {
+					Plain plain = entry.getPlain();
+					heap.remove(plain);
+					runningPlains.add(plain);
+					duePlains.add(plain);
+				}
+				updatePendingCount(heap.size());
+
+				// 如果没有到期的计划，则线程休眠 : 下一个执行时间-系统时间
+				if (duePlains.isEmpty()) {
+					entry = heap.peek();
+					condition.awaitNanos(entry.getPlain().getClock().nanosUntil(entry.getRunTime()));
+					return;
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			// 将到期的计划交给执行器执行。
+			for (Plain plain : duePlains) {
+				try {
+					executorService.execute(new PlainDispatcher(plain));
+				} catch (Exception e) {
+					e.printStackTrace();
+					plainRejected(plain);
+				}
+			}
+		}
+
+		private void shutdownMethod() {
+			lock.writeLock().lock();
+			try {
+				executorService.shutdown();
+
+				// 移除所有没有在执行的计划，正在执行的计划在执行完毕后移除。
+				boolean clearFlag = false;
+				for (Plain plain : new HashSet<>(inspecRefs.keySet())) {
+					if (runningPlains.contains(plain))
+						continue;
+					removePlain(plain, false);
+					plains2Remove.remove(plain);
+					clearFlag = true;
+				}
+				if (clearFlag)
+					firePlainCleared();
+
+				tryTerminate();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+	}
+
+}
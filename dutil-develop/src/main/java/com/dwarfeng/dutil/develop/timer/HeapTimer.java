@@ -0,0 +1,168 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.threads.NumberedThreadFactory;
+import com.dwarfeng.dutil.develop.timer.obv.TimerObverser;
+
+/**
+ * 堆计时器。
+ *
+ * <p>
+ * 利用二叉堆实现的计时器。
+ * <p>
+ * 与 {@link ListTimer} 相比，该计时器在计划执行完毕后不需要线性地查找插入位置， 重新安排一个计划的时间复杂度为
+ * <code>O(log n)</code>，移除任意一个计划的时间复杂度同样为 <code>O(log n)</code>，
+ * 适用于同时维护大量计划的场景。
+ * <p>
+ * 堆中的每一个元素都记录了其入堆时计划的下一次运行时间，排序时只使用该记录值，而不会反复调用计划的
+ * {@link Plain#getNextRunTime()} 方法。下一次运行时间相同的计划按照安排的先后顺序执行。
+ * <p>
+ * 请不要用任何手段（比如反射）中止该类实例中的线程，因为这样做会引发不可预料的结果。
+ * <p>
+ * 根据计时器的文档，堆计时器中的任务都是单独的，不能向其中添加已经存在的任务。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public class HeapTimer extends SingleThreadTimer {
+
+	/** 计时器后台默认的线程工厂。 */
+	public static final ThreadFactory THREAD_FACTORY = new NumberedThreadFactory("HeapTimer", false,
+			Thread.NORM_PRIORITY);
+	/** 计时器默认的最小执行间隔，以微秒（{@link TimeUnit#MICROSECONDS}）为单位，即 1 微秒，而不是 1 毫秒。 */
+	public static final Long MIN_RUN_PERIOD = 1l;
+
+	private final PlainHeap heap = new PlainHeap();
+
+	/**
+	 * 生成一个具有默认的线程工厂，默认观察器集合的堆计时器。
+	 */
+	public HeapTimer() {
+		this(THREAD_FACTORY, Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个具有指定的线程工厂，指定观察器集合的堆计时器。
+	 * <p>
+	 * 最小执行间隔为 {@link #MIN_RUN_PERIOD} 微秒。
+	 *
+	 * @param threadFactory
+	 *            指定的线程工厂。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws NullPointerException
+	 *             指定的入口参数为 <code> null </code>。
+	 */
+	public HeapTimer(ThreadFactory threadFactory, Set<TimerObverser> obversers) throws NullPointerException {
+		this(threadFactory, obversers, MIN_RUN_PERIOD, TimeUnit.MICROSECONDS);
+	}
+
+	/**
+	 * 生成一个具有指定的线程工厂，指定观察器集合，指定最小执行间隔的堆计时器。
+	 * <p>
+	 * 计时器每执行完一个计划，都会等待最小执行间隔后再进行下一次调度。对于高频运行的计划，可以将最小执行间隔设置为
+	 * <code>0</code>，此时计时器在执行完一个计划后立即进行下一次调度。
+	 *
+	 * @param threadFactory
+	 *            指定的线程工厂。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @param minRunPeriod
+	 *            指定的最小执行间隔。
+	 * @param unit
+	 *            最小执行间隔的时间单位。
+	 * @throws NullPointerException
+	 *             指定的入口参数为 <code> null </code>。
+	 * @throws IllegalArgumentException
+	 *             参数 <code>minRunPeriod</code> 小于0。
+	 */
+	public HeapTimer(ThreadFactory threadFactory, Set<TimerObverser> obversers, long minRunPeriod, TimeUnit unit)
+			throws NullPointerException, IllegalArgumentException {
+		super(obversers, toNanos(minRunPeriod, unit));
+		Objects.requireNonNull(threadFactory, DwarfUtil.getExceptionString(ExceptionStringKey.HEAPTIMER_0));
+		start(threadFactory);
+	}
+
+	private static long toNanos(long minRunPeriod, TimeUnit unit) {
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.HEAPTIMER_1));
+		if (minRunPeriod < 0) {
+			throw new IllegalArgumentException(
+					String.format(DwarfUtil.getExceptionString(ExceptionStringKey.HEAPTIMER_2), minRunPeriod));
+		}
+		return unit.toNanos(minRunPeriod);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean queueContains(Plain plain) {
+		return heap.contains(plain);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int queueSize() {
+		return heap.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	Collection<Plain> queuedPlains() {
+		return heap.plains();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void enqueue(Plain plain) {
+		heap.offer(plain, plain.getNextRunTime());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	Plain queueHead() {
+		return heap.peek().getPlain();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	long queueHeadRunTime() {
+		return heap.peek().getRunTime();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void requeueHead(long runTime) {
+		heap.reschedule(heap.peek(), runTime);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean dequeue(Plain plain) {
+		return heap.remove(plain);
+	}
+
+}
@@ -0,0 +1,206 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+/**
+ * 延迟直方图。
+ * <p>
+ * 用于统计以纳秒为单位的时间值（如调度延迟、运行时长）的分布。
+ * <p>
+ * 直方图采用对数-线性的分桶方式：小于 {@value #SUB_BUCKET_COUNT} 的值各占一个桶，其余的值按照 2 的幂划分区间，
+ * 每个区间再线性地划分为 {@value #SUB_BUCKET_COUNT} 个桶。因此在整个 <code>long</code> 的取值范围内，
+ * 统计结果的相对误差不超过 <code>1 / {@value #SUB_BUCKET_COUNT}</code>，而直方图占用的空间是固定的。
+ * <p>
+ * 记录数据时只使用原子操作，不会获取任何锁，可以在计时器的热点路径上调用。
+ * 通过 {@link #snapshot()} 方法可以获得直方图在某一时刻的不可变快照。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public final class LatencyHistogram {
+
+	/** 每个 2 的幂区间内的桶的数量。 */
+	public static final int SUB_BUCKET_COUNT = 32;
+
+	private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKET_COUNT);
+	private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+	private final AtomicLong total = new AtomicLong(0);
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong(0);
+
+	/**
+	 * 记录一个值。
+	 * <p>
+	 * 小于 0 的值按照 0 记录。
+	 *
+	 * @param value
+	 *            需要记录的值。
+	 */
+	public void record(long value) {
+		if (value < 0)
+			value = 0;
+		counts.incrementAndGet(indexOf(value));
+		total.addAndGet(value);
+		min.accumulateAndGet(value, Math::min);
+		max.accumulateAndGet(value, Math::max);
+	}
+
+	/**
+	 * 获取直方图的快照。
+	 *
+	 * @return 直方图的快照。
+	 */
+	public Snapshot snapshot() {
+		long[] copy = new long[BUCKET_COUNT];
+		long count = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			copy[i] = counts.get(i);
+			count += copy[i];
+		}
+		return new Snapshot(copy, count, total.get(), count == 0 ? 0 : min.get(), max.get());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "LatencyHistogram [snapshot=" + snapshot() + "]";
+	}
+
+	private static int indexOf(long value) {
+		if (value < SUB_BUCKET_COUNT)
+			return (int) value;
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subIndex = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subIndex;
+	}
+
+	private static long highestValueOf(int index) {
+		if (index < SUB_BUCKET_COUNT)
+			return index;
+		int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+		int subIndex = index % SUB_BUCKET_COUNT;
+		int shift = exponent - SUB_BUCKET_BITS;
+		long lowest = (long) (SUB_BUCKET_COUNT + subIndex) << shift;
+		return lowest + ((1L << shift) - 1);
+	}
+
+	/**
+	 * 延迟直方图的快照。
+	 * <p>
+	 * 快照是不可变的。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public static final class Snapshot {
+
+		private final long[] counts;
+		private final long count;
+		private final long total;
+		private final long min;
+		private final long max;
+
+		private Snapshot(long[] counts, long count, long total, long min, long max) {
+			this.counts = counts;
+			this.count = count;
+			this.total = total;
+			this.min = min;
+			this.max = max;
+		}
+
+		/**
+		 * 获取记录的值的数量。
+		 *
+		 * @return 记录的值的数量。
+		 */
+		public long getCount() {
+			return count;
+		}
+
+		/**
+		 * 获取记录的值的总和。
+		 *
+		 * @return 记录的值的总和。
+		 */
+		public long getTotal() {
+			return total;
+		}
+
+		/**
+		 * 获取记录的最小值。
+		 *
+		 * @return 记录的最小值，如果没有记录任何值，则返回 <code>0</code>。
+		 */
+		public long getMin() {
+			return min;
+		}
+
+		/**
+		 * 获取记录的最大值。
+		 *
+		 * @return 记录的最大值，如果没有记录任何值，则返回 <code>0</code>。
+		 */
+		public long getMax() {
+			return max;
+		}
+
+		/**
+		 * 获取记录的值的平均值。
+		 *
+		 * @return 记录的值的平均值，如果没有记录任何值，则返回 <code>0</code>。
+		 */
+		public double getMean() {
+			return count == 0 ? 0 : (double) total / count;
+		}
+
+		/**
+		 * 获取指定百分位上的值。
+		 * <p>
+		 * 返回值是该百分位所在的桶能够表示的最大值，但不会超过记录的最大值。
+		 *
+		 * @param percentile
+		 *            指定的百分位，取值范围为 <code>[0, 100]</code>。
+		 * @return 指定百分位上的值，如果没有记录任何值，则返回 <code>0</code>。
+		 * @throws IllegalArgumentException
+		 *             指定的百分位不在取值范围内。
+		 */
+		public long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+			if (!(percentile >= 0 && percentile <= 100)) {
+				throw new IllegalArgumentException(String
+						.format(DwarfUtil.getExceptionString(ExceptionStringKey.LATENCYHISTOGRAM_0), percentile));
+			}
+			if (count == 0)
+				return 0;
+
+			long target = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+			long accumulated = 0;
+			for (int i = 0; i < counts.length; i++) {
+				accumulated += counts[i];
+				if (accumulated >= target)
+					return Math.min(highestValueOf(i), max);
+			}
+			return max;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "Snapshot [count=" + count + ", min=" + min + ", max=" + max + ", mean=" + getMean() + ", p50="
+					+ getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + "]";
+		}
+
+	}
+
+}
@@ -17,6 +17,9 @@ import com.dwarfeng.dutil.develop.timer.obv.PlainObverser;
  * 这类计时器的行为将是不可预料的，甚至会导致计时器永远无法被终止、计划用于无法被移除。
  * 
  * <p>
+ * 计划中所有的时间值（理论运行时间、实际运行时间、下一次运行时间）都以 {@link #getClock()} 返回的计划时钟为基准与单位。
+ * 
+ * <p>
  * TODO 完善计划接口的规则。
  * 
  * @author DwArFeng
@@ -24,6 +27,20 @@ import com.dwarfeng.dutil.develop.timer.obv.PlainObverser;
  */
 public interface Plain extends Runnable, ExternalReadWriteThreadSafe, ObverserSet<PlainObverser> {
 
+	/**
+	 * 获取该计划使用的计划时钟。
+	 * <p>
+	 * 该计划中所有的时间值都以该时钟为基准与单位，在计划的生命周期内，该方法的返回值应当保持不变。
+	 * <p>
+	 * 默认返回 {@link PlainClock#SYSTEM_MILLIS}。
+	 * 
+	 * @return 该计划使用的计划时钟。
+	 * @since 0.2.1-beta
+	 */
+	public default PlainClock getClock() {
+		return PlainClock.SYSTEM_MILLIS;
+	}
+
 	/**
 	 * 获取该计划是否正在执行中。
 	 * 
@@ -54,7 +71,7 @@ public interface Plain extends Runnable, ExternalReadWriteThreadSafe, ObverserSe
 	 * <p>
 	 * 注意：在一个运行周期内，反复调用该方法，得到的值应当一致。
 	 * <p>
-	 * 如果返回的时间大于等于0且小于当前的系统时间，那么代表该计划将会立即运行。
+	 * 如果返回的时间大于等于0且小于计划时钟的当前时间，那么代表该计划将会立即运行。
 	 * <p>
 	 * 如果返回的时间小于0，那么代表该计划不需要再次运行。
 	 * 
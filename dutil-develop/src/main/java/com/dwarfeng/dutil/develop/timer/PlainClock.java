@@ -0,0 +1,151 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 计划时钟。
+ * <p>
+ * 计划时钟决定了计划中所有时间值（理论运行时间、实际运行时间、下一次运行时间）的基准与单位。
+ * <p>
+ * 计时器可以同时维护使用不同时钟的计划，计时器在比较使用不同时钟的计划时，会将其时间换算到
+ * {@link #NANO_TIME} 的基准上进行比较。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public enum PlainClock {
+
+	/**
+	 * 系统时钟。
+	 * <p>
+	 * 时间值为 1970年1月1日 到该时刻包含的毫秒数，即 {@link System#currentTimeMillis()} 的返回值。
+	 * <p>
+	 * 该时钟的精度为毫秒，并且会受到系统时间调整的影响。
+	 */
+	SYSTEM_MILLIS(TimeUnit.MILLISECONDS) {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long now() {
+			return System.currentTimeMillis();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long toNanoTime(long time) {
+			if (time < 0)
+				return time;
+			// 已经过去的时间换算后可能早于单调时钟的基准，此时取 0。
+			return Math.max(0,
+					NANO_TIME.now() + saturatedToNanos(time - System.currentTimeMillis(), TimeUnit.MILLISECONDS));
+		}
+
+	},
+
+	/**
+	 * 单调时钟。
+	 * <p>
+	 * 时间值为该类初始化时刻到该时刻经过的纳秒数，由 {@link System#nanoTime()} 换算得到，因此总是大于等于 0。
+	 * <p>
+	 * 该时钟的精度为纳秒，并且不受系统时间调整的影响，适用于运行周期小于一毫秒的计划。
+	 */
+	NANO_TIME(TimeUnit.NANOSECONDS) {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long now() {
+			return System.nanoTime() - ORIGIN;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long toNanoTime(long time) {
+			return time;
+		}
+
+	},
+
+	;
+
+	private static final long ORIGIN = System.nanoTime();
+
+	private final TimeUnit unit;
+
+	private PlainClock(TimeUnit unit) {
+		this.unit = unit;
+	}
+
+	/**
+	 * 获取该时钟的时间单位。
+	 *
+	 * @return 该时钟的时间单位。
+	 */
+	public TimeUnit getUnit() {
+		return unit;
+	}
+
+	/**
+	 * 获取该时钟的当前时间。
+	 *
+	 * @return 该时钟的当前时间。
+	 */
+	public abstract long now();
+
+	/**
+	 * 将该时钟下的时间换算为 {@link #NANO_TIME} 下的时间。
+	 * <p>
+	 * 小于 0 的时间代表计划不需要再次运行，换算时保持不变；早于 {@link #NANO_TIME} 基准的时间换算为 0。
+	 *
+	 * @param time
+	 *            该时钟下的时间。
+	 * @return 换算后 {@link #NANO_TIME} 下的时间。
+	 */
+	public abstract long toNanoTime(long time);
+
+	/**
+	 * 将系统时钟下的时间换算为该时钟下的时间。
+	 * <p>
+	 * 小于 0 的时间代表计划不需要再次运行，换算时保持不变。
+	 *
+	 * @param currentTimeMillis
+	 *            系统时钟下的时间，即 1970年1月1日 到该时刻包含的毫秒数。
+	 * @return 换算后该时钟下的时间。
+	 */
+	public long fromCurrentTimeMillis(long currentTimeMillis) {
+		if (this == SYSTEM_MILLIS || currentTimeMillis < 0)
+			return currentTimeMillis;
+		long offset = unit.convert(currentTimeMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+		long now = now();
+		long time = now + offset;
+		// 溢出时取最大值。
+		return offset > 0 && time < now ? Long.MAX_VALUE : Math.max(time, 0);
+	}
+
+	/**
+	 * 计算该时钟下从当前时刻到指定时间的纳秒数。
+	 * <p>
+	 * 如果指定的时间已经过去，则返回 0。
+	 *
+	 * @param time
+	 *            该时钟下的时间。
+	 * @return 从当前时刻到指定时间的纳秒数。
+	 */
+	public long nanosUntil(long time) {
+		return Math.max(0, saturatedToNanos(time - now(), unit));
+	}
+
+	private static long saturatedToNanos(long duration, TimeUnit unit) {
+		// TimeUnit.toNanos 在溢出时会返回 Long.MAX_VALUE 或 Long.MIN_VALUE，此处需要保证加上基准后仍不溢出。
+		long nanos = unit.toNanos(duration);
+		return nanos > Long.MAX_VALUE >> 1 ? Long.MAX_VALUE >> 1 : nanos;
+	}
+
+}
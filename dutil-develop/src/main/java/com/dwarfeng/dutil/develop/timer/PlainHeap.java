@@ -0,0 +1,240 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 计划堆。
+ *
+ * <p>
+ * 按照计划的运行时间排序的二叉堆，堆顶的计划是距离执行时间最近的计划。
+ * <p>
+ * 堆中的每一个元素都记录了其入堆时指定的运行时间，排序时只使用该记录值，而不会反复调用计划的
+ * {@link Plain#getNextRunTime()} 方法。使用不同计划时钟的计划在排序时被换算到 {@link PlainClock#NANO_TIME}
+ * 的基准上进行比较。运行时间相同的计划按照入堆的先后顺序排列。
+ * <p>
+ * 入堆、调整以及移除任意一个计划的时间复杂度均为 <code>O(log n)</code>。
+ * <p>
+ * 该类不是线程安全的，需要由使用者负责同步。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+final class PlainHeap {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Map<Plain, Entry> entries = new HashMap<>();
+
+	private Entry[] queue = new Entry[INITIAL_CAPACITY];
+	private int size = 0;
+	private long sequence = 0;
+
+	/**
+	 * 将指定的计划按照指定的运行时间放入堆中。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @param runTime
+	 *            指定的运行时间，以计划的计划时钟为基准。
+	 * @return 该操作是否改变了堆本身。
+	 */
+	public boolean offer(Plain plain, long runTime) {
+		if (entries.containsKey(plain))
+			return false;
+
+		Entry entry = new Entry(plain, runTime, plain.getClock().toNanoTime(runTime), sequence++);
+		if (size >= queue.length) {
+			queue = Arrays.copyOf(queue, queue.length << 1);
+		}
+		entries.put(plain, entry);
+		entry.index = size;
+		queue[size++] = entry;
+		siftUp(entry.index);
+		return true;
+	}
+
+	/**
+	 * 获取堆顶的元素。
+	 *
+	 * @return 堆顶的元素，如果堆为空，则返回 <code>null</code>。
+	 */
+	public Entry peek() {
+		return size == 0 ? null : queue[0];
+	}
+
+	/**
+	 * 更新指定元素的运行时间，并调整其在堆中的位置。
+	 *
+	 * @param entry
+	 *            指定的元素。
+	 * @param runTime
+	 *            新的运行时间，以计划的计划时钟为基准。
+	 */
+	public void reschedule(Entry entry, long runTime) {
+		entry.runTime = runTime;
+		entry.key = entry.plain.getClock().toNanoTime(runTime);
+		entry.sequence = sequence++;
+		siftDown(siftUp(entry.index));
+	}
+
+	/**
+	 * 从堆中移除指定的计划。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @return 堆中是否含有指定的计划。
+	 */
+	public boolean remove(Plain plain) {
+		Entry entry = entries.remove(plain);
+		if (Objects.isNull(entry))
+			return false;
+
+		int index = entry.index;
+		Entry last = queue[--size];
+		queue[size] = null;
+		if (last != entry) {
+			queue[index] = last;
+			last.index = index;
+			siftDown(siftUp(index));
+		}
+		return true;
+	}
+
+	/**
+	 * 返回堆中是否含有指定的计划。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @return 堆中是否含有指定的计划。
+	 */
+	public boolean contains(Plain plain) {
+		return entries.containsKey(plain);
+	}
+
+	/**
+	 * 返回堆中计划的数量。
+	 *
+	 * @return 堆中计划的数量。
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * 返回堆是否为空。
+	 *
+	 * @return 堆是否为空。
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * 返回堆中所有计划组成的只读集合。
+	 *
+	 * @return 堆中所有计划组成的只读集合。
+	 */
+	public Set<Plain> plains() {
+		return Collections.unmodifiableSet(entries.keySet());
+	}
+
+	private int siftUp(int index) {
+		Entry entry = queue[index];
+		while (index > 0) {
+			int parent = (index - 1) >>> 1;
+			Entry e = queue[parent];
+			if (entry.compareTo(e) >= 0)
+				break;
+			queue[index] = e;
+			e.index = index;
+			index = parent;
+		}
+		queue[index] = entry;
+		entry.index = index;
+		return index;
+	}
+
+	private int siftDown(int index) {
+		Entry entry = queue[index];
+		int half = size >>> 1;
+		while (index < half) {
+			int child = (index << 1) + 1;
+			int right = child + 1;
+			if (right < size && queue[right].compareTo(queue[child]) < 0)
+				child = right;
+			Entry c = queue[child];
+			if (entry.compareTo(c) <= 0)
+				break;
+			queue[index] = c;
+			c.index = index;
+			index = child;
+		}
+		queue[index] = entry;
+		entry.index = index;
+		return index;
+	}
+
+	/**
+	 * 计划堆中的元素。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	static final class Entry implements Comparable<Entry> {
+
+		private final Plain plain;
+		private long runTime;
+		private long key;
+		private long sequence;
+		private int index;
+
+		private Entry(Plain plain, long runTime, long key, long sequence) {
+			this.plain = plain;
+			this.runTime = runTime;
+			this.key = key;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * 获取元素对应的计划。
+		 *
+		 * @return 元素对应的计划。
+		 */
+		public Plain getPlain() {
+			return plain;
+		}
+
+		/**
+		 * 获取元素记录的运行时间。
+		 * <p>
+		 * 该时间以计划的计划时钟为基准。
+		 *
+		 * @return 元素记录的运行时间。
+		 */
+		public long getRunTime() {
+			return runTime;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compareTo(Entry o) {
+			// 永远不会执行的计划大于会在某时某刻执行的计划。
+			if (key < 0 && o.key >= 0)
+				return 1;
+			if (key >= 0 && o.key < 0)
+				return -1;
+			if (key != o.key && key >= 0)
+				return key > o.key ? 1 : -1;
+			return sequence > o.sequence ? 1 : sequence == o.sequence ? 0 : -1;
+		}
+
+	}
+
+}
@@ -0,0 +1,545 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.develop.timer.obv.PlainAdapter;
+import com.dwarfeng.dutil.develop.timer.obv.TimerObverser;
+
+/**
+ * 单线程计时器。
+ *
+ * <p>
+ * 由一个后台线程依次执行计划的计时器，负责计划的安排、移除、计时器的关闭以及计划观察器的维护。
+ * 计划的排队方式由子类决定，子类只需要实现维护计划队列的方法。
+ * <p>
+ * 安排与移除的计划先进入待处理集合，由计时器线程在下一次调度时放入或移出计划队列，因此计划队列只会被计时器线程修改。
+ * 维护计划队列的方法都在持有计时器写锁（{@link #plains()} 中为读锁）的情况下被调用。
+ * <p>
+ * 子类需要在构造器的最后调用 {@link #start(ThreadFactory)} 启动计时器线程，以保证计时器线程看到的是初始化完毕的对象。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+abstract class SingleThreadTimer extends AbstractTimer {
+
+	/** 计时器的最小执行间隔，以纳秒为单位。 */
+	protected final long minRunPeriod;
+
+	private final Set<Plain> plains2Schedule = new HashSet<>();
+	private final Set<Plain> plains2Remove = new HashSet<>();
+	private final Condition condition = lock.writeLock().newCondition();
+	private final Map<Plain, PlainInspector> inspecRefs = new HashMap<>();
+
+	private boolean shutdownFlag = false;
+	private boolean terminateFlag = false;
+
+	/**
+	 * 生成一个具有指定观察器集合，指定最小执行间隔的单线程计时器。
+	 *
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @param minRunPeriod
+	 *            指定的最小执行间隔，以纳秒为单位。
+	 */
+	SingleThreadTimer(Set<TimerObverser> obversers, long minRunPeriod) {
+		super(obversers);
+		this.minRunPeriod = minRunPeriod;
+	}
+
+	/**
+	 * 使用指定的线程工厂生成并启动计时器线程。
+	 *
+	 * @param threadFactory
+	 *            指定的线程工厂。
+	 */
+	final void start(ThreadFactory threadFactory) {
+		threadFactory.newThread(new ThreadRunner()).start();
+	}
+
+	/**
+	 * 判断计划队列中是否含有指定的计划。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @return 计划队列中是否含有指定的计划。
+	 */
+	abstract boolean queueContains(Plain plain);
+
+	/**
+	 * 返回计划队列中计划的数量。
+	 *
+	 * @return 计划队列中计划的数量。
+	 */
+	abstract int queueSize();
+
+	/**
+	 * 返回计划队列中所有计划组成的集合。
+	 *
+	 * @return 计划队列中所有计划组成的集合。
+	 */
+	abstract Collection<Plain> queuedPlains();
+
+	/**
+	 * 将指定的计划按照其下一次执行时间放入计划队列。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 */
+	abstract void enqueue(Plain plain);
+
+	/**
+	 * 返回计划队列的队首计划，即距离执行时间最近的计划。
+	 * <p>
+	 * 只有在计划队列不为空时才会调用该方法。
+	 *
+	 * @return 计划队列的队首计划。
+	 */
+	abstract Plain queueHead();
+
+	/**
+	 * 返回队首计划在计划队列中排序时所使用的执行时间。
+	 * <p>
+	 * 只有在计划队列不为空时才会调用该方法。
+	 *
+	 * @return 队首计划在计划队列中排序时所使用的执行时间。
+	 */
+	abstract long queueHeadRunTime();
+
+	/**
+	 * 按照指定的执行时间调整队首计划在计划队列中的位置。
+	 *
+	 * @param runTime
+	 *            指定的执行时间。
+	 */
+	abstract void requeueHead(long runTime);
+
+	/**
+	 * 从计划队列中移除指定的计划。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @return 计划队列是否因为该操作而改变。
+	 */
+	abstract boolean dequeue(Plain plain);
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean schedule(Plain plain)
+			throws IllegalStateException, NullPointerException, UnsupportedOperationException {
+		lock.writeLock().lock();
+		try {
+			// 判断计时器是否已经结束。
+			if (isShutdown())
+				throw new IllegalStateException(DwarfUtil.getExceptionString(ExceptionStringKey.SINGLETHREADTIMER_0));
+
+			if (Objects.isNull(plain) || queueContains(plain) || plain.getNextRunTime() < 0
+					|| plains2Schedule.contains(plain))
+				return false;
+
+			// 将计划添加到待添加计划集合中，并添加计划观察器。
+			PlainInspector inspector = new PlainInspector(plain);
+			if (!plain.addObverser(inspector))
+				return false;
+			plains2Schedule.add(plain);
+			inspecRefs.put(plain, inspector);
+
+			firePlainScheduled(plain);
+			updatePendingCount(queueSize() + plains2Schedule.size());
+			signalCondition();
+			return true;
+
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Plain plain) throws UnsupportedOperationException {
+		lock.writeLock().lock();
+		try {
+			if (Objects.isNull(plain) || !(queueContains(plain) || plains2Schedule.contains(plain))
+					|| plains2Remove.contains(plain))
+				return false;
+
+			plains2Remove.add(plain);
+			firePlainRemoved(plain);
+			signalCondition();
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() throws UnsupportedOperationException {
+		lock.writeLock().lock();
+		try {
+			plains2Remove.addAll(plains2Schedule);
+			plains2Remove.addAll(queuedPlains());
+			firePlainCleared();
+			// 唤醒计时器线程，检查当前队列。
+			signalCondition();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void shutdown() {
+		lock.writeLock().lock();
+		try {
+			shutdownFlag = true;
+			// 唤醒计时器线程，检查当前队列。
+			signalCondition();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isShutdown() {
+		lock.readLock().lock();
+		try {
+			return shutdownFlag;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean isTerminated() {
+		lock.readLock().lock();
+		try {
+			return terminateFlag;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void awaitTermination() throws InterruptedException {
+		lock.writeLock().lock();
+		try {
+			while (!terminateFlag) {
+				condition.await();
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+		lock.writeLock().lock();
+		try {
+			long nanosTimeout = unit.toNanos(timeout);
+			while (!terminateFlag) {
+				if (nanosTimeout > 0)
+					nanosTimeout = condition.awaitNanos(nanosTimeout);
+				else
+					return false;
+			}
+			return true;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<Plain> plains() {
+		lock.readLock().lock();
+		try {
+			Set<Plain> plains = new HashSet<>();
+			plains.addAll(queuedPlains());
+			plains.addAll(plains2Schedule);
+			plains.removeAll(plains2Remove);
+			return Collections.unmodifiableCollection(plains);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 唤醒计时器线程。
+	 */
+	private void signalCondition() {
+		lock.writeLock().lock();
+		try {
+			condition.signalAll();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	private class PlainInspector extends PlainAdapter {
+
+		private final Plain plain;
+
+		public PlainInspector(Plain plain) {
+			this.plain = plain;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireRun(int count, long expectedRumTime, long actualRunTime) {
+			lock.readLock().lock();
+			try {
+				firePlainRun(plain, count, expectedRumTime, actualRunTime);
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void fireFinished(int finishedCount, Throwable throwable) {
+			lock.readLock().lock();
+			try {
+				firePlainFinished(plain, finishedCount, throwable);
+			} finally {
+				lock.readLock().unlock();
+			}
+		}
+
+	}
+
+	private final class ThreadRunner implements Runnable {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void run() {
+			try {
+				// 计时器没有关闭的情况下，一直运行主循环。
+				while (!isShutdown()) {
+					mainLoop();
+				}
+
+				// 代码运行到此处，意味着计时器已经被关闭了。
+				shutdownMethod();
+
+			} catch (InterruptedException ignore) {
+				// 抛异常也要按照基本法。
+			}
+		}
+
+		/**
+		 * 主循环。
+		 */
+		private void mainLoop() throws InterruptedException {
+			// 定义变量
+			Plain aimPlain;
+			long aimQueuedRunTime;
+			PlainClock aimPlainClock;
+			long aimPlainRunTime;
+			long systemTime;
+
+			lock.writeLock().lock();
+			try {
+				// 遍历所有待移除的计划，将待移除的计划全部移除。
+				for (Plain plain : plains2Remove) {
+					removePlain(plain, false);
+				}
+				plains2Remove.clear();
+
+				// 遍历所有待添加的计划，将计划放入计划队列中。
+				for (Plain plain : plains2Schedule) {
+					enqueue(plain);
+				}
+				plains2Schedule.clear();
+
+				// 检查计划队列是否为空，如果队列为空，则线程等待。
+				if (queueSize() == 0) {
+					condition.await();
+					return;
+				}
+
+				// 取出队首的计划，即距离执行时间最近的一个计划。
+				aimPlain = queueHead();
+				aimQueuedRunTime = queueHeadRunTime();
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+			// 获取目标计划的下一个执行时间和计划时钟的当前时间。
+			aimPlainClock = aimPlain.getClock();
+			aimPlainRunTime = aimPlain.getNextRunTime();
+			systemTime = aimPlainClock.now();
+
+			// 计划在入队之后更改了下一次执行时间，需要重新调整其在队列中的位置。
+			if (aimPlainRunTime < 0 || aimPlainRunTime > aimQueuedRunTime) {
+				lock.writeLock().lock();
+				try {
+					if (aimPlainRunTime < 0) {
+						removePlain(aimPlain, true);
+					} else {
+						requeueHead(aimPlainRunTime);
+					}
+					return;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+
+			// 判断系统时间是否大于其下一个执行时间。
+			if (systemTime >= aimPlainRunTime) {
+				// 执行当前计划。
+				// 注：根据Plain的协议，在Plain运行完毕后会通知观察器。而计时器中的侦听
+				// PlainInspect负责判断该计划的进一步动作，是继续运行还是被移除。
+				try {
+					aimPlain.run();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+
+				lock.writeLock().lock();
+				try {
+					// 查看计时器是否被关闭。
+					if (shutdownFlag) {
+						// 移除计划，并查看该计划移除后是否是最后一个计划。
+						removePlain(aimPlain, true);
+						if (queueSize() == 0) {
+							// 将终结标识置为true，通知观察器，并唤醒计时器线程，通知 awaitTerminal方法。
+							terminateFlag = true;
+							fireTerminated();
+							signalCondition();
+						}
+					} else {
+						// 判断 nextRunTime是否小于0
+						long nextRunTime = aimPlain.getNextRunTime();
+						if (nextRunTime < 0) {
+							// 移除计划。
+							removePlain(aimPlain, true);
+						} else {
+							// 按照计划的下一次执行时间调整其在队列中的位置。
+							requeueHead(nextRunTime);
+						}
+					}
+					aimPlain = null;
+
+					// 此处休眠，保障计时器的最小运行间隔。
+					if (minRunPeriod > 0)
+						condition.awaitNanos(minRunPeriod);
+					return;
+				} finally {
+					lock.writeLock().unlock();
+				}
+
+			} else {
+				lock.writeLock().lock();
+				try {
+					// 线程休眠 : 下一个执行时间-系统时间
+					condition.awaitNanos(aimPlainClock.nanosUntil(aimPlainRunTime));
+					return;
+				} finally {
+					lock.writeLock().unlock();
+				}
+			}
+
+		}
+
+		private void shutdownMethod() {
+			lock.writeLock().lock();
+			try {
+				// 尚未放入计划队列中的计划不会再被执行，直接移除。
+				for (Plain plain : plains2Schedule) {
+					plain.removeObverser(inspecRefs.remove(plain));
+				}
+				plains2Schedule.clear();
+				updatePendingCount(queueSize());
+
+				// 检查计划队列是否为空。
+				if (queueSize() == 0) {
+					// 将终结标识置为true，通知观察器，并唤醒计时器线程，通知 awaitTerminal方法。
+					terminateFlag = true;
+					fireTerminated();
+					signalCondition();
+					return;
+				}
+				// 判断队首计划是否正在执行
+				Plain head = queueHead();
+				if (!head.isRunning()) {
+					// 如果不在执行，则直接清除队列中的所有计划。
+					for (Plain plain : new HashSet<>(queuedPlains())) {
+						removePlain(plain, false);
+					}
+					firePlainCleared();
+					// 将终结标识置为true，通知观察器，并唤醒计时器线程，通知 awaitTerminal方法。
+					terminateFlag = true;
+					fireTerminated();
+					signalCondition();
+				} else {
+					// 删除除了队首计划之外的所有计划（除了队首计划之外，剩下的计划一定没有执行。）;
+					for (Plain plain : new HashSet<>(queuedPlains())) {
+						if (plain != head)
+							removePlain(plain, true);
+					}
+				}
+			} finally {
+				lock.writeLock().unlock();
+			}
+
+		}
+
+		private void removePlain(Plain plain, boolean fireFlag) {
+			// 注意：下面 if 中的表达式不能换成等价的非-短路或。
+			if (!(dequeue(plain) || plains2Schedule.remove(plain))) {
+				// 该异常不应该抛出，不对外开放，故不设置国际化接口。
+				new IllegalStateException("An exception occurred while the plan was being removed.").printStackTrace();
+			}
+
+			if (!plain.removeObverser(inspecRefs.remove(plain))) {
+				// 该异常不应该抛出，不对外开放，故不设置国际化接口。
+				new IllegalStateException("The listener was not properly removed.").printStackTrace();
+			}
+
+			if (fireFlag)
+				firePlainRemoved(plain);
+
+			updatePendingCount(queueSize() + plains2Schedule.size());
+		}
+	}
+
+}
@@ -0,0 +1,268 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dwarfeng.dutil.basic.DwarfUtil;
+import com.dwarfeng.dutil.basic.ExceptionStringKey;
+
+/**
+ * 计时器指标。
+ * <p>
+ * 记录计时器以及计时器中每一个计划的运行指标，包括：
+ * <ul>
+ * <li>调度延迟：计划的实际运行时间与理论运行时间的差值。</li>
+ * <li>运行时长：计划从开始运行到运行结束经过的时间。</li>
+ * <li>超时次数：计划运行结束时，其下一次运行时间已经过去的次数。</li>
+ * <li>排队数量：计时器中等待调度的计划的数量。</li>
+ * </ul>
+ * 所有的时间值均换算为纳秒，并以 {@link LatencyHistogram} 的形式记录。
+ * <p>
+ * 指标由计时器在调度计划时直接记录，记录的过程只使用原子操作，不会获取任何锁，也不依赖于计时器的观察器。
+ * 计划的指标在计划被安排时创建，在计划被移除时丢弃；计时器的指标在计时器的整个生命周期中累积。
+ * <p>
+ * 该类是线程安全的。
+ *
+ * @author DwArFeng
+ * @since 0.2.1-beta
+ */
+public final class TimerMetrics {
+
+	private final Record timerRecord = new Record();
+	private final ConcurrentMap<Plain, Record> plainRecords = new ConcurrentHashMap<>();
+
+	private volatile int pendingCount = 0;
+
+	TimerMetrics() {
+	}
+
+	/**
+	 * 获取计时器中等待调度的计划的数量。
+	 *
+	 * @return 计时器中等待调度的计划的数量。
+	 */
+	public int getPendingCount() {
+		return pendingCount;
+	}
+
+	/**
+	 * 获取计时器中所有计划的超时次数之和。
+	 *
+	 * @return 计时器中所有计划的超时次数之和。
+	 */
+	public long getOverrunCount() {
+		return timerRecord.overrunCount.sum();
+	}
+
+	/**
+	 * 获取记录了指标的所有计划组成的只读集合。
+	 *
+	 * @return 记录了指标的所有计划组成的只读集合。
+	 */
+	public Set<Plain> trackedPlains() {
+		return Collections.unmodifiableSet(plainRecords.keySet());
+	}
+
+	/**
+	 * 获取计时器指标的快照。
+	 *
+	 * @return 计时器指标的快照。
+	 */
+	public Snapshot snapshot() {
+		return timerRecord.snapshot(pendingCount);
+	}
+
+	/**
+	 * 获取指定计划的指标的快照。
+	 *
+	 * @param plain
+	 *            指定的计划。
+	 * @return 指定计划的指标的快照，如果计时器中没有该计划的指标，则返回 <code>null</code>。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 */
+	public Snapshot snapshot(Plain plain) throws NullPointerException {
+		Objects.requireNonNull(plain, DwarfUtil.getExceptionString(ExceptionStringKey.TIMERMETRICS_0));
+		Record record = plainRecords.get(plain);
+		return Objects.isNull(record) ? null : record.snapshot(0);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return "TimerMetrics [snapshot=" + snapshot() + "]";
+	}
+
+	void plainScheduled(Plain plain) {
+		plainRecords.put(plain, new Record());
+	}
+
+	void plainRemoved(Plain plain) {
+		plainRecords.remove(plain);
+	}
+
+	void plainCleared() {
+		plainRecords.clear();
+	}
+
+	void plainRun(Plain plain, long expectedRunTime, long actualRunTime) {
+		long startNanos = System.nanoTime();
+		long lag = plain.getClock().getUnit().toNanos(actualRunTime - expectedRunTime);
+
+		timerRecord.lag.record(lag);
+		Record record = plainRecords.get(plain);
+		if (Objects.nonNull(record)) {
+			record.lag.record(lag);
+			record.startNanos = startNanos;
+		}
+	}
+
+	void plainFinished(Plain plain, Throwable throwable) {
+		long finishNanos = System.nanoTime();
+		long nextRunTime = plain.getNextRunTime();
+		boolean overrun = nextRunTime >= 0 && nextRunTime < plain.getClock().now();
+
+		Record record = plainRecords.get(plain);
+		if (Objects.nonNull(record)) {
+			long duration = finishNanos - record.startNanos;
+			record.finished(duration, overrun, throwable);
+			timerRecord.finished(duration, overrun, throwable);
+		} else {
+			// 计划在运行期间被移除，无法得知其运行时长。
+			timerRecord.finished(-1, overrun, throwable);
+		}
+	}
+
+	void updatePendingCount(int pendingCount) {
+		this.pendingCount = pendingCount;
+	}
+
+	private static final class Record {
+
+		final LatencyHistogram lag = new LatencyHistogram();
+		final LatencyHistogram duration = new LatencyHistogram();
+		final LongAdder finishedCount = new LongAdder();
+		final LongAdder overrunCount = new LongAdder();
+		final LongAdder throwableCount = new LongAdder();
+
+		volatile long startNanos;
+
+		void finished(long duration, boolean overrun, Throwable throwable) {
+			if (duration >= 0)
+				this.duration.record(duration);
+			finishedCount.increment();
+			if (overrun)
+				overrunCount.increment();
+			if (Objects.nonNull(throwable))
+				throwableCount.increment();
+		}
+
+		Snapshot snapshot(int pendingCount) {
+			return new Snapshot(lag.snapshot(), duration.snapshot(), finishedCount.sum(), overrunCount.sum(),
+					throwableCount.sum(), pendingCount);
+		}
+
+	}
+
+	/**
+	 * 计时器指标的快照。
+	 * <p>
+	 * 快照是不可变的。
+	 *
+	 * @author DwArFeng
+	 * @since 0.2.1-beta
+	 */
+	public static final class Snapshot {
+
+		private final LatencyHistogram.Snapshot lag;
+		private final LatencyHistogram.Snapshot duration;
+		private final long finishedCount;
+		private final long overrunCount;
+		private final long throwableCount;
+		private final int pendingCount;
+
+		private Snapshot(LatencyHistogram.Snapshot lag, LatencyHistogram.Snapshot duration, long finishedCount,
+				long overrunCount, long throwableCount, int pendingCount) {
+			this.lag = lag;
+			this.duration = duration;
+			this.finishedCount = finishedCount;
+			this.overrunCount = overrunCount;
+			this.throwableCount = throwableCount;
+			this.pendingCount = pendingCount;
+		}
+
+		/**
+		 * 获取调度延迟的直方图快照，以纳秒为单位。
+		 *
+		 * @return 调度延迟的直方图快照。
+		 */
+		public LatencyHistogram.Snapshot getLag() {
+			return lag;
+		}
+
+		/**
+		 * 获取运行时长的直方图快照，以纳秒为单位。
+		 *
+		 * @return 运行时长的直方图快照。
+		 */
+		public LatencyHistogram.Snapshot getDuration() {
+			return duration;
+		}
+
+		/**
+		 * 获取运行完成的次数。
+		 *
+		 * @return 运行完成的次数。
+		 */
+		public long getFinishedCount() {
+			return finishedCount;
+		}
+
+		/**
+		 * 获取超时的次数。
+		 *
+		 * @return 超时的次数。
+		 */
+		public long getOverrunCount() {
+			return overrunCount;
+		}
+
+		/**
+		 * 获取运行时抛出异常的次数。
+		 *
+		 * @return 运行时抛出异常的次数。
+		 */
+		public long getThrowableCount() {
+			return throwableCount;
+		}
+
+		/**
+		 * 获取计时器中等待调度的计划的数量。
+		 * <p>
+		 * 对于计划的指标快照，该值总是 <code>0</code>。
+		 *
+		 * @return 计时器中等待调度的计划的数量。
+		 */
+		public int getPendingCount() {
+			return pendingCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "Snapshot [lag=" + lag + ", duration=" + duration + ", finishedCount=" + finishedCount
+					+ ", overrunCount=" + overrunCount + ", throwableCount=" + throwableCount + ", pendingCount="
+					+ pendingCount + "]";
+		}
+
+	}
+
+}
@@ -10,6 +10,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
+import com.dwarfeng.dutil.basic.threads.ThreadUtil;
 import com.dwarfeng.dutil.develop.timer.obv.PlainObverser;
 import com.dwarfeng.dutil.develop.timer.obv.TimerObverser;
 
@@ -35,6 +36,8 @@ public final class TimerUtil {
 	 * 3. 两个永远不会指定的互相相等。
 	 * </pre>
 	 * 
+	 * 如果两个计划使用不同的计划时钟，则将其下一次运行时间换算到 {@link PlainClock#NANO_TIME} 的基准上进行比较。
+	 * 
 	 * @return 生成的新的计划比较器。
 	 */
 	public static Comparator<Plain> newScheduleComparator() {
@@ -54,6 +57,13 @@ public final class TimerUtil {
 			long l1 = o1.getNextRunTime();
 			long l2 = o2.getNextRunTime();
 
+			PlainClock c1 = o1.getClock();
+			PlainClock c2 = o2.getClock();
+			if (c1 != c2) {
+				l1 = c1.toNanoTime(l1);
+				l2 = c2.toNanoTime(l2);
+			}
+
 			if (l1 < 0 && l2 >= 0)
 				return 1;
 
@@ -237,6 +247,8 @@ public final class TimerUtil {
 	 * 
 	 * <p>
 	 * 生成的计划执在指定的执行期限后便停止执行。
+	 * <p>
+	 * 如果指定的计划不使用 {@link PlainClock#SYSTEM_MILLIS} 作为计划时钟，执行期限会在该方法调用时换算为计划时钟下的时间。
 	 * 
 	 * @param plain
 	 *            指定的计划。
@@ -258,7 +270,7 @@ public final class TimerUtil {
 
 		public DateLimitedPlain(Plain delegate, long limitedDate) {
 			this.delegate = delegate;
-			this.limitedDate = limitedDate;
+			this.limitedDate = delegate.getClock().fromCurrentTimeMillis(limitedDate);
 		}
 
 		/**
@@ -269,6 +281,14 @@ public final class TimerUtil {
 			delegate.run();
 		}
 
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public PlainClock getClock() {
+			return delegate.getClock();
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -425,6 +445,14 @@ public final class TimerUtil {
 			delegate.run();
 		}
 
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public PlainClock getClock() {
+			return delegate.getClock();
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -549,6 +577,22 @@ public final class TimerUtil {
 
 	}
 
+	/**
+	 * 生成一个使用虚拟线程运行计划的计时器。
+	 * <p>
+	 * 返回的计时器是一个 {@link ExecutorServiceTimer}，其调度线程仍然是平台线程，
+	 * 而计划在虚拟线程中运行，在 I/O 上阻塞的计划不会占用操作系统线程。
+	 * 如果当前运行的 JDK 不支持虚拟线程，则计划在按需创建的平台线程中运行，行为与
+	 * {@link ExecutorServiceTimer#ExecutorServiceTimer()} 一致。
+	 * 
+	 * @return 使用虚拟线程运行计划的计时器。
+	 * @see ThreadUtil#isVirtualThreadSupported()
+	 * @since 0.2.1-beta
+	 */
+	public static ExecutorServiceTimer newVirtualThreadTimer() {
+		return new ExecutorServiceTimer(ThreadUtil.newVirtualThreadPerTaskExecutor("VtTimerWorker"));
+	}
+
 	// 禁止外部实例化。
 	private TimerUtil() {
 	}
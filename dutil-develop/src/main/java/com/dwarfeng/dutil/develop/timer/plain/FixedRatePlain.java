@@ -4,10 +4,12 @@ import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
 
 import com.dwarfeng.dutil.basic.DwarfUtil;
 import com.dwarfeng.dutil.basic.ExceptionStringKey;
 import com.dwarfeng.dutil.develop.timer.AbstractPlain;
+import com.dwarfeng.dutil.develop.timer.PlainClock;
 import com.dwarfeng.dutil.develop.timer.obv.PlainObverser;
 
 /**
@@ -15,13 +17,15 @@ import com.dwarfeng.dutil.develop.timer.obv.PlainObverser;
  * 
  * <p>
  * 定频运行计划是指计划执行的间隔是一定的，该类计划的下一次执行时间等于本次理论运行时间加计划的运行间隔。
+ * <p>
+ * 使用带有时间单位参数的构造器生成的计划使用 {@link PlainClock#NANO_TIME} 作为计划时钟，其运行周期可以小于一毫秒。
  * 
  * @author DwArFeng
  * @since 0.2.0-beta
  */
 public abstract class FixedRatePlain extends AbstractPlain {
 
-	/** 该计划的运行间隔。 */
+	/** 该计划的运行间隔，以计划时钟的时间单位为单位。 */
 	protected final long period;
 
 	/**
@@ -71,15 +75,67 @@ public abstract class FixedRatePlain extends AbstractPlain {
 		this.period = period;
 	}
 
+	/**
+	 * 生成一个指定运行周期，指定运行偏置，指定时间单位的定频运行计划。
+	 * 
+	 * <p>
+	 * 该计划使用 {@link PlainClock#NANO_TIME} 作为计划时钟，运行周期与运行偏置以指定的时间单位为单位， 并被换算为纳秒。
+	 * <p>
+	 * 计划的运行周期必须大于等于0，运行偏置不得小于0。
+	 * 
+	 * @param period
+	 *            指定的运行周期。
+	 * @param nextRunOffset
+	 *            指定的运行偏置。
+	 * @param unit
+	 *            运行周期与运行偏置的时间单位。
+	 * @throws IllegalArgumentException
+	 *             参数 <code>nextRunOffset</code> 小于0。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @since 0.2.1-beta
+	 */
+	public FixedRatePlain(long period, long nextRunOffset, TimeUnit unit) {
+		this(period, nextRunOffset, unit, Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	/**
+	 * 生成一个指定运行周期，指定运行偏置，指定时间单位，指定观察器集合的定频运行计划。
+	 * 
+	 * <p>
+	 * 该计划使用 {@link PlainClock#NANO_TIME} 作为计划时钟，运行周期与运行偏置以指定的时间单位为单位， 并被换算为纳秒。
+	 * <p>
+	 * 计划的运行周期必须大于等于0，运行偏置不得小于0。
+	 * 
+	 * @param period
+	 *            指定的运行周期。
+	 * @param nextRunOffset
+	 *            指定的运行偏置。
+	 * @param unit
+	 *            运行周期与运行偏置的时间单位。
+	 * @param obversers
+	 *            指定的观察器集合。
+	 * @throws IllegalArgumentException
+	 *             参数 <code>nextRunOffset</code> 小于0。
+	 * @throws NullPointerException
+	 *             入口参数为 <code>null</code>。
+	 * @since 0.2.1-beta
+	 */
+	public FixedRatePlain(long period, long nextRunOffset, TimeUnit unit, Set<PlainObverser> obversers) {
+		super(PlainClock.NANO_TIME, toNanos(nextRunOffset, unit), obversers);
+
+		this.period = unit.toNanos(period);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public String toString() {
-		return "FixedRatePlain [period=" + period + ", isRunning()=" + isRunning() + ", getExpectedRunTime()="
-				+ getExpectedRunTime() + ", getActualRunTime()=" + getActualRunTime() + ", getFinishedCount()="
-				+ getFinishedCount() + ", getLastThrowable()=" + getLastThrowable() + ", getLastThrowableCount()="
-				+ getLastThrowableCount() + "]";
+		return "FixedRatePlain [period=" + period + ", getClock()=" + getClock() + ", isRunning()=" + isRunning()
+				+ ", getExpectedRunTime()=" + getExpectedRunTime() + ", getActualRunTime()=" + getActualRunTime()
+				+ ", getFinishedCount()=" + getFinishedCount() + ", getLastThrowable()=" + getLastThrowable()
+				+ ", getLastThrowableCount()=" + getLastThrowableCount() + "]";
 	}
 
 	/**
@@ -91,4 +147,9 @@ public abstract class FixedRatePlain extends AbstractPlain {
 		return l < 0 ? period : l + period;
 	}
 
+	private static long toNanos(long nextRunOffset, TimeUnit unit) {
+		Objects.requireNonNull(unit, DwarfUtil.getExceptionString(ExceptionStringKey.FIXEDRATEPLAIN_1));
+		return unit.toNanos(nextRunOffset);
+	}
+
 }
@@ -1,16 +1,31 @@
 package com.dwarfeng.dutil.develop.backgr;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.After;
 import org.junit.AfterClass;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import com.dwarfeng.dutil.basic.threads.ThreadUtil;
+
 public class Test_BackgroundUtil {
 
 	@BeforeClass
@@ -51,4 +66,146 @@ public class Test_BackgroundUtil {
 		assertTrue(task_2.awaitFinish(40, TimeUnit.MILLISECONDS));
 	}
 
+	@Test
+	public void testAsFuture() throws Exception {
+		ResultTask<Integer> task_1 = BackgroundUtil.newTaskFromCallable(() -> 21);
+		ResultTask<Integer> task_2 = BackgroundUtil.newTaskFromCallable(() -> 2);
+
+		CompletableFuture<Integer> future_1 = BackgroundUtil.asFuture(task_1);
+		CompletableFuture<Integer> future_2 = BackgroundUtil.asFuture(task_2);
+		CompletableFuture<Integer> future = future_1.thenCombine(future_2, (a, b) -> a * b);
+		assertFalse(future.isDone());
+
+		new Thread(task_1).start();
+		new Thread(task_2).start();
+		assertEquals(Integer.valueOf(42), future.get(1, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testAsFutureFinishedTask() throws Exception {
+		Task task = BackgroundUtil.newTaskFromRunnable(() -> {
+		});
+		task.run();
+
+		CompletableFuture<Void> future = BackgroundUtil.asFuture(task);
+		assertTrue(future.isDone());
+		future.get();
+	}
+
+	@Test
+	public void testAsFutureException() throws Exception {
+		IllegalStateException exception = new IllegalStateException();
+		Task task = BackgroundUtil.newTaskFromRunnable(() -> {
+			throw exception;
+		});
+		CompletableFuture<Void> future = BackgroundUtil.asFuture(task);
+		new Thread(task).start();
+
+		try {
+			future.get(1, TimeUnit.SECONDS);
+			fail("Exception should be thrown.");
+		} catch (ExecutionException e) {
+			assertEquals(exception, e.getCause());
+		}
+	}
+
+	@Test
+	public void testAsFutureNotCollected() throws Exception {
+		ResultTask<String> task = BackgroundUtil.newTaskFromCallable(() -> "result");
+		AtomicInteger length = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(1);
+		// 不持有流水线中的任何一个阶段，任务结束之前观察器不能被回收。
+		BackgroundUtil.asFuture(task).thenApply(String::length).thenAccept(l -> {
+			length.set(l);
+			latch.countDown();
+		});
+		gc();
+		new Thread(task).start();
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertEquals(6, length.get());
+	}
+
+	@Test
+	public void testAsFutureCollected() throws Exception {
+		ResultTask<String> task = BackgroundUtil.newTaskFromCallable(() -> "result");
+		WeakReference<CompletableFuture<String>> futureRef = new WeakReference<>(BackgroundUtil.asFuture(task));
+		WeakReference<Task> taskRef = new WeakReference<>(task);
+		// 永远不会执行且不再被引用的任务不应该使 future 及其观察器一直被持有。
+		task = null;
+		long deadline = System.currentTimeMillis() + 5000;
+		while ((Objects.nonNull(futureRef.get()) || Objects.nonNull(taskRef.get()))
+				&& System.currentTimeMillis() < deadline) {
+			gc();
+			// 被回收的任务所对应的观察器在下一次桥接时被清理。
+			BackgroundUtil.asFuture(BackgroundUtil.newTaskFromRunnable(() -> {
+			}));
+		}
+		assertNull(taskRef.get());
+		assertNull(futureRef.get());
+	}
+
+	@Test
+	public void testAsFutureReleasedAfterFinish() throws Exception {
+		ResultTask<String> task = BackgroundUtil.newTaskFromCallable(() -> "result");
+		CompletableFuture<String> future = BackgroundUtil.asFuture(task);
+		task.run();
+		assertEquals("result", future.get(1, TimeUnit.SECONDS));
+
+		// 任务结束后，即使任务仍然被引用，也不应该继续持有 future。
+		WeakReference<CompletableFuture<String>> futureRef = new WeakReference<>(future);
+		future = null;
+		long deadline = System.currentTimeMillis() + 5000;
+		while (Objects.nonNull(futureRef.get()) && System.currentTimeMillis() < deadline) {
+			gc();
+		}
+		assertNull(futureRef.get());
+		assertTrue(task.isFinished());
+	}
+
+	@Test
+	public void testNewVirtualThreadBackground() throws Exception {
+		ConcurrentBackground background = BackgroundUtil.newVirtualThreadBackground();
+		CountDownLatch latch = new CountDownLatch(1);
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 64; i++) {
+			tasks.add(BackgroundUtil.newTaskFromRunnable(() -> {
+				try {
+					latch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		assertTrue(background.submitAll(tasks));
+		assertEquals(64, background.getPendingCount());
+
+		latch.countDown();
+		background.shutdown();
+		assertTrue(background.awaitTermination(5, TimeUnit.SECONDS));
+		for (Task task : tasks) {
+			assertTrue(task.isFinished());
+		}
+	}
+
+	@Test
+	public void testNewVirtualThreadBackgroundOnVirtualThreads() throws Exception {
+		Assume.assumeTrue(ThreadUtil.isVirtualThreadSupported());
+
+		ConcurrentBackground background = BackgroundUtil.newVirtualThreadBackground();
+		AtomicReference<Thread> thread = new AtomicReference<>();
+		Task task = BackgroundUtil.newTaskFromRunnable(() -> thread.set(Thread.currentThread()));
+		assertTrue(background.submit(task));
+		assertTrue(task.awaitFinish(1, TimeUnit.SECONDS));
+		background.shutdown();
+		assertTrue(background.awaitTermination(1, TimeUnit.SECONDS));
+
+		assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread.get()));
+		assertTrue(thread.get().getName().startsWith("VtBackgr-"));
+	}
+
+	private static void gc() throws InterruptedException {
+		System.gc();
+		Thread.sleep(10);
+	}
+
 }
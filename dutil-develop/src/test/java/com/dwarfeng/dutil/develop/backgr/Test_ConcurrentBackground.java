@@ -0,0 +1,179 @@
+package com.dwarfeng.dutil.develop.backgr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Test_ConcurrentBackground {
+
+	private ConcurrentBackground background = null;
+	private TestBackgroundObverser obv = null;
+	private CountDownLatch latch = null;
+
+	@Before
+	public void setUp() throws Exception {
+		background = new ConcurrentBackground(Executors.newCachedThreadPool(),
+				Collections.newSetFromMap(new WeakHashMap<>()));
+		obv = new TestBackgroundObverser();
+		background.addObverser(obv);
+		latch = new CountDownLatch(1);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		latch.countDown();
+		background.shutdown();
+		background.awaitTermination();
+	}
+
+	@Test
+	public void testSubmit() throws InterruptedException {
+		Task task_1 = new LatchTask();
+		Task task_2 = new LatchTask();
+
+		assertTrue(background.submit(task_1));
+		assertFalse(background.submit(task_1));
+		assertFalse(background.submit(null));
+		assertTrue(background.submit(task_2));
+		assertEquals(2, background.getPendingCount());
+		assertEquals(2, background.tasks().size());
+		assertEquals(Arrays.asList(task_1, task_2), obv.submittedTasks);
+
+		latch.countDown();
+		task_1.awaitFinish();
+		task_2.awaitFinish();
+		background.shutdown();
+		background.awaitTermination();
+
+		assertEquals(0, background.getPendingCount());
+		assertTrue(background.tasks().isEmpty());
+		assertTrue(obv.finishedTasks.containsAll(Arrays.asList(task_1, task_2)));
+		assertTrue(obv.removedTasks.containsAll(Arrays.asList(task_1, task_2)));
+		assertTrue(obv.terminated);
+	}
+
+	@Test
+	public void testSubmitAll() {
+		Task task_1 = new LatchTask();
+		Task task_2 = new LatchTask();
+		Task task_3 = new LatchTask();
+
+		assertTrue(background.submit(task_1));
+		assertTrue(background.submitAll(Arrays.asList(task_1, task_2, null, task_3)));
+		assertFalse(background.submitAll(Arrays.asList(task_1, task_2, task_3)));
+		assertEquals(3, background.getPendingCount());
+		assertEquals(Arrays.asList(task_1, task_2, task_3), obv.submittedTasks);
+	}
+
+	@Test
+	public void testManyTasks() throws InterruptedException {
+		latch.countDown();
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			tasks.add(BackgroundUtil.newTaskFromRunnable(() -> {
+			}));
+		}
+		assertTrue(background.submitAll(tasks.subList(0, 5000)));
+		for (Task task : tasks.subList(5000, 10000)) {
+			assertTrue(background.submit(task));
+		}
+		background.shutdown();
+		assertTrue(background.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(10000, obv.submittedTasks.size());
+		assertEquals(10000, obv.startedTasks.size());
+		assertEquals(10000, obv.finishedTasks.size());
+		assertEquals(10000, obv.removedTasks.size());
+		assertTrue(obv.shutDown);
+		assertTrue(obv.terminated);
+	}
+
+	@Test
+	public void testShutdown() throws InterruptedException {
+		Task task = new LatchTask();
+		background.submit(task);
+		background.shutdown();
+		assertTrue(background.isShutdown());
+		assertFalse(background.isTerminated());
+		assertFalse(background.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+		latch.countDown();
+		assertTrue(background.awaitTermination(1, TimeUnit.SECONDS));
+		assertTrue(background.isTerminated());
+		assertTrue(obv.shutDown);
+		assertTrue(obv.terminated);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSubmitAfterShutdown() {
+		background.shutdown();
+		background.submit(new LatchTask());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSubmitAllAfterShutdown() {
+		background.shutdown();
+		background.submitAll(Arrays.asList(new LatchTask()));
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testSubmitAllNull() {
+		background.submitAll(null);
+	}
+
+	@Test
+	public void testRejected() throws InterruptedException {
+		ConcurrentBackground rejectingBackground = new ConcurrentBackground(Executors.newCachedThreadPool(),
+				Collections.newSetFromMap(new WeakHashMap<>())) {
+
+			@Override
+			protected void dispatch(Task task) throws Exception {
+				throw new RejectedExecutionException();
+			}
+
+		};
+		TestBackgroundObverser rejectingObv = new TestBackgroundObverser();
+		rejectingBackground.addObverser(rejectingObv);
+
+		try {
+			Task task = new LatchTask();
+			assertFalse(rejectingBackground.submit(task));
+			// 被拒绝的任务不应该继续持有后台的观察器。
+			assertTrue(task.getObversers().isEmpty());
+			assertTrue(rejectingBackground.tasks().isEmpty());
+			assertEquals(0, rejectingBackground.getPendingCount());
+			assertEquals(Arrays.asList(task), rejectingObv.removedTasks);
+
+			// 被拒绝的任务可以重新提交给其它后台。
+			assertTrue(background.submit(task));
+			assertEquals(1, task.getObversers().size());
+		} finally {
+			rejectingBackground.shutdown();
+			rejectingBackground.awaitTermination();
+		}
+	}
+
+	private final class LatchTask extends AbstractTask {
+
+		@Override
+		protected void todo() throws Exception {
+			latch.await();
+		}
+
+	}
+
+}
@@ -0,0 +1,284 @@
+package com.dwarfeng.dutil.develop.backgr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.backgr.PriorityBackground.Priority;
+
+public class Test_PriorityBackground {
+
+	private PriorityBackground background = null;
+	private TestBackgroundObverser obv = null;
+	private CountDownLatch started = null;
+	private CountDownLatch latch = null;
+	private List<String> order = null;
+
+	@Before
+	public void setUp() throws Exception {
+		background = new PriorityBackground(new ForkJoinPool(1), Collections.newSetFromMap(new WeakHashMap<>()), 10,
+				TimeUnit.SECONDS);
+		obv = new TestBackgroundObverser();
+		background.addObverser(obv);
+		started = new CountDownLatch(1);
+		latch = new CountDownLatch(1);
+		order = new CopyOnWriteArrayList<>();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		latch.countDown();
+		background.shutdown();
+		background.awaitTermination();
+	}
+
+	@Test
+	public void testPriority() throws InterruptedException {
+		assertTrue(background.submit(new BlockTask()));
+		started.await();
+
+		Task low = new OrderTask("low");
+		Task normal = new OrderTask("normal");
+		Task high = new OrderTask("high");
+		assertTrue(background.submit(low, Priority.LOW));
+		assertTrue(background.submit(normal));
+		assertTrue(background.submit(high, Priority.HIGH));
+		assertFalse(background.submit(high, Priority.LOW));
+		assertEquals(1, background.getQueuedCount(Priority.LOW));
+		assertEquals(1, background.getQueuedCount(Priority.NORMAL));
+		assertEquals(1, background.getQueuedCount(Priority.HIGH));
+
+		latch.countDown();
+		low.awaitFinish();
+		normal.awaitFinish();
+		high.awaitFinish();
+
+		assertEquals(Arrays.asList("high", "normal", "low"), order);
+		assertEquals(0, background.getQueuedCount(Priority.LOW));
+	}
+
+	@Test
+	public void testAging() throws InterruptedException {
+		background.shutdown();
+		background = new PriorityBackground(new ForkJoinPool(1), Collections.newSetFromMap(new WeakHashMap<>()), 20,
+				TimeUnit.MILLISECONDS);
+		assertEquals(20, background.getAgingPeriod(TimeUnit.MILLISECONDS));
+
+		assertTrue(background.submit(new BlockTask()));
+		started.await();
+
+		Task low = new OrderTask("low");
+		Task high = new OrderTask("high");
+		assertTrue(background.submit(low, Priority.LOW));
+		// 等待超过两个老化周期，低优先级任务的有效优先级超过高优先级。
+		Thread.sleep(100);
+		assertTrue(background.submit(high, Priority.HIGH));
+
+		latch.countDown();
+		low.awaitFinish();
+		high.awaitFinish();
+
+		assertEquals(Arrays.asList("low", "high"), order);
+	}
+
+	@Test
+	public void testSubmitAll() throws InterruptedException {
+		assertTrue(background.submit(new BlockTask()));
+		started.await();
+
+		Task low_1 = new OrderTask("low_1");
+		Task low_2 = new OrderTask("low_2");
+		Task high = new OrderTask("high");
+		assertTrue(background.submitAll(Arrays.asList(low_1, null, low_2), Priority.LOW));
+		assertTrue(background.submitAll(Arrays.asList(high), Priority.HIGH));
+		assertEquals(2, background.getQueuedCount(Priority.LOW));
+
+		latch.countDown();
+		low_1.awaitFinish();
+		low_2.awaitFinish();
+		high.awaitFinish();
+
+		assertEquals(Arrays.asList("high", "low_1", "low_2"), order);
+		assertEquals(Arrays.asList(low_1, low_2, high), obv.submittedTasks.subList(1, 4));
+	}
+
+	@Test(timeout = 10000)
+	public void testConcurrentSubmitSameTask() throws Exception {
+		assertTrue(background.submit(new BlockTask()));
+		started.await();
+
+		// 两个线程以不同的优先级同时提交同一批任务，每个任务应当进入提交成功的线程所指定的优先级队列。
+		List<Task> tasks = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			tasks.add(new OrderTask(Integer.toString(i)));
+		}
+		AtomicInteger highCount = new AtomicInteger(0);
+		AtomicInteger lowCount = new AtomicInteger(0);
+		CountDownLatch ready = new CountDownLatch(2);
+		Thread high = new Thread(() -> submitEach(tasks, Priority.HIGH, ready, highCount));
+		Thread low = new Thread(() -> submitEach(tasks, Priority.LOW, ready, lowCount));
+		high.start();
+		low.start();
+		high.join();
+		low.join();
+
+		assertEquals(500, highCount.get() + lowCount.get());
+		assertEquals(highCount.get(), background.getQueuedCount(Priority.HIGH));
+		assertEquals(lowCount.get(), background.getQueuedCount(Priority.LOW));
+		assertEquals(0, background.getQueuedCount(Priority.NORMAL));
+	}
+
+	@Test(timeout = 10000)
+	public void testRejectedAfterTaken() throws Exception {
+		Task task = new OrderTask("order");
+		AtomicInteger executeCount = new AtomicInteger(0);
+		ForkJoinPool rejectingPool = new ForkJoinPool(1) {
+
+			@Override
+			public void execute(ForkJoinTask<?> t) {
+				if (executeCount.incrementAndGet() == 1) {
+					super.execute(t);
+					return;
+				}
+				// 拒绝第二次调度之前，由第一次调度取走并执行第二个任务。
+				latch.countDown();
+				try {
+					task.awaitFinish();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				throw new RejectedExecutionException();
+			}
+
+		};
+		PriorityBackground rejecting = new PriorityBackground(rejectingPool,
+				Collections.newSetFromMap(new WeakHashMap<>()), 10, TimeUnit.SECONDS);
+		try {
+			assertTrue(rejecting.submit(new BlockTask()));
+			started.await();
+
+			// 任务已经被执行，不能被当作被拒绝的任务。
+			assertTrue(rejecting.submit(task));
+			assertTrue(task.isFinished());
+			assertEquals(Arrays.asList("order"), order);
+		} finally {
+			rejecting.shutdown();
+			rejecting.awaitTermination();
+		}
+	}
+
+	@Test
+	public void testFork() throws Exception {
+		FibTask task = new FibTask(20);
+		assertTrue(background.submit(task));
+		task.awaitFinish();
+
+		assertEquals(6765, task.result);
+		assertEquals(Arrays.asList(task), obv.submittedTasks);
+	}
+
+	@Test
+	public void testForkOutside() throws Exception {
+		ForkJoinTask<Integer> child = background.fork(() -> 1 + 1);
+		assertEquals(2, child.join().intValue());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testSubmitAfterShutdown() {
+		background.shutdown();
+		background.submit(new OrderTask("order"), Priority.HIGH);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testForkAfterShutdown() {
+		background.shutdown();
+		background.fork(() -> 1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalAgingPeriod() {
+		new PriorityBackground(new ForkJoinPool(1), Collections.newSetFromMap(new WeakHashMap<>()), 0,
+				TimeUnit.MILLISECONDS);
+	}
+
+	private int fib(int n) {
+		if (n < 2)
+			return n;
+		ForkJoinTask<Integer> f1 = background.fork(() -> fib(n - 1));
+		int f2 = fib(n - 2);
+		return f1.join() + f2;
+	}
+
+	private void submitEach(List<Task> tasks, Priority priority, CountDownLatch ready, AtomicInteger count) {
+		ready.countDown();
+		try {
+			ready.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return;
+		}
+		for (Task task : tasks) {
+			if (background.submit(task, priority))
+				count.incrementAndGet();
+		}
+	}
+
+	private final class FibTask extends AbstractTask {
+
+		private final int n;
+		private volatile int result;
+
+		public FibTask(int n) {
+			this.n = n;
+		}
+
+		@Override
+		protected void todo() throws Exception {
+			result = fib(n);
+		}
+
+	}
+
+	private final class BlockTask extends AbstractTask {
+
+		@Override
+		protected void todo() throws Exception {
+			started.countDown();
+			latch.await();
+		}
+
+	}
+
+	private final class OrderTask extends AbstractTask {
+
+		private final String name;
+
+		public OrderTask(String name) {
+			this.name = name;
+		}
+
+		@Override
+		protected void todo() throws Exception {
+			order.add(name);
+		}
+
+	}
+
+}
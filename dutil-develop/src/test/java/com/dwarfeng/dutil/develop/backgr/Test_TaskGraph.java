@@ -0,0 +1,234 @@
+package com.dwarfeng.dutil.develop.backgr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class Test_TaskGraph {
+
+	private Background background;
+	private List<String> trace;
+
+	@Before
+	public void setUp() throws Exception {
+		background = new ConcurrentBackground(Executors.newSingleThreadExecutor(),
+				Collections.newSetFromMap(new WeakHashMap<>()));
+		trace = Collections.synchronizedList(new ArrayList<>());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		background.shutdown();
+		background.awaitTermination();
+	}
+
+	@Test
+	public void testOrder() throws InterruptedException {
+		Task a = newTask("a", 0);
+		Task b = newTask("b", 0);
+		Task c = newTask("c", 0);
+		Task d = newTask("d", 0);
+
+		TaskGraph graph = new TaskGraph();
+		// 声明的顺序与执行的顺序相反，单线程的后台也不会因为等待前驱任务而死锁。
+		assertTrue(graph.addTask(d, b, c));
+		assertTrue(graph.addTask(c, a));
+		assertTrue(graph.addTask(b, a));
+		assertFalse(graph.addTask(b, a));
+		assertEquals(4, graph.tasks().size());
+
+		graph.submit(background);
+		assertTrue(graph.awaitFinish(1, TimeUnit.SECONDS));
+
+		assertEquals(4, trace.size());
+		assertEquals("a", trace.get(0));
+		assertEquals("d", trace.get(3));
+		for (Task task : Arrays.asList(a, b, c, d)) {
+			assertEquals(TaskGraph.State.FINISHED, graph.getState(task));
+		}
+	}
+
+	@Test
+	public void testDeepChain() throws InterruptedException {
+		TaskGraph graph = new TaskGraph();
+		Task previous = newTask("0", 0);
+		graph.addTask(previous);
+		for (int i = 1; i < 2000; i++) {
+			Task task = newTask(Integer.toString(i), 0);
+			graph.addTask(task, previous);
+			previous = task;
+		}
+		graph.submit(background);
+		assertTrue(graph.awaitFinish(10, TimeUnit.SECONDS));
+		assertEquals(2000, trace.size());
+		assertEquals("1999", trace.get(1999));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCycle() {
+		Task a = newTask("a", 0);
+		Task b = newTask("b", 0);
+		Task c = newTask("c", 0);
+
+		TaskGraph graph = new TaskGraph();
+		graph.addTask(b, a);
+		graph.addTask(c, b);
+		graph.addTask(a, c);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSelfCycle() {
+		Task a = newTask("a", 0);
+		new TaskGraph().addTask(a, a);
+	}
+
+	@Test
+	public void testFailure() throws InterruptedException {
+		Task a = newTask("a", 0);
+		Task b = BackgroundUtil.newTaskFromRunnable(() -> {
+			throw new IllegalStateException();
+		});
+		Task c = newTask("c", 0);
+		Task d = newTask("d", 0);
+		Task e = newTask("e", 0);
+
+		TaskGraph graph = new TaskGraph();
+		graph.addTask(b, a);
+		graph.addTask(c, b);
+		graph.addTask(d, c);
+		graph.addTask(e, a);
+
+		graph.submit(background);
+		assertTrue(graph.awaitFinish(1, TimeUnit.SECONDS));
+
+		assertEquals(TaskGraph.State.FINISHED, graph.getState(a));
+		assertEquals(TaskGraph.State.FAILED, graph.getState(b));
+		assertEquals(TaskGraph.State.CANCELLED, graph.getState(c));
+		assertEquals(TaskGraph.State.CANCELLED, graph.getState(d));
+		assertEquals(TaskGraph.State.FINISHED, graph.getState(e));
+		assertEquals(Arrays.asList("a", "e"), trace);
+	}
+
+	@Test
+	public void testCriticalPath() throws InterruptedException {
+		Task root = newTask("root", 0);
+		Task fast = newTask("fast", 10);
+		Task slow = newTask("slow", 100);
+		Task join = newTask("join", 0);
+
+		TaskGraph graph = new TaskGraph();
+		graph.addTask(join, fast, slow);
+		graph.addTask(fast, root);
+		graph.addTask(slow, root);
+
+		graph.submit(background);
+		graph.awaitFinish();
+
+		assertEquals(Arrays.asList(root, slow, join), graph.getCriticalPath());
+		assertTrue(graph.getCriticalPathNanos() >= TimeUnit.MILLISECONDS.toNanos(110));
+		assertTrue(graph.getDurationNanos(slow) >= TimeUnit.MILLISECONDS.toNanos(100));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testAddAfterSubmit() {
+		TaskGraph graph = new TaskGraph();
+		graph.submit(background);
+		graph.addTask(newTask("a", 0));
+	}
+
+	@Test
+	public void testEmpty() throws InterruptedException {
+		TaskGraph graph = new TaskGraph();
+		assertFalse(graph.isFinished());
+		graph.submit(background);
+		assertTrue(graph.awaitFinish(0, TimeUnit.MILLISECONDS));
+		assertTrue(graph.getCriticalPath().isEmpty());
+		assertEquals(-1, graph.getCriticalPathNanos());
+	}
+
+	@Test
+	public void testNotCollectedAfterSubmit() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		Task a = BackgroundUtil.newTaskFromRunnable(() -> {
+			try {
+				latch.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			trace.add("a");
+		});
+		Task b = newTask("b", 0);
+		Task c = BackgroundUtil.newTaskFromRunnable(() -> {
+			throw new IllegalStateException();
+		});
+		Task d = newTask("d", 0);
+
+		// 提交之后不再持有任务图，后继任务仍然需要被提交，失败的任务仍然需要取消其后继任务。
+		TaskGraph graph = new TaskGraph();
+		graph.addTask(b, a);
+		graph.addTask(c, a);
+		graph.addTask(d, c);
+		graph.submit(background);
+		graph = null;
+		gc();
+
+		latch.countDown();
+		long deadline = System.currentTimeMillis() + 1000;
+		while (!b.isFinished() || !c.isFinished()) {
+			assertTrue(System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+		Thread.sleep(100);
+		assertEquals(Arrays.asList("a", "b"), trace);
+		assertFalse(d.isStarted());
+	}
+
+	@Test
+	public void testCollectedAfterFinish() throws InterruptedException {
+		TaskGraph graph = new TaskGraph();
+		graph.addTask(newTask("b", 0), newTask("a", 0));
+		graph.submit(background);
+		assertTrue(graph.awaitFinish(1, TimeUnit.SECONDS));
+
+		WeakReference<TaskGraph> reference = new WeakReference<>(graph);
+		graph = null;
+		long deadline = System.currentTimeMillis() + 5000;
+		while (Objects.nonNull(reference.get()) && System.currentTimeMillis() < deadline) {
+			gc();
+		}
+		assertNull(reference.get());
+	}
+
+	private static void gc() throws InterruptedException {
+		System.gc();
+		Thread.sleep(10);
+	}
+
+	private Task newTask(String name, long sleep) {
+		return BackgroundUtil.newTaskFromRunnable(() -> {
+			try {
+				Thread.sleep(sleep);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			trace.add(name);
+		});
+	}
+
+}
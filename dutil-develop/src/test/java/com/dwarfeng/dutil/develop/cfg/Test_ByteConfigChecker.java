@@ -48,4 +48,16 @@ public class Test_ByteConfigChecker {
 
 	}
 
+	@Test
+	public void testIsValidFormat() {
+		assertTrue(checker.isValid("007"));
+		assertTrue(checker.isValid("-0"));
+		assertFalse(checker.isValid(""));
+		assertFalse(checker.isValid("-"));
+		assertFalse(checker.isValid("--1"));
+		assertFalse(checker.isValid("+1"));
+		assertFalse(checker.isValid("1-"));
+		assertFalse(checker.isValid("99999999999999999999"));
+	}
+
 }
@@ -13,9 +13,12 @@ import org.junit.Before;
 import org.junit.Test;
 
 import com.dwarfeng.dutil.develop.cfg.checker.BooleanConfigChecker;
+import com.dwarfeng.dutil.develop.cfg.checker.IntegerConfigChecker;
 import com.dwarfeng.dutil.develop.cfg.obv.ExconfigObverser;
 import com.dwarfeng.dutil.develop.cfg.parser.BooleanValueParser;
+import com.dwarfeng.dutil.develop.cfg.parser.IntegerValueParser;
 import com.dwarfeng.dutil.develop.cfg.struct.ConfigChecker;
+import com.dwarfeng.dutil.develop.cfg.struct.ExconfigEntry;
 import com.dwarfeng.dutil.develop.cfg.struct.ValueParser;
 
 public class Test_DefaultExconfigModel {
@@ -455,4 +458,95 @@ public class Test_DefaultExconfigModel {
 		assertEquals(4, obv2.added);
 	}
 
+	@Test
+	public final void testTypedGetters() {
+		model.addAll(Arrays.asList(TestExconfigEntries.values()));
+		assertEquals(12450, model.getInt(TestExconfigEntries.SUCC_0.getConfigKey()));
+		assertEquals(12450L, model.getLong(TestExconfigEntries.SUCC_0.getConfigKey()));
+		assertEquals(12450.0f, model.getFloat(TestExconfigEntries.SUCC_0.getConfigKey()), 0.0f);
+		assertEquals(12450.0, model.getDouble(TestExconfigEntries.SUCC_0.getConfigKey()), 0.0);
+		assertEquals(false, model.getBoolean(TestExconfigEntries.SUCC_1.getConfigKey()));
+		// 非法的当前值回退到默认值。
+		assertEquals(0, model.getInt(TestExconfigEntries.SUCC_2.getConfigKey()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public final void testTypedGetterMissingKey() {
+		model.getInt(TestExconfigEntries.SUCC_0.getConfigKey());
+	}
+
+	@Test(expected = ClassCastException.class)
+	public final void testTypedGetterWrongType() {
+		model.addAll(Arrays.asList(TestExconfigEntries.values()));
+		model.getInt(TestExconfigEntries.SUCC_1.getConfigKey());
+	}
+
+	@Test
+	public final void testParsedValueCache() {
+		int[] parseCount = new int[] { 0 };
+		ValueParser countingParser = new ValueParser() {
+
+			private final ValueParser delegate = new IntegerValueParser();
+
+			@Override
+			public Object parseValue(String value) {
+				parseCount[0]++;
+				return delegate.parseValue(value);
+			}
+
+			@Override
+			public String parseObject(Object object) {
+				return delegate.parseObject(object);
+			}
+
+		};
+		ConfigKey configKey = TestExconfigEntries.SUCC_0.getConfigKey();
+		ConfigFirmProps configFirmProps = new DefaultConfigFirmProps(new IntegerConfigChecker(0, 100), "0");
+		model.add(new ExconfigEntry() {
+
+			@Override
+			public ConfigKey getConfigKey() {
+				return configKey;
+			}
+
+			@Override
+			public ConfigFirmProps getConfigFirmProps() {
+				return configFirmProps;
+			}
+
+			@Override
+			public ValueParser getValueParser() {
+				return countingParser;
+			}
+
+			@Override
+			public String getCurrentValue() {
+				return "12";
+			}
+
+		});
+
+		for (int i = 0; i < 10; i++) {
+			assertEquals(12, model.getInt(configKey));
+			assertEquals(12, model.getParsedValue(configKey));
+			assertEquals("12", model.getValidValue(configKey));
+		}
+		assertEquals(1, parseCount[0]);
+
+		model.setCurrentValue(configKey, "13");
+		assertEquals(13, model.getInt(configKey));
+		assertEquals(2, parseCount[0]);
+
+		model.setCurrentValue(configKey, "200");
+		assertEquals("0", model.getValidValue(configKey));
+		assertEquals(0, model.getInt(configKey));
+
+		model.setConfigFirmProps(configKey, new DefaultConfigFirmProps(new IntegerConfigChecker(0, 1000), "0"));
+		assertEquals("200", model.getValidValue(configKey));
+		assertEquals(200, model.getInt(configKey));
+
+		model.setValueParser(configKey, new BooleanValueParser());
+		assertEquals(false, model.getParsedValue(configKey));
+	}
+
 }
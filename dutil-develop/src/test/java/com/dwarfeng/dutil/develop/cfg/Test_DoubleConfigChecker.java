@@ -3,6 +3,8 @@ package com.dwarfeng.dutil.develop.cfg;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -87,4 +89,43 @@ public class Test_DoubleConfigChecker {
 		assertTrue(checker1.isValid("+100.00"));
 	}
 
+	@Test
+	public final void testParseConsistency() {
+		assertTrue(new DoubleConfigChecker(0.1, 0.1).isValid("0.1"));
+		assertTrue(new DoubleConfigChecker(0.1, 0.1).isValid("0.10000000000000001"));
+		assertFalse(new DoubleConfigChecker(0.1, 0.1).isValid("0.1000000000000001"));
+		assertTrue(new DoubleConfigChecker(Math.PI, Math.PI).isValid("3.14159265358979323846"));
+		assertTrue(new DoubleConfigChecker(-0.0, -0.0).isValid("-0"));
+		assertFalse(checker0.isValid(""));
+		assertFalse(checker0.isValid("-"));
+		assertFalse(checker0.isValid("1e5"));
+
+		// 解析结果应与 Double.parseDouble 完全一致。
+		Random random = new Random(12450);
+		for (int i = 0; i < 10000; i++) {
+			String value = randomDecimal(random);
+			double d = Double.parseDouble(value);
+			assertTrue(value, new DoubleConfigChecker(d, d).isValid(value));
+		}
+	}
+
+	static String randomDecimal(Random random) {
+		StringBuilder sb = new StringBuilder();
+		if (random.nextBoolean()) {
+			sb.append(random.nextBoolean() ? '-' : '+');
+		}
+		int integerDigits = random.nextInt(10);
+		int fractionDigits = integerDigits == 0 ? 1 + random.nextInt(20) : random.nextInt(20);
+		for (int i = 0; i < integerDigits; i++) {
+			sb.append((char) ('0' + random.nextInt(10)));
+		}
+		if (fractionDigits > 0) {
+			sb.append('.');
+			for (int i = 0; i < fractionDigits; i++) {
+				sb.append((char) ('0' + random.nextInt(10)));
+			}
+		}
+		return sb.toString();
+	}
+
 }
@@ -3,6 +3,8 @@ package com.dwarfeng.dutil.develop.cfg;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Random;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -86,4 +88,22 @@ public class Test_FloatConfigChecker {
 		assertTrue(checker1.isValid("-100"));
 		assertTrue(checker1.isValid("+100.00"));
 	}
+
+	@Test
+	public final void testParseConsistency() {
+		assertTrue(new FloatConfigChecker(0.1f, 0.1f).isValid("0.1"));
+		assertTrue(new FloatConfigChecker(0.1f, 0.1f).isValid("0.100000001"));
+		assertFalse(new FloatConfigChecker(0.1f, 0.1f).isValid("0.1000001"));
+		assertFalse(checker0.isValid(""));
+		assertFalse(checker0.isValid("1e5"));
+
+		// 解析结果应与 Float.parseFloat 完全一致。
+		Random random = new Random(12450);
+		for (int i = 0; i < 10000; i++) {
+			String value = Test_DoubleConfigChecker.randomDecimal(random);
+			float f = Float.parseFloat(value);
+			assertTrue(value, new FloatConfigChecker(f, f).isValid(value));
+		}
+	}
+
 }
@@ -0,0 +1,45 @@
+package com.dwarfeng.dutil.develop.cfg;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.cfg.checker.IntegerConfigChecker;
+import com.dwarfeng.dutil.develop.cfg.checker.LongConfigChecker;
+import com.dwarfeng.dutil.develop.cfg.checker.ShortConfigChecker;
+
+public class Test_LongConfigChecker {
+
+	@Test
+	public void testBoundary() {
+		LongConfigChecker checker = new LongConfigChecker();
+		assertTrue(checker.isValid(Long.toString(Long.MAX_VALUE)));
+		assertTrue(checker.isValid(Long.toString(Long.MIN_VALUE)));
+		assertFalse(checker.isValid("9223372036854775808"));
+		assertFalse(checker.isValid("-9223372036854775809"));
+		assertFalse(checker.isValid("92233720368547758070"));
+		assertFalse(checker.isValid(null));
+		assertFalse(checker.isValid(""));
+		assertFalse(checker.isValid("--1"));
+		assertFalse(checker.isValid("1.0"));
+	}
+
+	@Test
+	public void testRange() {
+		LongConfigChecker checker = new LongConfigChecker(-100, 100);
+		assertTrue(checker.isValid("-100"));
+		assertTrue(checker.isValid("100"));
+		assertFalse(checker.isValid("101"));
+		assertFalse(checker.isValid("-101"));
+
+		IntegerConfigChecker integerChecker = new IntegerConfigChecker();
+		assertTrue(integerChecker.isValid(Integer.toString(Integer.MIN_VALUE)));
+		assertFalse(integerChecker.isValid(Long.toString(Integer.MAX_VALUE + 1L)));
+
+		ShortConfigChecker shortChecker = new ShortConfigChecker();
+		assertTrue(shortChecker.isValid("32767"));
+		assertFalse(shortChecker.isValid("32768"));
+	}
+
+}
@@ -0,0 +1,273 @@
+package com.dwarfeng.dutil.develop.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.cfg.io.PropConfigLoader;
+import com.dwarfeng.dutil.develop.cfg.obv.ExconfigAdapter;
+import com.dwarfeng.dutil.develop.cfg.obv.ExconfigObverser;
+import com.dwarfeng.dutil.develop.cfg.parser.BooleanValueParser;
+import com.dwarfeng.dutil.develop.cfg.struct.ValueParser;
+
+public class Test_SnapshotExconfigModel {
+
+	private final class Obv extends ExconfigAdapter {
+
+		public final List<ConfigKey> currentValueChangedList = new ArrayList<>();
+		public final List<ConfigKey> removedList = new ArrayList<>();
+		public final List<ConfigKey> addedList = new ArrayList<>();
+		public int clearedCount = 0;
+
+		@Override
+		public void fireCurrentValueChanged(ConfigKey configKey, String oldValue, String newValue, String validValue) {
+			currentValueChangedList.add(configKey);
+		}
+
+		@Override
+		public void fireConfigKeyCleared() {
+			clearedCount++;
+		}
+
+		@Override
+		public void fireConfigKeyRemoved(ConfigKey configKey, ConfigFirmProps configFirmProps, ValueParser valueParser,
+				String currentValue) {
+			removedList.add(configKey);
+		}
+
+		@Override
+		public void fireConfigKeyAdded(ConfigKey configKey, ConfigFirmProps configFirmProps, ValueParser valueParser,
+				String currentValue) {
+			addedList.add(configKey);
+		}
+
+	}
+
+	private final class BatchObv extends ExconfigAdapter {
+
+		public final List<Map<ConfigKey, String>> batches = new ArrayList<>();
+		public int singleCount = 0;
+
+		@Override
+		public void fireCurrentValueChanged(ConfigKey configKey, String oldValue, String newValue, String validValue) {
+			singleCount++;
+		}
+
+		@Override
+		public void fireCurrentValuesChanged(Map<ConfigKey, String> oldValues, Map<ConfigKey, String> newValues,
+				Map<ConfigKey, String> validValues) {
+			batches.add(new LinkedHashMap<>(validValues));
+		}
+
+	}
+
+	private static final ConfigKey SUCC_0 = TestExconfigEntries.SUCC_0.getConfigKey();
+	private static final ConfigKey SUCC_1 = TestExconfigEntries.SUCC_1.getConfigKey();
+	private static final ConfigKey SUCC_2 = TestExconfigEntries.SUCC_2.getConfigKey();
+	private static final ConfigKey SUCC_3 = TestExconfigEntries.SUCC_3.getConfigKey();
+
+	private final Obv obv = new Obv();
+	private final BatchObv batchObv = new BatchObv();
+
+	private SnapshotExconfigModel model;
+
+	@Before
+	public void setUp() throws Exception {
+		model = new SnapshotExconfigModel(Arrays.asList(TestExconfigEntries.values()));
+		obv.currentValueChangedList.clear();
+		obv.removedList.clear();
+		obv.addedList.clear();
+		obv.clearedCount = 0;
+		batchObv.batches.clear();
+		batchObv.singleCount = 0;
+		model.addObverser(obv);
+		model.addObverser(batchObv);
+	}
+
+	@Test
+	public void testRead() {
+		assertEquals(4, model.size());
+		assertTrue(model.containsKey(SUCC_0));
+		assertFalse(model.containsKey(new ConfigKey("test.fail.2")));
+		assertEquals("12450", model.getCurrentValue(SUCC_0));
+		assertEquals("12450", model.getValidValue(SUCC_0));
+		assertEquals(12450, model.getParsedValue(SUCC_0));
+		assertEquals((Boolean) false, model.getParsedValue(SUCC_1, Boolean.class));
+		// 非法的当前值回退到默认值。
+		assertEquals("NAN", model.getCurrentValue(SUCC_2));
+		assertEquals("0", model.getValidValue(SUCC_2));
+		assertEquals(0, model.getParsedValue(SUCC_2));
+		assertTrue(model.isValueValid(SUCC_2, "12"));
+		assertFalse(model.isValueValid(SUCC_2, "NAN"));
+		assertNull(model.getCurrentValue(null));
+		assertNull(model.getParsedValue(new ConfigKey("test.fail.2")));
+	}
+
+	@Test
+	public void testSetCurrentValue() {
+		assertTrue(model.setCurrentValue(SUCC_2, "233"));
+		assertFalse(model.setCurrentValue(SUCC_2, "233"));
+		assertFalse(model.setCurrentValue(SUCC_2, null));
+		assertFalse(model.setCurrentValue(new ConfigKey("test.fail.2"), "233"));
+		assertEquals(233, model.getParsedValue(SUCC_2));
+		assertEquals(Arrays.asList(SUCC_2), obv.currentValueChangedList);
+		assertEquals(0, batchObv.batches.size());
+
+		assertTrue(model.setParsedValue(SUCC_2, 450));
+		assertEquals("450", model.getCurrentValue(SUCC_2));
+		assertTrue(model.resetCurrentValue(SUCC_2));
+		assertEquals("0", model.getCurrentValue(SUCC_2));
+	}
+
+	@Test
+	public void testSetAllCurrentValue() {
+		Map<ConfigKey, String> map = new LinkedHashMap<>();
+		map.put(SUCC_0, "12450");
+		map.put(SUCC_2, "1");
+		map.put(SUCC_3, "2");
+		map.put(new ConfigKey("test.fail.2"), "3");
+		assertTrue(model.setAllCurrentValue(map));
+		assertFalse(model.setAllCurrentValue(map));
+
+		assertEquals(1, batchObv.batches.size());
+		assertEquals(Arrays.asList(SUCC_2, SUCC_3), new ArrayList<>(batchObv.batches.get(0).keySet()));
+		assertEquals("1", batchObv.batches.get(0).get(SUCC_2));
+		assertEquals(0, batchObv.singleCount);
+		// 没有覆盖批量方法的观察器逐个收到通知。
+		assertEquals(Arrays.asList(SUCC_2, SUCC_3), obv.currentValueChangedList);
+
+		assertEquals(1, model.getParsedValue(SUCC_2));
+		assertEquals(2, model.getParsedValue(SUCC_3));
+	}
+
+	@Test
+	public void testResetAllCurrentValue() {
+		assertTrue(model.resetAllCurrentValue());
+		assertEquals(1, batchObv.batches.size());
+		assertEquals("0", model.getCurrentValue(SUCC_0));
+		assertEquals("true", model.getCurrentValue(SUCC_1));
+		assertFalse(model.resetAllCurrentValue());
+	}
+
+	@Test
+	public void testReloadFromLoader() throws Exception {
+		String properties = "test.succ.0=1\ntest.succ.1=true\ntest.unknown=3\n";
+		PropConfigLoader loader = new PropConfigLoader(
+				new ByteArrayInputStream(properties.getBytes(StandardCharsets.ISO_8859_1)));
+		try {
+			loader.load(model);
+		} finally {
+			loader.close();
+		}
+
+		assertEquals(1, batchObv.batches.size());
+		assertEquals(1, model.getParsedValue(SUCC_0));
+		assertEquals(true, model.getParsedValue(SUCC_1));
+	}
+
+	@Test
+	public void testSnapshotViews() {
+		Set<ConfigKey> keySet = model.keySet();
+		Map<ConfigKey, String> currentValues = model.getAllCurrentValue();
+		model.setCurrentValue(SUCC_0, "1");
+		model.remove(SUCC_1);
+
+		assertEquals(4, keySet.size());
+		assertEquals("12450", currentValues.get(SUCC_0));
+		assertEquals(3, model.keySet().size());
+		assertEquals("1", model.getAllCurrentValue().get(SUCC_0));
+	}
+
+	@Test
+	public void testAddAndRemove() {
+		assertFalse(model.add(TestExconfigEntries.SUCC_0));
+		assertFalse(model.add(TestExconfigEntries.FAIL_2));
+		assertTrue(model.remove(SUCC_0));
+		assertFalse(model.remove(SUCC_0));
+		assertTrue(model.add(TestExconfigEntries.SUCC_0));
+		assertEquals(Arrays.asList(SUCC_0), obv.addedList);
+		assertEquals(Arrays.asList(SUCC_0), obv.removedList);
+
+		assertTrue(model.retainAll(Arrays.asList(SUCC_0, SUCC_1)));
+		assertEquals(2, model.size());
+		assertTrue(model.removeAll(Arrays.asList(SUCC_0)));
+		assertEquals(1, model.size());
+		assertEquals(Arrays.asList(SUCC_0, SUCC_2, SUCC_3, SUCC_0), obv.removedList);
+
+		model.clear();
+		assertTrue(model.isEmpty());
+		assertEquals(1, obv.clearedCount);
+	}
+
+	@Test
+	public void testSetValueParserAndConfigFirmProps() {
+		assertTrue(model.setValueParser(SUCC_0, new BooleanValueParser()));
+		assertEquals(false, model.getParsedValue(SUCC_0));
+
+		assertTrue(model.setConfigFirmProps(SUCC_2,
+				new DefaultConfigFirmProps(TestExconfigEntries.SUCC_1.getConfigFirmProps().getConfigChecker(), "true")));
+		assertEquals("true", model.getValidValue(SUCC_2));
+		assertFalse(model.setConfigFirmProps(SUCC_2, null));
+	}
+
+	@Test
+	public void testConcurrentReload() throws Exception {
+		// 两个配置键总是被同时修改，读取者在同一个快照中不应该看到不同的值。
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger inconsistentCount = new AtomicInteger(0);
+		List<Thread> readers = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Thread reader = new Thread(() -> {
+				while (running.get()) {
+					Map<ConfigKey, String> currentValues = model.getAllCurrentValue();
+					if (!currentValues.get(SUCC_2).equals(currentValues.get(SUCC_3))) {
+						inconsistentCount.incrementAndGet();
+					}
+				}
+			});
+			readers.add(reader);
+			reader.start();
+		}
+
+		for (int i = 0; i < 2000; i++) {
+			Map<ConfigKey, String> map = new LinkedHashMap<>();
+			map.put(SUCC_2, Integer.toString(i));
+			map.put(SUCC_3, Integer.toString(i));
+			model.setAllCurrentValue(map);
+		}
+		running.set(false);
+		for (Thread reader : readers) {
+			reader.join();
+		}
+
+		assertEquals(0, inconsistentCount.get());
+		assertEquals(1999, model.getParsedValue(SUCC_3));
+	}
+
+	@Test
+	public void testObversers() {
+		ExconfigObverser another = new ExconfigAdapter() {
+		};
+		assertTrue(model.addObverser(another));
+		assertEquals(3, model.getObversers().size());
+		assertTrue(model.removeObverser(another));
+		model.clearObverser();
+		assertTrue(model.getObversers().isEmpty());
+	}
+
+}
@@ -0,0 +1,221 @@
+package com.dwarfeng.dutil.develop.cfg.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.basic.io.LoadFailedException;
+import com.dwarfeng.dutil.develop.cfg.ExconfigModel;
+import com.dwarfeng.dutil.develop.cfg.SnapshotExconfigModel;
+import com.dwarfeng.dutil.develop.cfg.TestExconfigEntries;
+import com.dwarfeng.dutil.develop.setting.DefaultSettingHandler;
+import com.dwarfeng.dutil.develop.setting.SettingHandler;
+import com.dwarfeng.dutil.develop.setting.info.IntegerSettingInfo;
+
+public class Test_PropReloadWatcher {
+
+	private static final long TIMEOUT = 10000;
+
+	private File dir;
+	private File settingFile;
+	private File configFile;
+	private SettingHandler handler;
+	private ExconfigModel model;
+	private PropReloadWatcher watcher;
+
+	@Before
+	public void setUp() throws Exception {
+		dir = Files.createTempDirectory("reload").toFile();
+		settingFile = new File(dir, "setting.properties");
+		configFile = new File(dir, "config.properties");
+		handler = new DefaultSettingHandler();
+		for (int i = 1; i <= 3; i++) {
+			handler.put("entry." + i, new IntegerSettingInfo("0"), "0");
+		}
+		model = new SnapshotExconfigModel(Arrays.asList(TestExconfigEntries.values()));
+		watcher = new PropReloadWatcher(50, TimeUnit.MILLISECONDS);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		watcher.close();
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+
+	@Test
+	public void testInitialLoad() throws Exception {
+		write(settingFile, "entry.1", "1", "entry.2", "2");
+		assertTrue(watcher.watch(settingFile, handler));
+		assertFalse(watcher.watch(settingFile, handler));
+		assertEquals("1", handler.getCurrentValue("entry.1"));
+		assertEquals("2", handler.getCurrentValue("entry.2"));
+
+		// 不存在的文件被视为空文件。
+		assertTrue(watcher.watch(configFile, model));
+		assertEquals("12450", model.getCurrentValue(TestExconfigEntries.SUCC_0.getConfigKey()));
+		assertEquals(2, watcher.getWatchedFiles().size());
+	}
+
+	@Test
+	public void testReloadOnModify() throws Exception {
+		write(settingFile, "entry.1", "1");
+		watcher.watch(settingFile, handler);
+		write(settingFile, "entry.1", "10");
+		await(() -> "10".equals(handler.getCurrentValue("entry.1")));
+		await(() -> watcher.getMetrics().getReloadCount() == 1);
+		assertEquals(1, watcher.getMetrics().getLatency().getCount());
+		assertTrue(watcher.getMetrics().getLatency().getMin() >= TimeUnit.MILLISECONDS.toNanos(50));
+	}
+
+	@Test
+	public void testReloadOnCreate() throws Exception {
+		watcher.watch(configFile, model);
+		write(configFile, "test.succ.0", "233");
+		await(() -> "233".equals(model.getCurrentValue(TestExconfigEntries.SUCC_0.getConfigKey())));
+	}
+
+	@Test
+	public void testAtomicRename() throws Exception {
+		write(settingFile, "entry.1", "1");
+		watcher.watch(settingFile, handler);
+
+		File tempFile = new File(dir, "setting.properties.tmp");
+		write(tempFile, "entry.1", "100");
+		Files.move(tempFile.toPath(), settingFile.toPath(), StandardCopyOption.ATOMIC_MOVE,
+				StandardCopyOption.REPLACE_EXISTING);
+		await(() -> "100".equals(handler.getCurrentValue("entry.1")));
+	}
+
+	@Test
+	public void testOnlyChangedValuesPushed() throws Exception {
+		write(settingFile, "entry.1", "1", "entry.2", "2");
+		watcher.watch(settingFile, handler);
+
+		// 程序中修改的值在文件中没有变化，不应被覆盖。
+		handler.setCurrentValue("entry.1", "99");
+		write(settingFile, "entry.1", "1", "entry.2", "20");
+		await(() -> "20".equals(handler.getCurrentValue("entry.2")));
+		assertEquals("99", handler.getCurrentValue("entry.1"));
+	}
+
+	@Test
+	public void testDebounce() throws Exception {
+		write(settingFile, "entry.1", "1");
+		watcher.close();
+		watcher = new PropReloadWatcher(500, TimeUnit.MILLISECONDS);
+		watcher.watch(settingFile, handler);
+
+		for (int i = 0; i < 10; i++) {
+			write(settingFile, "entry.1", Integer.toString(i + 10));
+		}
+		await(() -> "19".equals(handler.getCurrentValue("entry.1")));
+		PropReloadWatcher.Metrics metrics = watcher.getMetrics();
+		assertTrue(metrics.getReloadCount() + metrics.getUnchangedCount() < 10);
+	}
+
+	@Test
+	public void testUnwatch() throws Exception {
+		write(settingFile, "entry.1", "1");
+		watcher.watch(settingFile, handler);
+		assertTrue(watcher.unwatch(settingFile));
+		assertFalse(watcher.unwatch(settingFile));
+
+		write(settingFile, "entry.1", "2");
+		Thread.sleep(300);
+		assertEquals("1", handler.getCurrentValue("entry.1"));
+		assertTrue(watcher.getWatchedFiles().isEmpty());
+	}
+
+	@Test
+	public void testInitialLoadFailed() throws Exception {
+		// 目录无法作为属性文件读取。
+		assertTrue(settingFile.mkdir());
+		try {
+			watcher.watch(settingFile, handler);
+			fail("没有抛出异常。");
+		} catch (LoadFailedException e) {
+		}
+		assertTrue(watcher.getWatchedFiles().isEmpty());
+
+		assertTrue(settingFile.delete());
+		write(settingFile, "entry.1", "1");
+		assertTrue(watcher.watch(settingFile, handler));
+		assertEquals("1", handler.getCurrentValue("entry.1"));
+	}
+
+	@Test
+	public void testModifyDuringInitialLoad() throws Exception {
+		write(settingFile, "entry.1", "1");
+		SettingHandler modifyingHandler = new DefaultSettingHandler() {
+
+			private boolean modified = false;
+
+			@Override
+			public boolean setAllCurrentValue(Map<String, String> map) {
+				// 初次读取期间文件被修改，该修改不应该被遗漏。
+				if (!modified) {
+					modified = true;
+					try {
+						write(settingFile, "entry.1", "2");
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+				return super.setAllCurrentValue(map);
+			}
+
+		};
+		modifyingHandler.put("entry.1", new IntegerSettingInfo("0"), "0");
+		watcher.watch(settingFile, modifyingHandler);
+		await(() -> "2".equals(modifyingHandler.getCurrentValue("entry.1")));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testWatchAfterClose() throws Exception {
+		watcher.close();
+		watcher.watch(settingFile, handler);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalDebounceDelay() throws Exception {
+		new PropReloadWatcher(-1, TimeUnit.MILLISECONDS);
+	}
+
+	private static void write(File file, String... keyValues) throws Exception {
+		Properties properties = new Properties();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			properties.setProperty(keyValues[i], keyValues[i + 1]);
+		}
+		try (OutputStream out = new FileOutputStream(file)) {
+			properties.store(out, null);
+		}
+	}
+
+	private static void await(BooleanSupplier condition) throws Exception {
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			assertTrue("等待超时。", System.currentTimeMillis() < deadline);
+			Thread.sleep(10);
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.reuse.BoundedReusePool.EvictionPolicy;
+import com.dwarfeng.dutil.develop.reuse.condition.CountCondition;
+
+public class Test_BoundedReusePool {
+
+	private List<String> evictedElements = null;
+
+	@Before
+	public void setUp() throws Exception {
+		evictedElements = new ArrayList<>();
+	}
+
+	@Test
+	public void testLru() {
+		BoundedReusePool<String> pool = newPool(3, EvictionPolicy.LRU);
+		assertTrue(pool.put("A", new CountCondition(1)));
+		assertTrue(pool.put("B", new CountCondition(1)));
+		assertTrue(pool.put("C", new CountCondition(1)));
+		assertFalse(pool.put("C", new CountCondition(1)));
+		assertTrue(pool.contains("A"));
+		assertTrue(pool.put("D", new CountCondition(1)));
+
+		assertEquals(3, pool.size());
+		assertFalse(pool.contains("B"));
+		assertEquals(Arrays.asList("B"), evictedElements);
+
+		BoundedReusePool.Stats stats = pool.stats();
+		assertEquals(1, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(1, stats.getEvictionCount());
+		assertEquals(0.5, stats.getHitRate(), 0.0);
+	}
+
+	@Test
+	public void testLfu() {
+		BoundedReusePool<String> pool = newPool(3, EvictionPolicy.LFU);
+		pool.put("A", new CountCondition(1));
+		pool.put("B", new CountCondition(1));
+		pool.put("C", new CountCondition(1));
+		pool.getCondition("A");
+		pool.getCondition("A");
+		pool.getCondition("B");
+		pool.put("D", new CountCondition(1));
+		assertEquals(Arrays.asList("C"), evictedElements);
+
+		// 刚刚添加的元素不会被驱逐，访问次数相同时驱逐较早访问的元素。
+		pool.put("E", new CountCondition(1));
+		assertEquals(Arrays.asList("C", "D"), evictedElements);
+		assertTrue(pool.containsAll(Arrays.asList("A", "B", "E")));
+	}
+
+	@Test
+	public void testTinyLfu() {
+		BoundedReusePool<String> tinyLfuPool = newPool(100, EvictionPolicy.TINY_LFU);
+		BoundedReusePool<String> lruPool = newPool(100, EvictionPolicy.LRU);
+		for (BoundedReusePool<String> pool : Arrays.asList(tinyLfuPool, lruPool)) {
+			for (int i = 0; i < 100; i++) {
+				pool.put("hot-" + i, new CountCondition(1));
+			}
+			for (int j = 0; j < 5; j++) {
+				for (int i = 0; i < 100; i++) {
+					pool.contains("hot-" + i);
+				}
+			}
+			// 一次性的扫描不应该冲掉经常被访问的元素。
+			for (int i = 0; i < 1000; i++) {
+				pool.put("cold-" + i, new CountCondition(1));
+			}
+			assertEquals(100, pool.size());
+		}
+
+		assertTrue(countHot(tinyLfuPool) >= 90);
+		assertEquals(0, countHot(lruPool));
+		assertEquals(1000, tinyLfuPool.stats().getEvictionCount());
+	}
+
+	@Test
+	public void testWeigher() {
+		BoundedReusePool<String> pool = new BoundedReusePool<>(10, (element, condition) -> element.length(),
+				EvictionPolicy.LRU, (element, condition) -> evictedElements.add(element));
+		assertTrue(pool.put("aaaa", new CountCondition(1)));
+		assertTrue(pool.put("bbbb", new CountCondition(1)));
+		assertTrue(pool.put("cc", new CountCondition(1)));
+		assertEquals(10, pool.getWeight());
+
+		assertTrue(pool.put("d", new CountCondition(1)));
+		assertEquals(7, pool.getWeight());
+		assertEquals(Arrays.asList("aaaa"), evictedElements);
+		assertEquals(4, pool.stats().getEvictionWeight());
+
+		assertFalse(pool.put("eeeeeeeeeee", new CountCondition(1)));
+		assertEquals(3, pool.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeWeight() {
+		BoundedReusePool<String> pool = new BoundedReusePool<>(10, (element, condition) -> -1, EvictionPolicy.LRU,
+				(element, condition) -> {
+				});
+		pool.put("A", new CountCondition(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalMaximumWeight() {
+		new BoundedReusePool<String>(0);
+	}
+
+	@Test
+	public void testCondition() {
+		for (EvictionPolicy policy : EvictionPolicy.values()) {
+			BoundedReusePool<String> pool = newPool(10, policy);
+			pool.put("A", new CountCondition(1));
+			pool.put("B", new CountCondition(2));
+			pool.put("C", new CountCondition(3));
+
+			Collection<String> removed = pool.batchOperator().updateRemain(CountCondition.UpdatePolicy.INCREASE)
+					.removeUnsatisfyElements();
+			assertEquals(Arrays.asList("A"), new ArrayList<>(removed));
+			assertEquals(2, pool.size());
+			assertEquals(2, pool.getWeight());
+			assertNull(pool.getCondition("A"));
+			assertTrue(evictedElements.isEmpty());
+		}
+	}
+
+	@Test
+	public void testRemove() {
+		for (EvictionPolicy policy : EvictionPolicy.values()) {
+			BoundedReusePool<String> pool = newPool(3, policy);
+			pool.put("A", new CountCondition(1));
+			pool.put("B", new CountCondition(1));
+			pool.put("C", new CountCondition(1));
+
+			assertTrue(pool.remove("B"));
+			assertFalse(pool.remove("B"));
+			Iterator<String> iterator = pool.iterator();
+			iterator.next();
+			iterator.remove();
+			assertEquals(1, pool.size());
+			assertTrue(pool.retainAll(Arrays.asList("X")));
+			assertTrue(pool.isEmpty());
+			assertEquals(0, pool.getWeight());
+
+			pool.put("D", new CountCondition(1));
+			pool.put("E", new CountCondition(1));
+			assertTrue(pool.removeAll(Arrays.asList("D", "X")));
+			pool.clear();
+			assertTrue(pool.isEmpty());
+			assertTrue(evictedElements.isEmpty());
+		}
+	}
+
+	private BoundedReusePool<String> newPool(long maximumSize, EvictionPolicy policy) {
+		return new BoundedReusePool<>(maximumSize, (element, condition) -> 1, policy,
+				(element, condition) -> evictedElements.add(element));
+	}
+
+	private int countHot(BoundedReusePool<String> pool) {
+		int count = 0;
+		for (String element : pool) {
+			if (element.startsWith("hot-")) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,237 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.basic.prog.ProcessException;
+
+public class Test_ConcurrentObjectPool {
+
+	private TestFactory factory = null;
+
+	@Before
+	public void setUp() throws Exception {
+		factory = new TestFactory();
+	}
+
+	@Test
+	public void testBorrowAndRelease() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 4);
+		ByteBuffer buffer_1 = pool.borrow();
+		ByteBuffer buffer_2 = pool.borrow();
+		// 内容相同的缓冲区按照引用区分。
+		assertEquals(buffer_1, buffer_2);
+		assertNotSame(buffer_1, buffer_2);
+		assertEquals(2, pool.getBorrowedCount());
+		assertEquals(2, pool.getSize());
+
+		assertTrue(pool.release(buffer_1));
+		assertFalse(pool.release(buffer_1));
+		assertFalse(pool.release(ByteBuffer.allocate(4)));
+		assertFalse(pool.release(null));
+		assertEquals(1, pool.getIdleCount());
+		assertEquals(1, pool.getBorrowedCount());
+
+		assertSame(buffer_1, pool.borrow());
+		assertEquals(2, factory.createdCount.get());
+	}
+
+	@Test
+	public void testMaximumSize() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 2);
+		ByteBuffer buffer_1 = pool.borrow();
+		assertNotNull(pool.tryBorrow());
+		assertNull(pool.tryBorrow());
+		assertNull(pool.borrow(20, TimeUnit.MILLISECONDS));
+
+		CountDownLatch latch = new CountDownLatch(1);
+		List<ByteBuffer> borrowed = new ArrayList<>();
+		Thread thread = new Thread(() -> {
+			try {
+				borrowed.add(pool.borrow());
+			} catch (Exception e) {
+				e.printStackTrace();
+			} finally {
+				latch.countDown();
+			}
+		});
+		thread.start();
+		assertFalse(latch.await(50, TimeUnit.MILLISECONDS));
+
+		pool.release(buffer_1);
+		assertTrue(latch.await(1, TimeUnit.SECONDS));
+		assertSame(buffer_1, borrowed.get(0));
+		assertEquals(2, pool.getSize());
+	}
+
+	@Test
+	public void testValidate() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 2);
+		ByteBuffer buffer = pool.borrow();
+		pool.release(buffer);
+		// 被标记为无效的缓冲区在借出时被销毁。
+		buffer.put(0, (byte) 1);
+
+		ByteBuffer another = pool.borrow();
+		assertNotSame(buffer, another);
+		assertEquals(1, factory.destroyedCount.get());
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test
+	public void testInvalidate() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 1);
+		ByteBuffer buffer = pool.borrow();
+		assertTrue(pool.invalidate(buffer));
+		assertFalse(pool.invalidate(buffer));
+		assertFalse(pool.release(buffer));
+		assertEquals(0, pool.getSize());
+		assertEquals(1, factory.destroyedCount.get());
+
+		assertNotSame(buffer, pool.tryBorrow());
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 4);
+		ByteBuffer buffer_1 = pool.borrow();
+		ByteBuffer buffer_2 = pool.borrow();
+		pool.release(buffer_1);
+		pool.clear();
+
+		assertEquals(0, pool.getIdleCount());
+		assertEquals(1, pool.getSize());
+		assertEquals(1, factory.destroyedCount.get());
+		assertTrue(pool.release(buffer_2));
+	}
+
+	@Test
+	public void testCreateFailed() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 1);
+		factory.failFlag = true;
+		try {
+			pool.borrow();
+			fail("没有抛出异常。");
+		} catch (ProcessException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+
+		// 创建失败时许可与计数均被归还。
+		factory.failFlag = false;
+		assertNotNull(pool.tryBorrow());
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test
+	public void testConcurrentBorrow() throws Exception {
+		int maximumSize = 4;
+		ConcurrentObjectPool<AtomicBoolean> pool = new ConcurrentObjectPool<>(() -> new AtomicBoolean(false),
+				maximumSize);
+		AtomicInteger conflictCount = new AtomicInteger(0);
+		List<Thread> threads = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				try {
+					for (int j = 0; j < 2000; j++) {
+						AtomicBoolean inUse = pool.borrow();
+						if (!inUse.compareAndSet(false, true)) {
+							conflictCount.incrementAndGet();
+						}
+						inUse.set(false);
+						pool.release(inUse);
+					}
+				} catch (Exception e) {
+					conflictCount.incrementAndGet();
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(0, conflictCount.get());
+		assertTrue(pool.getSize() <= maximumSize);
+		assertEquals(0, pool.getBorrowedCount());
+		assertEquals(pool.getSize(), pool.getIdleCount());
+	}
+
+	@Test(timeout = 10000)
+	public void testValidateThrows() throws Exception {
+		ConcurrentObjectPool<ByteBuffer> pool = new ConcurrentObjectPool<>(factory, 1);
+		ByteBuffer buffer = pool.borrow();
+		assertTrue(pool.release(buffer));
+
+		factory.validateFailFlag = true;
+		try {
+			pool.borrow();
+			fail("没有抛出异常。");
+		} catch (ProcessException e) {
+		}
+		// 校验抛出异常的对象被销毁，不再占据对象池的容量。
+		assertEquals(0, pool.getSize());
+		assertEquals(0, pool.getIdleCount());
+		assertEquals(1, factory.destroyedCount.get());
+
+		factory.validateFailFlag = false;
+		ByteBuffer another = pool.tryBorrow();
+		assertNotNull(another);
+		assertNotSame(buffer, another);
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalMaximumSize() {
+		new ConcurrentObjectPool<>(factory, 0);
+	}
+
+	private static final class TestFactory implements PooledObjectFactory<ByteBuffer> {
+
+		final AtomicInteger createdCount = new AtomicInteger(0);
+		final AtomicInteger destroyedCount = new AtomicInteger(0);
+		volatile boolean failFlag = false;
+		volatile boolean validateFailFlag = false;
+
+		@Override
+		public ByteBuffer create() throws Exception {
+			if (failFlag) {
+				throw new IllegalStateException();
+			}
+			createdCount.incrementAndGet();
+			return ByteBuffer.allocate(4);
+		}
+
+		@Override
+		public boolean validate(ByteBuffer object) {
+			if (validateFailFlag) {
+				throw new IllegalStateException();
+			}
+			return object.get(0) == 0;
+		}
+
+		@Override
+		public void destroy(ByteBuffer object) {
+			destroyedCount.incrementAndGet();
+		}
+
+	}
+
+}
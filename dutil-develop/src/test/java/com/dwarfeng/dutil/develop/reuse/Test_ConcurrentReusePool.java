@@ -0,0 +1,237 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.reuse.condition.CountCondition;
+
+public class Test_ConcurrentReusePool {
+
+	private static final class TestCondition implements Condition {
+
+		public static final Object INCREASE = new Object();
+		public static final Object RESET = new Object();
+
+		public final int aimCount;
+		public int currentCount;
+
+		public TestCondition(int aimCount) {
+			this.aimCount = aimCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isReuseSatisfy() {
+			return !isReuseUnsatisfy();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean isReuseUnsatisfy() {
+			return currentCount >= aimCount;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void update(Object updateObject) throws IllegalArgumentException {
+			if (Objects.equals(updateObject, INCREASE)) {
+				currentCount++;
+			}
+
+			if (Objects.equals(updateObject, RESET)) {
+				currentCount = 0;
+			}
+		}
+
+	}
+
+	private static ConcurrentReusePool<String> pool;
+
+	private final static String ELEMENT_A = "A";
+	private final static String ELEMENT_B = "B";
+	private final static String ELEMENT_C = "C";
+	private final static String ELEMENT_D = "D";
+	private final static String ELEMENT_E = "E";
+
+	private static TestCondition CONDITION_A = new TestCondition(2);
+	private static TestCondition CONDITION_B = new TestCondition(2);
+	private static TestCondition CONDITION_C = new TestCondition(3);
+	private static TestCondition CONDITION_D = new TestCondition(3);
+	private static TestCondition CONDITION_E = new TestCondition(4);
+
+	@BeforeClass
+	public static void setUpBeforeClass() throws Exception {
+	}
+
+	@AfterClass
+	public static void tearDownAfterClass() throws Exception {
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		CONDITION_A = new TestCondition(2);
+		CONDITION_B = new TestCondition(2);
+		CONDITION_C = new TestCondition(3);
+		CONDITION_D = new TestCondition(3);
+		CONDITION_E = new TestCondition(4);
+
+		pool = new ConcurrentReusePool<>();
+		pool.put(ELEMENT_A, CONDITION_A);
+		pool.put(ELEMENT_B, CONDITION_B);
+		pool.put(ELEMENT_C, CONDITION_C);
+		pool.put(ELEMENT_D, CONDITION_D);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		pool = null;
+
+		CONDITION_A = null;
+		CONDITION_B = null;
+		CONDITION_C = null;
+		CONDITION_D = null;
+		CONDITION_E = null;
+	}
+
+	@Test
+	public final void testIterator() {
+		Iterator<String> iterator = pool.iterator();
+		String next = iterator.next();
+		iterator.remove();
+		// 弱一致的迭代器允许在迭代期间修改复用池。
+		pool.put(ELEMENT_E, CONDITION_E);
+		while (iterator.hasNext()) {
+			iterator.next();
+		}
+		assertEquals(4, pool.size());
+		assertFalse(pool.contains(next));
+		assertTrue(pool.contains(ELEMENT_E));
+	}
+
+	@Test
+	public final void testNull() {
+		assertFalse(pool.put(null, CONDITION_E));
+		assertFalse(pool.put(ELEMENT_E, null));
+		assertFalse(pool.put(ELEMENT_A, CONDITION_E));
+		assertFalse(pool.contains(null));
+		assertFalse(pool.remove(null));
+		assertNull(pool.getCondition(null));
+	}
+
+	@Test
+	public final void testElementRemoved() {
+		List<String> removedElements = new ArrayList<>();
+		ConcurrentReusePool<String> pool = new ConcurrentReusePool<String>() {
+
+			@Override
+			protected void elementRemoved(String element, Condition condition) {
+				removedElements.add(element);
+			}
+
+		};
+		pool.put(ELEMENT_A, CONDITION_A);
+		pool.put(ELEMENT_B, CONDITION_B);
+		pool.put(ELEMENT_C, CONDITION_C);
+		pool.put(ELEMENT_D, CONDITION_D);
+		pool.put(ELEMENT_E, CONDITION_E);
+
+		assertTrue(pool.remove(ELEMENT_A));
+		assertFalse(pool.remove(ELEMENT_A));
+		assertEquals(Arrays.asList(ELEMENT_A), removedElements);
+
+		assertTrue(pool.retainAll(Arrays.asList(ELEMENT_C, ELEMENT_D, ELEMENT_E)));
+		assertEquals(Arrays.asList(ELEMENT_A, ELEMENT_B), removedElements);
+
+		Iterator<String> iterator = pool.iterator();
+		while (iterator.hasNext()) {
+			if (ELEMENT_C.equals(iterator.next())) {
+				iterator.remove();
+			}
+		}
+		assertEquals(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C), removedElements);
+
+		CONDITION_D.currentCount = CONDITION_D.aimCount;
+		assertEquals(Arrays.asList(ELEMENT_D), new ArrayList<>(pool.batchOperator().removeUnsatisfyElements()));
+		assertEquals(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D), removedElements);
+
+		pool.clear();
+		assertEquals(Arrays.asList(ELEMENT_A, ELEMENT_B, ELEMENT_C, ELEMENT_D, ELEMENT_E), removedElements);
+	}
+
+	@Test
+	public final void testConcurrentAccess() throws InterruptedException {
+		ConcurrentReusePool<Integer> pool = new ConcurrentReusePool<>();
+		int threadCount = 4;
+		int elementCount = 2000;
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<>();
+		AtomicInteger putCount = new AtomicInteger();
+		AtomicInteger missingCount = new AtomicInteger();
+		for (int i = 0; i < threadCount; i++) {
+			int offset = i;
+			Thread thread = new Thread(() -> {
+				try {
+					startLatch.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int j = 0; j < elementCount; j++) {
+					int element = j * threadCount + offset;
+					if (pool.put(element, new CountCondition(1))) {
+						putCount.incrementAndGet();
+					}
+					// 工作线程中的断言失败不会使测试失败，因此记录失败的次数，在线程结束之后断言。
+					if (!pool.contains(element)) {
+						missingCount.incrementAndGet();
+					}
+					if (j % 2 == 0) {
+						pool.batchOperator().update(element, CountCondition.UpdatePolicy.INCREASE);
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+
+		startLatch.countDown();
+		// 读写进行期间执行移除操作。
+		Collection<Integer> removed = new HashSet<>(pool.batchOperator().removeUnsatisfyElements());
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		removed.addAll(pool.batchOperator().removeUnsatisfyElements());
+
+		assertEquals(threadCount * elementCount, putCount.get());
+		assertEquals(0, missingCount.get());
+		assertEquals(threadCount * elementCount / 2, removed.size());
+		assertEquals(threadCount * elementCount / 2, pool.size());
+		for (Integer element : pool) {
+			assertTrue(pool.getCondition(element).isReuseSatisfy());
+		}
+	}
+
+}
@@ -0,0 +1,184 @@
+package com.dwarfeng.dutil.develop.reuse;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.reuse.condition.CountCondition;
+import com.dwarfeng.dutil.develop.reuse.condition.TimeCondition;
+import com.dwarfeng.dutil.develop.timer.HeapTimer;
+import com.dwarfeng.dutil.develop.timer.Timer;
+
+public class Test_ExpiringReusePool {
+
+	private ExpiringReusePool<String> pool = null;
+	private List<String> evictedElements = null;
+
+	@Before
+	public void setUp() throws Exception {
+		evictedElements = new CopyOnWriteArrayList<>();
+		pool = new ExpiringReusePool<>((element, condition) -> evictedElements.add(element));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		pool = null;
+		evictedElements = null;
+	}
+
+	@Test
+	public void testSweepTimeCondition() throws InterruptedException {
+		assertTrue(pool.put("A", new TimeCondition(50)));
+		assertTrue(pool.put("B", new TimeCondition(60000)));
+		assertEquals(2, pool.getIndexedCount());
+		assertEquals(0, pool.sweep());
+
+		Thread.sleep(100);
+		assertEquals(1, pool.sweep());
+		assertFalse(pool.contains("A"));
+		assertTrue(pool.contains("B"));
+		assertEquals(Arrays.asList("A"), evictedElements);
+		assertEquals(1, pool.getIndexedCount());
+		assertEquals(2, pool.getSweepCount());
+		assertEquals(1, pool.getEvictedCount());
+	}
+
+	@Test
+	public void testRefreshTimeCondition() throws InterruptedException {
+		TimeCondition condition = new TimeCondition(100);
+		assertTrue(pool.put("A", condition));
+
+		Thread.sleep(60);
+		pool.batchOperator().update("A", TimeCondition.UpdatePolicy.SET_CURRENT_TIME);
+		Thread.sleep(60);
+		assertEquals(0, pool.sweep());
+		assertTrue(pool.contains("A"));
+
+		Thread.sleep(100);
+		assertEquals(1, pool.sweep());
+		assertFalse(pool.contains("A"));
+	}
+
+	@Test
+	public void testExternalUpdate() throws InterruptedException {
+		TimeCondition condition = new TimeCondition(100);
+		assertTrue(pool.put("A", condition));
+
+		Thread.sleep(60);
+		// 在复用池之外更新的条件会在原先的过期时间被重新索引。
+		condition.update(TimeCondition.UpdatePolicy.SET_CURRENT_TIME);
+		Thread.sleep(60);
+		assertEquals(0, pool.sweep());
+		assertTrue(pool.contains("A"));
+		assertEquals(1, pool.getIndexedCount());
+
+		Thread.sleep(100);
+		assertEquals(1, pool.sweep());
+		assertEquals(Arrays.asList("A"), evictedElements);
+	}
+
+	@Test
+	public void testSweepCountCondition() {
+		assertTrue(pool.put("A", new CountCondition(1)));
+		assertTrue(pool.put("B", new CountCondition(2)));
+		assertTrue(pool.put("C", new CountCondition(0)));
+		assertEquals(0, pool.getIndexedCount());
+		assertEquals(1, pool.sweep());
+		assertEquals(Arrays.asList("C"), evictedElements);
+
+		pool.batchOperator().updateAll(Arrays.asList("A", "B"), CountCondition.UpdatePolicy.INCREASE);
+		assertEquals(1, pool.sweep());
+		assertEquals(Arrays.asList("C", "A"), evictedElements);
+		assertEquals(0, pool.sweep());
+		assertEquals(1, pool.size());
+	}
+
+	@Test
+	public void testRemove() throws InterruptedException {
+		assertTrue(pool.put("A", new TimeCondition(10)));
+		assertTrue(pool.put("B", new TimeCondition(10)));
+		assertTrue(pool.remove("A"));
+		assertEquals(1, pool.getIndexedCount());
+		pool.clear();
+		assertEquals(0, pool.getIndexedCount());
+
+		Thread.sleep(20);
+		assertEquals(0, pool.sweep());
+		assertTrue(evictedElements.isEmpty());
+	}
+
+	@Test
+	public void testRetainAll() {
+		assertTrue(pool.put("A", new TimeCondition(60000)));
+		assertTrue(pool.put("B", new TimeCondition(60000)));
+		assertTrue(pool.retainAll(Arrays.asList("B")));
+		assertEquals(1, pool.size());
+		assertEquals(1, pool.getIndexedCount());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		assertTrue(pool.put("A", new TimeCondition(60000)));
+		assertTrue(pool.put("B", new TimeCondition(60000)));
+		Iterator<String> i = pool.iterator();
+		while (i.hasNext()) {
+			if ("A".equals(i.next())) {
+				i.remove();
+			}
+		}
+		assertFalse(pool.contains("A"));
+		assertEquals(1, pool.getIndexedCount());
+	}
+
+	@Test
+	public void testBatchOperatorRemove() {
+		assertTrue(pool.put("A", new TimeCondition(0)));
+		assertTrue(pool.put("B", new TimeCondition(60000)));
+		assertEquals(2, pool.getIndexedCount());
+		assertEquals(Arrays.asList("A"), new ArrayList<>(pool.batchOperator().removeUnsatisfyElements()));
+		assertEquals(1, pool.getIndexedCount());
+		// 通过批量操作器移除的元素不会通知回调。
+		assertEquals(0, pool.sweep());
+		assertTrue(evictedElements.isEmpty());
+	}
+
+	@Test
+	public void testReputAfterRemove() {
+		assertTrue(pool.put("A", new TimeCondition(60000)));
+		assertTrue(pool.remove("A"));
+		assertTrue(pool.put("A", new TimeCondition(60000)));
+		assertEquals(1, pool.getIndexedCount());
+	}
+
+	@Test
+	public void testSweepPlain() throws InterruptedException {
+		Timer timer = new HeapTimer();
+		try {
+			assertTrue(timer.schedule(pool.newSweepPlain(10, TimeUnit.MILLISECONDS)));
+			assertTrue(pool.put("A", new TimeCondition(20)));
+
+			long deadline = System.currentTimeMillis() + 5000;
+			while (pool.contains("A") && System.currentTimeMillis() < deadline) {
+				Thread.sleep(10);
+			}
+			assertFalse(pool.contains("A"));
+			assertEquals(Arrays.asList("A"), evictedElements);
+			assertTrue(pool.getSweepCount() > 0);
+		} finally {
+			timer.shutdown();
+			timer.awaitTermination();
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.setting.obv.SettingAdapter;
+import com.dwarfeng.dutil.develop.setting.obv.SettingObverser;
+
+public class Test_CopyOnWriteSettingHandler extends Test_SettingHandlerContract<CopyOnWriteSettingHandler> {
+
+	@Override
+	protected CopyOnWriteSettingHandler newHandler() {
+		return new CopyOnWriteSettingHandler(Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	@Test
+	public void testUpdate() {
+		assertTrue(handler.update(h -> {
+			h.setCurrentValue("entry.1", "FALSE");
+			h.setCurrentValue("entry.3", "100");
+			h.removeKey("entry.4");
+		}));
+		assertEquals("FALSE", handler.getCurrentValue("entry.1"));
+		assertEquals(100, handler.getParsedValue("entry.3"));
+		assertFalse(handler.containsKey("entry.4"));
+		assertEquals(Arrays.asList("entry.1", "entry.3"), obv.currentValueChangedKey);
+		assertEquals(Arrays.asList("entry.4"), obv.removedKey);
+
+		assertFalse(handler.update(h -> h.setCurrentValue("entry.1", "FALSE")));
+		assertEquals(2, obv.currentValueChangedKey.size());
+	}
+
+	@Test
+	public void testUpdateRollback() {
+		try {
+			handler.update(h -> {
+				h.setCurrentValue("entry.1", "FALSE");
+				throw new IllegalStateException();
+			});
+			fail("没有抛出异常。");
+		} catch (IllegalStateException e) {
+		}
+		assertEquals("TRUE", handler.getCurrentValue("entry.1"));
+		assertTrue(obv.currentValueChangedKey.isEmpty());
+	}
+
+	@Test
+	public void testPublishBeforeNotify() {
+		List<String> observed = new ArrayList<>();
+		SettingObverser reader = new SettingAdapter() {
+
+			@Override
+			public void fireCurrentValueChanged(String key, String oldValue, String newValue) {
+				observed.add(handler.getCurrentValue("entry.1") + "," + handler.getCurrentValue("entry.2"));
+			}
+
+		};
+		handler.addObverser(reader);
+		Map<String, String> m = new HashMap<>();
+		m.put("entry.1", "FALSE");
+		m.put("entry.2", "TRUE");
+		assertTrue(handler.setAllCurrentValue(m));
+		assertEquals(Arrays.asList("FALSE,TRUE", "FALSE,TRUE"), observed);
+	}
+
+	@Test
+	public void testSnapshotIterator() {
+		Iterator<String> iterator = handler.keySet().iterator();
+		handler.removeKey("entry.2");
+		int count = 0;
+		while (iterator.hasNext()) {
+			iterator.next();
+			count++;
+		}
+		assertEquals(4, count);
+		assertEquals(3, handler.size());
+	}
+
+	@Test
+	public void testAtomicVisibility() throws Exception {
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger tornCount = new AtomicInteger(0);
+		Thread readerThread = new Thread(() -> {
+			while (running.get()) {
+				// 同一次更新中的两个值必须同时可见。
+				Object value_3 = handler.getParsedValue("entry.3");
+				Object value_4 = handler.getParsedValue("entry.4");
+				if (Objects.isNull(value_3) || Objects.isNull(value_4)) {
+					tornCount.incrementAndGet();
+					continue;
+				}
+				if ((int) value_4 < (int) value_3) {
+					tornCount.incrementAndGet();
+				}
+			}
+		});
+		handler.update(h -> {
+			h.setCurrentValue("entry.3", "0");
+			h.setCurrentValue("entry.4", "0");
+		});
+		readerThread.start();
+		for (int i = 1; i <= 2000; i++) {
+			String value = Integer.toString(i);
+			handler.update(h -> {
+				h.setCurrentValue("entry.4", value);
+				h.setCurrentValue("entry.3", value);
+			});
+		}
+		running.set(false);
+		readerThread.join();
+		assertEquals(0, tornCount.get());
+	}
+
+}
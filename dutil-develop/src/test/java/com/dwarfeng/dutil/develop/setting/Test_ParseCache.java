@@ -0,0 +1,103 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class Test_ParseCache {
+
+	private AtomicInteger parseCount = null;
+	private ParseCache<Integer> cache = null;
+
+	@Before
+	public void setUp() throws Exception {
+		parseCount = new AtomicInteger(0);
+		cache = new ParseCache<>(value -> {
+			parseCount.incrementAndGet();
+			int parsed = Integer.parseInt(value);
+			return parsed >= 0 ? parsed : null;
+		});
+	}
+
+	@Test
+	public void testGet() {
+		assertEquals(Integer.valueOf(12), cache.get("12"));
+		assertEquals(Integer.valueOf(12), cache.get("12"));
+		assertEquals(1, parseCount.get());
+
+		// 解析失败与不合法的值同样被缓存。
+		assertNull(cache.get("abc"));
+		assertNull(cache.get("abc"));
+		assertNull(cache.get("-1"));
+		assertNull(cache.get("-1"));
+		assertEquals(3, parseCount.get());
+
+		assertNull(cache.get(null));
+		assertEquals(3, parseCount.get());
+	}
+
+	@Test
+	public void testAlternateValues() {
+		// 交替出现的值不会互相驱逐。
+		for (int i = 0; i < 100; i++) {
+			cache.get("1");
+			cache.get("2");
+		}
+		assertEquals(2, parseCount.get());
+	}
+
+	@Test
+	public void testFindValue() {
+		cache.get("007");
+		assertEquals("007", cache.findValue(7));
+		assertNull(cache.findValue(8));
+		assertNull(cache.findValue(null));
+
+		cache.clear();
+		assertNull(cache.findValue(7));
+	}
+
+	@Test
+	public void testCapacity() {
+		assertEquals(ParseCache.DEFAULT_CAPACITY, cache.getCapacity());
+		assertEquals(8, new ParseCache<>(value -> value, 5).getCapacity());
+		assertEquals(1, new ParseCache<>(value -> value, 1).getCapacity());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalCapacity() {
+		new ParseCache<>(value -> value, 0);
+	}
+
+	@Test
+	public void testConcurrentGet() throws Exception {
+		List<Thread> threads = new ArrayList<>();
+		List<Throwable> errors = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			Thread thread = new Thread(() -> {
+				for (int j = 0; j < 10000; j++) {
+					String value = Integer.toString(j % 64);
+					Integer parsed = cache.get(value);
+					if (!Integer.valueOf(j % 64).equals(parsed)) {
+						synchronized (errors) {
+							errors.add(new AssertionError(value));
+						}
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(0, errors.size());
+	}
+
+}
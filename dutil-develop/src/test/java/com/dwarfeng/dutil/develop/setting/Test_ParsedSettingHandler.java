@@ -0,0 +1,87 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.WeakHashMap;
+
+import org.junit.Test;
+
+import com.dwarfeng.dutil.basic.num.Interval;
+import com.dwarfeng.dutil.basic.num.Interval.BoundaryType;
+import com.dwarfeng.dutil.develop.setting.info.IntegerSettingInfo;
+
+public class Test_ParsedSettingHandler extends Test_SettingHandlerContract<ParsedSettingHandler> {
+
+	@Override
+	protected ParsedSettingHandler newHandler() {
+		return new ParsedSettingHandler(Collections.newSetFromMap(new WeakHashMap<>()));
+	}
+
+	@Test
+	public void testTypedGetters() {
+		assertEquals(12, handler.getInt("entry.3"));
+		assertEquals(450L, handler.getLong(Test_SettingEnumItem.ENTRY_4));
+		assertEquals(12.0, handler.getDouble("entry.3"), 0.0);
+		assertEquals(450.0f, handler.getFloat("entry.4"), 0.0f);
+		assertTrue(handler.getBoolean("entry.1"));
+		assertFalse(handler.getBoolean(Test_SettingEnumItem.ENTRY_2));
+
+		// 非法的当前值回退到默认值。
+		handler.setCurrentValue("entry.3", "ABC");
+		assertEquals(12, handler.getInt("entry.3"));
+		assertNull(handler.getParsedValue("entry.3"));
+		assertEquals("12", handler.getValidValue("entry.3"));
+
+		handler.setParsedValue("entry.3", 233);
+		assertEquals(233, handler.getInt("entry.3"));
+		assertEquals("233", handler.getCurrentValue("entry.3"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTypedGetterMissingKey() {
+		handler.getInt("entry.5");
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void testTypedGetterWrongType() {
+		handler.getInt("entry.1");
+	}
+
+	@Test
+	public void testParseOnWrite() {
+		int[] parseCount = new int[] { 0 };
+		SettingInfo countingInfo = SettingUtil.objectFilteredSettingInfo(new IntegerSettingInfo("0"), obj -> {
+			parseCount[0]++;
+			return true;
+		});
+		handler.put("entry.counting", countingInfo, "5");
+		int count = parseCount[0];
+		for (int i = 0; i < 100; i++) {
+			assertEquals(5, handler.getInt("entry.counting"));
+			assertEquals(5, handler.getParsedValue("entry.counting"));
+			assertEquals(5, handler.getParsedValidValue("entry.counting"));
+		}
+		assertEquals(count, parseCount[0]);
+
+		handler.setCurrentValue("entry.counting", "6");
+		assertEquals(6, handler.getInt("entry.counting"));
+		assertTrue(parseCount[0] > count);
+	}
+
+	@Test
+	public void testSetSettingInfoReparse() {
+		handler.setCurrentValue("entry.3", "500");
+		handler.setSettingInfo("entry.3", new IntegerSettingInfo("12",
+				new Interval(BoundaryType.CLOSED, BoundaryType.CLOSED, BigDecimal.ZERO, BigDecimal.valueOf(100))));
+		assertNull(handler.getParsedValue("entry.3"));
+		assertEquals(12, handler.getInt("entry.3"));
+		assertFalse(handler.isValueValid("entry.3", "500"));
+		assertTrue(handler.isValueValid("entry.3", "50"));
+	}
+
+}
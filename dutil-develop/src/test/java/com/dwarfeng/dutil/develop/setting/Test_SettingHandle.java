@@ -0,0 +1,179 @@
+package com.dwarfeng.dutil.develop.setting;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.setting.info.BooleanSettingInfo;
+import com.dwarfeng.dutil.develop.setting.info.IntegerSettingInfo;
+
+public class Test_SettingHandle {
+
+	private ParsedSettingHandler parsedHandler;
+	private CopyOnWriteSettingHandler cowHandler;
+
+	@Before
+	public void setUp() throws Exception {
+		parsedHandler = new ParsedSettingHandler();
+		cowHandler = new CopyOnWriteSettingHandler();
+		for (IndexedSettingHandler handler : Arrays.asList(parsedHandler, cowHandler)) {
+			SettingUtil.putEnumItems(new SettingEnumItem[] { Test_SettingEnumItem.ENTRY_1, Test_SettingEnumItem.ENTRY_2,
+					Test_SettingEnumItem.ENTRY_3, Test_SettingEnumItem.ENTRY_4 }, handler);
+		}
+	}
+
+	@Test
+	public void testSameHandle() {
+		checkSameHandle(parsedHandler);
+		checkSameHandle(cowHandler);
+	}
+
+	private void checkSameHandle(IndexedSettingHandler handler) {
+		SettingHandle handle = handler.getHandle("entry.3");
+		assertSame(handle, handler.getHandle("entry.3"));
+		assertSame(handle, handler.getHandle(Test_SettingEnumItem.ENTRY_3));
+		assertEquals("entry.3", handle.getKey());
+	}
+
+	@Test
+	public void testRead() {
+		checkRead(parsedHandler);
+		checkRead(cowHandler);
+	}
+
+	private void checkRead(IndexedSettingHandler handler) {
+		SettingHandle handle = handler.getHandle(Test_SettingEnumItem.ENTRY_3);
+		assertTrue(handle.isPresent());
+		assertEquals(Test_SettingEnumItem.ENTRY_3.getSettingInfo(), handle.getSettingInfo());
+		assertEquals("12", handle.getCurrentValue());
+		assertEquals("12", handle.getValidValue());
+		assertEquals(12, handle.getParsedValue());
+		assertEquals(12, handle.getParsedValidValue());
+		assertEquals(12, (int) handle.getParsedValidValue(Integer.class));
+		assertEquals(12, handle.getInt());
+		assertEquals(12L, handle.getLong());
+		assertEquals(12.0f, handle.getFloat(), 0.0f);
+		assertEquals(12.0, handle.getDouble(), 0.0);
+		assertTrue(handler.getHandle("entry.1").getBoolean());
+		assertFalse(handler.getHandle("entry.2").getBoolean());
+	}
+
+	@Test
+	public void testWrite() {
+		checkWrite(parsedHandler);
+		checkWrite(cowHandler);
+	}
+
+	private void checkWrite(IndexedSettingHandler handler) {
+		SettingHandle handle = handler.getHandle("entry.4");
+		assertTrue(handle.setCurrentValue("233"));
+		assertEquals(233, handle.getInt());
+		assertEquals("233", handler.getCurrentValue("entry.4"));
+
+		assertTrue(handle.setParsedValue(666));
+		assertEquals(666, handle.getInt());
+		assertEquals("666", handle.getCurrentValue());
+
+		// 通过配置处理器的写入对句柄可见。
+		handler.setCurrentValue("entry.4", "ABC");
+		assertNull(handle.getParsedValue());
+		assertEquals(450, handle.getInt());
+
+		handler.setSettingInfo("entry.4", new IntegerSettingInfo("12"));
+		assertEquals(12, handle.getInt());
+	}
+
+	@Test
+	public void testRemoveAndPut() {
+		checkRemoveAndPut(parsedHandler);
+		checkRemoveAndPut(cowHandler);
+	}
+
+	private void checkRemoveAndPut(IndexedSettingHandler handler) {
+		SettingHandle handle = handler.getHandle("entry.1");
+		assertTrue(handler.removeKey("entry.1"));
+		assertFalse(handle.isPresent());
+		assertNull(handle.getCurrentValue());
+		assertNull(handle.getParsedValidValue());
+		assertFalse(handle.setCurrentValue("FALSE"));
+
+		handler.put("entry.1", new BooleanSettingInfo("TRUE"), "FALSE");
+		assertTrue(handle.isPresent());
+		assertFalse(handle.getBoolean());
+
+		handler.getHandle("entry.2");
+		handler.clear();
+		assertFalse(handle.isPresent());
+		assertFalse(handler.getHandle("entry.2").isPresent());
+
+		handler.put("entry.2", new BooleanSettingInfo("TRUE"), "TRUE");
+		assertTrue(handler.getHandle("entry.2").getBoolean());
+	}
+
+	@Test
+	public void testHandleBeforePut() {
+		checkHandleBeforePut(parsedHandler);
+		checkHandleBeforePut(cowHandler);
+	}
+
+	private void checkHandleBeforePut(IndexedSettingHandler handler) {
+		SettingHandle handle = handler.getHandle("entry.new");
+		assertFalse(handle.isPresent());
+		assertNull(handle.getSettingInfo());
+
+		// 大量新增的键使槽位数组扩容。
+		for (int i = 0; i < 64; i++) {
+			handler.put("entry.extra." + i, new IntegerSettingInfo("0"), Integer.toString(i));
+		}
+		handler.put("entry.new", new IntegerSettingInfo("0"), "7");
+		assertTrue(handle.isPresent());
+		assertEquals(7, handle.getInt());
+		assertEquals(63, handler.getHandle("entry.extra.63").getInt());
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		checkIteratorRemove(parsedHandler);
+		checkIteratorRemove(cowHandler);
+	}
+
+	private void checkIteratorRemove(IndexedSettingHandler handler) {
+		SettingHandle handle = handler.getHandle("entry.2");
+		handler.keySet().retainAll(Arrays.asList("entry.1"));
+		assertFalse(handle.isPresent());
+		assertTrue(handler.getHandle("entry.1").isPresent());
+	}
+
+	@Test
+	public void testTypedGetterAbsent() {
+		checkTypedGetterAbsent(parsedHandler);
+		checkTypedGetterAbsent(cowHandler);
+	}
+
+	private void checkTypedGetterAbsent(IndexedSettingHandler handler) {
+		try {
+			handler.getHandle("entry.5").getInt();
+			fail("没有抛出异常。");
+		} catch (IllegalStateException e) {
+		}
+		try {
+			handler.getHandle("entry.1").getInt();
+			fail("没有抛出异常。");
+		} catch (ClassCastException e) {
+		}
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testGetHandleNull() {
+		parsedHandler.getHandle((String) null);
+	}
+
+}
@@ -2,6 +2,7 @@ package com.dwarfeng.dutil.develop.setting;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import com.dwarfeng.dutil.develop.setting.obv.SettingAdapter;
 import com.dwarfeng.dutil.develop.setting.obv.SettingObverser;
@@ -12,6 +13,7 @@ public final class Test_SettingObverser extends SettingAdapter implements Settin
 	public final List<String> removedKey = new ArrayList<>();
 	public final List<String> settingInfoChangedKey = new ArrayList<>();
 	public final List<String> currentValueChangedKey = new ArrayList<>();
+	public final List<List<String>> currentValuesChangedKeys = new ArrayList<>();
 
 	public int clearCount = 0;
 
@@ -55,4 +57,14 @@ public final class Test_SettingObverser extends SettingAdapter implements Settin
 		currentValueChangedKey.add(key);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void fireCurrentValuesChanged(Map<String, String> oldValues, Map<String, String> newValues) {
+		currentValuesChangedKeys.add(new ArrayList<>(newValues.keySet()));
+		// 同时保留逐个通知的行为，使原有的断言不受影响。
+		super.fireCurrentValuesChanged(oldValues, newValues);
+	}
+
 }
\ No newline at end of file
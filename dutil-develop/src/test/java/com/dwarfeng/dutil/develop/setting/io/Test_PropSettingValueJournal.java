@@ -0,0 +1,226 @@
+package com.dwarfeng.dutil.develop.setting.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.setting.DefaultSettingHandler;
+import com.dwarfeng.dutil.develop.setting.SettingHandler;
+import com.dwarfeng.dutil.develop.setting.info.IntegerSettingInfo;
+
+public class Test_PropSettingValueJournal {
+
+	private File dir;
+	private File propFile;
+	private File journalFile;
+	private SettingHandler handler;
+
+	@Before
+	public void setUp() throws Exception {
+		dir = Files.createTempDirectory("journal").toFile();
+		propFile = new File(dir, "setting.properties");
+		journalFile = new File(dir, "setting.journal");
+		handler = newHandler();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (File file : dir.listFiles()) {
+			file.delete();
+		}
+		dir.delete();
+	}
+
+	@Test
+	public void testFlushAppendsDirtyKeysOnly() throws Exception {
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		assertEquals(0, journal.getDirtyCount());
+
+		handler.setCurrentValue("entry.1", "10");
+		handler.setCurrentValue("entry.1", "11");
+		handler.setCurrentValue("entry.2", "20");
+		assertEquals(2, journal.getDirtyCount());
+
+		journal.flush();
+		assertEquals(0, journal.getDirtyCount());
+		assertEquals(2, journal.getJournalSize());
+		assertFalse(propFile.exists());
+
+		Properties properties = read(journalFile);
+		assertEquals(2, properties.size());
+		assertEquals("11", properties.getProperty("entry.1"));
+		assertEquals("20", properties.getProperty("entry.2"));
+
+		// 没有变化时不写入。
+		long length = journalFile.length();
+		journal.flush();
+		assertEquals(length, journalFile.length());
+		journal.dispose();
+	}
+
+	@Test
+	public void testCompact() throws Exception {
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile, 3, false);
+		handler.setCurrentValue("entry.1", "10");
+		handler.setCurrentValue("entry.2", "20");
+		journal.flush();
+		assertTrue(journalFile.exists());
+
+		handler.setCurrentValue("entry.3", "30");
+		journal.flush();
+		assertFalse(journalFile.exists());
+		assertEquals(0, journal.getJournalSize());
+
+		Properties properties = read(propFile);
+		assertEquals(4, properties.size());
+		assertEquals("10", properties.getProperty("entry.1"));
+		assertEquals("30", properties.getProperty("entry.3"));
+		assertEquals("0", properties.getProperty("entry.4"));
+		journal.dispose();
+	}
+
+	@Test
+	public void testLoad() throws Exception {
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		handler.setCurrentValue("entry.1", "10");
+		journal.compact();
+		handler.setCurrentValue("entry.1", "11");
+		handler.setCurrentValue("entry.2", "20");
+		journal.flush();
+		handler.setCurrentValue("entry.2", "21");
+		journal.flush();
+		journal.dispose();
+
+		SettingHandler anotherHandler = newHandler();
+		PropSettingValueJournal anotherJournal = new PropSettingValueJournal(anotherHandler, propFile, journalFile);
+		anotherJournal.load();
+		assertEquals("11", anotherHandler.getCurrentValue("entry.1"));
+		assertEquals("21", anotherHandler.getCurrentValue("entry.2"));
+		assertEquals("0", anotherHandler.getCurrentValue("entry.3"));
+		assertEquals(0, anotherJournal.getDirtyCount());
+		assertEquals(2, anotherJournal.getJournalSize());
+		anotherJournal.dispose();
+	}
+
+	@Test
+	public void testLoadMissingFiles() throws Exception {
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		journal.load();
+		assertEquals("0", handler.getCurrentValue("entry.1"));
+		journal.dispose();
+	}
+
+	@Test
+	public void testLoadAfterInterruptedCompactBeforeReplace() throws Exception {
+		// 模拟日志文件被移开之后，properties 文件被替换之前的中断。
+		write(propFile, "entry.1", "1", "entry.2", "2");
+		write(new File(dir, "setting.journal.compacting"), "entry.1", "10");
+		write(new File(dir, "setting.properties.tmp"), "entry.1", "10", "entry.2", "2", "entry.3", "30");
+
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		journal.load();
+		assertEquals("10", handler.getCurrentValue("entry.1"));
+		assertEquals("30", handler.getCurrentValue("entry.3"));
+		assertEquals("30", read(propFile).getProperty("entry.3"));
+		assertEquals(Arrays.asList(propFile.getName()), Arrays.asList(dir.list()));
+		journal.dispose();
+	}
+
+	@Test
+	public void testLoadAfterInterruptedCompactAfterReplace() throws Exception {
+		// 模拟 properties 文件被替换之后，压缩中的日志文件被删除之前的中断，旧的日志记录不应该覆盖新的值。
+		write(propFile, "entry.1", "11", "entry.2", "2");
+		write(new File(dir, "setting.journal.compacting"), "entry.1", "10");
+		write(journalFile, "entry.2", "20");
+
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		journal.load();
+		assertEquals("11", handler.getCurrentValue("entry.1"));
+		assertEquals("20", handler.getCurrentValue("entry.2"));
+		assertFalse(new File(dir, "setting.journal.compacting").exists());
+		assertEquals(1, journal.getJournalSize());
+		journal.dispose();
+	}
+
+	@Test
+	public void testLoadAfterInterruptedTempWrite() throws Exception {
+		write(propFile, "entry.1", "1");
+		write(journalFile, "entry.1", "10");
+		write(new File(dir, "setting.properties.tmp"), "entry.1");
+
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		journal.load();
+		assertEquals("10", handler.getCurrentValue("entry.1"));
+		assertFalse(new File(dir, "setting.properties.tmp").exists());
+		journal.dispose();
+	}
+
+	@Test
+	public void testRemovedKey() throws Exception {
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		handler.setCurrentValue("entry.1", "10");
+		handler.removeKey("entry.1");
+		journal.flush();
+		assertFalse(journalFile.exists());
+		assertEquals(0, journal.getJournalSize());
+		journal.dispose();
+	}
+
+	@Test
+	public void testDispose() throws Exception {
+		PropSettingValueJournal journal = new PropSettingValueJournal(handler, propFile, journalFile);
+		journal.dispose();
+		handler.setCurrentValue("entry.1", "10");
+		assertEquals(0, journal.getDirtyCount());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalCompactThreshold() {
+		new PropSettingValueJournal(handler, propFile, journalFile, 0, false);
+	}
+
+	private static SettingHandler newHandler() {
+		SettingHandler handler = new DefaultSettingHandler();
+		for (int i = 1; i <= 4; i++) {
+			handler.put("entry." + i, new IntegerSettingInfo("0"), "0");
+		}
+		return handler;
+	}
+
+	private static void write(File file, String... keyValues) throws Exception {
+		// 奇数个参数时最后一个值被截断，模拟写入一半的文件。
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			sb.append(keyValues[i]);
+			if (i + 1 < keyValues.length) {
+				sb.append('=').append(keyValues[i + 1]).append('\n');
+			}
+		}
+		try (OutputStream out = new FileOutputStream(file)) {
+			out.write(sb.toString().getBytes(StandardCharsets.ISO_8859_1));
+		}
+	}
+
+	private static Properties read(File file) throws Exception {
+		Properties properties = new Properties();
+		try (InputStream in = new FileInputStream(file)) {
+			properties.load(in);
+		}
+		return properties;
+	}
+
+}
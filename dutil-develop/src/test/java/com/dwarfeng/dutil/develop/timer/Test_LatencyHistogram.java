@@ -0,0 +1,69 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class Test_LatencyHistogram {
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+		assertEquals(0, snapshot.getCount());
+		assertEquals(0, snapshot.getMin());
+		assertEquals(0, snapshot.getMax());
+		assertEquals(0, snapshot.getValueAtPercentile(50));
+		assertEquals(0, snapshot.getMean(), 0);
+	}
+
+	@Test
+	public void testRecord() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 1; i <= 1000; i++) {
+			histogram.record(i * 1000);
+		}
+		histogram.record(-1);
+
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		assertEquals(1001, snapshot.getCount());
+		assertEquals(0, snapshot.getMin());
+		assertEquals(1000000, snapshot.getMax());
+		assertEquals(500500000, snapshot.getTotal());
+
+		// 相对误差不超过 1/32。
+		assertInRange(500000, snapshot.getValueAtPercentile(50));
+		assertInRange(990000, snapshot.getValueAtPercentile(99));
+		assertEquals(1000000, snapshot.getValueAtPercentile(100));
+		assertEquals(0, snapshot.getValueAtPercentile(0));
+	}
+
+	@Test
+	public void testExactSmallValues() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long i = 0; i < LatencyHistogram.SUB_BUCKET_COUNT; i++) {
+			histogram.record(i);
+		}
+		LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+		for (int i = 1; i <= LatencyHistogram.SUB_BUCKET_COUNT; i++) {
+			assertEquals(i - 1, snapshot.getValueAtPercentile(100.0 * i / LatencyHistogram.SUB_BUCKET_COUNT));
+		}
+	}
+
+	@Test
+	public void testLargeValue() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.snapshot().getValueAtPercentile(50));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testIllegalPercentile() {
+		new LatencyHistogram().snapshot().getValueAtPercentile(101);
+	}
+
+	private static void assertInRange(long expected, long actual) {
+		assertTrue(actual + " not near " + expected, Math.abs(actual - expected) <= expected / 32);
+	}
+
+}
@@ -5,7 +5,10 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.WeakHashMap;
 import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
@@ -15,6 +18,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import com.dwarfeng.dutil.basic.mea.TimeMeasurer;
+import com.dwarfeng.dutil.develop.timer.plain.FixedRatePlain;
 
 public class Test_ListTimer {
 
@@ -218,4 +222,28 @@ public class Test_ListTimer {
 		assertTrue(plains.contains(plain_3));
 	}
 
+	@Test
+	public final void testNanoTimePlain() throws InterruptedException {
+		ListTimer nanoTimer = new ListTimer(new ArrayList<>(), ListTimer.THREAD_FACTORY,
+				Collections.newSetFromMap(new WeakHashMap<>()), 0, TimeUnit.NANOSECONDS);
+		try {
+			Plain plain = new FixedRatePlain(100, 0, TimeUnit.MICROSECONDS) {
+
+				@Override
+				protected void todo() throws Exception {
+				}
+
+			};
+			assertEquals(PlainClock.NANO_TIME, plain.getClock());
+
+			assertTrue(nanoTimer.schedule(plain));
+			Thread.sleep(200);
+			// 毫秒级的计时器在 200 毫秒内最多执行 200 次。
+			assertTrue(plain.getFinishedCount() > 250);
+		} finally {
+			nanoTimer.shutdown();
+			nanoTimer.awaitTermination();
+		}
+	}
+
 }
@@ -0,0 +1,100 @@
+package com.dwarfeng.dutil.develop.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.dwarfeng.dutil.develop.timer.plain.FixedRatePlain;
+import com.dwarfeng.dutil.develop.timer.plain.FixedTimePlain;
+
+public class Test_TimerMetrics {
+
+	private static HeapTimer timer;
+
+	@Before
+	public void setUp() throws Exception {
+		timer = new HeapTimer();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		timer.shutdown();
+		timer.awaitTermination();
+	}
+
+	@Test
+	public void testRunMetrics() throws InterruptedException {
+		Plain plain = new FixedTimePlain(50, 0) {
+
+			@Override
+			protected void todo() throws Exception {
+			}
+
+		};
+		timer.schedule(plain);
+		Thread.sleep(280);
+
+		TimerMetrics metrics = timer.getMetrics();
+		assertEquals(1, metrics.getPendingCount());
+		assertTrue(metrics.trackedPlains().contains(plain));
+
+		TimerMetrics.Snapshot plainSnapshot = metrics.snapshot(plain);
+		assertNotNull(plainSnapshot);
+		assertTrue(plainSnapshot.getFinishedCount() >= 4);
+		assertEquals(plainSnapshot.getFinishedCount(), plainSnapshot.getDuration().getCount());
+		assertTrue(plainSnapshot.getLag().getCount() >= plainSnapshot.getFinishedCount());
+		assertEquals(0, plainSnapshot.getOverrunCount());
+
+		TimerMetrics.Snapshot timerSnapshot = metrics.snapshot();
+		assertEquals(1, timerSnapshot.getPendingCount());
+		assertTrue(timerSnapshot.getFinishedCount() >= plainSnapshot.getFinishedCount());
+
+		timer.remove(plain);
+		Thread.sleep(100);
+		assertNull(metrics.snapshot(plain));
+		assertEquals(0, metrics.getPendingCount());
+	}
+
+	@Test
+	public void testOverrun() throws InterruptedException {
+		Plain plain = new FixedRatePlain(10, 0, TimeUnit.MILLISECONDS) {
+
+			@Override
+			protected void todo() throws Exception {
+				Thread.sleep(30);
+			}
+
+		};
+		timer.schedule(plain);
+		Thread.sleep(200);
+
+		TimerMetrics.Snapshot snapshot = timer.getMetrics().snapshot(plain);
+		assertTrue(snapshot.getOverrunCount() >= 2);
+		assertTrue(snapshot.getDuration().getMin() >= TimeUnit.MILLISECONDS.toNanos(30));
+		assertTrue(snapshot.getLag().getMax() >= TimeUnit.MILLISECONDS.toNanos(20));
+		assertTrue(timer.getMetrics().getOverrunCount() >= snapshot.getOverrunCount());
+	}
+
+	@Test
+	public void testThrowable() throws InterruptedException {
+		TestExceptionPlain plain = new TestExceptionPlain();
+		plain.setNextException(new Exception());
+		timer.schedule(plain);
+		Thread.sleep(100);
+
+		assertTrue(timer.getMetrics().snapshot().getThrowableCount() >= 1);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void testSnapshotNull() {
+		timer.getMetrics().snapshot(null);
+	}
+
+}